@@ -2195,6 +2195,15 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     return miningParameters;
   }
 
+  /**
+   * Data storage configuration for Besu
+   *
+   * @return instance of DataStorageConfiguration.
+   */
+  public DataStorageConfiguration dataStorageConfiguration() {
+    return getDataStorageConfiguration();
+  }
+
   private DataStorageConfiguration getDataStorageConfiguration() {
     if (dataStorageConfiguration == null) {
       dataStorageConfiguration = dataStorageOptions.toDomainObject();
@@ -23,6 +23,7 @@ import static org.hyperledger.besu.ethereum.core.MiningParameters.MutableInitVal
 import static org.hyperledger.besu.ethereum.core.MiningParameters.MutableInitValues.DEFAULT_MIN_BLOCK_OCCUPANCY_RATIO;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.MutableInitValues.DEFAULT_MIN_PRIORITY_FEE_PER_GAS;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.MutableInitValues.DEFAULT_MIN_TRANSACTION_GAS_PRICE;
+import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_BLOCK_TXS_PRE_EXECUTION_LIMIT;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_MAX_OMMERS_DEPTH;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_POS_BLOCK_CREATION_MAX_TIME;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
@@ -188,6 +189,14 @@ public class MiningOptions implements CLIOptions<MiningParameters> {
                 + " then it waits before next repetition. Must be positive and ≤ 2000 (default: ${DEFAULT-VALUE} milliseconds)")
     private Long posBlockCreationRepetitionMinDuration =
         DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xblock-txs-pre-execution-limit"},
+        description =
+            "Maximum number of pending transactions executed in the background while a block is built,"
+                + " so that selection can reuse their results. 0 disables it (default: ${DEFAULT-VALUE})")
+    private Integer blockTxsPreExecutionLimit = DEFAULT_BLOCK_TXS_PRE_EXECUTION_LIMIT;
   }
 
   private TransactionSelectionService transactionSelectionService;
@@ -281,6 +290,11 @@ public class MiningOptions implements CLIOptions<MiningParameters> {
           commandLine, "--Xpos-block-creation-repetition-min-duration must be positive and ≤ 2000");
     }
 
+    if (unstableOptions.blockTxsPreExecutionLimit < 0) {
+      throw new ParameterException(
+          commandLine, "--Xblock-txs-pre-execution-limit must be greater than or equal to 0");
+    }
+
     if (genesisConfigOptions.isPoa()) {
       CommandLineUtils.failIfOptionDoesntMeetRequirement(
           commandLine,
@@ -327,6 +341,8 @@ public class MiningOptions implements CLIOptions<MiningParameters> {
         miningParameters.getUnstable().getPosBlockCreationMaxTime();
     miningOptions.unstableOptions.posBlockCreationRepetitionMinDuration =
         miningParameters.getUnstable().getPosBlockCreationRepetitionMinDuration();
+    miningOptions.unstableOptions.blockTxsPreExecutionLimit =
+        miningParameters.getUnstable().getBlockTxsPreExecutionLimit();
 
     miningParameters.getCoinbase().ifPresent(coinbase -> miningOptions.coinbase = coinbase);
     miningParameters.getTargetGasLimit().ifPresent(tgl -> miningOptions.targetGasLimit = tgl);
@@ -372,6 +388,7 @@ public class MiningOptions implements CLIOptions<MiningParameters> {
                 .posBlockCreationMaxTime(unstableOptions.posBlockCreationMaxTime)
                 .posBlockCreationRepetitionMinDuration(
                     unstableOptions.posBlockCreationRepetitionMinDuration)
+                .blockTxsPreExecutionLimit(unstableOptions.blockTxsPreExecutionLimit)
                 .build())
         .build();
   }
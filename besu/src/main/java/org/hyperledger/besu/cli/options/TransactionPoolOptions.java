@@ -247,6 +247,11 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
     private static final String ETH65_TX_ANNOUNCED_BUFFERING_PERIOD_FLAG =
         "--Xeth65-tx-announced-buffering-period-milliseconds";
 
+    private static final String STORE_PENDING_TRANSACTIONS_ENCODED_FLAG =
+        "--Xtx-pool-store-pending-transactions-encoded";
+
+    private static final String ENABLE_JOURNAL_FLAG = "--Xtx-pool-enable-journal";
+
     @CommandLine.Option(
         names = {TX_MESSAGE_KEEP_ALIVE_SEC_FLAG},
         paramLabel = "<INTEGER>",
@@ -267,6 +272,27 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
         arity = "1")
     private Duration eth65TrxAnnouncedBufferingPeriod =
         TransactionPoolConfiguration.Unstable.ETH65_TRX_ANNOUNCED_BUFFERING_PERIOD;
+
+    @CommandLine.Option(
+        names = {STORE_PENDING_TRANSACTIONS_ENCODED_FLAG},
+        paramLabel = "<Boolean>",
+        hidden = true,
+        description =
+            "Set to true to store pending transactions in their encoded form, and decode them only when needed, so the layered txpool memory limit holds more transactions (default: ${DEFAULT-VALUE})",
+        fallbackValue = "true",
+        arity = "0..1")
+    private Boolean storePendingTransactionsEncoded =
+        TransactionPoolConfiguration.Unstable.DEFAULT_STORE_PENDING_TRANSACTIONS_ENCODED;
+
+    @CommandLine.Option(
+        names = {ENABLE_JOURNAL_FLAG},
+        paramLabel = "<Boolean>",
+        hidden = true,
+        description =
+            "Set to true to journal every change to the transaction pool in the data directory, so its content survives a crash or an unclean shutdown (default: ${DEFAULT-VALUE})",
+        fallbackValue = "true",
+        arity = "0..1")
+    private Boolean enableJournal = TransactionPoolConfiguration.Unstable.DEFAULT_ENABLE_JOURNAL;
   }
 
   private TransactionPoolOptions() {}
@@ -323,6 +349,9 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
         config.getUnstable().getTxMessageKeepAliveSeconds();
     options.unstableOptions.eth65TrxAnnouncedBufferingPeriod =
         config.getUnstable().getEth65TrxAnnouncedBufferingPeriod();
+    options.unstableOptions.storePendingTransactionsEncoded =
+        config.getUnstable().getStorePendingTransactionsEncoded();
+    options.unstableOptions.enableJournal = config.getUnstable().getEnableJournal();
 
     return options;
   }
@@ -380,6 +409,8 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
             ImmutableTransactionPoolConfiguration.Unstable.builder()
                 .txMessageKeepAliveSeconds(unstableOptions.txMessageKeepAliveSeconds)
                 .eth65TrxAnnouncedBufferingPeriod(unstableOptions.eth65TrxAnnouncedBufferingPeriod)
+                .storePendingTransactionsEncoded(unstableOptions.storePendingTransactionsEncoded)
+                .enableJournal(unstableOptions.enableJournal)
                 .build())
         .build();
   }
@@ -16,9 +16,14 @@ package org.hyperledger.besu.cli.options.stable;
 
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_RECEIPT_COMPACTION_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_ACCOUNT_TRIE_NODE_CACHE_SIZE;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_CODE_USING_CODE_HASH_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_INDEXED_TRIE_LOGS_ENABLED;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_LIMIT_TRIE_LOGS_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_STORAGE_TRIE_NODE_CACHE_SIZE;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_TRIE_LOG_PRUNING_WINDOW_SIZE;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_BONSAI_TRIE_NODE_CACHE_OFF_HEAP_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.DEFAULT_PARALLEL_TRANSACTION_PROCESSING_ENABLED;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.Unstable.MINIMUM_BONSAI_TRIE_LOG_RETENTION_LIMIT;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
@@ -100,6 +105,48 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
         description =
             "Enables code storage using code hash instead of by account hash. (default: ${DEFAULT-VALUE})")
     private boolean bonsaiCodeUsingCodeHashEnabled = DEFAULT_BONSAI_CODE_USING_CODE_HASH_ENABLED;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xbonsai-account-trie-node-cache-size"},
+        paramLabel = "<LONG>",
+        description =
+            "Size in bytes of the cache of account trie nodes loaded ahead of execution. (default: ${DEFAULT-VALUE})")
+    private long bonsaiAccountTrieNodeCacheSize = DEFAULT_BONSAI_ACCOUNT_TRIE_NODE_CACHE_SIZE;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xbonsai-storage-trie-node-cache-size"},
+        paramLabel = "<LONG>",
+        description =
+            "Size in bytes of the cache of storage trie nodes loaded ahead of execution. (default: ${DEFAULT-VALUE})")
+    private long bonsaiStorageTrieNodeCacheSize = DEFAULT_BONSAI_STORAGE_TRIE_NODE_CACHE_SIZE;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xbonsai-trie-node-cache-off-heap-enabled"},
+        arity = "1",
+        description =
+            "Keeps the cached trie nodes in direct memory instead of on the heap, within the cache sizes. (default: ${DEFAULT-VALUE})")
+    private boolean bonsaiTrieNodeCacheOffHeapEnabled =
+        DEFAULT_BONSAI_TRIE_NODE_CACHE_OFF_HEAP_ENABLED;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xbonsai-parallel-tx-processing-enabled"},
+        arity = "1",
+        description =
+            "Executes the transactions of imported blocks speculatively in parallel, re-executing those that conflict. Bonsai only. (default: ${DEFAULT-VALUE})")
+    private boolean parallelTransactionProcessingEnabled =
+        DEFAULT_PARALLEL_TRANSACTION_PROCESSING_ENABLED;
+
+    @CommandLine.Option(
+        hidden = true,
+        names = {"--Xbonsai-indexed-trie-logs-enabled"},
+        arity = "1",
+        description =
+            "Writes new trie logs in the indexed format, which lets single accounts and slots be read without decoding the whole trie log. Older Besu versions cannot read this format. (default: ${DEFAULT-VALUE})")
+    private boolean bonsaiIndexedTrieLogsEnabled = DEFAULT_BONSAI_INDEXED_TRIE_LOGS_ENABLED;
   }
 
   /**
@@ -163,6 +210,16 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
         domainObject.getUnstable().getBonsaiTrieLogPruningWindowSize();
     dataStorageOptions.unstableOptions.bonsaiCodeUsingCodeHashEnabled =
         domainObject.getUnstable().getBonsaiCodeStoredByCodeHashEnabled();
+    dataStorageOptions.unstableOptions.bonsaiAccountTrieNodeCacheSize =
+        domainObject.getUnstable().getBonsaiAccountTrieNodeCacheSize();
+    dataStorageOptions.unstableOptions.bonsaiStorageTrieNodeCacheSize =
+        domainObject.getUnstable().getBonsaiStorageTrieNodeCacheSize();
+    dataStorageOptions.unstableOptions.bonsaiTrieNodeCacheOffHeapEnabled =
+        domainObject.getUnstable().getBonsaiTrieNodeCacheOffHeapEnabled();
+    dataStorageOptions.unstableOptions.parallelTransactionProcessingEnabled =
+        domainObject.getUnstable().getParallelTransactionProcessingEnabled();
+    dataStorageOptions.unstableOptions.bonsaiIndexedTrieLogsEnabled =
+        domainObject.getUnstable().getBonsaiIndexedTrieLogsEnabled();
 
     return dataStorageOptions;
   }
@@ -178,6 +235,13 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
                 .bonsaiLimitTrieLogsEnabled(unstableOptions.bonsaiLimitTrieLogsEnabled)
                 .bonsaiTrieLogPruningWindowSize(unstableOptions.bonsaiTrieLogPruningWindowSize)
                 .bonsaiCodeStoredByCodeHashEnabled(unstableOptions.bonsaiCodeUsingCodeHashEnabled)
+                .bonsaiAccountTrieNodeCacheSize(unstableOptions.bonsaiAccountTrieNodeCacheSize)
+                .bonsaiStorageTrieNodeCacheSize(unstableOptions.bonsaiStorageTrieNodeCacheSize)
+                .bonsaiTrieNodeCacheOffHeapEnabled(
+                    unstableOptions.bonsaiTrieNodeCacheOffHeapEnabled)
+                .parallelTransactionProcessingEnabled(
+                    unstableOptions.parallelTransactionProcessingEnabled)
+                .bonsaiIndexedTrieLogsEnabled(unstableOptions.bonsaiIndexedTrieLogsEnabled)
                 .build())
         .build();
   }
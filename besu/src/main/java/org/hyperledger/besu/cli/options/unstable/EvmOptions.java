@@ -17,7 +17,9 @@ package org.hyperledger.besu.cli.options.unstable;
 import org.hyperledger.besu.cli.options.CLIOptions;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 
 import picocli.CommandLine;
 
@@ -30,6 +32,12 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
   /** The constant WORLDSTATE_UPDATE_MODE. */
   public static final String WORLDSTATE_UPDATE_MODE = "--Xevm-worldstate-update-mode";
 
+  /** The constant OPERAND_STACK_MODE. */
+  public static final String OPERAND_STACK_MODE = "--Xevm-operand-stack-mode";
+
+  /** The constant CODE_CACHE_DIRECTORY. */
+  public static final String CODE_CACHE_DIRECTORY = "--Xevm-code-cache-directory";
+
   /**
    * Create evm options.
    *
@@ -61,13 +69,38 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
       EvmConfiguration.WorldUpdaterMode
           .STACKED; // Stacked Updater.  Years of battle tested correctness.
 
+  @CommandLine.Option(
+      names = {OPERAND_STACK_MODE},
+      description =
+          "How to store operand stack words while the interpreter runs, "
+              + "as Bytes objects or as long limbs",
+      fallbackValue = "BYTES",
+      hidden = true,
+      arity = "1")
+  private EvmConfiguration.OperandStackMode operandStackMode =
+      EvmConfiguration.OperandStackMode.BYTES;
+
+  @CommandLine.Option(
+      names = {CODE_CACHE_DIRECTORY},
+      description =
+          "Directory to keep the most used contract code in across restarts "
+              + "(default: not persisted)",
+      hidden = true,
+      arity = "1")
+  private Path codeCacheDirectory = null;
+
   @Override
   public EvmConfiguration toDomainObject() {
-    return new EvmConfiguration(jumpDestCacheWeightKilobytes, worldstateUpdateMode);
+    return new EvmConfiguration(
+        jumpDestCacheWeightKilobytes,
+        worldstateUpdateMode,
+        operandStackMode,
+        Optional.ofNullable(codeCacheDirectory));
   }
 
   @Override
   public List<String> getCLIOptions() {
-    return List.of(JUMPDEST_CACHE_WEIGHT, WORLDSTATE_UPDATE_MODE);
+    return List.of(
+        JUMPDEST_CACHE_WEIGHT, WORLDSTATE_UPDATE_MODE, OPERAND_STACK_MODE, CODE_CACHE_DIRECTORY);
   }
 }
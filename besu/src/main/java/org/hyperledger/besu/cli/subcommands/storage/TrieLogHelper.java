@@ -28,8 +28,9 @@ import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.trielog.TrieLogFactoryImpl;
-import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogLayer;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.storage.DiffBasedWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -283,7 +284,7 @@ public class TrieLogHelper {
       byte[] key = keys.get(i);
       byte[] value = trieLogsToRetain.get(key);
       updater.getTrieLogStorageTransaction().put(key, value);
-      LOG.info("Key({}): {}", i, Bytes32.wrap(key).toShortHexString());
+      LOG.info("Key({}): {}", i, Bytes.wrap(key).toShortHexString());
     }
 
     updater.getTrieLogStorageTransaction().commit();
@@ -368,7 +369,7 @@ public class TrieLogHelper {
         RLP.encode(
             o ->
                 o.writeList(
-                    trieLogs.entrySet(), (val, out) -> out.writeRaw(Bytes.wrap(val.getValue()))));
+                    trieLogs.entrySet(), (val, out) -> out.writeBytes(Bytes.wrap(val.getValue()))));
     try {
       Files.write(file.toPath(), rlp.toArrayUnsafe());
     } catch (IOException e) {
@@ -384,11 +385,13 @@ public class TrieLogHelper {
 
       input.enterList();
       final IdentityHashMap<byte[], byte[]> trieLogs = new IdentityHashMap<>();
+      final TrieLogFactoryImpl trieLogFactory = new TrieLogFactoryImpl();
       while (!input.isEndOfCurrentList()) {
-        final Bytes trieLogBytes = input.currentListAsBytes();
-        TrieLogLayer trieLogLayer =
-            TrieLogFactoryImpl.readFrom(new BytesValueRLPInput(Bytes.wrap(trieLogBytes), false));
-        trieLogs.put(trieLogLayer.getBlockHash().toArrayUnsafe(), trieLogBytes.toArrayUnsafe());
+        // files written before the indexed trie log format hold the trie logs as raw RLP lists
+        final Bytes trieLogBytes =
+            input.nextIsList() ? input.currentListAsBytes() : input.readBytes();
+        final TrieLog trieLog = trieLogFactory.deserialize(trieLogBytes.toArrayUnsafe());
+        trieLogs.put(trieLog.getBlockHash().toArrayUnsafe(), trieLogBytes.toArrayUnsafe());
       }
       input.leaveList();
 
@@ -404,10 +407,18 @@ public class TrieLogHelper {
 
     LOG.info("Obtaining trielogs from db, this may take a few minutes...");
     trieLogKeys.forEach(
-        hash ->
-            rootWorldStateStorage
-                .getTrieLog(hash)
-                .ifPresent(trieLog -> trieLogsToRetain.put(hash.toArrayUnsafe(), trieLog)));
+        hash -> {
+          rootWorldStateStorage
+              .getTrieLog(hash)
+              .ifPresent(trieLog -> trieLogsToRetain.put(hash.toArrayUnsafe(), trieLog));
+          // keep the span trie logs ending at retained blocks, they speed up deep rollbacks
+          rootWorldStateStorage
+              .getTrieLogSpan(hash)
+              .ifPresent(
+                  span ->
+                      trieLogsToRetain.put(
+                          DiffBasedWorldStateKeyValueStorage.trieLogSpanKey(hash), span));
+        });
     return trieLogsToRetain;
   }
 
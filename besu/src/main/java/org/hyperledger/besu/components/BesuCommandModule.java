@@ -21,6 +21,7 @@ import org.hyperledger.besu.chainimport.JsonBlockImporter;
 import org.hyperledger.besu.chainimport.RlpBlockImporter;
 import org.hyperledger.besu.cli.BesuCommand;
 import org.hyperledger.besu.controller.BesuController;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.metrics.prometheus.MetricsConfiguration;
 
 import java.util.Optional;
@@ -61,6 +62,12 @@ public class BesuCommandModule {
     return provideFrom.metricsConfiguration();
   }
 
+  @Provides
+  @Singleton
+  DataStorageConfiguration provideDataStorageConfiguration(final BesuCommand provideFrom) {
+    return provideFrom.dataStorageConfiguration();
+  }
+
   @Provides
   @Named("besuCommandLogger")
   @Singleton
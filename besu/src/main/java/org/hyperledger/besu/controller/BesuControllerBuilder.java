@@ -45,6 +45,7 @@ import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.MiningParameters;
 import org.hyperledger.besu.ethereum.core.PrivacyParameters;
 import org.hyperledger.besu.ethereum.core.Synchronizer;
+import org.hyperledger.besu.ethereum.core.TransactionSenderCache;
 import org.hyperledger.besu.ethereum.eth.EthProtocol;
 import org.hyperledger.besu.ethereum.eth.EthProtocolConfiguration;
 import org.hyperledger.besu.ethereum.eth.SnapProtocol;
@@ -77,6 +78,7 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfigurati
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolFactory;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelTransactionExecutor;
 import org.hyperledger.besu.ethereum.p2p.config.NetworkingConfiguration;
 import org.hyperledger.besu.ethereum.p2p.config.SubProtocolConfiguration;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
@@ -86,6 +88,7 @@ import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.BonsaiCachedMer
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogManager;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogPruner;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogSpanCompactor;
 import org.hyperledger.besu.ethereum.trie.forest.ForestWorldStateArchive;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
@@ -588,11 +591,13 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             reorgLoggingThreshold,
             dataDirectory.toString(),
             numberOfBlocksToCache);
+    TransactionSenderCache.registerMetrics(metricsSystem);
 
     final BonsaiCachedMerkleTrieLoader bonsaiCachedMerkleTrieLoader =
         besuComponent
             .map(BesuComponent::getCachedMerkleTrieLoader)
-            .orElseGet(() -> new BonsaiCachedMerkleTrieLoader(metricsSystem));
+            .orElseGet(
+                () -> new BonsaiCachedMerkleTrieLoader(metricsSystem, dataStorageConfiguration));
 
     final WorldStateArchive worldStateArchive =
         createWorldStateArchive(
@@ -607,6 +612,12 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             blockchain, worldStateArchive, protocolSchedule, this::createConsensusContext);
     validateContext(protocolContext);
 
+    if (DataStorageFormat.BONSAI.equals(dataStorageConfiguration.getDataStorageFormat())
+        && dataStorageConfiguration.getUnstable().getParallelTransactionProcessingEnabled()) {
+      protocolContext.setParallelTransactionExecutor(
+          Optional.of(new ParallelTransactionExecutor(metricsSystem)));
+    }
+
     if (chainPrunerConfiguration.getChainPruningEnabled()) {
       final ChainDataPruner chainDataPruner = createChainPruner(blockchainStorage);
       blockchain.observeBlockAdded(chainDataPruner);
@@ -741,7 +752,23 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
       trieLogManager.subscribe(trieLogPruner);
     }
 
+    // spans only pay off when rollbacks deeper than a span are allowed
+    if (DataStorageFormat.BONSAI.equals(dataStorageConfiguration.getDataStorageFormat())
+        && dataStorageConfiguration.getBonsaiMaxLayersToLoad() > TrieLogSpanCompactor.SPAN_SIZE) {
+      final TrieLogManager trieLogManager =
+          ((BonsaiWorldStateProvider) worldStateArchive).getTrieLogManager();
+      trieLogManager.subscribe(
+          new TrieLogSpanCompactor(
+              trieLogManager,
+              worldStateStorageCoordinator.getStrategy(BonsaiWorldStateKeyValueStorage.class),
+              blockchain,
+              scheduler::executeServiceTask,
+              dataStorageConfiguration.getBonsaiMaxLayersToLoad()));
+    }
+
     final List<Closeable> closeables = new ArrayList<>();
+    // speculative executions read the world state, so they are stopped before it is closed
+    protocolContext.getParallelTransactionExecutor().ifPresent(closeables::add);
     closeables.add(protocolContext.getWorldStateArchive());
     closeables.add(storageProvider);
     if (privacyParameters.getPrivateStorageProvider() != null) {
@@ -1050,7 +1077,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             Optional.of(dataStorageConfiguration.getBonsaiMaxLayersToLoad()),
             bonsaiCachedMerkleTrieLoader,
             besuComponent.map(BesuComponent::getBesuPluginContext).orElse(null),
-            evmConfiguration);
+            evmConfiguration,
+            dataStorageConfiguration.getUnstable().getBonsaiIndexedTrieLogsEnabled());
       }
       case FOREST -> {
         final WorldStatePreimageStorage preimageStorage =
@@ -17,6 +17,7 @@ package org.hyperledger.besu.cli.options;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.DEFAULT_NON_POA_BLOCK_TXS_SELECTION_MAX_TIME;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.DEFAULT_POA_BLOCK_TXS_SELECTION_MAX_TIME;
+import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_BLOCK_TXS_PRE_EXECUTION_LIMIT;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.Unstable.DEFAULT_POS_BLOCK_CREATION_MAX_TIME;
 import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.verify;
@@ -312,6 +313,31 @@ public class MiningOptionsTest extends AbstractCLIOptionsTest<MiningParameters,
         "17000");
   }
 
+  @Test
+  public void blockTxsPreExecutionLimitDefaultValue() {
+    internalTestSuccess(
+        miningParams ->
+            assertThat(miningParams.getUnstable().getBlockTxsPreExecutionLimit())
+                .isEqualTo(DEFAULT_BLOCK_TXS_PRE_EXECUTION_LIMIT));
+  }
+
+  @Test
+  public void blockTxsPreExecutionLimitOption() {
+    internalTestSuccess(
+        miningParams ->
+            assertThat(miningParams.getUnstable().getBlockTxsPreExecutionLimit()).isEqualTo(64),
+        "--Xblock-txs-pre-execution-limit",
+        "64");
+  }
+
+  @Test
+  public void blockTxsPreExecutionLimitMustNotBeNegative() {
+    internalTestFailure(
+        "--Xblock-txs-pre-execution-limit must be greater than or equal to 0",
+        "--Xblock-txs-pre-execution-limit",
+        "-1");
+  }
+
   @Test
   public void blockTxsSelectionMaxTimeDefaultValue() {
     internalTestSuccess(
@@ -405,7 +431,8 @@ public class MiningOptionsTest extends AbstractCLIOptionsTest<MiningParameters,
                 .coinbase(Address.ZERO)
                 .build())
         .isStratumMiningEnabled(true)
-        .unstable(Unstable.builder().posBlockCreationMaxTime(1000).build())
+        .unstable(
+            Unstable.builder().posBlockCreationMaxTime(1000).blockTxsPreExecutionLimit(32).build())
         .build();
   }
 
@@ -345,6 +345,20 @@ public class TransactionPoolOptionsTest
         "acbd");
   }
 
+  @Test
+  public void storePendingTransactionsEncoded() {
+    internalTestSuccess(
+        config -> assertThat(config.getUnstable().getStorePendingTransactionsEncoded()).isTrue(),
+        "--Xtx-pool-store-pending-transactions-encoded");
+  }
+
+  @Test
+  public void enableJournal() {
+    internalTestSuccess(
+        config -> assertThat(config.getUnstable().getEnableJournal()).isTrue(),
+        "--Xtx-pool-enable-journal");
+  }
+
   @Test
   public void eth65TrxAnnouncedBufferingPeriod() {
     final Duration eth65TrxAnnouncedBufferingPeriod = Duration.ofMillis(999);
@@ -109,6 +109,44 @@ public class DataStorageOptionsTest
         "false");
   }
 
+  @Test
+  public void bonsaiTrieNodeCacheCanBeConfigured() {
+    internalTestSuccess(
+        dataStorageConfiguration -> {
+          final DataStorageConfiguration.Unstable unstable = dataStorageConfiguration.getUnstable();
+          assertThat(unstable.getBonsaiAccountTrieNodeCacheSize()).isEqualTo(1_000_000L);
+          assertThat(unstable.getBonsaiStorageTrieNodeCacheSize()).isEqualTo(2_000_000L);
+          assertThat(unstable.getBonsaiTrieNodeCacheOffHeapEnabled()).isTrue();
+        },
+        "--Xbonsai-account-trie-node-cache-size",
+        "1000000",
+        "--Xbonsai-storage-trie-node-cache-size",
+        "2000000",
+        "--Xbonsai-trie-node-cache-off-heap-enabled",
+        "true");
+  }
+
+  @Test
+  public void parallelTransactionProcessingCanBeEnabled() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(
+                    dataStorageConfiguration.getUnstable().getParallelTransactionProcessingEnabled())
+                .isTrue(),
+        "--Xbonsai-parallel-tx-processing-enabled",
+        "true");
+  }
+
+  @Test
+  public void bonsaiIndexedTrieLogsCanBeEnabled() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(dataStorageConfiguration.getUnstable().getBonsaiIndexedTrieLogsEnabled())
+                .isTrue(),
+        "--Xbonsai-indexed-trie-logs-enabled",
+        "true");
+  }
+
   @Test
   public void receiptCompactionCanBeEnabled() {
     internalTestSuccess(
@@ -141,6 +179,11 @@ public class DataStorageOptionsTest
             ImmutableDataStorageConfiguration.Unstable.builder()
                 .bonsaiLimitTrieLogsEnabled(true)
                 .bonsaiTrieLogPruningWindowSize(514)
+                .bonsaiAccountTrieNodeCacheSize(1_000_000L)
+                .bonsaiStorageTrieNodeCacheSize(2_000_000L)
+                .bonsaiTrieNodeCacheOffHeapEnabled(true)
+                .parallelTransactionProcessingEnabled(true)
+                .bonsaiIndexedTrieLogsEnabled(true)
                 .build())
         .build();
   }
@@ -337,6 +337,9 @@ public abstract class AbstractEngineNewPayload extends ExecutionEngineJsonRpcMet
       return respondWith(reqId, blockParam, null, ACCEPTED);
     }
 
+    // load the accounts and slots the block is known to touch ahead of the executing thread
+    protocolContext.getWorldStateArchive().prefetch(maybeParentHeader.get(), block);
+
     // execute block and return result response
     final long startTimeMs = System.currentTimeMillis();
     final BlockProcessingResult executionResult = mergeCoordinator.rememberBlock(block);
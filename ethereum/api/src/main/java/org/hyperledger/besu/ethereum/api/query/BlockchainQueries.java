@@ -470,10 +470,7 @@ public class BlockchainQueries {
                                 .getTotalDifficultyByHash(blockHeaderHash)
                                 .map(
                                     td -> {
-                                      final List<Hash> txs =
-                                          body.getTransactions().stream()
-                                              .map(Transaction::getHash)
-                                              .collect(Collectors.toList());
+                                      final List<Hash> txs = body.getTransactionHashes();
                                       final List<Hash> ommers =
                                           body.getOmmers().stream()
                                               .map(BlockHeader::getHash)
@@ -822,7 +819,7 @@ public class BlockchainQueries {
       }
       // receipts and transactions should exist if the header exists, so throwing is ok.
       final List<TransactionReceipt> receipts = getReceipts(blockHash, isQueryAlive);
-      final List<Transaction> transactions = getTransactions(blockHash, isQueryAlive);
+      final List<Hash> transactionHashes = getTransactionHashes(blockHash, isQueryAlive);
       final long number = blockHeader.get().getNumber();
       final boolean removed = getRemoved(blockHash, isQueryAlive);
 
@@ -838,7 +835,7 @@ public class BlockchainQueries {
                           receipts.get(i),
                           number,
                           blockHash,
-                          transactions.get(i).getHash(),
+                          transactionHashes.get(i),
                           i,
                           removed);
                   logIndexOffset.addAndGet(receipts.get(i).getLogs().size());
@@ -873,21 +870,21 @@ public class BlockchainQueries {
       }
       // receipts and transactions should exist if the header exists, so throwing is ok.
       final List<TransactionReceipt> receipts = getReceipts(blockHash, isQueryAlive);
-      final List<Transaction> transactions = getTransactions(blockHash, isQueryAlive);
+      final List<Hash> transactionHashes = getTransactionHashes(blockHash, isQueryAlive);
       final long number = blockHeader.get().getNumber();
       final boolean removed = getRemoved(blockHash, isQueryAlive);
 
       final int transactionIndex = transactionWithMetaData.getTransactionIndex().get();
       final int logIndexOffset =
           logIndexOffset(
-              transactionWithMetaData.getTransaction().getHash(), receipts, transactions);
+              transactionWithMetaData.getTransaction().getHash(), receipts, transactionHashes);
 
       return LogWithMetadata.generate(
           logIndexOffset,
           receipts.get(transactionIndex),
           number,
           blockHash,
-          transactions.get(transactionIndex).getHash(),
+          transactionHashes.get(transactionIndex),
           transactionIndex,
           removed);
 
@@ -1038,11 +1035,11 @@ public class BlockchainQueries {
         isQueryAlive);
   }
 
-  private List<Transaction> getTransactions(
+  private List<Hash> getTransactionHashes(
       final Hash blockHash, final Supplier<Boolean> isQueryAlive) throws Exception {
     return BackendQuery.runIfAlive(
         "matchingLogs - getBlockBody",
-        () -> blockchain.getBlockBody(blockHash).orElseThrow().getTransactions(),
+        () -> blockchain.getBlockBody(blockHash).orElseThrow().getTransactionHashes(),
         isQueryAlive);
   }
 
@@ -1063,10 +1060,10 @@ public class BlockchainQueries {
   private int logIndexOffset(
       final Hash transactionHash,
       final List<TransactionReceipt> receipts,
-      final List<Transaction> transactions) {
+      final List<Hash> transactionHashes) {
     int logIndexOffset = 0;
     for (int i = 0; i < receipts.size(); i++) {
-      if (transactions.get(i).getHash().equals(transactionHash)) {
+      if (transactionHashes.get(i).equals(transactionHash)) {
         break;
       }
 
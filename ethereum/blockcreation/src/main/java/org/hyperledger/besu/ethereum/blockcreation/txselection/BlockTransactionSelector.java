@@ -40,7 +40,10 @@ import org.hyperledger.besu.ethereum.mainnet.AbstractBlockProcessor;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedTransactionContext;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.SpeculativeTransactionProcessor;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
 import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
@@ -50,12 +53,14 @@ import org.hyperledger.besu.plugin.services.tracer.BlockAwareOperationTracer;
 import org.hyperledger.besu.plugin.services.txselection.PluginTransactionSelector;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import com.google.common.base.Stopwatch;
 import org.slf4j.Logger;
@@ -99,6 +104,7 @@ public class BlockTransactionSelector {
   private final AtomicBoolean isTimeout = new AtomicBoolean(false);
   private final long blockTxsSelectionMaxTime;
   private WorldUpdater blockWorldStateUpdater;
+  private Optional<TransactionPreExecutor> transactionPreExecutor = Optional.empty();
 
   public BlockTransactionSelector(
       final MiningParameters miningParameters,
@@ -163,7 +169,16 @@ public class BlockTransactionSelector {
         .setMessage("Transaction pool stats {}")
         .addArgument(blockSelectionContext.transactionPool().logStats())
         .log();
-    timeLimitedSelection();
+    transactionPreExecutor =
+        startTransactionPreExecution(
+            () ->
+                blockSelectionContext.transactionPool().getPendingTransactions().stream()
+                    .map(PendingTransaction::getTransaction));
+    try {
+      timeLimitedSelection();
+    } finally {
+      transactionPreExecutor.ifPresent(TransactionPreExecutor::close);
+    }
     LOG.atTrace()
         .setMessage("Transaction selection result {}")
         .addArgument(transactionSelectionResults::toTraceLog)
@@ -209,11 +224,49 @@ public class BlockTransactionSelector {
    *     evaluations.
    */
   public TransactionSelectionResults evaluateTransactions(final List<Transaction> transactions) {
-    transactions.forEach(
-        transaction -> evaluateTransaction(new PendingTransaction.Local.Priority(transaction)));
+    transactionPreExecutor = startTransactionPreExecution(transactions::stream);
+    try {
+      transactions.forEach(
+          transaction -> evaluateTransaction(new PendingTransaction.Local.Priority(transaction)));
+    } finally {
+      transactionPreExecutor.ifPresent(TransactionPreExecutor::close);
+    }
     return transactionSelectionResults;
   }
 
+  /**
+   * Starts executing the candidate transactions in the background, if enabled. This requires a
+   * Bonsai world state, and no plugin operation tracer since the pre-executions are not traced.
+   *
+   * @param candidates supplies the transactions that may be evaluated
+   * @return the pre-executor to take the results from, if enabled
+   */
+  private Optional<TransactionPreExecutor> startTransactionPreExecution(
+      final Supplier<Stream<Transaction>> candidates) {
+    final int limit =
+        blockSelectionContext.miningParameters().getUnstable().getBlockTxsPreExecutionLimit();
+    if (limit <= 0 || pluginOperationTracer != BlockAwareOperationTracer.NO_TRACING) {
+      return Optional.empty();
+    }
+    if (!(blockWorldStateUpdater instanceof BonsaiWorldStateUpdateAccumulator blockAccumulator)) {
+      return Optional.empty();
+    }
+    final ProcessableBlockHeader blockHeader = blockSelectionContext.processableBlockHeader();
+    final TransactionPreExecutor preExecutor =
+        new TransactionPreExecutor(
+            blockAccumulator,
+            new SpeculativeTransactionProcessor(
+                transactionProcessor,
+                blockchain,
+                blockHeader,
+                blockSelectionContext.miningBeneficiary(),
+                blockSelectionContext.blobGasPrice(),
+                false,
+                TransactionValidationParams.mining()));
+    preExecutor.start(candidates.get(), blockHeader.getBaseFee(), limit, ethScheduler);
+    return Optional.of(preExecutor);
+  }
+
   /**
    * Passed into the PendingTransactions, and is called on each transaction until sufficient
    * transactions are found which fill a block worth of gas. This function will continue to be
@@ -236,6 +289,13 @@ public class BlockTransactionSelector {
       return handleTransactionNotSelected(evaluationContext, selectionResult);
     }
 
+    final Optional<ParallelizedTransactionContext> preExecutedResult =
+        transactionPreExecutor.flatMap(
+            preExecutor -> preExecutor.takeResult(pendingTransaction.getTransaction()));
+    if (preExecutedResult.isPresent()) {
+      return evaluatePreExecutedTransaction(evaluationContext, preExecutedResult.get());
+    }
+
     final WorldUpdater txWorldStateUpdater = blockWorldStateUpdater.updater();
     final TransactionProcessingResult processingResult =
         processTransaction(pendingTransaction, txWorldStateUpdater);
@@ -249,6 +309,31 @@ public class BlockTransactionSelector {
         evaluationContext, postProcessingSelectionResult, txWorldStateUpdater);
   }
 
+  /**
+   * Evaluates a transaction whose pre-executed result is still valid, without executing it again.
+   * The changes of the pre-execution are only applied to the block if the transaction is selected.
+   *
+   * @param evaluationContext The current selection session data.
+   * @param preExecutedResult The pre-executed result of the transaction.
+   * @return The result of the transaction evaluation process.
+   */
+  private TransactionSelectionResult evaluatePreExecutedTransaction(
+      final TransactionEvaluationContext evaluationContext,
+      final ParallelizedTransactionContext preExecutedResult) {
+    final TransactionProcessingResult processingResult =
+        preExecutedResult.transactionProcessingResult();
+    final var postProcessingSelectionResult =
+        evaluatePostProcessing(evaluationContext, processingResult);
+    if (postProcessingSelectionResult.selected()) {
+      return handleTransactionSelected(
+          evaluationContext,
+          processingResult,
+          () -> transactionPreExecutor.orElseThrow().apply(preExecutedResult),
+          () -> {});
+    }
+    return handleTransactionNotSelected(evaluationContext, postProcessingSelectionResult);
+  }
+
   private TransactionEvaluationContext createTransactionEvaluationContext(
       final PendingTransaction pendingTransaction) {
     final Wei transactionGasPriceInBlock =
@@ -351,6 +436,31 @@ public class BlockTransactionSelector {
       final TransactionEvaluationContext evaluationContext,
       final TransactionProcessingResult processingResult,
       final WorldUpdater txWorldStateUpdater) {
+    return handleTransactionSelected(
+        evaluationContext,
+        processingResult,
+        () -> {
+          txWorldStateUpdater.commit();
+          blockWorldStateUpdater.commit();
+        },
+        txWorldStateUpdater::revert);
+  }
+
+  /**
+   * Handles a selected transaction, applying its changes to the block world state with the given
+   * action, or discarding them if the selection has already timed out.
+   *
+   * @param evaluationContext The current selection session data.
+   * @param processingResult The result of the transaction processing.
+   * @param applyChanges Commits the changes of the transaction to the block world state.
+   * @param discardChanges Discards the changes of the transaction.
+   * @return The result of the transaction selection process.
+   */
+  private TransactionSelectionResult handleTransactionSelected(
+      final TransactionEvaluationContext evaluationContext,
+      final TransactionProcessingResult processingResult,
+      final Runnable applyChanges,
+      final Runnable discardChanges) {
     final Transaction transaction = evaluationContext.getTransaction();
 
     final long gasUsedByTransaction =
@@ -368,8 +478,7 @@ public class BlockTransactionSelector {
     synchronized (isTimeout) {
       tooLate = isTimeout.get();
       if (!tooLate) {
-        txWorldStateUpdater.commit();
-        blockWorldStateUpdater.commit();
+        applyChanges.run();
         final TransactionReceipt receipt =
             transactionReceiptFactory.create(
                 transaction.getType(), processingResult, worldState, cumulativeGasUsed);
@@ -385,8 +494,8 @@ public class BlockTransactionSelector {
 
       // do not rely on the presence of this result, since by the time it is added, the code
       // reading it could have been already executed by another thread
-      return handleTransactionNotSelected(
-          evaluationContext, BLOCK_SELECTION_TIMEOUT, txWorldStateUpdater);
+      discardChanges.run();
+      return handleTransactionNotSelected(evaluationContext, BLOCK_SELECTION_TIMEOUT);
     }
 
     pluginTransactionSelector.onTransactionSelected(evaluationContext, processingResult);
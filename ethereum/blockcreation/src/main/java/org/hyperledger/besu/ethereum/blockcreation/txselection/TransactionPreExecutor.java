@@ -0,0 +1,163 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelizedTransactionContext;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.SpeculativeTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.TransactionCollisionDetector;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the candidate transactions of a block in the background while the selection runs, each
+ * against the state the block starts from. When the selection reaches a candidate, its result is
+ * reused if no transaction selected before it changed an account it used, otherwise the
+ * transaction is executed again as usual.
+ *
+ * <p>Only the lowest nonce transaction of each sender is pre-executed, since the following ones
+ * depend on it, and candidates are submitted by decreasing priority fee, which is the order the
+ * selection most likely follows.
+ */
+class TransactionPreExecutor implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionPreExecutor.class);
+
+  private final BonsaiWorldStateUpdateAccumulator blockAccumulator;
+  private final SpeculativeTransactionProcessor speculativeProcessor;
+  private final TransactionCollisionDetector collisionDetector;
+  private final Map<Hash, CompletableFuture<Optional<ParallelizedTransactionContext>>> results =
+      new ConcurrentHashMap<>();
+  private final AtomicInteger reusedCount = new AtomicInteger();
+  private final AtomicInteger conflictCount = new AtomicInteger();
+  private final AtomicInteger notReadyCount = new AtomicInteger();
+  private volatile boolean closed = false;
+
+  TransactionPreExecutor(
+      final BonsaiWorldStateUpdateAccumulator blockAccumulator,
+      final SpeculativeTransactionProcessor speculativeProcessor) {
+    this.blockAccumulator = blockAccumulator;
+    this.speculativeProcessor = speculativeProcessor;
+    this.collisionDetector = speculativeProcessor.createCollisionDetector();
+  }
+
+  /**
+   * Submits the pre-execution of the best candidates.
+   *
+   * @param candidates the transactions the selection may evaluate
+   * @param baseFee the base fee of the block, to rank the candidates
+   * @param limit the maximum number of transactions to pre-execute
+   * @param ethScheduler the scheduler to run the pre-executions on
+   */
+  void start(
+      final Stream<Transaction> candidates,
+      final Optional<Wei> baseFee,
+      final int limit,
+      final EthScheduler ethScheduler) {
+    final Map<Address, Transaction> lowestNonceBySender = new HashMap<>();
+    candidates.forEach(
+        transaction ->
+            lowestNonceBySender.merge(
+                transaction.getSender(),
+                transaction,
+                (current, other) -> current.getNonce() <= other.getNonce() ? current : other));
+    lowestNonceBySender.values().stream()
+        .sorted(
+            Comparator.comparing(
+                    (Transaction transaction) -> transaction.getEffectivePriorityFeePerGas(baseFee))
+                .reversed())
+        .limit(limit)
+        .forEach(
+            transaction ->
+                results.put(
+                    transaction.getHash(),
+                    ethScheduler.scheduleComputationTask(
+                        () ->
+                            closed
+                                ? Optional.empty()
+                                : speculativeProcessor.execute(blockAccumulator, transaction))));
+    LOG.trace("Pre-executing {} candidate transactions", results.size());
+  }
+
+  /**
+   * Takes the pre-executed result of a transaction, if it is ready and still valid on top of the
+   * transactions selected so far.
+   *
+   * @param transaction the transaction being evaluated
+   * @return the pre-executed result, or empty if the transaction must be executed
+   */
+  Optional<ParallelizedTransactionContext> takeResult(final Transaction transaction) {
+    final CompletableFuture<Optional<ParallelizedTransactionContext>> future =
+        results.get(transaction.getHash());
+    if (future == null || closed) {
+      return Optional.empty();
+    }
+    if (!future.isDone()) {
+      notReadyCount.incrementAndGet();
+      return Optional.empty();
+    }
+    final Optional<ParallelizedTransactionContext> maybeContext = future.join();
+    if (maybeContext.isEmpty()
+        || collisionDetector.hasCollision(maybeContext.get(), blockAccumulator)) {
+      conflictCount.incrementAndGet();
+      return Optional.empty();
+    }
+    return maybeContext;
+  }
+
+  /**
+   * Applies a result returned by {@link #takeResult(Transaction)} to the block state and commits
+   * it, in place of executing the transaction.
+   *
+   * @param context the pre-executed result of the selected transaction
+   */
+  void apply(final ParallelizedTransactionContext context) {
+    speculativeProcessor.merge(context, blockAccumulator);
+    blockAccumulator.commit();
+    collisionDetector.addModifiedAddresses(context.transactionAccumulator());
+    reusedCount.incrementAndGet();
+  }
+
+  /**
+   * Stops the pre-executions that have not started and drops the results of all of them, without
+   * waiting for the running ones, which complete in the background.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    results.values().forEach(future -> future.cancel(false));
+    results.clear();
+    LOG.atDebug()
+        .setMessage("Pre-executed transactions: {} reused, {} conflicting, {} not ready")
+        .addArgument(reusedCount::get)
+        .addArgument(conflictCount::get)
+        .addArgument(notReadyCount::get)
+        .log();
+  }
+}
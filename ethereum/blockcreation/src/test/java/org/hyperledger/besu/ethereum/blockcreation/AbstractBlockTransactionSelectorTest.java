@@ -27,6 +27,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -54,6 +56,7 @@ import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.ImmutableMiningParameters;
 import org.hyperledger.besu.ethereum.core.ImmutableMiningParameters.MutableInitValues;
+import org.hyperledger.besu.ethereum.core.ImmutableMiningParameters.Unstable;
 import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
 import org.hyperledger.besu.ethereum.core.MiningParameters;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
@@ -926,6 +929,91 @@ public abstract class AbstractBlockTransactionSelectorTest {
         .containsOnly(entry(txNotSelected, PRIORITY_FEE_PER_GAS_BELOW_CURRENT_MIN));
   }
 
+  @Test
+  public void preExecutedTransactionsAreReusedUnlessTheyConflict() {
+    final List<KeyPair> senderKeyPairs =
+        Stream.generate(SignatureAlgorithmFactory.getInstance()::generateKeyPair)
+            .limit(5)
+            .toList();
+    final List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      transactions.add(
+          createTransferTransaction(senderKeyPairs.get(i), 0, AddressHelpers.ofValue(0x1000 + i)));
+    }
+    // not pre-executed, since it depends on the first transaction of its sender
+    transactions.add(
+        createTransferTransaction(senderKeyPairs.get(0), 1, AddressHelpers.ofValue(0x1000)));
+    // pre-executed, but pays an account that earlier transactions have modified
+    transactions.add(
+        createTransferTransaction(senderKeyPairs.get(4), 0, AddressHelpers.ofValue(0x1000)));
+
+    when(ethScheduler.scheduleComputationTask(any()))
+        .thenAnswer(
+            invocation ->
+                CompletableFuture.completedFuture(invocation.<Supplier<?>>getArgument(0).get()));
+
+    final ProcessableBlockHeader blockHeader = createBlock(500_000);
+    final MainnetTransactionProcessor mainnetTransactionProcessor =
+        protocolSchedule
+            .getByBlockHeader(blockchain.getChainHeadHeader())
+            .getTransactionProcessor();
+
+    worldState = createFundedBonsaiWorldState(senderKeyPairs);
+    final TransactionSelectionResults sequentialResults =
+        createBlockSelectorAndSetupTxPool(
+                defaultTestMiningParameters,
+                mainnetTransactionProcessor,
+                blockHeader,
+                AddressHelpers.ofValue(1),
+                Wei.ZERO,
+                transactionSelectionService)
+            .evaluateTransactions(transactions);
+    final Hash sequentialStateRoot = worldState.rootHash();
+
+    final MiningParameters miningParameters =
+        ImmutableMiningParameters.builder()
+            .from(defaultTestMiningParameters)
+            .unstable(Unstable.builder().blockTxsPreExecutionLimit(16).build())
+            .build();
+    final MainnetTransactionProcessor processorSpy = spy(mainnetTransactionProcessor);
+    worldState = createFundedBonsaiWorldState(senderKeyPairs);
+    final TransactionSelectionResults results =
+        createBlockSelectorAndSetupTxPool(
+                miningParameters,
+                processorSpy,
+                blockHeader,
+                AddressHelpers.ofValue(1),
+                Wei.ZERO,
+                transactionSelectionService)
+            .evaluateTransactions(transactions);
+
+    assertThat(results.getSelectedTransactions()).containsExactlyElementsOf(transactions);
+    assertThat(results.getSelectedTransactions())
+        .isEqualTo(sequentialResults.getSelectedTransactions());
+    assertThat(results.getCumulativeGasUsed()).isEqualTo(sequentialResults.getCumulativeGasUsed());
+    assertThat(worldState.rootHash()).isEqualTo(sequentialStateRoot);
+    // only the last two transactions were executed again during the selection
+    verify(processorSpy, times(2))
+        .processTransaction(any(), any(), any(), any(), any(), any(), anyBoolean(), any(), any());
+  }
+
+  private MutableWorldState createFundedBonsaiWorldState(final List<KeyPair> keyPairs) {
+    final MutableWorldState bonsaiWorldState =
+        InMemoryKeyValueStorageProvider.createBonsaiInMemoryWorldStateArchive(blockchain)
+            .getMutable();
+    final var updater = bonsaiWorldState.updater();
+    keyPairs.forEach(
+        keyPair ->
+            updater.createAccount(
+                Address.extract(Hash.hash(keyPair.getPublicKey().getEncodedBytes())),
+                0,
+                Wei.of(1_000_000_000L)));
+    updater.commit();
+    // pre-executions read the state the block starts from, which must be persisted
+    bonsaiWorldState.persist(null);
+    return bonsaiWorldState;
+  }
+
   @ParameterizedTest
   @MethodSource("subsetOfPendingTransactionsIncludedWhenTxSelectionMaxTimeIsOver")
   public void subsetOfPendingTransactionsIncludedWhenTxSelectionMaxTimeIsOver(
@@ -1301,6 +1389,20 @@ public abstract class AbstractBlockTransactionSelectorTest {
         .signAndBuild(keyPair);
   }
 
+  protected Transaction createTransferTransaction(
+      final KeyPair keyPair, final int nonce, final Address recipient) {
+    return Transaction.builder()
+        .gasLimit(21_000)
+        .gasPrice(Wei.of(7))
+        .nonce(nonce)
+        .payload(Bytes.EMPTY)
+        .to(recipient)
+        .value(Wei.ONE)
+        .chainId(CHAIN_ID)
+        .guessType()
+        .signAndBuild(keyPair);
+  }
+
   protected Transaction createEIP1559Transaction(
       final int nonce,
       final Wei maxFeePerGas,
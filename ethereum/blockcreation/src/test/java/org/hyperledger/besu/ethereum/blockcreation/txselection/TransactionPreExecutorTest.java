@@ -0,0 +1,80 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation.txselection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.SpeculativeTransactionProcessor;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPreExecutorTest {
+
+  @Mock private BonsaiWorldStateUpdateAccumulator blockAccumulator;
+  @Mock private SpeculativeTransactionProcessor speculativeProcessor;
+  @Mock private EthScheduler ethScheduler;
+
+  @Test
+  void closeDoesNotWaitForRunningPreExecutions() throws InterruptedException {
+    final Transaction transaction =
+        new TransactionTestFixture()
+            .createTransaction(SignatureAlgorithmFactory.getInstance().generateKeyPair());
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch finish = new CountDownLatch(1);
+    when(ethScheduler.scheduleComputationTask(any()))
+        .thenAnswer(
+            invocation -> CompletableFuture.supplyAsync(invocation.<Supplier<?>>getArgument(0)));
+    when(speculativeProcessor.execute(blockAccumulator, transaction))
+        .thenAnswer(
+            invocation -> {
+              started.countDown();
+              finish.await();
+              return Optional.empty();
+            });
+
+    final TransactionPreExecutor preExecutor =
+        new TransactionPreExecutor(blockAccumulator, speculativeProcessor);
+    preExecutor.start(Stream.of(transaction), Optional.of(Wei.ZERO), 1, ethScheduler);
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+    try {
+      assertTimeoutPreemptively(Duration.ofSeconds(5), preExecutor::close);
+      assertThat(preExecutor.takeResult(transaction)).isEmpty();
+    } finally {
+      finish.countDown();
+    }
+  }
+}
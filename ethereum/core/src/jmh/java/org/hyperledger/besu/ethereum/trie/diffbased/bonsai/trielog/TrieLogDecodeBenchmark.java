@@ -0,0 +1,101 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.trielog;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogLayer;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares decoding a trie log in the original RLP format with the indexed format, both in full
+ * and for a single account or storage slot. Run with the JMH {@code -prof gc} option to also see
+ * the garbage allocated per decoded block.
+ */
+@State(Scope.Thread)
+public class TrieLogDecodeBenchmark {
+
+  @Param({"200", "2000"})
+  public int accounts;
+
+  @Param({"4"})
+  public int slotsPerAccount;
+
+  private final TrieLogFactoryImpl factory = new TrieLogFactoryImpl(true);
+  private byte[] rlpTrieLog;
+  private byte[] indexedTrieLog;
+  private Address lookupAddress;
+  private StorageSlotKey lookupSlot;
+
+  @Setup
+  public void prepare() {
+    final TrieLogLayer layer = new TrieLogLayer();
+    layer.setBlockHash(Hash.hash(Bytes32.ZERO));
+    layer.setBlockNumber(1L);
+    for (int i = 0; i < accounts; i++) {
+      final Address address = Address.fromHexString(Integer.toHexString(i + 1));
+      layer.addAccountChange(
+          address,
+          new StateTrieAccountValue(i, Wei.of(i), Hash.EMPTY_TRIE_HASH, Hash.EMPTY),
+          new StateTrieAccountValue(i + 1, Wei.of(i + 1), Hash.EMPTY_TRIE_HASH, Hash.EMPTY));
+      for (int j = 0; j < slotsPerAccount; j++) {
+        layer.addStorageChange(
+            address, new StorageSlotKey(UInt256.valueOf(j)), UInt256.valueOf(i), UInt256.ONE);
+      }
+    }
+    final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
+    TrieLogFactoryImpl.writeTo(layer, rlp);
+    rlpTrieLog = rlp.encoded().toArrayUnsafe();
+    indexedTrieLog = factory.serialize(layer);
+    lookupAddress = Address.fromHexString(Integer.toHexString(accounts / 2));
+    lookupSlot = new StorageSlotKey(UInt256.valueOf(slotsPerAccount - 1));
+  }
+
+  @Benchmark
+  public TrieLog decodeRlp() {
+    return factory.deserialize(rlpTrieLog);
+  }
+
+  @Benchmark
+  public TrieLog decodeIndexed() {
+    return ((IndexedTrieLog) factory.deserialize(indexedTrieLog)).toTrieLogLayer();
+  }
+
+  @Benchmark
+  public Optional<UInt256> readSlotRlp() {
+    return factory.deserialize(rlpTrieLog).getStorageByStorageSlotKey(lookupAddress, lookupSlot);
+  }
+
+  @Benchmark
+  public Optional<UInt256> readSlotIndexed() {
+    return factory
+        .deserialize(indexedTrieLog)
+        .getStorageByStorageSlotKey(lookupAddress, lookupSlot);
+  }
+}
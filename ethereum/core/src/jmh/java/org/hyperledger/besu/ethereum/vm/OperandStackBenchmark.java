@@ -0,0 +1,131 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.MessageFrameTestFixture;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.OperandStackMode;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.WorldUpdaterMode;
+import org.hyperledger.besu.evm.precompile.PrecompileContractRegistry;
+import org.hyperledger.besu.evm.processor.MessageCallProcessor;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Deque;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the {@code Bytes} operand stack with the long limb operand stack on whole contract
+ * executions.
+ *
+ * <p>The built in programs are small arithmetic and stack shuffling loops. To run real contracts,
+ * dump their runtime code and a representative call payload (e.g. with {@code eth_getCode} and a
+ * transaction's input from a mainnet or Linea block) to hex files and pass the file paths as the
+ * {@code code} and {@code input} parameters, for example with the JMH {@code -p} option.
+ */
+@State(Scope.Thread)
+public class OperandStackBenchmark {
+
+  // 1000 rounds of MUL, ADD, SHR, XOR and SUB on full width words
+  private static final String ARITHMETIC_LOOP =
+      "0x6103e8"
+          + "7f"
+          + "0123456789abcdef".repeat(4)
+          + "5b80027f"
+          + "fedcba9876543210".repeat(4)
+          + "018060031c18906001900390816024576000526020"
+          + "6000f3";
+
+  // 1000 rounds of DUP5, DUP5, SWAP4, SWAP3, POP, POP
+  private static final String STACK_SHUFFLE_LOOP =
+      "0x60016002600360046103e85b8484939250506001900380600b5700";
+
+  @Param({"ARITHMETIC_LOOP", "STACK_SHUFFLE_LOOP"})
+  public String code;
+
+  @Param({"0x"})
+  public String input;
+
+  @Param({"BYTES", "LONG_LIMBS"})
+  public OperandStackMode stackMode;
+
+  private MessageCallProcessor messageCallProcessor;
+  private MessageFrame parentFrame;
+  private Code contractCode;
+  private Bytes inputData;
+
+  @Setup
+  public void prepare() throws IOException {
+    final EVM evm =
+        MainnetEVMs.cancun(new EvmConfiguration(32_000L, WorldUpdaterMode.STACKED, stackMode));
+    messageCallProcessor = new MessageCallProcessor(evm, new PrecompileContractRegistry());
+    final Bytes codeBytes = loadHex(code);
+    contractCode = evm.getCode(Hash.hash(codeBytes), codeBytes);
+    inputData = loadHex(input);
+    parentFrame = new MessageFrameTestFixture().build();
+  }
+
+  private static Bytes loadHex(final String value) throws IOException {
+    final String hex =
+        switch (value) {
+          case "ARITHMETIC_LOOP" -> ARITHMETIC_LOOP;
+          case "STACK_SHUFFLE_LOOP" -> STACK_SHUFFLE_LOOP;
+          default ->
+              value.startsWith("0x")
+                  ? value
+                  : Files.readString(Path.of(value), StandardCharsets.UTF_8).strip();
+        };
+    return Bytes.fromHexString(hex);
+  }
+
+  @Benchmark
+  public long executeCode() {
+    final MessageFrame frame =
+        MessageFrame.builder()
+            .parentMessageFrame(parentFrame)
+            .type(MessageFrame.Type.MESSAGE_CALL)
+            .worldUpdater(parentFrame.getWorldUpdater())
+            .initialGas(30_000_000L)
+            .address(parentFrame.getContractAddress())
+            .contract(parentFrame.getRecipientAddress())
+            .inputData(inputData)
+            .sender(parentFrame.getSenderAddress())
+            .value(parentFrame.getValue())
+            .apparentValue(parentFrame.getApparentValue())
+            .code(contractCode)
+            .isStatic(false)
+            .completer(f -> {})
+            .build();
+    final Deque<MessageFrame> messageFrameStack = frame.getMessageFrameStack();
+    while (messageFrameStack.peekFirst() != parentFrame) {
+      messageCallProcessor.process(messageFrameStack.peekFirst(), OperationTracer.NO_TRACING);
+    }
+    return frame.getRemainingGas();
+  }
+}
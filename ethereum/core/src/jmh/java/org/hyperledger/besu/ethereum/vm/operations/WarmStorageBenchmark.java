@@ -0,0 +1,112 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import static org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider.createInMemoryWorldStateArchive;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.collections.undo.UndoTable;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.MessageFrameTestFixture;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.frame.WarmedUpStorage;
+import org.hyperledger.besu.evm.gascalculator.CancunGasCalculator;
+import org.hyperledger.besu.evm.operation.SLoadOperation;
+import org.hyperledger.besu.evm.operation.SStoreOperation;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import com.google.common.collect.HashBasedTable;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures warm slot tracking for a storage heavy transaction that touches {@link #SLOT_COUNT}
+ * distinct slots. Run with {@code -prof gc}; {@code gc.alloc.rate.norm} is then reported per slot
+ * access, which makes the table based tracking and {@link WarmedUpStorage} directly comparable.
+ */
+@State(Scope.Thread)
+@OperationsPerInvocation(WarmStorageBenchmark.SLOT_COUNT)
+public class WarmStorageBenchmark {
+
+  static final int SLOT_COUNT = 1_000;
+
+  private final Address address = Address.fromHexString("0x18675309");
+  private final Bytes32[] slots = new Bytes32[SLOT_COUNT];
+  private SLoadOperation sload;
+  private SStoreOperation sstore;
+  private MessageFrame frame;
+
+  @Setup
+  public void prepare() {
+    for (int i = 0; i < SLOT_COUNT; i++) {
+      slots[i] = UInt256.valueOf(i).shiftLeft(i % 200);
+    }
+    final CancunGasCalculator gasCalculator = new CancunGasCalculator();
+    sload = new SLoadOperation(gasCalculator);
+    sstore = new SStoreOperation(gasCalculator, SStoreOperation.EIP_1706_MINIMUM);
+
+    final WorldUpdater worldStateUpdater = createInMemoryWorldStateArchive().getMutable().updater();
+    frame =
+        new MessageFrameTestFixture()
+            .address(address)
+            .worldUpdater(worldStateUpdater)
+            .blockHeader(new BlockHeaderTestFixture().buildHeader())
+            .blockchain(mock(Blockchain.class))
+            .build();
+    worldStateUpdater.getOrCreate(address).setBalance(Wei.of(1));
+    worldStateUpdater.commit();
+  }
+
+  @Benchmark
+  public void undoTable(final Blackhole blackhole) {
+    final UndoTable<Address, Bytes32, Boolean> warmedUp = UndoTable.of(HashBasedTable.create());
+    for (final Bytes32 slot : slots) {
+      blackhole.consume(warmedUp.put(address, slot, Boolean.TRUE) != null);
+      blackhole.consume(warmedUp.contains(address, slot));
+    }
+  }
+
+  @Benchmark
+  public void warmedUpStorage(final Blackhole blackhole) {
+    final WarmedUpStorage warmedUp = new WarmedUpStorage();
+    for (final Bytes32 slot : slots) {
+      blackhole.consume(warmedUp.add(address, slot));
+      blackhole.consume(warmedUp.contains(address, slot));
+    }
+  }
+
+  /** A cold SLOAD followed by a warm SSTORE of the same value for every slot, then a revert. */
+  @Benchmark
+  public void sloadSstore() {
+    final WarmedUpStorage warmedUp = frame.getWarmedUpStorageSlots();
+    final long mark = warmedUp.mark();
+    for (final Bytes32 slot : slots) {
+      frame.pushStackItem(slot);
+      sload.execute(frame, null);
+      frame.pushStackItem(slot);
+      sstore.execute(frame, null);
+    }
+    warmedUp.undo(mark);
+  }
+}
@@ -218,7 +218,13 @@ public class MainnetBlockValidator implements BlockValidator {
   protected BlockProcessingResult processBlock(
       final ProtocolContext context, final MutableWorldState worldState, final Block block) {
 
-    return blockProcessor.processBlock(context.getBlockchain(), worldState, block);
+    return context
+        .getParallelTransactionExecutor()
+        .map(
+            executor ->
+                blockProcessor.processBlockInParallel(
+                    context.getBlockchain(), worldState, block, executor))
+        .orElseGet(() -> blockProcessor.processBlock(context.getBlockchain(), worldState, block));
   }
 
   @Override
@@ -18,6 +18,7 @@ import org.hyperledger.besu.ethereum.chain.BadBlockManager;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.Synchronizer;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelTransactionExecutor;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
 import java.util.Optional;
@@ -34,6 +35,7 @@ public class ProtocolContext {
   private final ConsensusContext consensusContext;
 
   private Optional<Synchronizer> synchronizer;
+  private Optional<ParallelTransactionExecutor> parallelTransactionExecutor;
 
   public ProtocolContext(
       final MutableBlockchain blockchain,
@@ -44,6 +46,7 @@ public class ProtocolContext {
     this.worldStateArchive = worldStateArchive;
     this.consensusContext = consensusContext;
     this.synchronizer = Optional.empty();
+    this.parallelTransactionExecutor = Optional.empty();
     this.badBlockManager = badBlockManager;
   }
 
@@ -68,6 +71,15 @@ public class ProtocolContext {
     this.synchronizer = synchronizer;
   }
 
+  public Optional<ParallelTransactionExecutor> getParallelTransactionExecutor() {
+    return parallelTransactionExecutor;
+  }
+
+  public void setParallelTransactionExecutor(
+      final Optional<ParallelTransactionExecutor> parallelTransactionExecutor) {
+    this.parallelTransactionExecutor = parallelTransactionExecutor;
+  }
+
   public MutableBlockchain getBlockchain() {
     return blockchain;
   }
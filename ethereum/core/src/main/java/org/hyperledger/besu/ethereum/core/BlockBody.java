@@ -14,14 +14,20 @@
  */
 package org.hyperledger.besu.ethereum.core;
 
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.encoding.LazyDecodedList;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.apache.tuweni.bytes.Bytes;
+
 public class BlockBody implements org.hyperledger.besu.plugin.data.BlockBody {
 
   private static final BlockBody EMPTY =
@@ -73,6 +79,33 @@ public class BlockBody implements org.hyperledger.besu.plugin.data.BlockBody {
     return transactions;
   }
 
+  /**
+   * Returns the hashes of the transactions of the block. For a body read with {@link
+   * #readWrappedBodyLazilyFrom}, they are computed from the encoded transactions without decoding
+   * them.
+   *
+   * @return The list of transaction hashes of the block.
+   */
+  public List<Hash> getTransactionHashes() {
+    final List<Hash> hashes = new ArrayList<>(transactions.size());
+    if (transactions instanceof LazyDecodedList<Transaction> lazyTransactions) {
+      for (int i = 0; i < lazyTransactions.size(); i++) {
+        hashes.add(transactionHash(lazyTransactions.getEncoded(i)));
+      }
+    } else {
+      for (final Transaction transaction : transactions) {
+        hashes.add(transaction.getHash());
+      }
+    }
+    return hashes;
+  }
+
+  private static Hash transactionHash(final Bytes encodedTransaction) {
+    // Typed transactions are wrapped in an RLP string, the hash is that of its content
+    final RLPInput input = RLP.input(encodedTransaction);
+    return Hash.hash(input.nextIsList() ? encodedTransaction : input.readBytes());
+  }
+
   /**
    * @return The list of ommers of the block.
    */
@@ -161,6 +194,26 @@ public class BlockBody implements org.hyperledger.besu.plugin.data.BlockBody {
     return body;
   }
 
+  /**
+   * Reads a block body wrapped in a list, like {@link #readWrappedBodyFrom(RLPInput,
+   * BlockHeaderFunctions)}, but only decodes its transactions when they are accessed. Since
+   * malformed transactions are only detected on access, this is meant for bodies read back from
+   * storage, see {@link LazyDecodedList}.
+   *
+   * @param input The RLP-encoded input
+   * @param blockHeaderFunctions The block header functions used for parsing block headers
+   * @return the BlockBody read from the RLP
+   */
+  public static BlockBody readWrappedBodyLazilyFrom(
+      final RLPInput input, final BlockHeaderFunctions blockHeaderFunctions) {
+    input.enterList();
+    final BlockBody body =
+        readFrom(
+            LazyDecodedList.readFrom(input, Transaction::readFrom), input, blockHeaderFunctions);
+    input.leaveList();
+    return body;
+  }
+
   /**
    * Read all fields from the block body expecting no list wrapping them. An example of a valid body
    * would be: [txs],[ommers],[withdrawals],[deposits] this method is called directly when importing
@@ -172,8 +225,15 @@ public class BlockBody implements org.hyperledger.besu.plugin.data.BlockBody {
    */
   public static BlockBody readFrom(
       final RLPInput input, final BlockHeaderFunctions blockHeaderFunctions) {
+    return readFrom(input.readList(Transaction::readFrom), input, blockHeaderFunctions);
+  }
+
+  private static BlockBody readFrom(
+      final List<Transaction> transactions,
+      final RLPInput input,
+      final BlockHeaderFunctions blockHeaderFunctions) {
     return new BlockBody(
-        input.readList(Transaction::readFrom),
+        transactions,
         input.readList(rlp -> BlockHeader.readFrom(rlp, blockHeaderFunctions)),
         input.isEndOfCurrentList()
             ? Optional.empty()
@@ -324,6 +324,7 @@ public abstract class MiningParameters {
     int DEFAULT_MAX_OMMERS_DEPTH = 8;
     long DEFAULT_POS_BLOCK_CREATION_MAX_TIME = Duration.ofSeconds(12).toMillis();
     long DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION = Duration.ofMillis(500).toMillis();
+    int DEFAULT_BLOCK_TXS_PRE_EXECUTION_LIMIT = 0;
 
     MiningParameters.Unstable DEFAULT = ImmutableMiningParameters.Unstable.builder().build();
 
@@ -361,5 +362,16 @@ public abstract class MiningParameters {
     default String getStratumExtranonce() {
       return "080c";
     }
+
+    /**
+     * The maximum number of pending transactions executed in the background while a block is being
+     * built, so that their results can be reused during selection. Zero disables it.
+     *
+     * @return the maximum number of transactions to pre-execute per block
+     */
+    @Value.Default
+    default int getBlockTxsPreExecutionLimit() {
+      return DEFAULT_BLOCK_TXS_PRE_EXECUTION_LIMIT;
+    }
   }
 }
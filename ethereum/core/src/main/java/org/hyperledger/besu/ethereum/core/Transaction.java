@@ -20,7 +20,6 @@ import static org.hyperledger.besu.crypto.Hash.keccak256;
 import static org.hyperledger.besu.datatypes.VersionedHash.SHA256_VERSION_ID;
 
 import org.hyperledger.besu.crypto.KeyPair;
-import org.hyperledger.besu.crypto.SECPPublicKey;
 import org.hyperledger.besu.crypto.SECPSignature;
 import org.hyperledger.besu.crypto.SignatureAlgorithm;
 import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
@@ -35,6 +34,7 @@ import org.hyperledger.besu.datatypes.Sha256Hash;
 import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.VersionedHash;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.TransactionSenderCache.RecoveredSender;
 import org.hyperledger.besu.ethereum.core.encoding.AccessListTransactionEncoder;
 import org.hyperledger.besu.ethereum.core.encoding.BlobTransactionEncoder;
 import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
@@ -51,8 +51,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.common.primitives.Longs;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -77,9 +75,6 @@ public class Transaction
 
   public static final BigInteger TWO = BigInteger.valueOf(2);
 
-  private static final Cache<Hash, Address> senderCache =
-      CacheBuilder.newBuilder().recordStats().maximumSize(100_000L).build();
-
   private final long nonce;
 
   private final Optional<Wei> gasPrice;
@@ -416,23 +411,25 @@ public class Transaction
   @Override
   public Address getSender() {
     if (sender == null) {
-      Optional<Address> cachedSender = Optional.ofNullable(senderCache.getIfPresent(getHash()));
-      sender = cachedSender.orElseGet(this::computeSender);
+      sender =
+          recoverSender()
+              .map(RecoveredSender::address)
+              .orElseThrow(
+                  () ->
+                      new IllegalStateException(
+                          "Cannot recover public key from signature for " + this));
     }
     return sender;
   }
 
-  private Address computeSender() {
-    final SECPPublicKey publicKey =
-        signatureAlgorithm
-            .recoverPublicKeyFromSignature(getOrComputeSenderRecoveryHash(), signature)
-            .orElseThrow(
-                () ->
-                    new IllegalStateException(
-                        "Cannot recover public key from signature for " + this));
-    final Address calculatedSender = Address.extract(Hash.hash(publicKey.getEncodedBytes()));
-    senderCache.put(this.hash, calculatedSender);
-    return calculatedSender;
+  private Optional<RecoveredSender> recoverSender() {
+    final Hash transactionHash = getHash();
+    return TransactionSenderCache.get(transactionHash)
+        .or(
+            () ->
+                signatureAlgorithm
+                    .recoverPublicKeyFromSignature(getOrComputeSenderRecoveryHash(), signature)
+                    .map(publicKey -> TransactionSenderCache.put(transactionHash, publicKey)));
   }
 
   /**
@@ -441,9 +438,7 @@ public class Transaction
    * @return the public key
    */
   public Optional<String> getPublicKey() {
-    return signatureAlgorithm
-        .recoverPublicKeyFromSignature(getOrComputeSenderRecoveryHash(), signature)
-        .map(SECPPublicKey::toString);
+    return recoverSender().map(recoveredSender -> recoveredSender.publicKey().toString());
   }
 
   private Bytes32 getOrComputeSenderRecoveryHash() {
@@ -0,0 +1,98 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core;
+
+import org.hyperledger.besu.crypto.SECPPublicKey;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.util.Optional;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Process wide cache of the senders recovered from transaction signatures, keyed by transaction
+ * hash.
+ *
+ * <p>Recovering the sender is the most expensive part of handling a transaction, and the same
+ * transaction is usually handled by many components: it is gossiped to the pool, imported with its
+ * block, and then served over RPC, each time as a different instance. Whichever component sees it
+ * first fills the cache, so the signature is only recovered once.
+ */
+public final class TransactionSenderCache {
+  private static final long MAX_SIZE = 100_000L;
+
+  private static final Cache<Hash, RecoveredSender> CACHE =
+      CacheBuilder.newBuilder().maximumSize(MAX_SIZE).build();
+
+  private static volatile Counter hitCounter = NoOpMetricsSystem.NO_OP_COUNTER;
+  private static volatile Counter missCounter = NoOpMetricsSystem.NO_OP_COUNTER;
+
+  private TransactionSenderCache() {}
+
+  record RecoveredSender(Address address, SECPPublicKey publicKey) {}
+
+  static Optional<RecoveredSender> get(final Hash transactionHash) {
+    final RecoveredSender recoveredSender = CACHE.getIfPresent(transactionHash);
+    if (recoveredSender == null) {
+      missCounter.inc();
+      return Optional.empty();
+    }
+    hitCounter.inc();
+    return Optional.of(recoveredSender);
+  }
+
+  static RecoveredSender put(final Hash transactionHash, final SECPPublicKey publicKey) {
+    final RecoveredSender recoveredSender =
+        new RecoveredSender(Address.extract(Hash.hash(publicKey.getEncodedBytes())), publicKey);
+    CACHE.put(transactionHash, recoveredSender);
+    return recoveredSender;
+  }
+
+  /**
+   * Exposes the cache size and its hits and misses, which tell how many sender recoveries have
+   * been saved.
+   *
+   * @param metricsSystem the metrics system to register the cache metrics with
+   */
+  public static void registerMetrics(final MetricsSystem metricsSystem) {
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "transaction_sender_cache_size",
+        "Number of transaction senders in the cache",
+        CACHE::size);
+    hitCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "transaction_sender_cache_hits",
+            "Number of transaction senders found in the cache");
+    missCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "transaction_sender_cache_misses",
+            "Number of transaction senders not found in the cache, that had to be recovered");
+  }
+
+  @VisibleForTesting
+  static void clear() {
+    CACHE.invalidateAll();
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core.encoding;
+
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * An unmodifiable list over the items of an RLP encoded list, that only decodes an item the first
+ * time it is accessed and then keeps the decoded value.
+ *
+ * <p>Reading the list only splits the encoded list into its items, the items are decoded on
+ * demand, so callers that only need the size, or a few of the items, do not pay for decoding the
+ * others. Since decoding errors are only raised when an item is accessed, this is only meant for
+ * trusted data, like what was validated before being stored. This list is safe to share between
+ * threads, an item decoded concurrently by two threads may be decoded twice but only one of the
+ * decoded values is ever returned.
+ *
+ * @param <T> the type of the decoded items
+ */
+public final class LazyDecodedList<T> extends AbstractList<T> implements RandomAccess {
+
+  private final List<Bytes> encodedItems;
+  private final Function<RLPInput, T> decoder;
+  private final AtomicReferenceArray<T> decodedItems;
+
+  private LazyDecodedList(final List<Bytes> encodedItems, final Function<RLPInput, T> decoder) {
+    this.encodedItems = encodedItems;
+    this.decoder = decoder;
+    this.decodedItems = new AtomicReferenceArray<>(encodedItems.size());
+  }
+
+  /**
+   * Reads the next item of the input, that must be a list, without decoding its elements.
+   *
+   * @param input the input to read the list from
+   * @param decoder the decoder of a single element of the list
+   * @param <T> the type of the decoded items
+   * @return a list decoding its elements on access
+   */
+  public static <T> LazyDecodedList<T> readFrom(
+      final RLPInput input, final Function<RLPInput, T> decoder) {
+    final List<Bytes> encodedItems = new ArrayList<>();
+    input.enterList();
+    while (!input.isEndOfCurrentList()) {
+      encodedItems.add(input.readAsRlp().raw());
+    }
+    input.leaveList();
+    return new LazyDecodedList<>(encodedItems, decoder);
+  }
+
+  @Override
+  public T get(final int index) {
+    final T decoded = decodedItems.get(index);
+    if (decoded != null) {
+      return decoded;
+    }
+    final T item = decoder.apply(RLP.input(encodedItems.get(index)));
+    return decodedItems.compareAndSet(index, null, item) ? item : decodedItems.get(index);
+  }
+
+  /**
+   * Returns the RLP encoding of an item, as read, without decoding it.
+   *
+   * @param index the index of the item
+   * @return the RLP encoding of the item
+   */
+  public Bytes getEncoded(final int index) {
+    return encodedItems.get(index);
+  }
+
+  @Override
+  public int size() {
+    return encodedItems.size();
+  }
+}
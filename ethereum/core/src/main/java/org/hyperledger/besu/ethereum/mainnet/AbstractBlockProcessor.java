@@ -22,12 +22,15 @@ import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.BlockProcessingOutputs;
 import org.hyperledger.besu.ethereum.BlockProcessingResult;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Deposit;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.Withdrawal;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelBlockExecution;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelTransactionExecutor;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateMetadataUpdater;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
@@ -90,6 +93,24 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
     this.protocolSchedule = protocolSchedule;
   }
 
+  @Override
+  public BlockProcessingResult processBlockInParallel(
+      final Blockchain blockchain,
+      final MutableWorldState worldState,
+      final Block block,
+      final ParallelTransactionExecutor parallelTransactionExecutor) {
+    return processBlock(
+        blockchain,
+        worldState,
+        block.getHeader(),
+        block.getBody().getTransactions(),
+        block.getBody().getOmmers(),
+        block.getBody().getWithdrawals(),
+        block.getBody().getDeposits(),
+        null,
+        Optional.of(parallelTransactionExecutor));
+  }
+
   @Override
   public BlockProcessingResult processBlock(
       final Blockchain blockchain,
@@ -100,6 +121,28 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
       final Optional<List<Withdrawal>> maybeWithdrawals,
       final Optional<List<Deposit>> maybeDeposits,
       final PrivateMetadataUpdater privateMetadataUpdater) {
+    return processBlock(
+        blockchain,
+        worldState,
+        blockHeader,
+        transactions,
+        ommers,
+        maybeWithdrawals,
+        maybeDeposits,
+        privateMetadataUpdater,
+        Optional.empty());
+  }
+
+  protected BlockProcessingResult processBlock(
+      final Blockchain blockchain,
+      final MutableWorldState worldState,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final List<BlockHeader> ommers,
+      final Optional<List<Withdrawal>> maybeWithdrawals,
+      final Optional<List<Deposit>> maybeDeposits,
+      final PrivateMetadataUpdater privateMetadataUpdater,
+      final Optional<ParallelTransactionExecutor> parallelTransactionExecutor) {
     final List<TransactionReceipt> receipts = new ArrayList<>();
     long currentGasUsed = 0;
     long currentBlobGasUsed = 0;
@@ -112,67 +155,99 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
           updater, blockHeader.getTimestamp(), blockHeader.getParentBeaconBlockRoot().get());
     }
 
-    for (final Transaction transaction : transactions) {
-      if (!hasAvailableBlockBudget(blockHeader, transaction, currentGasUsed)) {
-        return new BlockProcessingResult(Optional.empty(), "provided gas insufficient");
-      }
+    final Address miningBeneficiary = miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
+
+    Optional<BlockHeader> maybeParentHeader =
+        blockchain.getBlockHeader(blockHeader.getParentHash());
+
+    Wei blobGasPrice =
+        maybeParentHeader
+            .map(
+                parentHeader ->
+                    protocolSpec
+                        .getFeeMarket()
+                        .blobGasPricePerGas(
+                            calculateExcessBlobGasForParent(protocolSpec, parentHeader)))
+            .orElse(Wei.ZERO);
+
+    // private transactions update private state on the side, they are always run sequentially
+    final Optional<ParallelBlockExecution> maybeParallelExecution =
+        worldState instanceof BonsaiWorldState bonsaiWorldState && privateMetadataUpdater == null
+            ? parallelTransactionExecutor.map(
+                executor ->
+                    executor.execute(
+                        bonsaiWorldState,
+                        blockchain,
+                        blockHeader,
+                        transactions,
+                        miningBeneficiary,
+                        blobGasPrice,
+                        transactionProcessor))
+            : Optional.empty();
 
-      final WorldUpdater worldStateUpdater = worldState.updater();
-
-      final BlockHashLookup blockHashLookup = new CachingBlockHashLookup(blockHeader, blockchain);
-      final Address miningBeneficiary =
-          miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
-
-      Optional<BlockHeader> maybeParentHeader =
-          blockchain.getBlockHeader(blockHeader.getParentHash());
-
-      Wei blobGasPrice =
-          maybeParentHeader
-              .map(
-                  parentHeader ->
-                      protocolSpec
-                          .getFeeMarket()
-                          .blobGasPricePerGas(
-                              calculateExcessBlobGasForParent(protocolSpec, parentHeader)))
-              .orElse(Wei.ZERO);
-
-      final TransactionProcessingResult result =
-          transactionProcessor.processTransaction(
-              worldStateUpdater,
-              blockHeader,
-              transaction,
-              miningBeneficiary,
-              OperationTracer.NO_TRACING,
-              blockHashLookup,
-              true,
-              TransactionValidationParams.processingBlock(),
-              privateMetadataUpdater,
-              blobGasPrice);
-      if (result.isInvalid()) {
-        String errorMessage =
-            MessageFormat.format(
-                "Block processing error: transaction invalid {0}. Block {1} Transaction {2}",
-                result.getValidationResult().getErrorMessage(),
-                blockHeader.getHash().toHexString(),
-                transaction.getHash().toHexString());
-        LOG.info(errorMessage);
-        if (worldState instanceof BonsaiWorldState) {
-          ((BonsaiWorldStateUpdateAccumulator) worldStateUpdater).reset();
+    try {
+      for (int i = 0; i < transactions.size(); i++) {
+        final Transaction transaction = transactions.get(i);
+        if (!hasAvailableBlockBudget(blockHeader, transaction, currentGasUsed)) {
+          return new BlockProcessingResult(Optional.empty(), "provided gas insufficient");
         }
-        return new BlockProcessingResult(Optional.empty(), errorMessage);
-      }
-      worldStateUpdater.commit();
 
-      currentGasUsed += transaction.getGasLimit() - result.getGasRemaining();
-      if (transaction.getVersionedHashes().isPresent()) {
-        currentBlobGasUsed +=
-            (transaction.getVersionedHashes().get().size() * CancunGasCalculator.BLOB_GAS_PER_BLOB);
-      }
+        final WorldUpdater worldStateUpdater = worldState.updater();
+
+        final Optional<TransactionProcessingResult> maybeParallelResult =
+            maybeParallelExecution.isPresent()
+                ? maybeParallelExecution.get().applyTransactionResult(i)
+                : Optional.empty();
+
+        final TransactionProcessingResult result;
+        if (maybeParallelResult.isPresent()) {
+          result = maybeParallelResult.get();
+        } else {
+          final BlockHashLookup blockHashLookup =
+              new CachingBlockHashLookup(blockHeader, blockchain);
+
+          result =
+              transactionProcessor.processTransaction(
+                  worldStateUpdater,
+                  blockHeader,
+                  transaction,
+                  miningBeneficiary,
+                  OperationTracer.NO_TRACING,
+                  blockHashLookup,
+                  true,
+                  TransactionValidationParams.processingBlock(),
+                  privateMetadataUpdater,
+                  blobGasPrice);
+          if (result.isInvalid()) {
+            String errorMessage =
+                MessageFormat.format(
+                    "Block processing error: transaction invalid {0}. Block {1} Transaction {2}",
+                    result.getValidationResult().getErrorMessage(),
+                    blockHeader.getHash().toHexString(),
+                    transaction.getHash().toHexString());
+            LOG.info(errorMessage);
+            if (worldState instanceof BonsaiWorldState) {
+              ((BonsaiWorldStateUpdateAccumulator) worldStateUpdater).reset();
+            }
+            return new BlockProcessingResult(Optional.empty(), errorMessage);
+          }
+          worldStateUpdater.commit();
+        }
 
-      final TransactionReceipt transactionReceipt =
-          transactionReceiptFactory.create(
-              transaction.getType(), result, worldState, currentGasUsed);
-      receipts.add(transactionReceipt);
+        currentGasUsed += transaction.getGasLimit() - result.getGasRemaining();
+        if (transaction.getVersionedHashes().isPresent()) {
+          currentBlobGasUsed +=
+              (transaction.getVersionedHashes().get().size()
+                  * CancunGasCalculator.BLOB_GAS_PER_BLOB);
+        }
+
+        final TransactionReceipt transactionReceipt =
+            transactionReceiptFactory.create(
+                transaction.getType(), result, worldState, currentGasUsed);
+        receipts.add(transactionReceipt);
+      }
+    } finally {
+      maybeParallelExecution.ifPresent(ParallelBlockExecution::close);
     }
     if (blockHeader.getBlobGasUsed().isPresent()
         && currentBlobGasUsed != blockHeader.getBlobGasUsed().get()) {
@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.Withdrawal;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelTransactionExecutor;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateMetadataUpdater;
 
 import java.util.List;
@@ -87,6 +88,24 @@ public interface BlockProcessor {
         null);
   }
 
+  /**
+   * Processes the block, running its transactions in parallel where possible. Processors that do
+   * not support parallel execution process the block sequentially.
+   *
+   * @param blockchain the blockchain to append the block to
+   * @param worldState the world state to apply changes to
+   * @param block the block to process
+   * @param parallelTransactionExecutor the executor running the transactions speculatively
+   * @return the block processing result
+   */
+  default BlockProcessingResult processBlockInParallel(
+      final Blockchain blockchain,
+      final MutableWorldState worldState,
+      final Block block,
+      final ParallelTransactionExecutor parallelTransactionExecutor) {
+    return processBlock(blockchain, worldState, block);
+  }
+
   /**
    * Processes the block.
    *
@@ -0,0 +1,100 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * The speculative execution of the transactions of one block. Results are handed out with {@link
+ * #applyTransactionResult(int)}, which must be called in block order, from the thread processing
+ * the block.
+ */
+public class ParallelBlockExecution implements AutoCloseable {
+
+  private final BonsaiWorldStateUpdateAccumulator blockAccumulator;
+  private final SpeculativeTransactionProcessor speculativeProcessor;
+  private final ParallelTransactionExecutor executor;
+  private final TransactionCollisionDetector collisionDetector;
+  private final List<CompletableFuture<Optional<ParallelizedTransactionContext>>> results =
+      new ArrayList<>();
+  private volatile boolean closed = false;
+
+  ParallelBlockExecution(
+      final BonsaiWorldStateUpdateAccumulator blockAccumulator,
+      final SpeculativeTransactionProcessor speculativeProcessor,
+      final ParallelTransactionExecutor executor) {
+    this.blockAccumulator = blockAccumulator;
+    this.speculativeProcessor = speculativeProcessor;
+    this.executor = executor;
+    this.collisionDetector = speculativeProcessor.createCollisionDetector();
+  }
+
+  void start(final List<Transaction> transactions, final Executor executorService) {
+    for (final Transaction transaction : transactions) {
+      results.add(
+          CompletableFuture.supplyAsync(
+              () ->
+                  closed
+                      ? Optional.empty()
+                      : speculativeProcessor.execute(blockAccumulator, transaction),
+              executorService));
+    }
+  }
+
+  /**
+   * Merges the speculative result of a transaction into the block world state, if it is ready and
+   * does not conflict with the transactions before it. When this returns empty the caller must
+   * execute the transaction itself, on the block world state.
+   *
+   * @param location the index of the transaction in the block
+   * @return the result of the transaction if its speculative execution was merged
+   */
+  public Optional<TransactionProcessingResult> applyTransactionResult(final int location) {
+    final CompletableFuture<Optional<ParallelizedTransactionContext>> future =
+        results.get(location);
+    if (!future.isDone()) {
+      executor.recordNotReady();
+      return Optional.empty();
+    }
+    final Optional<ParallelizedTransactionContext> maybeContext = future.join();
+    if (maybeContext.isEmpty()
+        || collisionDetector.hasCollision(maybeContext.get(), blockAccumulator)) {
+      executor.recordConflict();
+      return Optional.empty();
+    }
+
+    final ParallelizedTransactionContext context = maybeContext.get();
+    speculativeProcessor.merge(context, blockAccumulator);
+    blockAccumulator.commit();
+    collisionDetector.addModifiedAddresses(context.transactionAccumulator());
+    executor.recordMerged();
+    return Optional.of(context.transactionProcessingResult());
+  }
+
+  /** Stops the speculative executions that have not started and waits for the running ones. */
+  @Override
+  public void close() {
+    closed = true;
+    results.forEach(CompletableFuture::join);
+  }
+}
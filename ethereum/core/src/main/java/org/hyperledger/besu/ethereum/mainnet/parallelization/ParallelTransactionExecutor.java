@@ -0,0 +1,159 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Runs the transactions of a Bonsai block speculatively on a shared pool of threads while the
+ * block is being processed.
+ *
+ * <p>Each transaction is executed against the parent state in its own accumulator. The block
+ * processor then walks the transactions in block order and, through {@link ParallelBlockExecution},
+ * merges a speculative result only if the transaction touched no account that an earlier
+ * transaction of the block modified. Any other transaction is executed again sequentially, so the
+ * receipts and the state root are the same as without this executor.
+ *
+ * <p>The thread pool lives as long as the node and is shut down by {@link #close()}.
+ */
+public class ParallelTransactionExecutor implements Closeable {
+
+  private final ExecutorService executorService;
+  private final Counter mergedTransactions;
+  private final Counter conflictingTransactions;
+  private final Counter notReadyTransactions;
+
+  /**
+   * Creates an executor with one thread per available processor.
+   *
+   * @param metricsSystem the metrics system
+   */
+  public ParallelTransactionExecutor(final MetricsSystem metricsSystem) {
+    this(metricsSystem, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates an executor.
+   *
+   * @param metricsSystem the metrics system
+   * @param threads the number of threads running speculative executions
+   */
+  public ParallelTransactionExecutor(final MetricsSystem metricsSystem, final int threads) {
+    this(
+        metricsSystem,
+        Executors.newFixedThreadPool(
+            threads,
+            new ThreadFactoryBuilder()
+                .setNameFormat("ParallelTransactionExecutor-%d")
+                .setDaemon(true)
+                .build()));
+  }
+
+  @VisibleForTesting
+  ParallelTransactionExecutor(
+      final MetricsSystem metricsSystem, final ExecutorService executorService) {
+    this.executorService = executorService;
+    final LabelledMetric<Counter> outcomes =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "parallel_transactions_total",
+            "Number of block transactions processed with parallel execution enabled, by whether"
+                + " the speculative result was merged, conflicted with an earlier transaction or"
+                + " was not ready in time",
+            "outcome");
+    this.mergedTransactions = outcomes.labels("merged");
+    this.conflictingTransactions = outcomes.labels("conflict");
+    this.notReadyTransactions = outcomes.labels("not_ready");
+  }
+
+  /**
+   * Starts the speculative execution of the transactions of a block. The world state accumulator
+   * must only hold the changes made before the first transaction.
+   *
+   * @param worldState the world state the block is processed on
+   * @param blockchain the blockchain, for block hash lookups
+   * @param blockHeader the header of the block
+   * @param transactions the transactions of the block
+   * @param miningBeneficiary the address receiving the transaction fees
+   * @param blobGasPrice the blob gas price of the block
+   * @param transactionProcessor the transaction processor of the block's protocol spec
+   * @return the execution to merge the results from, which must be closed once the block is done
+   */
+  public ParallelBlockExecution execute(
+      final BonsaiWorldState worldState,
+      final Blockchain blockchain,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice,
+      final MainnetTransactionProcessor transactionProcessor) {
+    final ParallelBlockExecution execution =
+        new ParallelBlockExecution(
+            (BonsaiWorldStateUpdateAccumulator) worldState.updater(),
+            new SpeculativeTransactionProcessor(
+                transactionProcessor,
+                blockchain,
+                blockHeader,
+                miningBeneficiary,
+                blobGasPrice,
+                true,
+                TransactionValidationParams.processingBlock()),
+            this);
+    execution.start(transactions, executorService);
+    return execution;
+  }
+
+  /**
+   * Shuts the thread pool down once the executions already submitted are done. Blocks can no longer
+   * be processed in parallel afterwards.
+   */
+  @Override
+  public void close() {
+    // queued executions still have to run, as the block being processed waits for all of them
+    executorService.shutdown();
+  }
+
+  void recordMerged() {
+    mergedTransactions.inc();
+  }
+
+  void recordConflict() {
+    conflictingTransactions.inc();
+  }
+
+  void recordNotReady() {
+    notReadyTransactions.inc();
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+
+/**
+ * The outcome of the speculative execution of a transaction.
+ *
+ * @param transactionAccumulator the committed changes of the transaction, on top of the parent
+ *     state
+ * @param transactionProcessingResult the result of the transaction
+ * @param miningBeneficiaryTouched whether the transaction loaded the mining beneficiary account
+ *     before its fee was credited
+ * @param miningBeneficiaryReward the fee credited to the mining beneficiary
+ */
+public record ParallelizedTransactionContext(
+    BonsaiWorldStateUpdateAccumulator transactionAccumulator,
+    TransactionProcessingResult transactionProcessingResult,
+    boolean miningBeneficiaryTouched,
+    Wei miningBeneficiaryReward) {}
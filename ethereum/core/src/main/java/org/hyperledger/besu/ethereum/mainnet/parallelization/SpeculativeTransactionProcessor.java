@@ -0,0 +1,204 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.DiffBasedValue;
+import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
+import org.hyperledger.besu.evm.log.Log;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the transactions of a block against the state the block starts from, each in its own
+ * accumulator, and merges the results into the block accumulator once a {@link
+ * TransactionCollisionDetector} has found they do not depend on the transactions before them.
+ *
+ * <p>Speculative executions are safe to run concurrently with each other and with the thread
+ * building or importing the block. Merges must happen on that thread, in block order.
+ */
+public class SpeculativeTransactionProcessor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SpeculativeTransactionProcessor.class);
+
+  private final MainnetTransactionProcessor transactionProcessor;
+  private final Blockchain blockchain;
+  private final ProcessableBlockHeader blockHeader;
+  private final Address miningBeneficiary;
+  private final Wei blobGasPrice;
+  private final boolean isPersistingPrivateState;
+  private final TransactionValidationParams transactionValidationParams;
+
+  /**
+   * Creates a processor for the transactions of one block.
+   *
+   * @param transactionProcessor the transaction processor of the block's protocol spec
+   * @param blockchain the blockchain, for block hash lookups
+   * @param blockHeader the header of the block
+   * @param miningBeneficiary the address receiving the transaction fees
+   * @param blobGasPrice the blob gas price of the block
+   * @param isPersistingPrivateState whether private state is persisted, as for block processing
+   * @param transactionValidationParams the validation to apply to the transactions
+   */
+  public SpeculativeTransactionProcessor(
+      final MainnetTransactionProcessor transactionProcessor,
+      final Blockchain blockchain,
+      final ProcessableBlockHeader blockHeader,
+      final Address miningBeneficiary,
+      final Wei blobGasPrice,
+      final boolean isPersistingPrivateState,
+      final TransactionValidationParams transactionValidationParams) {
+    this.transactionProcessor = transactionProcessor;
+    this.blockchain = blockchain;
+    this.blockHeader = blockHeader;
+    this.miningBeneficiary = miningBeneficiary;
+    this.blobGasPrice = blobGasPrice;
+    this.isPersistingPrivateState = isPersistingPrivateState;
+    this.transactionValidationParams = transactionValidationParams;
+  }
+
+  /**
+   * Creates a collision detector for the block this processor executes transactions for.
+   *
+   * @return a new collision detector
+   */
+  public TransactionCollisionDetector createCollisionDetector() {
+    return new TransactionCollisionDetector(miningBeneficiary);
+  }
+
+  /**
+   * Executes a transaction on top of the state the block accumulator started from.
+   *
+   * @param blockAccumulator the accumulator of the block
+   * @param transaction the transaction to execute
+   * @return the outcome of the execution, or empty if the transaction was invalid against that
+   *     state or could not be executed
+   */
+  public Optional<ParallelizedTransactionContext> execute(
+      final BonsaiWorldStateUpdateAccumulator blockAccumulator, final Transaction transaction) {
+    try {
+      final BonsaiWorldStateUpdateAccumulator transactionAccumulator =
+          blockAccumulator.createDetachedAccumulator();
+      final MiningBeneficiaryTracer tracer = new MiningBeneficiaryTracer(transactionAccumulator);
+      final TransactionProcessingResult result =
+          transactionProcessor.processTransaction(
+              transactionAccumulator,
+              blockHeader,
+              transaction,
+              miningBeneficiary,
+              tracer,
+              new CachingBlockHashLookup(blockHeader, blockchain),
+              isPersistingPrivateState,
+              transactionValidationParams,
+              null,
+              blobGasPrice);
+      if (result.isInvalid()) {
+        // most likely a nonce or balance that an earlier transaction changes
+        return Optional.empty();
+      }
+      transactionAccumulator.commit();
+      return Optional.of(
+          new ParallelizedTransactionContext(
+              transactionAccumulator,
+              result,
+              tracer.isMiningBeneficiaryTouched(),
+              miningBeneficiaryReward(transactionAccumulator)));
+    } catch (final Exception e) {
+      LOG.trace("Speculative execution of transaction {} failed", transaction.getHash(), e);
+      return Optional.empty();
+    }
+  }
+
+  private Wei miningBeneficiaryReward(final BonsaiWorldStateUpdateAccumulator accumulator) {
+    final DiffBasedValue<BonsaiAccount> value =
+        accumulator.getAccountsToUpdate().get(miningBeneficiary);
+    if (value == null || value.getUpdated() == null) {
+      return Wei.ZERO;
+    }
+    final Wei prior = value.getPrior() == null ? Wei.ZERO : value.getPrior().getBalance();
+    return value.getUpdated().getBalance().subtract(prior);
+  }
+
+  /**
+   * Applies a speculative execution to the block accumulator, without committing it. The caller
+   * must have checked it for collisions first, and must record it in the collision detector after.
+   *
+   * @param context the speculative execution to apply
+   * @param blockAccumulator the accumulator of the block
+   */
+  public void merge(
+      final ParallelizedTransactionContext context,
+      final BonsaiWorldStateUpdateAccumulator blockAccumulator) {
+    final BonsaiWorldStateUpdateAccumulator transactionAccumulator =
+        context.transactionAccumulator();
+    if (!context.miningBeneficiaryTouched()) {
+      // the fee is credited on top of the block state instead, as earlier transactions of the
+      // block have already changed the mining beneficiary balance
+      transactionAccumulator.getAccountsToUpdate().remove(miningBeneficiary);
+      transactionAccumulator.getCodeToUpdate().remove(miningBeneficiary);
+    }
+    blockAccumulator.importStateChangesFromSource(transactionAccumulator);
+    if (!context.miningBeneficiaryTouched()) {
+      blockAccumulator
+          .getOrCreate(miningBeneficiary)
+          .incrementBalance(context.miningBeneficiaryReward());
+    }
+  }
+
+  /** Records whether a transaction used the mining beneficiary before its fee was credited. */
+  private class MiningBeneficiaryTracer implements OperationTracer {
+
+    private final BonsaiWorldStateUpdateAccumulator transactionAccumulator;
+    private boolean miningBeneficiaryTouched;
+
+    MiningBeneficiaryTracer(final BonsaiWorldStateUpdateAccumulator transactionAccumulator) {
+      this.transactionAccumulator = transactionAccumulator;
+    }
+
+    @Override
+    public void traceEndTransaction(
+        final WorldView worldView,
+        final Transaction tx,
+        final boolean status,
+        final Bytes output,
+        final List<Log> logs,
+        final long gasUsed,
+        final long timeNs) {
+      // every account the transaction loaded, even to read it, has an entry in the accumulator
+      miningBeneficiaryTouched =
+          transactionAccumulator.getAccountsToUpdate().containsKey(miningBeneficiary);
+    }
+
+    boolean isMiningBeneficiaryTouched() {
+      return miningBeneficiaryTouched;
+    }
+  }
+}
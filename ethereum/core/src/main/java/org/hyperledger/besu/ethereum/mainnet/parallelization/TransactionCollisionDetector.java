@@ -0,0 +1,147 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.DiffBasedValue;
+import org.hyperledger.besu.evm.account.Account;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Decides whether the speculative execution of a transaction is still valid once the transactions
+ * before it in the block have been applied. Conflicts are detected per account: a transaction that
+ * loaded an account, or any of its storage or code, conflicts with every earlier transaction that
+ * modified that account.
+ */
+public class TransactionCollisionDetector {
+
+  private final Address miningBeneficiary;
+  private final Set<Address> modifiedAddresses = new HashSet<>();
+  private int knownTouchedAccounts = -1;
+  private int knownDeletedAccounts = -1;
+
+  /**
+   * Creates a detector for one block.
+   *
+   * @param miningBeneficiary the address receiving the transaction fees of the block
+   */
+  public TransactionCollisionDetector(final Address miningBeneficiary) {
+    this.miningBeneficiary = miningBeneficiary;
+  }
+
+  /**
+   * Checks whether a speculative execution read or wrote an account that the block changed since
+   * the state the execution ran on.
+   *
+   * @param context the speculative execution
+   * @param blockAccumulator the accumulator of the block
+   * @return true if the execution must be redone on the block state
+   */
+  public boolean hasCollision(
+      final ParallelizedTransactionContext context,
+      final BonsaiWorldStateUpdateAccumulator blockAccumulator) {
+    final BonsaiWorldStateUpdateAccumulator transactionAccumulator =
+        context.transactionAccumulator();
+    if (!transactionAccumulator.getDeletedAccountAddresses().isEmpty()
+        || !transactionAccumulator.getStorageToClear().isEmpty()) {
+      // deletions are applied against the whole account storage, leave them to the sequential path
+      return true;
+    }
+    if (!context.miningBeneficiaryTouched() && context.miningBeneficiaryReward().isZero()) {
+      // the mining beneficiary may be an empty account that the transaction would delete
+      return true;
+    }
+    addBlockModifiedAddresses(blockAccumulator);
+    return Stream.of(
+            transactionAccumulator.getAccountsToUpdate().keySet(),
+            transactionAccumulator.getStorageToUpdate().keySet(),
+            transactionAccumulator.getCodeToUpdate().keySet())
+        .flatMap(Collection::stream)
+        .filter(address -> context.miningBeneficiaryTouched() || !address.equals(miningBeneficiary))
+        .anyMatch(modifiedAddresses::contains);
+  }
+
+  /**
+   * Records the accounts changed by a merged transaction. Accounts it only read are left out, so
+   * that later transactions reading the same contracts can still be merged.
+   *
+   * @param transactionAccumulator the accumulator of the merged transaction
+   */
+  public void addModifiedAddresses(final BonsaiWorldStateUpdateAccumulator transactionAccumulator) {
+    transactionAccumulator
+        .getAccountsToUpdate()
+        .forEach(
+            (address, value) -> {
+              if (isChanged(value)) {
+                modifiedAddresses.add(address);
+              }
+            });
+    transactionAccumulator
+        .getCodeToUpdate()
+        .forEach(
+            (address, value) -> {
+              if (!Objects.equals(value.getPrior(), value.getUpdated())) {
+                modifiedAddresses.add(address);
+              }
+            });
+    transactionAccumulator
+        .getStorageToUpdate()
+        .forEach(
+            (address, slots) -> {
+              if (slots.values().stream()
+                  .anyMatch(slot -> !Objects.equals(slot.getPrior(), slot.getUpdated()))) {
+                modifiedAddresses.add(address);
+              }
+            });
+  }
+
+  /**
+   * Picks up the accounts changed directly on the block accumulator: by the system calls before
+   * the transactions, by transactions executed sequentially and by the mining beneficiary fees.
+   * All of them go through an update tracker, which stays registered for the rest of the block.
+   */
+  private void addBlockModifiedAddresses(
+      final BonsaiWorldStateUpdateAccumulator blockAccumulator) {
+    final Collection<? extends Account> touchedAccounts = blockAccumulator.getTouchedAccounts();
+    final Collection<Address> deletedAccounts = blockAccumulator.getDeletedAccountAddresses();
+    if (touchedAccounts.size() == knownTouchedAccounts
+        && deletedAccounts.size() == knownDeletedAccounts) {
+      return;
+    }
+    touchedAccounts.forEach(account -> modifiedAddresses.add(account.getAddress()));
+    modifiedAddresses.addAll(deletedAccounts);
+    knownTouchedAccounts = touchedAccounts.size();
+    knownDeletedAccounts = deletedAccounts.size();
+  }
+
+  private static boolean isChanged(final DiffBasedValue<BonsaiAccount> value) {
+    final BonsaiAccount prior = value.getPrior();
+    final BonsaiAccount updated = value.getUpdated();
+    if (prior == null || updated == null) {
+      return prior != updated;
+    }
+    // storage changes are tracked per slot, the storage root is only updated on persist
+    return prior.getNonce() != updated.getNonce()
+        || !prior.getBalance().equals(updated.getBalance())
+        || !prior.getCodeHash().equals(updated.getCodeHash());
+  }
+}
@@ -112,6 +112,7 @@ public class PrivateTransactionProcessor {
       final MessageFrame.Builder commonMessageFrameBuilder =
           MessageFrame.builder()
               .maxStackSize(maxStackSize)
+              .limbStack(messageCallProcessor.usesLimbStack())
               .worldUpdater(mutablePrivateWorldStateUpdater)
               .initialGas(Long.MAX_VALUE)
               .originator(senderAddress)
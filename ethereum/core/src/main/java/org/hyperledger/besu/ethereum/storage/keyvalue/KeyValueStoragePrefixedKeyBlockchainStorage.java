@@ -29,6 +29,7 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.core.encoding.LazyDecodedList;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
@@ -102,7 +103,20 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
   @Override
   public Optional<BlockBody> getBlockBody(final Hash blockHash) {
     return get(BLOCK_BODY_PREFIX, blockHash)
-        .map(bytes -> BlockBody.readWrappedBodyFrom(RLP.input(bytes), blockHeaderFunctions));
+        .map(
+            bytes -> BlockBody.readWrappedBodyLazilyFrom(RLP.input(bytes), blockHeaderFunctions));
+  }
+
+  @Override
+  public Optional<Bytes> getBlockHeaderRlp(final Hash blockHash) {
+    // headers are stored in the same encoding used on the wire
+    return get(BLOCK_HEADER_PREFIX, blockHash);
+  }
+
+  @Override
+  public Optional<Bytes> getBlockBodyRlp(final Hash blockHash) {
+    // bodies are stored in the same encoding used on the wire
+    return get(BLOCK_BODY_PREFIX, blockHash);
   }
 
   @Override
@@ -133,7 +147,7 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
   }
 
   private List<TransactionReceipt> rlpDecodeTransactionReceipts(final Bytes bytes) {
-    return RLP.input(bytes).readList(TransactionReceipt::readFrom);
+    return LazyDecodedList.readFrom(RLP.input(bytes), TransactionReceipt::readFrom);
   }
 
   private Hash bytesToHash(final Bytes bytes) {
@@ -270,7 +284,7 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
 
     @Override
     public void putBlockHeader(final Hash blockHash, final BlockHeader blockHeader) {
-      set(BLOCK_HEADER_PREFIX, blockHash, RLP.encode(blockHeader::writeTo));
+      set(BLOCK_HEADER_PREFIX, blockHash, RLP.encodeDirectly(blockHeader::writeTo));
     }
 
     @Override
@@ -281,7 +295,10 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
     @Override
     public void putTransactionLocation(
         final Hash transactionHash, final TransactionLocation transactionLocation) {
-      set(TRANSACTION_LOCATION_PREFIX, transactionHash, RLP.encode(transactionLocation::writeTo));
+      set(
+          TRANSACTION_LOCATION_PREFIX,
+          transactionHash,
+          RLP.encodeDirectly(transactionLocation::writeTo));
     }
 
     @Override
@@ -17,6 +17,8 @@ package org.hyperledger.besu.ethereum.trie.diffbased.bonsai;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.BonsaiCachedMerkleTrieLoader;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.BonsaiCachedWorldStorageManager;
@@ -51,7 +53,30 @@ public class BonsaiWorldStateProvider extends DiffBasedWorldStateProvider {
       final BonsaiCachedMerkleTrieLoader bonsaiCachedMerkleTrieLoader,
       final BesuContext pluginContext,
       final EvmConfiguration evmConfiguration) {
-    super(worldStateKeyValueStorage, blockchain, maxLayersToLoad, pluginContext);
+    this(
+        worldStateKeyValueStorage,
+        blockchain,
+        maxLayersToLoad,
+        bonsaiCachedMerkleTrieLoader,
+        pluginContext,
+        evmConfiguration,
+        false);
+  }
+
+  public BonsaiWorldStateProvider(
+      final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final Blockchain blockchain,
+      final Optional<Long> maxLayersToLoad,
+      final BonsaiCachedMerkleTrieLoader bonsaiCachedMerkleTrieLoader,
+      final BesuContext pluginContext,
+      final EvmConfiguration evmConfiguration,
+      final boolean indexedTrieLogsEnabled) {
+    super(
+        worldStateKeyValueStorage,
+        blockchain,
+        maxLayersToLoad,
+        pluginContext,
+        indexedTrieLogsEnabled);
     this.bonsaiCachedMerkleTrieLoader = bonsaiCachedMerkleTrieLoader;
     provideCachedWorldStorageManager(
         new BonsaiCachedWorldStorageManager(this, worldStateKeyValueStorage));
@@ -76,10 +101,22 @@ public class BonsaiWorldStateProvider extends DiffBasedWorldStateProvider {
     return bonsaiCachedMerkleTrieLoader;
   }
 
+  @Override
+  public void close() {
+    bonsaiCachedMerkleTrieLoader.close();
+    super.close();
+  }
+
   private BonsaiWorldStateKeyValueStorage getWorldStateKeyValueStorage() {
     return (BonsaiWorldStateKeyValueStorage) worldStateKeyValueStorage;
   }
 
+  @Override
+  public void prefetch(final BlockHeader parentHeader, final Block block) {
+    bonsaiCachedMerkleTrieLoader.preLoadBlock(
+        getWorldStateKeyValueStorage(), parentHeader.getStateRoot(), block);
+  }
+
   /**
    * Prepares the state healing process for a given address and location. It prepares the state
    * healing, including retrieving data from storage, identifying invalid slots or nodes, removing
@@ -17,52 +17,253 @@ package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.Withdrawal;
+import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.StorageSubscriber;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
-import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import io.prometheus.client.guava.cache.CacheMetricsCollector;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
 
-public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
+public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber, AutoCloseable {
 
-  private static final int ACCOUNT_CACHE_SIZE = 100_000;
-  private static final int STORAGE_CACHE_SIZE = 200_000;
-  private final Cache<Bytes, Bytes> accountNodes =
-      CacheBuilder.newBuilder().recordStats().maximumSize(ACCOUNT_CACHE_SIZE).build();
-  private final Cache<Bytes, Bytes> storageNodes =
-      CacheBuilder.newBuilder().recordStats().maximumSize(STORAGE_CACHE_SIZE).build();
+  // nodes deeper than this are rare even on mainnet and are loaded one by one
+  private static final int PRELOAD_PATH_DEPTH = 10;
+  // hits and misses of deeper nodes are all counted under this depth
+  private static final int MAX_METRICS_DEPTH = 16;
+  private static final int PREFETCH_THREADS = 8;
+  // prefetching is best effort, loads that do not fit in the queue are dropped
+  private static final int PREFETCH_QUEUE_SIZE = 8192;
+  private final TrieNodeCache accountNodes;
+  private final TrieNodeCache storageNodes;
+  private final Counter[] accountHits;
+  private final Counter[] accountMisses;
+  private final Counter[] storageHits;
+  private final Counter[] storageMisses;
+  private final ExecutorService prefetchExecutor;
 
   public BonsaiCachedMerkleTrieLoader(final ObservableMetricsSystem metricsSystem) {
+    this(metricsSystem, DataStorageConfiguration.DEFAULT_CONFIG);
+  }
+
+  public BonsaiCachedMerkleTrieLoader(
+      final ObservableMetricsSystem metricsSystem,
+      final DataStorageConfiguration dataStorageConfiguration) {
+    final DataStorageConfiguration.Unstable config = dataStorageConfiguration.getUnstable();
+    final boolean offHeap = config.getBonsaiTrieNodeCacheOffHeapEnabled();
+    this.accountNodes = createCache(config.getBonsaiAccountTrieNodeCacheSize(), offHeap);
+    this.storageNodes = createCache(config.getBonsaiStorageTrieNodeCacheSize(), offHeap);
+
+    final LabelledMetric<Counter> hits =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "trie_node_cache_hits_total",
+            "Number of trie nodes found in the trie node cache, by trie and node depth",
+            "trie",
+            "depth");
+    final LabelledMetric<Counter> misses =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "trie_node_cache_misses_total",
+            "Number of trie nodes not found in the trie node cache, by trie and node depth",
+            "trie",
+            "depth");
+    this.accountHits = depthCounters(hits, "account");
+    this.accountMisses = depthCounters(misses, "account");
+    this.storageHits = depthCounters(hits, "storage");
+    this.storageMisses = depthCounters(misses, "storage");
+
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "account_trie_node_cache_size_bytes",
+        "Size of the account trie nodes held by the trie node cache in bytes",
+        accountNodes::weightedSize);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "storage_trie_node_cache_size_bytes",
+        "Size of the storage trie nodes held by the trie node cache in bytes",
+        storageNodes::weightedSize);
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "trie_node_cache_off_heap_reserved_bytes",
+        "Off-heap memory reserved by the trie node caches in bytes",
+        () -> accountNodes.offHeapReservedBytes() + storageNodes.offHeapReservedBytes());
 
-    CacheMetricsCollector cacheMetrics = new CacheMetricsCollector();
-    cacheMetrics.addCache("accountsNodes", accountNodes);
-    cacheMetrics.addCache("storageNodes", storageNodes);
-    if (metricsSystem instanceof PrometheusMetricsSystem prometheusMetricsSystem)
-      prometheusMetricsSystem.addCollector(BesuMetricCategory.BLOCKCHAIN, () -> cacheMetrics);
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            PREFETCH_THREADS,
+            PREFETCH_THREADS,
+            60L,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(PREFETCH_QUEUE_SIZE),
+            new ThreadFactoryBuilder()
+                .setNameFormat("BonsaiStatePrefetch-%d")
+                .setDaemon(true)
+                .build(),
+            new ThreadPoolExecutor.DiscardPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    this.prefetchExecutor = executor;
+  }
+
+  private static TrieNodeCache createCache(final long maximumBytes, final boolean offHeap) {
+    return offHeap ? TrieNodeCache.offHeap(maximumBytes) : TrieNodeCache.onHeap(maximumBytes);
+  }
+
+  private static Counter[] depthCounters(final LabelledMetric<Counter> metric, final String trie) {
+    final Counter[] counters = new Counter[MAX_METRICS_DEPTH + 1];
+    for (int depth = 0; depth < MAX_METRICS_DEPTH; depth++) {
+      counters[depth] = metric.labels(trie, Integer.toString(depth));
+    }
+    counters[MAX_METRICS_DEPTH] = metric.labels(trie, MAX_METRICS_DEPTH + "+");
+    return counters;
+  }
+
+  private static Optional<Bytes> getCachedNode(
+      final TrieNodeCache cache,
+      final Counter[] hits,
+      final Counter[] misses,
+      final Bytes location,
+      final Bytes32 nodeHash) {
+    final Optional<Bytes> node = cache.get(nodeHash);
+    final int depth = Math.min(location.size(), MAX_METRICS_DEPTH);
+    if (node.isEmpty()) {
+      misses[depth].inc();
+      return node;
+    }
+    hits[depth].inc();
+    return node;
   }
 
   public void preLoadAccount(
       final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
       final Hash worldStateRootHash,
       final Address account) {
-    CompletableFuture.runAsync(
+    prefetchExecutor.execute(
         () -> cacheAccountNodes(worldStateKeyValueStorage, worldStateRootHash, account));
   }
 
+  /**
+   * Loads the state a block is expected to touch before it is executed: the senders, recipients and
+   * access lists of its transactions, the coinbase and the withdrawal recipients. Each transaction
+   * is handled by its own task on the bounded prefetch executor, which also recovers its sender
+   * ahead of execution.
+   *
+   * @param worldStateKeyValueStorage the storage of the parent world state
+   * @param worldStateRootHash the state root of the parent block
+   * @param block the block about to be executed
+   */
+  public void preLoadBlock(
+      final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final Hash worldStateRootHash,
+      final Block block) {
+    final Set<Address> accounts = ConcurrentHashMap.newKeySet();
+    final Set<Bytes> slots = ConcurrentHashMap.newKeySet();
+    prefetchExecutor.execute(
+        () -> {
+          preLoadBlockAccount(
+              worldStateKeyValueStorage,
+              worldStateRootHash,
+              accounts,
+              block.getHeader().getCoinbase());
+          block
+              .getBody()
+              .getWithdrawals()
+              .ifPresent(
+                  withdrawals ->
+                      withdrawals.stream()
+                          .map(Withdrawal::getAddress)
+                          .forEach(
+                              address ->
+                                  preLoadBlockAccount(
+                                      worldStateKeyValueStorage,
+                                      worldStateRootHash,
+                                      accounts,
+                                      address)));
+        });
+    for (final Transaction transaction : block.getBody().getTransactions()) {
+      prefetchExecutor.execute(
+          () -> {
+            try {
+              preLoadTransaction(
+                  worldStateKeyValueStorage, worldStateRootHash, accounts, slots, transaction);
+            } catch (final RuntimeException e) {
+              // invalid transactions are reported when the block is validated
+            }
+          });
+    }
+  }
+
+  private void preLoadTransaction(
+      final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final Hash worldStateRootHash,
+      final Set<Address> accounts,
+      final Set<Bytes> slots,
+      final Transaction transaction) {
+    preLoadBlockAccount(
+        worldStateKeyValueStorage, worldStateRootHash, accounts, transaction.getSender());
+    transaction
+        .getTo()
+        .ifPresent(
+            to -> preLoadBlockAccount(worldStateKeyValueStorage, worldStateRootHash, accounts, to));
+    transaction
+        .getAccessList()
+        .ifPresent(
+            accessList ->
+                accessList.forEach(
+                    entry -> {
+                      final Address address = entry.address();
+                      preLoadBlockAccount(
+                          worldStateKeyValueStorage, worldStateRootHash, accounts, address);
+                      for (final Bytes32 key : entry.storageKeys()) {
+                        if (slots.add(Bytes.concatenate(address, key))) {
+                          final StorageSlotKey slotKey = new StorageSlotKey(UInt256.fromBytes(key));
+                          cacheStorageNodes(worldStateKeyValueStorage, address, slotKey);
+                          worldStateKeyValueStorage.getStorageValueByStorageSlotKey(
+                              address.addressHash(), slotKey);
+                        }
+                      }
+                    }));
+  }
+
+  private void preLoadBlockAccount(
+      final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final Hash worldStateRootHash,
+      final Set<Address> accounts,
+      final Address account) {
+    if (accounts.add(account)) {
+      cacheAccountNodes(worldStateKeyValueStorage, worldStateRootHash, account);
+      // also warms the flat database, which serves the actual account reads
+      worldStateKeyValueStorage.getAccount(account.addressHash());
+    }
+  }
+
   @VisibleForTesting
   public void cacheAccountNodes(
       final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
@@ -70,14 +271,22 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
       final Address account) {
     final long storageSubscriberId = worldStateKeyValueStorage.subscribe(this);
     try {
+      final PathNodes pathNodes =
+          new PathNodes(
+              worldStateKeyValueStorage,
+              Bytes.EMPTY,
+              CompactEncoding.bytesToPath(account.addressHash()));
       final StoredMerklePatriciaTrie<Bytes, Bytes> accountTrie =
           new StoredMerklePatriciaTrie<>(
-              (location, hash) -> {
-                Optional<Bytes> node =
-                    getAccountStateTrieNode(worldStateKeyValueStorage, location, hash);
-                node.ifPresent(bytes -> accountNodes.put(Hash.hash(bytes), bytes));
-                return node;
-              },
+              (location, hash) ->
+                  loadNode(
+                      accountNodes,
+                      accountHits,
+                      accountMisses,
+                      pathNodes,
+                      location,
+                      hash,
+                      () -> worldStateKeyValueStorage.getAccountStateTrieNode(location, hash)),
               worldStateRootHash,
               Function.identity(),
               Function.identity());
@@ -93,8 +302,7 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
       final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
       final Address account,
       final StorageSlotKey slotKey) {
-    CompletableFuture.runAsync(
-        () -> cacheStorageNodes(worldStateKeyValueStorage, account, slotKey));
+    prefetchExecutor.execute(() -> cacheStorageNodes(worldStateKeyValueStorage, account, slotKey));
   }
 
   @VisibleForTesting
@@ -110,15 +318,26 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
           .ifPresent(
               storageRoot -> {
                 try {
+                  final PathNodes pathNodes =
+                      new PathNodes(
+                          worldStateKeyValueStorage,
+                          accountHash,
+                          CompactEncoding.bytesToPath(slotKey.getSlotHash()));
+                  // the root was just read, so it does not need to be part of the batch
+                  pathNodes.add(Bytes.EMPTY, storageRoot);
                   final StoredMerklePatriciaTrie<Bytes, Bytes> storageTrie =
                       new StoredMerklePatriciaTrie<>(
-                          (location, hash) -> {
-                            Optional<Bytes> node =
-                                getAccountStorageTrieNode(
-                                    worldStateKeyValueStorage, accountHash, location, hash);
-                            node.ifPresent(bytes -> storageNodes.put(Hash.hash(bytes), bytes));
-                            return node;
-                          },
+                          (location, hash) ->
+                              loadNode(
+                                  storageNodes,
+                                  storageHits,
+                                  storageMisses,
+                                  pathNodes,
+                                  location,
+                                  hash,
+                                  () ->
+                                      worldStateKeyValueStorage.getAccountStorageTrieNode(
+                                          accountHash, location, hash)),
                           Hash.hash(storageRoot),
                           Function.identity(),
                           Function.identity());
@@ -132,6 +351,98 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
     }
   }
 
+  /**
+   * Loads a node while caching a trie path: from the cache if it is there, else from the batch of
+   * path nodes and finally with a single read. Nodes that were not cached yet are added to the
+   * cache.
+   */
+  private Optional<Bytes> loadNode(
+      final TrieNodeCache cache,
+      final Counter[] hits,
+      final Counter[] misses,
+      final PathNodes pathNodes,
+      final Bytes location,
+      final Bytes32 nodeHash,
+      final Supplier<Optional<Bytes>> storageLoader) {
+    if (nodeHash.equals(MerkleTrie.EMPTY_TRIE_NODE_HASH)) {
+      return Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
+    }
+    final Optional<Bytes> cached = getCachedNode(cache, hits, misses, location, nodeHash);
+    if (cached.isPresent()) {
+      return cached;
+    }
+    final Optional<Bytes> node = pathNodes.get(location, nodeHash).or(storageLoader);
+    // nodes from either source match their hash, so there is no need to hash them again
+    node.ifPresent(bytes -> cache.put(nodeHash, bytes));
+    return node;
+  }
+
+  /**
+   * The nodes that may lie on a trie path. A node is stored at its location, which is always a
+   * prefix of the path of the keys below it, so every candidate can be read with one batched
+   * lookup. The upper levels of the trie are usually cached, so the lookup is only made when the
+   * first node is missing from the cache, and only covers the locations from that node down.
+   * Locations skipped by extension nodes are simply absent from the result.
+   */
+  private static final class PathNodes {
+    private final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage;
+    private final Bytes keyPrefix;
+    private final Bytes path;
+    private final Map<Bytes, Bytes> nodes = new HashMap<>();
+    private boolean loaded;
+
+    private PathNodes(
+        final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+        final Bytes keyPrefix,
+        final Bytes path) {
+      this.worldStateKeyValueStorage = worldStateKeyValueStorage;
+      this.keyPrefix = keyPrefix;
+      this.path = path;
+    }
+
+    private void add(final Bytes location, final Bytes node) {
+      nodes.put(location, node);
+    }
+
+    private Optional<Bytes> get(final Bytes location, final Bytes32 nodeHash) {
+      if (!loaded && !nodes.containsKey(location)) {
+        loaded = true;
+        load(location.size());
+      }
+      return Optional.ofNullable(nodes.get(location))
+          .filter(node -> Hash.hash(node).equals(nodeHash));
+    }
+
+    private void load(final int fromDepth) {
+      // the path ends with the leaf terminator, which is never part of a location
+      final int depth = Math.min(PRELOAD_PATH_DEPTH, path.size() - 1);
+      if (fromDepth > depth) {
+        return;
+      }
+      final List<Bytes> locations = new ArrayList<>(depth - fromDepth + 1);
+      final List<Bytes> keys = new ArrayList<>(depth - fromDepth + 1);
+      for (int i = fromDepth; i <= depth; i++) {
+        final Bytes location = path.slice(0, i);
+        locations.add(location);
+        keys.add(Bytes.concatenate(keyPrefix, location));
+      }
+      final List<Optional<Bytes>> found = worldStateKeyValueStorage.getTrieNodesUnsafe(keys);
+      for (int i = 0; i < found.size(); i++) {
+        final Bytes location = locations.get(i);
+        found.get(i).ifPresent(node -> nodes.putIfAbsent(location, node));
+      }
+    }
+  }
+
+  /**
+   * Stops the prefetch threads. Prefetch requests still queued are dropped, and later ones are
+   * ignored, while nodes already cached remain available.
+   */
+  @Override
+  public void close() {
+    prefetchExecutor.shutdownNow();
+  }
+
   public Optional<Bytes> getAccountStateTrieNode(
       final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
       final Bytes location,
@@ -139,7 +450,7 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
     if (nodeHash.equals(MerkleTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
     } else {
-      return Optional.ofNullable(accountNodes.getIfPresent(nodeHash))
+      return getCachedNode(accountNodes, accountHits, accountMisses, location, nodeHash)
           .or(() -> worldStateKeyValueStorage.getAccountStateTrieNode(location, nodeHash));
     }
   }
@@ -152,7 +463,7 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
     if (nodeHash.equals(MerkleTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
     } else {
-      return Optional.ofNullable(storageNodes.getIfPresent(nodeHash))
+      return getCachedNode(storageNodes, storageHits, storageMisses, location, nodeHash)
           .or(
               () ->
                   worldStateKeyValueStorage.getAccountStorageTrieNode(
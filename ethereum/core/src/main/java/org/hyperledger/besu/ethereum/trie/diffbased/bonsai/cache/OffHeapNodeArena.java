@@ -0,0 +1,223 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Off-heap memory for cached trie nodes, with a fixed budget and explicit frees.
+ *
+ * <p>Memory is reserved in slabs of {@link #SLAB_SIZE} bytes, up to the budget, and is kept for
+ * the lifetime of the arena, so it never depends on the garbage collector to be released. Each slab
+ * is cut into slots of one size class, a power of two between 64 and {@link #MAX_NODE_SIZE} bytes,
+ * and freed slots are reused by later nodes of the same class. A node is stored in the smallest
+ * slot it fits in and is identified by a handle, a non-negative long.
+ *
+ * <p>A slot can be freed and reused while another thread still reads it. Every slot therefore has
+ * a version that is bumped when it is freed, and a read copies the node to the heap and then checks
+ * that the version did not change, the same way as an optimistic read of a {@link
+ * java.util.concurrent.locks.StampedLock}. A read that raced with a free returns null.
+ */
+final class OffHeapNodeArena {
+
+  static final int MAX_NODE_SIZE = 4096;
+  static final long NO_HANDLE = -1L;
+
+  private static final int SLAB_SIZE = 1 << 20;
+  private static final int MAX_SLABS = 1 << 16;
+  private static final int MIN_SLOT_SHIFT = 6;
+  private static final int MAX_SLOT_SHIFT = 12;
+
+  // handle layout, from the lowest bits: slot (14), slab (16), node length (13), version (20)
+  private static final int SLOT_BITS = 14;
+  private static final int SLAB_BITS = 16;
+  private static final int LENGTH_BITS = 13;
+  private static final int VERSION_BITS = 20;
+  private static final int VERSION_MASK = (1 << VERSION_BITS) - 1;
+
+  private final int maxSlabs;
+  private final List<Slab> slabs = new CopyOnWriteArrayList<>();
+  private final FreeSlots[] freeSlots = new FreeSlots[MAX_SLOT_SHIFT - MIN_SLOT_SHIFT + 1];
+
+  OffHeapNodeArena(final long budgetBytes) {
+    this.maxSlabs = (int) Math.min(MAX_SLABS, Math.max(1, budgetBytes / SLAB_SIZE));
+    Arrays.setAll(freeSlots, i -> new FreeSlots());
+  }
+
+  /**
+   * Copies a node to a free slot.
+   *
+   * @param node the node to store
+   * @return the handle of the slot, or {@link #NO_HANDLE} if the node is too large or the budget
+   *     has no room left for its size class
+   */
+  long allocate(final Bytes node) {
+    final int length = node.size();
+    if (length == 0 || length > MAX_NODE_SIZE) {
+      return NO_HANDLE;
+    }
+    final int slotShift = Math.max(MIN_SLOT_SHIFT, 32 - Integer.numberOfLeadingZeros(length - 1));
+    final long slabAndSlot = takeSlot(slotShift);
+    if (slabAndSlot == NO_HANDLE) {
+      return NO_HANDLE;
+    }
+    final int slabIndex = (int) (slabAndSlot >>> SLOT_BITS);
+    final int slotIndex = (int) slabAndSlot & ((1 << SLOT_BITS) - 1);
+    final Slab slab = slabs.get(slabIndex);
+    slab.buffer.put(slotIndex << slotShift, node.toArrayUnsafe());
+    final long version = slab.versions.get(slotIndex) & VERSION_MASK;
+    return slabAndSlot
+        | ((long) length << (SLOT_BITS + SLAB_BITS))
+        | (version << (SLOT_BITS + SLAB_BITS + LENGTH_BITS));
+  }
+
+  /**
+   * Copies a node back to the heap.
+   *
+   * @param handle the handle returned when the node was stored
+   * @return the node, or null if its slot was freed in the meantime
+   */
+  Bytes read(final long handle) {
+    final Slab slab = slabs.get(slabIndex(handle));
+    final int slotIndex = slotIndex(handle);
+    final int version = version(handle);
+    if ((slab.versions.get(slotIndex) & VERSION_MASK) != version) {
+      return null;
+    }
+    final byte[] node = new byte[length(handle)];
+    slab.buffer.get(slotIndex << slab.slotShift, node);
+    // the copy must not be reordered after the second version check
+    VarHandle.acquireFence();
+    if ((slab.versions.get(slotIndex) & VERSION_MASK) != version) {
+      return null;
+    }
+    return Bytes.wrap(node);
+  }
+
+  /**
+   * Returns the slot of a node to the free slots of its size class. Freeing a handle twice has no
+   * effect.
+   *
+   * @param handle the handle returned when the node was stored
+   */
+  void free(final long handle) {
+    final Slab slab = slabs.get(slabIndex(handle));
+    final int slotIndex = slotIndex(handle);
+    final int current = slab.versions.get(slotIndex);
+    if ((current & VERSION_MASK) != version(handle)
+        || !slab.versions.compareAndSet(slotIndex, current, current + 1)) {
+      return;
+    }
+    final FreeSlots free = freeSlots[slab.slotShift - MIN_SLOT_SHIFT];
+    synchronized (free) {
+      free.push(handle & ((1L << (SLOT_BITS + SLAB_BITS)) - 1));
+    }
+  }
+
+  /**
+   * The off-heap memory taken by a node, which is the size of its slot.
+   *
+   * @param handle the handle returned when the node was stored
+   * @return the size of the slot in bytes
+   */
+  int slotSize(final long handle) {
+    return 1 << slabs.get(slabIndex(handle)).slotShift;
+  }
+
+  /**
+   * The off-heap memory reserved so far, whether its slots are used or not.
+   *
+   * @return the size of all the slabs in bytes
+   */
+  long reservedBytes() {
+    return (long) slabs.size() * SLAB_SIZE;
+  }
+
+  private long takeSlot(final int slotShift) {
+    final FreeSlots free = freeSlots[slotShift - MIN_SLOT_SHIFT];
+    synchronized (free) {
+      if (free.size > 0) {
+        return free.pop();
+      }
+    }
+    final int slabIndex;
+    synchronized (slabs) {
+      if (slabs.size() >= maxSlabs) {
+        return NO_HANDLE;
+      }
+      slabIndex = slabs.size();
+      slabs.add(new Slab(slotShift));
+    }
+    final long slabBits = (long) slabIndex << SLOT_BITS;
+    synchronized (free) {
+      // the first slot goes to the caller, the others are free
+      for (int slotIndex = (SLAB_SIZE >> slotShift) - 1; slotIndex > 0; slotIndex--) {
+        free.push(slabBits | slotIndex);
+      }
+    }
+    return slabBits;
+  }
+
+  private static int slabIndex(final long handle) {
+    return (int) (handle >>> SLOT_BITS) & ((1 << SLAB_BITS) - 1);
+  }
+
+  private static int slotIndex(final long handle) {
+    return (int) handle & ((1 << SLOT_BITS) - 1);
+  }
+
+  private static int length(final long handle) {
+    return (int) (handle >>> (SLOT_BITS + SLAB_BITS)) & ((1 << LENGTH_BITS) - 1);
+  }
+
+  private static int version(final long handle) {
+    return (int) (handle >>> (SLOT_BITS + SLAB_BITS + LENGTH_BITS)) & VERSION_MASK;
+  }
+
+  private static final class Slab {
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(SLAB_SIZE);
+    private final int slotShift;
+    private final AtomicIntegerArray versions;
+
+    private Slab(final int slotShift) {
+      this.slotShift = slotShift;
+      this.versions = new AtomicIntegerArray(SLAB_SIZE >> slotShift);
+    }
+  }
+
+  /** A stack of free slots, each given by the low bits of a handle: its slab and slot index. */
+  private static final class FreeSlots {
+    private long[] slots = new long[0];
+    private int size;
+
+    private void push(final long slot) {
+      if (size == slots.length) {
+        slots = Arrays.copyOf(slots, Math.max(16, size * 2));
+      }
+      slots[size++] = slot;
+    }
+
+    private long pop() {
+      return slots[--size];
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache;
+
+import java.util.Optional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * A cache of trie nodes by hash, bounded by the size of the nodes it holds.
+ *
+ * <p>Nodes are kept on the heap unless an {@link OffHeapNodeArena} is given, in which case they are
+ * copied to it and only their handle stays on the heap. A node is weighed by the size of its slot
+ * and its slot is freed as soon as the node leaves the cache, so the arena never needs more memory
+ * than the maximum weight of the cache. Nodes the arena has no room for are kept on the heap.
+ */
+final class TrieNodeCache {
+
+  // values are either a node on the heap or the Long handle of a node in the arena
+  private final Cache<Bytes, Object> nodes;
+  private final OffHeapNodeArena arena;
+
+  private TrieNodeCache(final long maximumBytes, final OffHeapNodeArena arena) {
+    this.arena = arena;
+    final Caffeine<Bytes, Object> builder =
+        Caffeine.newBuilder()
+            .maximumWeight(maximumBytes)
+            .weigher((Bytes hash, Object node) -> hash.size() + weight(node));
+    this.nodes =
+        arena == null
+            ? builder.build()
+            : builder
+                // frees slots right away rather than on the common pool
+                .executor(Runnable::run)
+                .removalListener(
+                    (Bytes hash, Object node, RemovalCause cause) -> {
+                      if (node instanceof Long handle) {
+                        arena.free(handle);
+                      }
+                    })
+                .build();
+  }
+
+  static TrieNodeCache onHeap(final long maximumBytes) {
+    return new TrieNodeCache(maximumBytes, null);
+  }
+
+  static TrieNodeCache offHeap(final long maximumBytes) {
+    return new TrieNodeCache(maximumBytes, new OffHeapNodeArena(maximumBytes));
+  }
+
+  Optional<Bytes> get(final Bytes32 nodeHash) {
+    final Object node = nodes.getIfPresent(nodeHash);
+    if (node instanceof Long handle) {
+      // a node evicted while it was read counts as a miss
+      return Optional.ofNullable(arena.read(handle));
+    }
+    return Optional.ofNullable((Bytes) node);
+  }
+
+  void put(final Bytes32 nodeHash, final Bytes node) {
+    final long handle = arena == null ? OffHeapNodeArena.NO_HANDLE : arena.allocate(node);
+    nodes.put(nodeHash, handle == OffHeapNodeArena.NO_HANDLE ? node : handle);
+  }
+
+  long weightedSize() {
+    return nodes.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+  }
+
+  long offHeapReservedBytes() {
+    return arena == null ? 0L : arena.reservedBytes();
+  }
+
+  private int weight(final Object node) {
+    return node instanceof Long handle ? arena.slotSize(handle) : ((Bytes) node).size();
+  }
+}
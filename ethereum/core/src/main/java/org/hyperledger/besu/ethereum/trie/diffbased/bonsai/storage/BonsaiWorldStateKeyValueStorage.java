@@ -42,6 +42,7 @@ import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTran
 import java.util.List;
 import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -130,6 +131,21 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
     return composedWorldStateStorage.get(TRIE_BRANCH_STORAGE, key.toArrayUnsafe()).map(Bytes::wrap);
   }
 
+  /**
+   * Reads the trie nodes stored under several keys with one batched lookup. Like {@link
+   * #getTrieNodeUnsafe(Bytes)} the nodes are not checked against their expected hash.
+   *
+   * @param keys the node keys, i.e. the location, prefixed by the account hash for storage tries
+   * @return the node stored under each key, in the same order as the keys
+   */
+  public List<Optional<Bytes>> getTrieNodesUnsafe(final List<Bytes> keys) {
+    return composedWorldStateStorage
+        .multiGet(TRIE_BRANCH_STORAGE, keys.stream().map(Bytes::toArrayUnsafe).toList())
+        .stream()
+        .map(node -> node.map(Bytes::wrap))
+        .toList();
+  }
+
   public Optional<Bytes> getStorageValueByStorageSlotKey(
       final Hash accountHash, final StorageSlotKey storageSlotKey) {
     return getStorageValueByStorageSlotKey(
@@ -295,6 +311,18 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
           composedWorldStateTransaction, accountHash, slotHash);
     }
 
+    /**
+     * Applies a batch of updates while holding the updater lock, so that threads computing the
+     * storage tries of different accounts in parallel only contend once per account.
+     *
+     * @param updates the updates to apply, in order
+     * @return this updater
+     */
+    public synchronized Updater applyAll(final List<Consumer<Updater>> updates) {
+      updates.forEach(update -> update.accept(this));
+      return this;
+    }
+
     @Override
     public SegmentedKeyValueStorageTransaction getWorldStateTransaction() {
       return composedWorldStateTransaction;
@@ -0,0 +1,320 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.trielog;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.datatypes.AccountValue;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.DiffBasedValue;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogLayer;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.common.base.Suppliers;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * A trie log that keeps its serialized form and only decodes the parts that are read.
+ *
+ * <p>The serialized form starts with a version byte, which can never start the RLP list of the
+ * original trie log format, so both formats can live side by side in storage. It is followed by
+ * the block hash, the block number and an index of the changed addresses in ascending order, each
+ * with the offset of its changes. The changes of one address are the RLP list the original format
+ * uses for them, minus the address.
+ *
+ * <p>Looking up one account, code or storage slot binary searches the index and decodes only the
+ * values asked for. The full change maps are decoded once, the first time they are requested.
+ */
+@SuppressWarnings("unchecked")
+public class IndexedTrieLog implements TrieLog {
+
+  static final byte VERSION = 0x01;
+
+  private static final int BLOCK_HASH_OFFSET = 1;
+  private static final int BLOCK_NUMBER_OFFSET = BLOCK_HASH_OFFSET + Bytes32.SIZE;
+  private static final int ADDRESS_COUNT_OFFSET = BLOCK_NUMBER_OFFSET + Long.BYTES;
+  private static final int INDEX_OFFSET = ADDRESS_COUNT_OFFSET + Integer.BYTES;
+  private static final int INDEX_ENTRY_SIZE = Address.SIZE + Integer.BYTES;
+  private static final long UNKNOWN_BLOCK_NUMBER = -1L;
+
+  private final byte[] bytes;
+  private final int addressCount;
+  private final Supplier<TrieLogLayer> layer = Suppliers.memoize(this::decode);
+
+  IndexedTrieLog(final byte[] bytes) {
+    checkArgument(isIndexed(bytes) && bytes.length >= INDEX_OFFSET, "Not an indexed trie log");
+    this.bytes = bytes;
+    this.addressCount = readInt(ADDRESS_COUNT_OFFSET);
+  }
+
+  static boolean isIndexed(final byte[] bytes) {
+    return bytes.length > 0 && bytes[0] == VERSION;
+  }
+
+  static byte[] serialize(final TrieLog layer) {
+    layer.freeze();
+
+    final TreeSet<Address> addressSet = new TreeSet<>();
+    addressSet.addAll(layer.getAccountChanges().keySet());
+    addressSet.addAll(layer.getCodeChanges().keySet());
+    addressSet.addAll(layer.getStorageChanges().keySet());
+    final List<Address> addresses = new ArrayList<>(addressSet);
+
+    final List<Bytes> changes = new ArrayList<>(addresses.size());
+    final int changesOffset = INDEX_OFFSET + addresses.size() * INDEX_ENTRY_SIZE;
+    int size = changesOffset;
+    for (final Address address : addresses) {
+      final BytesValueRLPOutput output = new BytesValueRLPOutput();
+      output.startList();
+      TrieLogFactoryImpl.writeAddressChanges(layer, address, output);
+      output.endList();
+      final Bytes encoded = output.encoded();
+      changes.add(encoded);
+      size += encoded.size();
+    }
+
+    final ByteBuffer buffer = ByteBuffer.allocate(size);
+    buffer.put(VERSION);
+    buffer.put(layer.getBlockHash().toArrayUnsafe());
+    buffer.putLong(layer.getBlockNumber().orElse(UNKNOWN_BLOCK_NUMBER));
+    buffer.putInt(addresses.size());
+    int offset = changesOffset;
+    for (int i = 0; i < addresses.size(); i++) {
+      buffer.put(addresses.get(i).toArrayUnsafe());
+      buffer.putInt(offset);
+      offset += changes.get(i).size();
+    }
+    changes.forEach(encoded -> buffer.put(encoded.toArrayUnsafe()));
+    return buffer.array();
+  }
+
+  /**
+   * Decodes every change of this trie log. The result is cached, so later calls are free.
+   *
+   * @return the fully decoded trie log
+   */
+  public TrieLogLayer toTrieLogLayer() {
+    return layer.get();
+  }
+
+  @Override
+  public Hash getBlockHash() {
+    return Hash.wrap(Bytes32.wrap(bytes, BLOCK_HASH_OFFSET));
+  }
+
+  @Override
+  public Optional<Long> getBlockNumber() {
+    final long blockNumber = Bytes.wrap(bytes, BLOCK_NUMBER_OFFSET, Long.BYTES).toLong();
+    return blockNumber == UNKNOWN_BLOCK_NUMBER ? Optional.empty() : Optional.of(blockNumber);
+  }
+
+  @Override
+  public void freeze() {
+    // always frozen
+  }
+
+  @Override
+  public Map<Address, DiffBasedValue<AccountValue>> getAccountChanges() {
+    return layer.get().getAccountChanges();
+  }
+
+  @Override
+  public Map<Address, DiffBasedValue<Bytes>> getCodeChanges() {
+    return layer.get().getCodeChanges();
+  }
+
+  @Override
+  public Map<Address, Map<StorageSlotKey, DiffBasedValue<UInt256>>> getStorageChanges() {
+    return layer.get().getStorageChanges();
+  }
+
+  @Override
+  public Map<StorageSlotKey, DiffBasedValue<UInt256>> getStorageChanges(final Address address) {
+    final int index = indexOf(address);
+    if (index < 0) {
+      return Map.of();
+    }
+    final TrieLogLayer addressChanges = new TrieLogLayer();
+    TrieLogFactoryImpl.readAddressChanges(address, changesAt(index), addressChanges);
+    return addressChanges.getStorageChanges(address);
+  }
+
+  @Override
+  public Optional<Bytes> getPriorCode(final Address address) {
+    return changesOf(address).flatMap(input -> readCode(input, false));
+  }
+
+  @Override
+  public Optional<Bytes> getCode(final Address address) {
+    return changesOf(address).flatMap(input -> readCode(input, true));
+  }
+
+  @Override
+  public Optional<UInt256> getPriorStorageByStorageSlotKey(
+      final Address address, final StorageSlotKey storageSlotKey) {
+    return changesOf(address).flatMap(input -> readSlot(input, storageSlotKey, false));
+  }
+
+  @Override
+  public Optional<UInt256> getStorageByStorageSlotKey(
+      final Address address, final StorageSlotKey storageSlotKey) {
+    return changesOf(address).flatMap(input -> readSlot(input, storageSlotKey, true));
+  }
+
+  @Override
+  public Optional<? extends AccountValue> getPriorAccount(final Address address) {
+    return changesOf(address)
+        .flatMap(input -> readValue(input, false, StateTrieAccountValue::readFrom));
+  }
+
+  @Override
+  public Optional<? extends AccountValue> getAccount(final Address address) {
+    return changesOf(address)
+        .flatMap(input -> readValue(input, true, StateTrieAccountValue::readFrom));
+  }
+
+  @Override
+  public String toString() {
+    return toTrieLogLayer().toString();
+  }
+
+  /** Two indexed trie logs are equal when they hold the same changes. */
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    final IndexedTrieLog that = (IndexedTrieLog) o;
+    return Arrays.equals(bytes, that.bytes) || toTrieLogLayer().equals(that.toTrieLogLayer());
+  }
+
+  @Override
+  public int hashCode() {
+    return toTrieLogLayer().hashCode();
+  }
+
+  private TrieLogLayer decode() {
+    final TrieLogLayer decoded = new TrieLogLayer();
+    decoded.setBlockHash(getBlockHash());
+    getBlockNumber().ifPresent(decoded::setBlockNumber);
+    for (int i = 0; i < addressCount; i++) {
+      final Address address =
+          Address.wrap(Bytes.wrap(bytes, INDEX_OFFSET + i * INDEX_ENTRY_SIZE, Address.SIZE));
+      TrieLogFactoryImpl.readAddressChanges(address, changesAt(i), decoded);
+    }
+    decoded.freeze();
+    return decoded;
+  }
+
+  private int indexOf(final Address address) {
+    final byte[] key = address.toArrayUnsafe();
+    int low = 0;
+    int high = addressCount - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int entry = INDEX_OFFSET + mid * INDEX_ENTRY_SIZE;
+      final int cmp =
+          Arrays.compareUnsigned(bytes, entry, entry + Address.SIZE, key, 0, Address.SIZE);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  private Optional<RLPInput> changesOf(final Address address) {
+    final int index = indexOf(address);
+    return index < 0 ? Optional.empty() : Optional.of(changesAt(index));
+  }
+
+  // returns an input positioned on the account change of the address at the given index
+  private RLPInput changesAt(final int index) {
+    final int offsetPosition = INDEX_OFFSET + index * INDEX_ENTRY_SIZE + Address.SIZE;
+    final int start = readInt(offsetPosition);
+    final int end =
+        index + 1 < addressCount ? readInt(offsetPosition + INDEX_ENTRY_SIZE) : bytes.length;
+    final RLPInput input = new BytesValueRLPInput(Bytes.wrap(bytes, start, end - start), false);
+    input.enterList();
+    return input;
+  }
+
+  private int readInt(final int offset) {
+    return Bytes.wrap(bytes, offset, Integer.BYTES).toInt();
+  }
+
+  private static <T> Optional<T> readValue(
+      final RLPInput input, final boolean updated, final Function<RLPInput, T> reader) {
+    if (input.nextIsNull()) {
+      return Optional.empty();
+    }
+    input.enterList();
+    if (updated) {
+      input.skipNext();
+    }
+    return Optional.ofNullable(TrieLogFactoryImpl.nullOrValue(input, reader));
+  }
+
+  private static Optional<Bytes> readCode(final RLPInput input, final boolean updated) {
+    input.skipNext(); // account change
+    return readValue(input, updated, RLPInput::readBytes);
+  }
+
+  private static Optional<UInt256> readSlot(
+      final RLPInput input, final StorageSlotKey storageSlotKey, final boolean updated) {
+    input.skipNext(); // account change
+    input.skipNext(); // code change
+    if (input.nextIsNull()) {
+      return Optional.empty();
+    }
+    input.enterList();
+    while (!input.isEndOfCurrentList()) {
+      input.enterList();
+      if (input.readBytes32().equals(storageSlotKey.getSlotHash())) {
+        if (updated) {
+          input.skipNext();
+        }
+        return Optional.ofNullable(
+            TrieLogFactoryImpl.nullOrValue(input, RLPInput::readUInt256Scalar));
+      }
+      input.leaveListLenient();
+    }
+    return Optional.empty();
+  }
+}
@@ -43,6 +43,23 @@ import org.apache.tuweni.units.bigints.UInt256;
 
 public class TrieLogFactoryImpl implements TrieLogFactory {
 
+  private final boolean indexedFormatEnabled;
+
+  /** Creates a factory that writes trie logs in the original RLP format. */
+  public TrieLogFactoryImpl() {
+    this(false);
+  }
+
+  /**
+   * Creates a factory that writes trie logs in the original RLP format or in the indexed format of
+   * {@link IndexedTrieLog}. Both formats are always read.
+   *
+   * @param indexedFormatEnabled whether new trie logs are written in the indexed format
+   */
+  public TrieLogFactoryImpl(final boolean indexedFormatEnabled) {
+    this.indexedFormatEnabled = indexedFormatEnabled;
+  }
+
   @Override
   public TrieLogLayer create(final TrieLogAccumulator accumulator, final BlockHeader blockHeader) {
     TrieLogLayer layer = new TrieLogLayer();
@@ -85,6 +102,9 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
 
   @Override
   public byte[] serialize(final TrieLog layer) {
+    if (indexedFormatEnabled) {
+      return IndexedTrieLog.serialize(layer);
+    }
     final BytesValueRLPOutput rlpLog = new BytesValueRLPOutput();
     writeTo(layer, rlpLog);
     return rlpLog.encoded().toArrayUnsafe();
@@ -104,45 +124,58 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
     for (final Address address : addresses) {
       output.startList(); // this change
       output.writeBytes(address);
+      writeAddressChanges(layer, address, output);
+      output.endList(); // this change
+    }
+    output.endList(); // container
+  }
 
-      final TrieLog.LogTuple<AccountValue> accountChange = layer.getAccountChanges().get(address);
-      if (accountChange == null || accountChange.isUnchanged()) {
-        output.writeNull();
-      } else {
-        writeRlp(accountChange, output, (o, sta) -> sta.writeTo(o));
-      }
+  static void writeAddressChanges(
+      final TrieLog layer, final Address address, final RLPOutput output) {
+    final TrieLog.LogTuple<AccountValue> accountChange = layer.getAccountChanges().get(address);
+    if (accountChange == null || accountChange.isUnchanged()) {
+      output.writeNull();
+    } else {
+      writeRlp(accountChange, output, (o, sta) -> sta.writeTo(o));
+    }
 
-      final TrieLog.LogTuple<Bytes> codeChange = layer.getCodeChanges().get(address);
-      if (codeChange == null || codeChange.isUnchanged()) {
-        output.writeNull();
-      } else {
-        writeRlp(codeChange, output, RLPOutput::writeBytes);
-      }
+    final TrieLog.LogTuple<Bytes> codeChange = layer.getCodeChanges().get(address);
+    if (codeChange == null || codeChange.isUnchanged()) {
+      output.writeNull();
+    } else {
+      writeRlp(codeChange, output, RLPOutput::writeBytes);
+    }
 
-      final Map<StorageSlotKey, TrieLog.LogTuple<UInt256>> storageChanges =
-          layer.getStorageChanges().get(address);
-      if (storageChanges == null) {
-        output.writeNull();
-      } else {
+    final Map<StorageSlotKey, TrieLog.LogTuple<UInt256>> storageChanges =
+        layer.getStorageChanges().get(address);
+    if (storageChanges == null) {
+      output.writeNull();
+    } else {
+      output.startList();
+      for (final Map.Entry<StorageSlotKey, TrieLog.LogTuple<UInt256>> storageChangeEntry :
+          storageChanges.entrySet()) {
         output.startList();
-        for (final Map.Entry<StorageSlotKey, TrieLog.LogTuple<UInt256>> storageChangeEntry :
-            storageChanges.entrySet()) {
-          output.startList();
-          // do not write slotKey, it is not used in mainnet bonsai trielogs
-          output.writeBytes(storageChangeEntry.getKey().getSlotHash());
-          writeInnerRlp(storageChangeEntry.getValue(), output, RLPOutput::writeUInt256Scalar);
-          output.endList();
-        }
+        // do not write slotKey, it is not used in mainnet bonsai trielogs
+        output.writeBytes(storageChangeEntry.getKey().getSlotHash());
+        writeInnerRlp(storageChangeEntry.getValue(), output, RLPOutput::writeUInt256Scalar);
         output.endList();
       }
-
-      output.endList(); // this change
+      output.endList();
     }
-    output.endList(); // container
   }
 
+  /**
+   * Reads a trie log in either of the formats besu has written. Trie logs in the indexed format are
+   * decoded lazily, the original RLP format is decoded in full.
+   *
+   * @param bytes the serialized trie log
+   * @return the trie log
+   */
   @Override
-  public TrieLogLayer deserialize(final byte[] bytes) {
+  public TrieLog deserialize(final byte[] bytes) {
+    if (IndexedTrieLog.isIndexed(bytes)) {
+      return new IndexedTrieLog(bytes);
+    }
     return readFrom(new BytesValueRLPInput(Bytes.wrap(bytes), false));
   }
 
@@ -156,48 +189,7 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
       input.enterList();
       final Address address = Address.readFrom(input);
 
-      if (input.nextIsNull()) {
-        input.skipNext();
-      } else {
-        input.enterList();
-        final StateTrieAccountValue oldValue = nullOrValue(input, StateTrieAccountValue::readFrom);
-        final StateTrieAccountValue newValue = nullOrValue(input, StateTrieAccountValue::readFrom);
-        final boolean isCleared = getOptionalIsCleared(input);
-        input.leaveList();
-        newLayer
-            .getAccountChanges()
-            .put(address, new DiffBasedValue<>(oldValue, newValue, isCleared));
-      }
-
-      if (input.nextIsNull()) {
-        input.skipNext();
-      } else {
-        input.enterList();
-        final Bytes oldCode = nullOrValue(input, RLPInput::readBytes);
-        final Bytes newCode = nullOrValue(input, RLPInput::readBytes);
-        final boolean isCleared = getOptionalIsCleared(input);
-        input.leaveList();
-        newLayer.getCodeChanges().put(address, new DiffBasedValue<>(oldCode, newCode, isCleared));
-      }
-
-      if (input.nextIsNull()) {
-        input.skipNext();
-      } else {
-        final Map<StorageSlotKey, DiffBasedValue<UInt256>> storageChanges = new TreeMap<>();
-        input.enterList();
-        while (!input.isEndOfCurrentList()) {
-          input.enterList();
-          final Hash slotHash = Hash.wrap(input.readBytes32());
-          final StorageSlotKey storageSlotKey = new StorageSlotKey(slotHash, Optional.empty());
-          final UInt256 oldValue = nullOrValue(input, RLPInput::readUInt256Scalar);
-          final UInt256 newValue = nullOrValue(input, RLPInput::readUInt256Scalar);
-          final boolean isCleared = getOptionalIsCleared(input);
-          storageChanges.put(storageSlotKey, new DiffBasedValue<>(oldValue, newValue, isCleared));
-          input.leaveList();
-        }
-        input.leaveList();
-        newLayer.getStorageChanges().put(address, storageChanges);
-      }
+      readAddressChanges(address, input, newLayer);
 
       // TODO add trie nodes
 
@@ -210,6 +202,52 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
     return newLayer;
   }
 
+  static void readAddressChanges(
+      final Address address, final RLPInput input, final TrieLogLayer newLayer) {
+    if (input.nextIsNull()) {
+      input.skipNext();
+    } else {
+      input.enterList();
+      final StateTrieAccountValue oldValue = nullOrValue(input, StateTrieAccountValue::readFrom);
+      final StateTrieAccountValue newValue = nullOrValue(input, StateTrieAccountValue::readFrom);
+      final boolean isCleared = getOptionalIsCleared(input);
+      input.leaveList();
+      newLayer
+          .getAccountChanges()
+          .put(address, new DiffBasedValue<>(oldValue, newValue, isCleared));
+    }
+
+    if (input.nextIsNull()) {
+      input.skipNext();
+    } else {
+      input.enterList();
+      final Bytes oldCode = nullOrValue(input, RLPInput::readBytes);
+      final Bytes newCode = nullOrValue(input, RLPInput::readBytes);
+      final boolean isCleared = getOptionalIsCleared(input);
+      input.leaveList();
+      newLayer.getCodeChanges().put(address, new DiffBasedValue<>(oldCode, newCode, isCleared));
+    }
+
+    if (input.nextIsNull()) {
+      input.skipNext();
+    } else {
+      final Map<StorageSlotKey, DiffBasedValue<UInt256>> storageChanges = new TreeMap<>();
+      input.enterList();
+      while (!input.isEndOfCurrentList()) {
+        input.enterList();
+        final Hash slotHash = Hash.wrap(input.readBytes32());
+        final StorageSlotKey storageSlotKey = new StorageSlotKey(slotHash, Optional.empty());
+        final UInt256 oldValue = nullOrValue(input, RLPInput::readUInt256Scalar);
+        final UInt256 newValue = nullOrValue(input, RLPInput::readUInt256Scalar);
+        final boolean isCleared = getOptionalIsCleared(input);
+        storageChanges.put(storageSlotKey, new DiffBasedValue<>(oldValue, newValue, isCleared));
+        input.leaveList();
+      }
+      input.leaveList();
+      newLayer.getStorageChanges().put(address, storageChanges);
+    }
+  }
+
   protected static <T> T nullOrValue(final RLPInput input, final Function<RLPInput, T> reader) {
     if (input.nextIsNull()) {
       input.skipNext();
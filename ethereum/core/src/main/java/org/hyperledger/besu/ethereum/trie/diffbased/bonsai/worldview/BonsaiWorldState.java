@@ -42,9 +42,12 @@ import org.hyperledger.besu.evm.internal.EvmConfiguration;
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -58,7 +61,11 @@ import org.apache.tuweni.units.bigints.UInt256;
 
 public class BonsaiWorldState extends DiffBasedWorldState {
 
+  /** Accounts with storage changes needed to compute their storage tries in parallel */
+  private static final int DEFAULT_PARALLEL_STORAGE_UPDATE_THRESHOLD = 4;
+
   protected final BonsaiCachedMerkleTrieLoader bonsaiCachedMerkleTrieLoader;
+  private int parallelStorageUpdateThreshold = DEFAULT_PARALLEL_STORAGE_UPDATE_THRESHOLD;
 
   public BonsaiWorldState(
       final BonsaiWorldStateProvider archive,
@@ -92,6 +99,11 @@ public class BonsaiWorldState extends DiffBasedWorldState {
             evmConfiguration));
   }
 
+  @VisibleForTesting
+  void setParallelStorageUpdateThreshold(final int parallelStorageUpdateThreshold) {
+    this.parallelStorageUpdateThreshold = parallelStorageUpdateThreshold;
+  }
+
   @Override
   public BonsaiWorldStateKeyValueStorage getWorldStateStorage() {
     return (BonsaiWorldStateKeyValueStorage) worldStateKeyValueStorage;
@@ -113,14 +125,16 @@ public class BonsaiWorldState extends DiffBasedWorldState {
     clearStorage(maybeStateUpdater, worldStateUpdater);
 
     // This must be done before updating the accounts so
-    // that we can get the storage state hash
-    Stream<Map.Entry<Address, StorageConsumingMap<StorageSlotKey, DiffBasedValue<UInt256>>>>
-        storageStream = worldStateUpdater.getStorageToUpdate().entrySet().stream();
-    if (maybeStateUpdater.isEmpty()) {
-      storageStream =
-          storageStream
-              .parallel(); // if we are not updating the state updater we can use parallel stream
-    }
+    // that we can get the storage state hash. The storage tries of different accounts are
+    // independent, so they are computed in parallel once enough accounts changed; each account
+    // hands its writes over to the state updater in one batch.
+    final Map<Address, StorageConsumingMap<StorageSlotKey, DiffBasedValue<UInt256>>>
+        storageToUpdate = worldStateUpdater.getStorageToUpdate();
+    final Stream<Map.Entry<Address, StorageConsumingMap<StorageSlotKey, DiffBasedValue<UInt256>>>>
+        storageStream =
+            storageToUpdate.size() >= parallelStorageUpdateThreshold
+                ? storageToUpdate.entrySet().parallelStream()
+                : storageToUpdate.entrySet().stream();
     storageStream.forEach(
         addressMapEntry ->
             updateAccountStorageState(maybeStateUpdater, worldStateUpdater, addressMapEntry));
@@ -240,6 +254,9 @@ public class BonsaiWorldState extends DiffBasedWorldState {
                   bonsaiCachedMerkleTrieLoader.getAccountStorageTrieNode(
                       getWorldStateStorage(), updatedAddressHash, location, key),
               storageRoot);
+      // this runs concurrently for several accounts, so writes are only buffered here
+      final List<Consumer<BonsaiWorldStateKeyValueStorage.Updater>> pendingWrites =
+          new ArrayList<>();
 
       // for manicured tries and composting, collect branches here (not implemented)
       for (final Map.Entry<StorageSlotKey, DiffBasedValue<UInt256>> storageUpdate :
@@ -248,15 +265,19 @@ public class BonsaiWorldState extends DiffBasedWorldState {
         final UInt256 updatedStorage = storageUpdate.getValue().getUpdated();
         try {
           if (updatedStorage == null || updatedStorage.equals(UInt256.ZERO)) {
-            maybeStateUpdater.ifPresent(
-                bonsaiUpdater ->
-                    bonsaiUpdater.removeStorageValueBySlotHash(updatedAddressHash, slotHash));
+            if (maybeStateUpdater.isPresent()) {
+              pendingWrites.add(
+                  bonsaiUpdater ->
+                      bonsaiUpdater.removeStorageValueBySlotHash(updatedAddressHash, slotHash));
+            }
             storageTrie.remove(slotHash);
           } else {
-            maybeStateUpdater.ifPresent(
-                bonsaiUpdater ->
-                    bonsaiUpdater.putStorageValueBySlotHash(
-                        updatedAddressHash, slotHash, updatedStorage));
+            if (maybeStateUpdater.isPresent()) {
+              pendingWrites.add(
+                  bonsaiUpdater ->
+                      bonsaiUpdater.putStorageValueBySlotHash(
+                          updatedAddressHash, slotHash, updatedStorage));
+            }
             storageTrie.put(slotHash, encodeTrieValue(updatedStorage));
           }
         } catch (MerkleTrieException e) {
@@ -271,15 +292,18 @@ public class BonsaiWorldState extends DiffBasedWorldState {
 
       final BonsaiAccount accountUpdated = accountValue.getUpdated();
       if (accountUpdated != null) {
-        maybeStateUpdater.ifPresent(
-            bonsaiUpdater ->
-                storageTrie.commit(
-                    (location, key, value) ->
-                        writeStorageTrieNode(
-                            bonsaiUpdater, updatedAddressHash, location, key, value)));
+        if (maybeStateUpdater.isPresent()) {
+          storageTrie.commit(
+              (location, key, value) ->
+                  pendingWrites.add(
+                      bonsaiUpdater ->
+                          writeStorageTrieNode(
+                              bonsaiUpdater, updatedAddressHash, location, key, value)));
+        }
         final Hash newStorageRoot = Hash.wrap(storageTrie.getRootHash());
         accountUpdated.setStorageRoot(newStorageRoot);
       }
+      maybeStateUpdater.ifPresent(bonsaiUpdater -> bonsaiUpdater.applyAll(pendingWrites));
     }
     // for manicured tries and composting, trim and compost here
   }
@@ -431,8 +455,10 @@ public class BonsaiWorldState extends DiffBasedWorldState {
 
   private StoredMerklePatriciaTrie<Bytes, Bytes> createTrie(
       final NodeLoader nodeLoader, final Bytes32 rootHash) {
-    return new StoredMerklePatriciaTrie<>(
-        nodeLoader, rootHash, Function.identity(), Function.identity());
+    // small tries stay below the parallel hashing threshold and are hashed serially
+    return new StoredMerklePatriciaTrie<Bytes, Bytes>(
+            nodeLoader, rootHash, Function.identity(), Function.identity())
+        .withParallelHashing();
   }
 
   protected Hash hashAndSavePreImage(final Bytes value) {
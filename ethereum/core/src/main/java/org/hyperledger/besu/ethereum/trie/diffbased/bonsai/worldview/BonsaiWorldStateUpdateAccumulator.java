@@ -49,6 +49,17 @@ public class BonsaiWorldStateUpdateAccumulator
     return copy;
   }
 
+  /**
+   * Creates an empty accumulator on top of the same world view as this one. It does not see the
+   * changes held here, so it reads the state this accumulator started from.
+   *
+   * @return an empty accumulator sharing this accumulator's world view and preloaders
+   */
+  public BonsaiWorldStateUpdateAccumulator createDetachedAccumulator() {
+    return new BonsaiWorldStateUpdateAccumulator(
+        wrappedWorldView(), getAccountPreloader(), getStoragePreloader(), getEvmConfiguration());
+  }
+
   @Override
   protected BonsaiAccount copyAccount(final BonsaiAccount account) {
     return new BonsaiAccount(account);
@@ -24,7 +24,9 @@ import org.hyperledger.besu.ethereum.proof.WorldStateProofProvider;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.cache.DiffBasedCachedWorldStorageManager;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.storage.DiffBasedWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogLayer;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogManager;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogSpanCompactor;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.worldview.DiffBasedWorldState;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.worldview.accumulator.DiffBasedWorldStateUpdateAccumulator;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
@@ -60,6 +62,15 @@ public abstract class DiffBasedWorldStateProvider implements WorldStateArchive {
       final Blockchain blockchain,
       final Optional<Long> maxLayersToLoad,
       final BesuContext pluginContext) {
+    this(worldStateKeyValueStorage, blockchain, maxLayersToLoad, pluginContext, false);
+  }
+
+  public DiffBasedWorldStateProvider(
+      final DiffBasedWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final Blockchain blockchain,
+      final Optional<Long> maxLayersToLoad,
+      final BesuContext pluginContext,
+      final boolean indexedTrieLogsEnabled) {
 
     this.worldStateKeyValueStorage = worldStateKeyValueStorage;
     // TODO: de-dup constructors
@@ -68,7 +79,8 @@ public abstract class DiffBasedWorldStateProvider implements WorldStateArchive {
             blockchain,
             worldStateKeyValueStorage,
             maxLayersToLoad.orElse(DiffBasedCachedWorldStorageManager.RETAINED_LAYERS),
-            pluginContext);
+            pluginContext,
+            indexedTrieLogsEnabled);
     this.blockchain = blockchain;
   }
 
@@ -136,13 +148,44 @@ public abstract class DiffBasedWorldStateProvider implements WorldStateArchive {
       }
       return cachedWorldStorageManager
           .getWorldState(blockHeader.getHash())
-          .or(() -> cachedWorldStorageManager.getNearestWorldState(blockHeader))
-          .or(() -> cachedWorldStorageManager.getHeadWorldState(blockchain::getBlockHeader))
+          .or(() -> getCheckpointWorldState(blockHeader))
+          .or(() -> getNearestWorldState(blockHeader))
           .flatMap(worldState -> rollMutableStateToBlockHash(worldState, blockHeader.getHash()))
           .map(MutableWorldState::freeze);
     }
   }
 
+  private Optional<DiffBasedWorldState> getNearestWorldState(final BlockHeader blockHeader) {
+    return cachedWorldStorageManager
+        .getNearestWorldState(blockHeader)
+        .or(() -> cachedWorldStorageManager.getHeadWorldState(blockchain::getBlockHeader));
+  }
+
+  /**
+   * When no cached world state is closer to the block than the checkpoint below it, rolls to that
+   * checkpoint first. Persisting the checkpoint adds it to the cache, so later queries around the
+   * same block only roll the few trie logs between the checkpoint and their target.
+   */
+  private Optional<DiffBasedWorldState> getCheckpointWorldState(final BlockHeader blockHeader) {
+    final long distance =
+        blockHeader.getNumber() % DiffBasedCachedWorldStorageManager.CHECKPOINT_INTERVAL;
+    if (distance == 0
+        || cachedWorldStorageManager.hasCachedWorldStateWithin(blockHeader, distance)) {
+      return Optional.empty();
+    }
+    Optional<BlockHeader> maybeCheckpoint = Optional.of(blockHeader);
+    for (long i = 0; i < distance && maybeCheckpoint.isPresent(); i++) {
+      maybeCheckpoint = blockchain.getBlockHeader(maybeCheckpoint.get().getParentHash());
+    }
+    return maybeCheckpoint.flatMap(
+        checkpoint ->
+            getNearestWorldState(checkpoint)
+                .flatMap(
+                    worldState ->
+                        rollMutableStateToBlockHash(worldState, checkpoint.getHash())
+                            .map(__ -> worldState)));
+  }
+
   @Override
   public synchronized Optional<MutableWorldState> getMutable(
       final Hash rootHash, final Hash blockHash) {
@@ -169,17 +212,39 @@ public abstract class DiffBasedWorldStateProvider implements WorldStateArchive {
           // roll back from persisted to even with target
           Hash persistedBlockHash = persistedHeader.getBlockHash();
           while (persistedHeader.getNumber() > targetHeader.getNumber()) {
-            LOG.debug("Rollback {}", persistedBlockHash);
-            rollBacks.add(trieLogManager.getTrieLogLayer(persistedBlockHash).get());
-            persistedHeader = blockchain.getBlockHeader(persistedHeader.getParentHash()).get();
+            final Optional<TrieLog> span =
+                getTrieLogSpan(persistedHeader, targetHeader.getNumber());
+            if (span.isPresent()) {
+              LOG.debug("Rollback span ending at {}", persistedBlockHash);
+              rollBacks.add(span.get());
+              persistedHeader =
+                  blockchain
+                      .getBlockHeader(persistedHeader.getNumber() - TrieLogSpanCompactor.SPAN_SIZE)
+                      .get();
+            } else {
+              LOG.debug("Rollback {}", persistedBlockHash);
+              rollBacks.add(trieLogManager.getTrieLogLayer(persistedBlockHash).get());
+              persistedHeader = blockchain.getBlockHeader(persistedHeader.getParentHash()).get();
+            }
             persistedBlockHash = persistedHeader.getBlockHash();
           }
           // roll forward to target
           Hash targetBlockHash = targetHeader.getBlockHash();
           while (persistedHeader.getNumber() < targetHeader.getNumber()) {
-            LOG.debug("Rollforward {}", targetBlockHash);
-            rollForwards.add(trieLogManager.getTrieLogLayer(targetBlockHash).get());
-            targetHeader = blockchain.getBlockHeader(targetHeader.getParentHash()).get();
+            final Optional<TrieLog> span =
+                getTrieLogSpan(targetHeader, persistedHeader.getNumber());
+            if (span.isPresent()) {
+              LOG.debug("Rollforward span ending at {}", targetBlockHash);
+              rollForwards.add(span.get());
+              targetHeader =
+                  blockchain
+                      .getBlockHeader(targetHeader.getNumber() - TrieLogSpanCompactor.SPAN_SIZE)
+                      .get();
+            } else {
+              LOG.debug("Rollforward {}", targetBlockHash);
+              rollForwards.add(trieLogManager.getTrieLogLayer(targetBlockHash).get());
+              targetHeader = blockchain.getBlockHeader(targetHeader.getParentHash()).get();
+            }
             targetBlockHash = targetHeader.getBlockHash();
           }
 
@@ -202,14 +267,15 @@ public abstract class DiffBasedWorldStateProvider implements WorldStateArchive {
         final DiffBasedWorldStateUpdateAccumulator<?> diffBasedUpdater =
             (DiffBasedWorldStateUpdateAccumulator<?>) mutableState.updater();
         try {
-          for (final TrieLog rollBack : rollBacks) {
-            LOG.debug("Attempting Rollback of {}", rollBack.getBlockHash());
-            diffBasedUpdater.rollBack(rollBack);
+          // merge each direction into a single diff, so values changed by several of the blocks
+          // are rolled once
+          if (!rollBacks.isEmpty()) {
+            LOG.debug("Attempting Rollback of {} trie logs", rollBacks.size());
+            diffBasedUpdater.rollBack(TrieLogLayer.compact(rollBacks));
           }
-          for (int i = rollForwards.size() - 1; i >= 0; i--) {
-            final var forward = rollForwards.get(i);
-            LOG.debug("Attempting Rollforward of {}", rollForwards.get(i).getBlockHash());
-            diffBasedUpdater.rollForward(forward);
+          if (!rollForwards.isEmpty()) {
+            LOG.debug("Attempting Rollforward of {} trie logs", rollForwards.size());
+            diffBasedUpdater.rollForward(TrieLogLayer.compact(rollForwards));
           }
           diffBasedUpdater.commit();
 
@@ -247,6 +313,23 @@ public abstract class DiffBasedWorldStateProvider implements WorldStateArchive {
     }
   }
 
+  /**
+   * Returns the span trie log ending at the given block when the whole span lies above the given
+   * block number. The block must be canonical, so that the canonical header at the start of the
+   * span is its ancestor.
+   */
+  private Optional<TrieLog> getTrieLogSpan(final BlockHeader spanEnd, final long floorBlockNumber) {
+    if (!TrieLogSpanCompactor.isSpanEnd(spanEnd.getNumber())
+        || spanEnd.getNumber() - TrieLogSpanCompactor.SPAN_SIZE < floorBlockNumber
+        || !blockchain
+            .getBlockHashByNumber(spanEnd.getNumber())
+            .map(spanEnd.getBlockHash()::equals)
+            .orElse(false)) {
+      return Optional.empty();
+    }
+    return trieLogManager.getTrieLogSpan(spanEnd.getBlockHash());
+  }
+
   @Override
   public MutableWorldState getMutable() {
     return persistedState;
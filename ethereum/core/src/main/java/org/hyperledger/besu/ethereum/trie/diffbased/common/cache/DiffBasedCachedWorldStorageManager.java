@@ -42,6 +42,9 @@ import org.slf4j.LoggerFactory;
 
 public abstract class DiffBasedCachedWorldStorageManager implements StorageSubscriber {
   public static final long RETAINED_LAYERS = 512; // at least 256 + typical rollbacks
+  // historical states materialized at these intervals are kept beyond the retained layers
+  public static final long CHECKPOINT_INTERVAL = 32;
+  public static final long RETAINED_CHECKPOINTS = 64;
   private static final Logger LOG =
       LoggerFactory.getLogger(DiffBasedCachedWorldStorageManager.class);
   private final DiffBasedWorldStateProvider archive;
@@ -123,8 +126,14 @@ public abstract class DiffBasedCachedWorldStorageManager implements StorageSubsc
   private synchronized void scrubCachedLayers(final long newMaxHeight) {
     if (cachedWorldStatesByHash.size() > RETAINED_LAYERS) {
       final long waterline = newMaxHeight - RETAINED_LAYERS;
+      final long checkpointWaterline = waterline - RETAINED_CHECKPOINTS * CHECKPOINT_INTERVAL;
       cachedWorldStatesByHash.values().stream()
-          .filter(layer -> layer.getBlockNumber() < waterline)
+          .filter(
+              layer ->
+                  layer.isClosed()
+                      || (layer.getBlockNumber() < waterline
+                          && (!isCheckpoint(layer.getBlockNumber())
+                              || layer.getBlockNumber() < checkpointWaterline)))
           .toList()
           .forEach(
               layer -> {
@@ -134,10 +143,15 @@ public abstract class DiffBasedCachedWorldStorageManager implements StorageSubsc
     }
   }
 
+  public static boolean isCheckpoint(final long blockNumber) {
+    return blockNumber % CHECKPOINT_INTERVAL == 0;
+  }
+
   public Optional<DiffBasedWorldState> getWorldState(final Hash blockHash) {
     if (cachedWorldStatesByHash.containsKey(blockHash)) {
       // return a new worldstate using worldstate storage and an isolated copy of the updater
       return Optional.ofNullable(cachedWorldStatesByHash.get(blockHash))
+          .filter(cached -> !cached.isClosed())
           .map(
               cached ->
                   createWorldState(
@@ -161,6 +175,7 @@ public abstract class DiffBasedCachedWorldStorageManager implements StorageSubsc
 
     return Optional.ofNullable(
             cachedWorldStatesByHash.get(blockHeader.getParentHash())) // search parent block
+        .filter(cached -> !cached.isClosed())
         .map(DiffBasedCachedWorldView::getWorldStateStorage)
         .or(
             () -> {
@@ -173,6 +188,7 @@ public abstract class DiffBasedCachedWorldStorageManager implements StorageSubsc
               final List<DiffBasedCachedWorldView> cachedDiffBasedWorldViews =
                   new ArrayList<>(cachedWorldStatesByHash.values());
               return cachedDiffBasedWorldViews.stream()
+                  .filter(view -> !view.isClosed())
                   .sorted(
                       Comparator.comparingLong(
                           view -> Math.abs(blockHeader.getNumber() - view.getBlockNumber())))
@@ -204,6 +220,22 @@ public abstract class DiffBasedCachedWorldStorageManager implements StorageSubsc
             });
   }
 
+  /**
+   * Whether a cached world state lies within the given number of blocks of a block, in which case
+   * rolling from it is cheaper than going through a checkpoint.
+   *
+   * @param blockHeader the block to look around
+   * @param distance the maximum distance in blocks
+   * @return true if a cached world state is close enough
+   */
+  public boolean hasCachedWorldStateWithin(final BlockHeader blockHeader, final long distance) {
+    return cachedWorldStatesByHash.values().stream()
+        .anyMatch(
+            view ->
+                !view.isClosed()
+                    && Math.abs(blockHeader.getNumber() - view.getBlockNumber()) <= distance);
+  }
+
   public boolean contains(final Hash blockHash) {
     return cachedWorldStatesByHash.containsKey(blockHash);
   }
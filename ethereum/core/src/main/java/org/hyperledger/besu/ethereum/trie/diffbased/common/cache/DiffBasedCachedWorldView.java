@@ -26,6 +26,7 @@ public class DiffBasedCachedWorldView implements StorageSubscriber {
   private DiffBasedWorldStateKeyValueStorage worldStateKeyValueStorage;
   private final BlockHeader blockHeader;
   private long worldViewSubscriberId;
+  private volatile boolean isClosed = false;
   private static final Logger LOG = LoggerFactory.getLogger(DiffBasedCachedWorldView.class);
 
   public DiffBasedCachedWorldView(
@@ -47,7 +48,23 @@ public class DiffBasedCachedWorldView implements StorageSubscriber {
     return blockHeader.getHash();
   }
 
+  /**
+   * Whether the storage of this view has been closed, either by {@link #close()} or because a
+   * storage it was layered on was closed.
+   *
+   * @return true if the view can no longer be read
+   */
+  public boolean isClosed() {
+    return isClosed;
+  }
+
+  @Override
+  public void onCloseStorage() {
+    isClosed = true;
+  }
+
   public synchronized void close() {
+    isClosed = true;
     worldStateKeyValueStorage.unSubscribe(this.worldViewSubscriberId);
     try {
       worldStateKeyValueStorage.close();
@@ -57,6 +57,8 @@ public abstract class DiffBasedWorldStateKeyValueStorage
   // 0x776f726c64426c6f636b48617368
   public static final byte[] WORLD_BLOCK_HASH_KEY =
       "worldBlockHash".getBytes(StandardCharsets.UTF_8);
+  // span trie logs live next to the per block trie logs, under keys longer than a block hash
+  public static final byte[] TRIE_LOG_SPAN_PREFIX = "trieLogSpan".getBytes(StandardCharsets.UTF_8);
 
   private final AtomicBoolean shouldClose = new AtomicBoolean(false);
 
@@ -102,7 +104,15 @@ public abstract class DiffBasedWorldStateKeyValueStorage
   }
 
   public Stream<byte[]> streamTrieLogKeys(final long limit) {
-    return trieLogStorage.streamKeys().limit(limit);
+    return trieLogStorage.streamKeys().filter(key -> key.length == Bytes32.SIZE).limit(limit);
+  }
+
+  public static byte[] trieLogSpanKey(final Hash spanEndBlockHash) {
+    return Bytes.concatenate(Bytes.wrap(TRIE_LOG_SPAN_PREFIX), spanEndBlockHash).toArrayUnsafe();
+  }
+
+  public Optional<byte[]> getTrieLogSpan(final Hash spanEndBlockHash) {
+    return trieLogStorage.get(trieLogSpanKey(spanEndBlockHash));
   }
 
   public Optional<Bytes> getStateTrieNode(final Bytes location) {
@@ -191,6 +201,15 @@ public abstract class DiffBasedWorldStateKeyValueStorage
     }
   }
 
+  public boolean pruneTrieLogSpan(final Hash spanEndBlockHash) {
+    try {
+      return trieLogStorage.tryDelete(trieLogSpanKey(spanEndBlockHash));
+    } catch (Exception e) {
+      LOG.error("Error pruning trie log span ending at block hash {}", spanEndBlockHash, e);
+      return false;
+    }
+  }
+
   @Override
   public synchronized void close() throws Exception {
     // when the storage clears, close
@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.trie.diffbased.common.DiffBasedValue;
 import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -71,6 +72,71 @@ public class TrieLogLayer implements TrieLog {
     this.storage = new HashMap<>();
   }
 
+  /**
+   * Merges consecutive trie logs into one layer that goes from the state before the oldest of them
+   * straight to the state after the newest, so each value they change is rolled only once.
+   *
+   * @param layers the trie logs to merge, newest first
+   * @return the compacted layer
+   */
+  public static TrieLogLayer compact(final List<? extends TrieLog> layers) {
+    final TrieLogLayer compacted = new TrieLogLayer();
+    layers.forEach(compacted::appendOlder);
+    compacted.freeze();
+    return compacted;
+  }
+
+  /**
+   * Extends this layer back in time with the trie log of the block just before the oldest block it
+   * covers. The first layer appended to an empty layer also sets its block hash and number.
+   *
+   * @param older the trie log to merge
+   * @return this layer
+   */
+  public TrieLogLayer appendOlder(final TrieLog older) {
+    checkState(!frozen, "Layer is Frozen");
+    if (blockHash == null) {
+      blockHash = older.getBlockHash();
+      blockNumber = older.getBlockNumber();
+    }
+    // going back in time, the first change seen for a value holds its final updated value and
+    // every older change moves its prior value further back
+    older
+        .getAccountChanges()
+        .forEach(
+            (address, change) ->
+                accounts.merge(
+                    address,
+                    new DiffBasedValue<>(
+                        change.getPrior(), change.getUpdated(), change.isLastStepCleared()),
+                    (newer, previous) -> newer.setPrior(previous.getPrior())));
+    older
+        .getCodeChanges()
+        .forEach(
+            (address, change) ->
+                code.merge(
+                    address,
+                    new DiffBasedValue<>(
+                        change.getPrior(), change.getUpdated(), change.isLastStepCleared()),
+                    (newer, previous) -> newer.setPrior(previous.getPrior())));
+    older
+        .getStorageChanges()
+        .forEach(
+            (address, slots) ->
+                slots.forEach(
+                    (slotKey, change) ->
+                        storage
+                            .computeIfAbsent(address, a -> new TreeMap<>())
+                            .merge(
+                                slotKey,
+                                new DiffBasedValue<>(
+                                    change.getPrior(),
+                                    change.getUpdated(),
+                                    change.isLastStepCleared()),
+                                (newer, previous) -> newer.setPrior(previous.getPrior()))));
+    return this;
+  }
+
   /** Locks the layer so no new changes can be added; */
   @Override
   public void freeze() {
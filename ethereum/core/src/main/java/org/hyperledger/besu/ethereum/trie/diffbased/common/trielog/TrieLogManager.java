@@ -53,10 +53,19 @@ public class TrieLogManager {
       final DiffBasedWorldStateKeyValueStorage worldStateKeyValueStorage,
       final long maxLayersToLoad,
       final BesuContext pluginContext) {
+    this(blockchain, worldStateKeyValueStorage, maxLayersToLoad, pluginContext, false);
+  }
+
+  public TrieLogManager(
+      final Blockchain blockchain,
+      final DiffBasedWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final long maxLayersToLoad,
+      final BesuContext pluginContext,
+      final boolean indexedTrieLogsEnabled) {
     this.blockchain = blockchain;
     this.rootWorldStateStorage = worldStateKeyValueStorage;
     this.maxLayersToLoad = maxLayersToLoad;
-    this.trieLogFactory = setupTrieLogFactory(pluginContext);
+    this.trieLogFactory = setupTrieLogFactory(pluginContext, indexedTrieLogsEnabled);
   }
 
   public synchronized void saveTrieLog(
@@ -124,6 +133,36 @@ public class TrieLogManager {
     return rootWorldStateStorage.getTrieLog(blockHash).map(trieLogFactory::deserialize);
   }
 
+  /**
+   * Returns the span trie log written by the {@link TrieLogSpanCompactor} for the span ending at
+   * the given block, if there is one.
+   *
+   * @param spanEndBlockHash the hash of the last block of the span
+   * @return the net changes of all the blocks of the span
+   */
+  public Optional<TrieLog> getTrieLogSpan(final Hash spanEndBlockHash) {
+    return rootWorldStateStorage.getTrieLogSpan(spanEndBlockHash).map(trieLogFactory::deserialize);
+  }
+
+  public void saveTrieLogSpan(final TrieLog span) {
+    final DiffBasedWorldStateKeyValueStorage.Updater stateUpdater = rootWorldStateStorage.updater();
+    boolean success = false;
+    try {
+      stateUpdater
+          .getTrieLogStorageTransaction()
+          .put(
+              DiffBasedWorldStateKeyValueStorage.trieLogSpanKey(span.getBlockHash()),
+              trieLogFactory.serialize(span));
+      success = true;
+    } finally {
+      if (success) {
+        stateUpdater.commit();
+      } else {
+        stateUpdater.rollback();
+      }
+    }
+  }
+
   public synchronized long subscribe(final TrieLogEvent.TrieLogObserver sub) {
     return trieLogObservers.subscribe(sub);
   }
@@ -132,7 +171,8 @@ public class TrieLogManager {
     trieLogObservers.unsubscribe(id);
   }
 
-  private TrieLogFactory setupTrieLogFactory(final BesuContext pluginContext) {
+  private TrieLogFactory setupTrieLogFactory(
+      final BesuContext pluginContext, final boolean indexedTrieLogsEnabled) {
     // if we have a TrieLogService from pluginContext, use it.
     var trieLogServicez =
         Optional.ofNullable(pluginContext)
@@ -150,7 +190,7 @@ public class TrieLogManager {
       return trieLogService.getTrieLogFactory();
     } else {
       // Otherwise default to TrieLogFactoryImpl
-      return new TrieLogFactoryImpl();
+      return new TrieLogFactoryImpl(indexedTrieLogsEnabled);
     }
   }
 
@@ -0,0 +1,132 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.common.trielog;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.storage.DiffBasedWorldStateKeyValueStorage;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLogEvent;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aggregates the trie logs of every {@link #SPAN_SIZE} canonical blocks into one span trie log
+ * that holds only the net before and after values of each account, code and slot they change.
+ * Rolling a world state across a whole span then reads and applies a single layer instead of
+ * {@link #SPAN_SIZE} of them.
+ *
+ * <p>A span ending at block {@code n} takes the state of block {@code n - SPAN_SIZE} to the state
+ * of block {@code n}, and is stored under the hash of block {@code n}. Spans are only written once
+ * their last block is {@link #COMPACTION_DELAY} blocks deep, and spans that fall out of the
+ * retained history are deleted.
+ */
+public class TrieLogSpanCompactor implements TrieLogEvent.TrieLogObserver {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TrieLogSpanCompactor.class);
+
+  public static final long SPAN_SIZE = 1024;
+  // keeps spans clear of reorgs
+  public static final long COMPACTION_DELAY = 64;
+
+  private final TrieLogManager trieLogManager;
+  private final DiffBasedWorldStateKeyValueStorage rootWorldStateStorage;
+  private final Blockchain blockchain;
+  private final Consumer<Runnable> executeAsync;
+  private final long numBlocksToRetain;
+
+  public TrieLogSpanCompactor(
+      final TrieLogManager trieLogManager,
+      final DiffBasedWorldStateKeyValueStorage rootWorldStateStorage,
+      final Blockchain blockchain,
+      final Consumer<Runnable> executeAsync,
+      final long numBlocksToRetain) {
+    this.trieLogManager = trieLogManager;
+    this.rootWorldStateStorage = rootWorldStateStorage;
+    this.blockchain = blockchain;
+    this.executeAsync = executeAsync;
+    this.numBlocksToRetain = numBlocksToRetain;
+  }
+
+  public static boolean isSpanEnd(final long blockNumber) {
+    return blockNumber >= SPAN_SIZE && blockNumber % SPAN_SIZE == SPAN_SIZE - 1;
+  }
+
+  @Override
+  public void onTrieLogAdded(final TrieLogEvent event) {
+    if (TrieLogEvent.Type.ADDED.equals(event.getType())) {
+      event
+          .layer()
+          .getBlockNumber()
+          .map(blockNumber -> blockNumber - COMPACTION_DELAY)
+          .filter(TrieLogSpanCompactor::isSpanEnd)
+          .ifPresent(spanEnd -> executeAsync.accept(() -> compactSpan(spanEnd)));
+    }
+  }
+
+  /**
+   * Writes the span ending at the canonical block with the given number, then deletes the span
+   * that just left the retained history.
+   *
+   * @param spanEndBlockNumber the number of the last block of the span
+   * @return true if the span was written
+   */
+  public boolean compactSpan(final long spanEndBlockNumber) {
+    final Optional<BlockHeader> maybeSpanEnd = blockchain.getBlockHeader(spanEndBlockNumber);
+    if (maybeSpanEnd.isEmpty()
+        || rootWorldStateStorage.getTrieLogSpan(maybeSpanEnd.get().getHash()).isPresent()) {
+      return false;
+    }
+    final TrieLogLayer span = new TrieLogLayer();
+    BlockHeader header = maybeSpanEnd.get();
+    for (long i = 0; i < SPAN_SIZE; i++) {
+      final Optional<TrieLog> trieLog = trieLogManager.getTrieLogLayer(header.getHash());
+      final Optional<BlockHeader> parent = blockchain.getBlockHeader(header.getParentHash());
+      if (trieLog.isEmpty() || parent.isEmpty()) {
+        LOG.atDebug()
+            .setMessage("missing trie log for block {}, not compacting span ending at {}")
+            .addArgument(header::toLogString)
+            .addArgument(spanEndBlockNumber)
+            .log();
+        return false;
+      }
+      span.appendOlder(trieLog.get());
+      header = parent.get();
+    }
+    span.freeze();
+    trieLogManager.saveTrieLogSpan(span);
+    LOG.atDebug()
+        .setMessage("compacted trie logs of blocks {} to {} into one span")
+        .addArgument(header.getNumber() + 1)
+        .addArgument(spanEndBlockNumber)
+        .log();
+
+    pruneSpanBefore(spanEndBlockNumber);
+    return true;
+  }
+
+  private void pruneSpanBefore(final long spanEndBlockNumber) {
+    final long staleSpanEnd = spanEndBlockNumber - (numBlocksToRetain / SPAN_SIZE + 1) * SPAN_SIZE;
+    if (isSpanEnd(staleSpanEnd)) {
+      blockchain
+          .getBlockHeader(staleSpanEnd)
+          .ifPresent(staleHeader -> rootWorldStateStorage.pruneTrieLogSpan(staleHeader.getHash()));
+    }
+  }
+}
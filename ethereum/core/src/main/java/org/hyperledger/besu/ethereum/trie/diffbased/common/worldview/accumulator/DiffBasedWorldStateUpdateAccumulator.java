@@ -742,6 +742,67 @@ public abstract class DiffBasedWorldStateUpdateAccumulator<ACCOUNT extends DiffB
     }
   }
 
+  /**
+   * Merges the committed changes of another accumulator into this one. The source must wrap the
+   * same world view and must not have read or written anything this accumulator changed since, so
+   * that its values are the ones a sequential execution would have produced. Priors already held
+   * here are kept, as are entries the source does not know about.
+   *
+   * <p>Deleted accounts and cleared storage are not supported and must be handled by the caller.
+   *
+   * @param source the accumulator to merge into this one
+   */
+  public void importStateChangesFromSource(
+      final DiffBasedWorldStateUpdateAccumulator<ACCOUNT> source) {
+    source
+        .getAccountsToUpdate()
+        .forEach(
+            (address, sourceValue) -> {
+              final ACCOUNT updated =
+                  sourceValue.getUpdated() == null
+                      ? null
+                      : copyAccount(sourceValue.getUpdated(), this, true);
+              final DiffBasedValue<ACCOUNT> accountValue = accountsToUpdate.get(address);
+              if (accountValue == null) {
+                accountsToUpdate.put(address, new DiffBasedValue<>(sourceValue.getPrior(), updated));
+              } else {
+                accountValue.setUpdated(updated);
+              }
+            });
+    source
+        .getCodeToUpdate()
+        .forEach(
+            (address, sourceValue) -> {
+              final DiffBasedValue<Bytes> codeValue = codeToUpdate.get(address);
+              if (codeValue == null) {
+                codeToUpdate.put(address, sourceValue.copy());
+              } else {
+                codeValue.setUpdated(sourceValue.getUpdated());
+              }
+            });
+    source
+        .getStorageToUpdate()
+        .forEach(
+            (address, sourceSlots) -> {
+              final Map<StorageSlotKey, DiffBasedValue<UInt256>> slots =
+                  storageToUpdate.computeIfAbsent(
+                      address,
+                      k ->
+                          new StorageConsumingMap<>(
+                              address, new ConcurrentHashMap<>(), storagePreloader));
+              sourceSlots.forEach(
+                  (slotKey, sourceValue) -> {
+                    final DiffBasedValue<UInt256> slotValue = slots.get(slotKey);
+                    if (slotValue == null) {
+                      slots.put(slotKey, sourceValue.copy());
+                    } else {
+                      slotValue.setUpdated(sourceValue.getUpdated());
+                    }
+                  });
+            });
+    this.isAccumulatorStateChanged = true;
+  }
+
   private boolean isSlotEquals(final UInt256 expectedValue, final UInt256 existingSlotValue) {
     final UInt256 sanitizedExpectedValue = (expectedValue == null) ? UInt256.ZERO : expectedValue;
     final UInt256 sanitizedExistingSlotValue =
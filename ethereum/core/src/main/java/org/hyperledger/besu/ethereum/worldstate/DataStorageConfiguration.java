@@ -66,6 +66,11 @@ public interface DataStorageConfiguration {
     long MINIMUM_BONSAI_TRIE_LOG_RETENTION_LIMIT = DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD;
     int DEFAULT_BONSAI_TRIE_LOG_PRUNING_WINDOW_SIZE = 30_000;
     boolean DEFAULT_BONSAI_CODE_USING_CODE_HASH_ENABLED = false;
+    long DEFAULT_BONSAI_ACCOUNT_TRIE_NODE_CACHE_SIZE = 67_108_864L;
+    long DEFAULT_BONSAI_STORAGE_TRIE_NODE_CACHE_SIZE = 67_108_864L;
+    boolean DEFAULT_BONSAI_TRIE_NODE_CACHE_OFF_HEAP_ENABLED = false;
+    boolean DEFAULT_PARALLEL_TRANSACTION_PROCESSING_ENABLED = false;
+    boolean DEFAULT_BONSAI_INDEXED_TRIE_LOGS_ENABLED = false;
 
     DataStorageConfiguration.Unstable DEFAULT =
         ImmutableDataStorageConfiguration.Unstable.builder().build();
@@ -84,5 +89,30 @@ public interface DataStorageConfiguration {
     default boolean getBonsaiCodeStoredByCodeHashEnabled() {
       return DEFAULT_BONSAI_CODE_USING_CODE_HASH_ENABLED;
     }
+
+    @Value.Default
+    default long getBonsaiAccountTrieNodeCacheSize() {
+      return DEFAULT_BONSAI_ACCOUNT_TRIE_NODE_CACHE_SIZE;
+    }
+
+    @Value.Default
+    default long getBonsaiStorageTrieNodeCacheSize() {
+      return DEFAULT_BONSAI_STORAGE_TRIE_NODE_CACHE_SIZE;
+    }
+
+    @Value.Default
+    default boolean getBonsaiTrieNodeCacheOffHeapEnabled() {
+      return DEFAULT_BONSAI_TRIE_NODE_CACHE_OFF_HEAP_ENABLED;
+    }
+
+    @Value.Default
+    default boolean getParallelTransactionProcessingEnabled() {
+      return DEFAULT_PARALLEL_TRANSACTION_PROCESSING_ENABLED;
+    }
+
+    @Value.Default
+    default boolean getBonsaiIndexedTrieLogsEnabled() {
+      return DEFAULT_BONSAI_INDEXED_TRIE_LOGS_ENABLED;
+    }
   }
 }
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.worldstate;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.proof.WorldStateProof;
@@ -64,4 +65,14 @@ public interface WorldStateArchive extends Closeable {
       final Address accountAddress,
       final List<UInt256> accountStorageKeys,
       final Function<Optional<WorldStateProof>, ? extends Optional<U>> mapper);
+
+  /**
+   * Starts loading, in the background, the state the given block is expected to read, so that it
+   * is already cached when the block is executed. Archives that do not support prefetching ignore
+   * the call.
+   *
+   * @param parentHeader the header of the parent of the block
+   * @param block the block that is about to be executed
+   */
+  default void prefetch(final BlockHeader parentHeader, final Block block) {}
 }
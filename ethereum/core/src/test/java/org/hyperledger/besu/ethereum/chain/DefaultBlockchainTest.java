@@ -27,6 +27,7 @@ import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
 import org.hyperledger.besu.ethereum.storage.keyvalue.VariablesKeyValueStorage;
 import org.hyperledger.besu.metrics.MetricsSystemFactory;
@@ -44,6 +45,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
+import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
 
 public class DefaultBlockchainTest {
@@ -1015,6 +1017,11 @@ public class DefaultBlockchainTest {
         .isEqualTo(block.getHeader());
     assertThat(blockchain.getBlockHeader(hash).get()).isEqualTo(block.getHeader());
     assertThat(blockchain.getBlockBody(hash).get()).isEqualTo(block.getBody());
+    final Bytes headerRlp = RLP.encode(block.getHeader()::writeTo);
+    assertThat(blockchain.getBlockHeaderRlp(hash)).contains(headerRlp);
+    assertThat(blockchain.getBlockHeaderRlp(block.getHeader().getNumber())).contains(headerRlp);
+    assertThat(blockchain.getBlockBodyRlp(hash))
+        .contains(RLP.encode(block.getBody()::writeWrappedBodyTo));
     assertThat(blockchain.blockIsOnCanonicalChain(block.getHash())).isTrue();
 
     final List<Transaction> txs = block.getBody().getTransactions();
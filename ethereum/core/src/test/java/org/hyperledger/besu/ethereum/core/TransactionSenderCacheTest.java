@@ -0,0 +1,69 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionDecoder;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder;
+import org.hyperledger.besu.metrics.StubMetricsSystem;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TransactionSenderCacheTest {
+  private static final KeyPair KEYS = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final Transaction transaction = new TransactionTestFixture().createTransaction(KEYS);
+  private final Bytes encoded =
+      TransactionEncoder.encodeOpaqueBytes(transaction, EncodingContext.BLOCK_BODY);
+
+  @BeforeEach
+  public void setUp() {
+    TransactionSenderCache.clear();
+    TransactionSenderCache.registerMetrics(metricsSystem);
+  }
+
+  private Transaction decodeAgain() {
+    return TransactionDecoder.decodeOpaqueBytes(encoded, EncodingContext.BLOCK_BODY);
+  }
+
+  private long counter(final String name) {
+    return metricsSystem.getCounterValue("transaction_sender_cache_" + name);
+  }
+
+  @Test
+  public void senderIsRecoveredOnceAcrossInstances() {
+    assertThat(decodeAgain().getSender()).isEqualTo(transaction.getSender());
+    assertThat(counter("misses")).isEqualTo(1);
+    assertThat(metricsSystem.getGaugeValue("transaction_sender_cache_size")).isEqualTo(1);
+
+    assertThat(decodeAgain().getSender()).isEqualTo(transaction.getSender());
+    assertThat(counter("hits")).isEqualTo(1);
+    assertThat(counter("misses")).isEqualTo(1);
+  }
+
+  @Test
+  public void publicKeyIsCachedWithTheSender() {
+    decodeAgain().getSender();
+    assertThat(decodeAgain().getPublicKey()).contains(KEYS.getPublicKey().toString());
+    assertThat(counter("hits")).isEqualTo(1);
+  }
+}
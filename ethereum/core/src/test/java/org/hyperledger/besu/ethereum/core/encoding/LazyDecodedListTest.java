@@ -0,0 +1,106 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core.encoding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class LazyDecodedListTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+
+  @Test
+  void decodesItemsOnlyOnceAndOnAccess() {
+    final Bytes encoded =
+        RLP.encode(out -> out.writeList(List.of(1L, 300L, 70000L), (v, o) -> o.writeLongScalar(v)));
+    final AtomicInteger decodeCount = new AtomicInteger();
+    final LazyDecodedList<Long> list =
+        LazyDecodedList.readFrom(
+            RLP.input(encoded),
+            in -> {
+              decodeCount.incrementAndGet();
+              return in.readLongScalar();
+            });
+
+    assertThat(list).hasSize(3);
+    assertThat(decodeCount).hasValue(0);
+    assertThat(list.get(1)).isEqualTo(300L);
+    assertThat(list.get(1)).isEqualTo(300L);
+    assertThat(decodeCount).hasValue(1);
+    assertThat(list.getEncoded(2)).isEqualTo(RLP.encode(out -> out.writeLongScalar(70000L)));
+    assertThat(list).containsExactly(1L, 300L, 70000L);
+    assertThat(decodeCount).hasValue(3);
+  }
+
+  @Test
+  void malformedItemOnlyFailsOnAccess() {
+    final Bytes encoded =
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeLongScalar(1L);
+              out.writeBytes(Bytes.fromHexString("0x0001"));
+              out.endList();
+            });
+    final LazyDecodedList<Long> list =
+        LazyDecodedList.readFrom(RLP.input(encoded), in -> in.readLongScalar());
+
+    assertThat(list.get(0)).isEqualTo(1L);
+    assertThatThrownBy(() -> list.get(1)).isInstanceOf(RLPException.class);
+  }
+
+  @Test
+  void lazilyReadBodyMatchesEagerlyReadBody() {
+    final Block block = gen.block();
+    final Bytes encoded = RLP.encode(block.getBody()::writeWrappedBodyTo);
+
+    final BlockBody body =
+        BlockBody.readWrappedBodyLazilyFrom(
+            RLP.input(encoded), new MainnetBlockHeaderFunctions());
+
+    assertThat(body.getTransactions()).isInstanceOf(LazyDecodedList.class);
+    assertThat(body.getTransactionHashes())
+        .isEqualTo(block.getBody().getTransactions().stream().map(Transaction::getHash).toList());
+    assertThat(body).isEqualTo(block.getBody());
+    assertThat(RLP.encode(body::writeWrappedBodyTo)).isEqualTo(encoded);
+  }
+
+  @Test
+  void lazilyReadReceiptsMatchEagerlyReadReceipts() {
+    final List<TransactionReceipt> receipts = gen.receipts(gen.block());
+    final Bytes encoded =
+        RLP.encode(out -> out.writeList(receipts, (r, o) -> r.writeToForStorage(o, false)));
+
+    final List<TransactionReceipt> lazyReceipts =
+        LazyDecodedList.readFrom(RLP.input(encoded), TransactionReceipt::readFrom);
+
+    assertThat(lazyReceipts).isEqualTo(receipts);
+  }
+}
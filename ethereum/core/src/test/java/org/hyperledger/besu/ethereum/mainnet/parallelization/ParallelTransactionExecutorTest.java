@@ -0,0 +1,95 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockchainSetupUtil;
+import org.hyperledger.besu.metrics.StubMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
+
+import java.util.Optional;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.Test;
+
+class ParallelTransactionExecutorTest {
+
+  private static final String OUTCOMES = "parallel_transactions_total";
+
+  @Test
+  void replayedChainHasSameStateAndReceiptRoots() {
+    final BlockchainSetupUtil setup = BlockchainSetupUtil.forTesting(DataStorageFormat.BONSAI);
+    final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+    setup
+        .getProtocolContext()
+        .setParallelTransactionExecutor(
+            Optional.of(new ParallelTransactionExecutor(metricsSystem, 4)));
+
+    // full header validation checks the state root and the receipts root of every block
+    // against the ones the chain was generated with sequentially
+    setup.importAllBlocks();
+
+    final Block lastBlock = setup.getBlock(setup.blockCount() - 1);
+    assertThat(setup.getBlockchain().getChainHeadHash()).isEqualTo(lastBlock.getHash());
+    assertThat(setup.getWorldArchive().getMutable().rootHash())
+        .isEqualTo(lastBlock.getHeader().getStateRoot());
+
+    final long transactions =
+        setup.getBlocks().stream().mapToLong(b -> b.getBody().getTransactions().size()).sum();
+    assertThat(
+            metricsSystem.getCounterValue(OUTCOMES, "merged")
+                + metricsSystem.getCounterValue(OUTCOMES, "conflict")
+                + metricsSystem.getCounterValue(OUTCOMES, "not_ready"))
+        .isEqualTo(transactions);
+  }
+
+  @Test
+  void readySpeculativeResultsAreMerged() {
+    final BlockchainSetupUtil setup = BlockchainSetupUtil.forTesting(DataStorageFormat.BONSAI);
+    final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+    // runs every speculative execution before the block processor asks for its result
+    final ParallelTransactionExecutor executor =
+        new ParallelTransactionExecutor(metricsSystem, MoreExecutors.newDirectExecutorService());
+    setup.getProtocolContext().setParallelTransactionExecutor(Optional.of(executor));
+
+    setup.importAllBlocks();
+
+    assertThat(metricsSystem.getCounterValue(OUTCOMES, "merged")).isPositive();
+    assertThat(metricsSystem.getCounterValue(OUTCOMES, "not_ready")).isZero();
+    final Block lastBlock = setup.getBlock(setup.blockCount() - 1);
+    assertThat(setup.getWorldArchive().getMutable().rootHash())
+        .isEqualTo(lastBlock.getHeader().getStateRoot());
+    executor.close();
+  }
+
+  @Test
+  void sequentialAndParallelImportsReachTheSameState() {
+    final BlockchainSetupUtil sequential = BlockchainSetupUtil.forTesting(DataStorageFormat.BONSAI);
+    final BlockchainSetupUtil parallel = BlockchainSetupUtil.forTesting(DataStorageFormat.BONSAI);
+    parallel
+        .getProtocolContext()
+        .setParallelTransactionExecutor(
+            Optional.of(new ParallelTransactionExecutor(new StubMetricsSystem(), 2)));
+
+    for (int i = 0; i < sequential.blockCount(); i++) {
+      sequential.importBlockAtIndex(i);
+      parallel.importBlockAtIndex(i);
+      assertThat(parallel.getWorldArchive().getMutable().rootHash())
+          .isEqualTo(sequential.getWorldArchive().getMutable().rootHash());
+    }
+  }
+}
@@ -15,10 +15,18 @@
 package org.hyperledger.besu.ethereum.trie.diffbased.bonsai;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
 import org.hyperledger.besu.ethereum.core.TrieGenerator;
 import org.hyperledger.besu.ethereum.rlp.RLP;
@@ -29,17 +37,21 @@ import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.BonsaiCachedMer
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+import org.hyperledger.besu.ethereum.worldstate.ImmutableDataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -71,6 +83,30 @@ class BonsaiCachedMerkleTrieLoaderTest {
     merkleTrieLoader = new BonsaiCachedMerkleTrieLoader(new NoOpMetricsSystem());
   }
 
+  @AfterEach
+  public void tearDown() {
+    merkleTrieLoader.close();
+  }
+
+  @Test
+  void prefetchThreadsStopWhenClosed() {
+    final Set<Thread> threadsBefore = Thread.getAllStackTraces().keySet();
+    merkleTrieLoader.preLoadAccount(
+        inMemoryWorldState, Hash.wrap(trie.getRootHash()), accounts.get(0));
+    final Set<Thread> prefetchThreads =
+        Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> !threadsBefore.contains(thread))
+            .filter(thread -> thread.getName().startsWith("BonsaiStatePrefetch"))
+            .collect(Collectors.toSet());
+    assertThat(prefetchThreads).isNotEmpty();
+
+    merkleTrieLoader.close();
+
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .untilAsserted(() -> assertThat(prefetchThreads).noneMatch(Thread::isAlive));
+  }
+
   @Test
   void shouldAddAccountNodesInCacheDuringPreload() {
     merkleTrieLoader.cacheAccountNodes(
@@ -93,6 +129,86 @@ class BonsaiCachedMerkleTrieLoaderTest {
     assertThat(cachedTrie.get(hashAccountZero)).isEqualTo(trie.get(hashAccountZero));
   }
 
+  @Test
+  void shouldServeAccountNodesFromOffHeapCache() {
+    merkleTrieLoader =
+        new BonsaiCachedMerkleTrieLoader(
+            new NoOpMetricsSystem(),
+            ImmutableDataStorageConfiguration.builder()
+                .from(DataStorageConfiguration.DEFAULT_BONSAI_CONFIG)
+                .unstable(
+                    ImmutableDataStorageConfiguration.Unstable.builder()
+                        .bonsaiTrieNodeCacheOffHeapEnabled(true)
+                        .build())
+                .build());
+    merkleTrieLoader.cacheAccountNodes(
+        inMemoryWorldState, Hash.wrap(trie.getRootHash()), accounts.get(0));
+
+    final BonsaiWorldStateKeyValueStorage emptyStorage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(),
+            new NoOpMetricsSystem(),
+            DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+    StoredMerklePatriciaTrie<Bytes, Bytes> cachedTrie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) ->
+                merkleTrieLoader.getAccountStateTrieNode(emptyStorage, location, hash),
+            trie.getRootHash(),
+            Function.identity(),
+            Function.identity());
+
+    final Hash hashAccountZero = accounts.get(0).addressHash();
+    assertThat(cachedTrie.get(hashAccountZero)).isEqualTo(trie.get(hashAccountZero));
+  }
+
+  @Test
+  void shouldAddAccountNodesInCacheDuringBlockPreload() {
+    final Block block =
+        new BlockDataGenerator()
+            .block(BlockDataGenerator.BlockOptions.create().setCoinbase(accounts.get(0)));
+    merkleTrieLoader.preLoadBlock(inMemoryWorldState, Hash.wrap(trie.getRootHash()), block);
+
+    final BonsaiWorldStateKeyValueStorage emptyStorage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(),
+            new NoOpMetricsSystem(),
+            DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+    StoredMerklePatriciaTrie<Bytes, Bytes> cachedTrie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) ->
+                merkleTrieLoader.getAccountStateTrieNode(emptyStorage, location, hash),
+            trie.getRootHash(),
+            Function.identity(),
+            Function.identity());
+
+    final Hash hashAccountZero = accounts.get(0).addressHash();
+    await()
+        .atMost(Duration.ofSeconds(10))
+        .ignoreExceptions()
+        .untilAsserted(
+            () -> assertThat(cachedTrie.get(hashAccountZero)).isEqualTo(trie.get(hashAccountZero)));
+  }
+
+  @Test
+  void shouldLoadAccountPathWithOneBatchedRead() {
+    merkleTrieLoader.cacheAccountNodes(
+        inMemoryWorldState, Hash.wrap(trie.getRootHash()), accounts.get(0));
+
+    verify(inMemoryWorldState, times(1)).getTrieNodesUnsafe(anyList());
+    verify(inMemoryWorldState, never()).getAccountStateTrieNode(any(), any());
+  }
+
+  @Test
+  void shouldNotReadCachedPathAgain() {
+    merkleTrieLoader.cacheAccountNodes(
+        inMemoryWorldState, Hash.wrap(trie.getRootHash()), accounts.get(0));
+    merkleTrieLoader.cacheAccountNodes(
+        inMemoryWorldState, Hash.wrap(trie.getRootHash()), accounts.get(0));
+
+    verify(inMemoryWorldState, times(1)).getTrieNodesUnsafe(anyList());
+    verify(inMemoryWorldState, never()).getAccountStateTrieNode(any(), any());
+  }
+
   @Test
   void shouldAddStorageNodesInCacheDuringPreload() {
     final Hash hashAccountZero = accounts.get(0).addressHash();
@@ -21,16 +21,15 @@ import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIden
 import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.TRIE_BRANCH_STORAGE;
 
 import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.trielog.TrieLogFactoryImpl;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
-import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogLayer;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 import org.hyperledger.besu.services.kvstore.SegmentedInMemoryKeyValueStorage;
 import org.hyperledger.besu.util.io.RollingFileReader;
@@ -39,8 +38,6 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 
-import org.apache.tuweni.bytes.Bytes;
-
 public class RollingImport {
 
   public static void main(final String[] arg) throws IOException {
@@ -78,8 +75,7 @@ public class RollingImport {
         if (bytes.length < 1) {
           continue;
         }
-        final TrieLogLayer layer =
-            TrieLogFactoryImpl.readFrom(new BytesValueRLPInput(Bytes.wrap(bytes), false));
+        final TrieLog layer = new TrieLogFactoryImpl().deserialize(bytes);
         final BonsaiWorldStateUpdateAccumulator updater =
             (BonsaiWorldStateUpdateAccumulator) bonsaiState.updater();
         updater.rollForward(layer);
@@ -107,8 +103,7 @@ public class RollingImport {
         count--;
         reader.seek(count);
         final byte[] bytes = reader.readBytes();
-        final TrieLogLayer layer =
-            TrieLogFactoryImpl.readFrom(new BytesValueRLPInput(Bytes.wrap(bytes), false));
+        final TrieLog layer = new TrieLogFactoryImpl().deserialize(bytes);
         final BonsaiWorldStateUpdateAccumulator updater =
             (BonsaiWorldStateUpdateAccumulator) bonsaiState.updater();
         updater.rollBack(layer);
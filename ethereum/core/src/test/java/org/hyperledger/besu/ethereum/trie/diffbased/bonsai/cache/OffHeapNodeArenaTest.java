@@ -0,0 +1,84 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class OffHeapNodeArenaTest {
+
+  private static final long ONE_SLAB = 1 << 20;
+
+  @Test
+  void storedNodesAreReadBack() {
+    // one slab for each size class
+    final OffHeapNodeArena arena = new OffHeapNodeArena(2 * ONE_SLAB);
+    final Bytes small = Bytes.random(33);
+    final Bytes large = Bytes.random(OffHeapNodeArena.MAX_NODE_SIZE);
+
+    final long smallHandle = arena.allocate(small);
+    final long largeHandle = arena.allocate(large);
+
+    assertThat(arena.read(smallHandle)).isEqualTo(small);
+    assertThat(arena.read(largeHandle)).isEqualTo(large);
+    assertThat(arena.slotSize(smallHandle)).isEqualTo(64);
+    assertThat(arena.slotSize(largeHandle)).isEqualTo(OffHeapNodeArena.MAX_NODE_SIZE);
+  }
+
+  @Test
+  void nodesLargerThanTheLargestSlotAreNotStored() {
+    final OffHeapNodeArena arena = new OffHeapNodeArena(ONE_SLAB);
+
+    assertThat(arena.allocate(Bytes.random(OffHeapNodeArena.MAX_NODE_SIZE + 1)))
+        .isEqualTo(OffHeapNodeArena.NO_HANDLE);
+    assertThat(arena.reservedBytes()).isZero();
+  }
+
+  @Test
+  void freedNodesAreNotReadBack() {
+    final OffHeapNodeArena arena = new OffHeapNodeArena(ONE_SLAB);
+    final long handle = arena.allocate(Bytes.random(100));
+
+    arena.free(handle);
+    final long reused = arena.allocate(Bytes.random(100));
+
+    assertThat(arena.read(handle)).isNull();
+    assertThat(arena.read(reused)).isNotNull();
+    // a second free of the same handle must not release the slot of the new node
+    arena.free(handle);
+    assertThat(arena.read(reused)).isNotNull();
+  }
+
+  @Test
+  void memoryIsBoundedByTheBudget() {
+    final OffHeapNodeArena arena = new OffHeapNodeArena(ONE_SLAB);
+    final Bytes node = Bytes.random(OffHeapNodeArena.MAX_NODE_SIZE);
+    long last = OffHeapNodeArena.NO_HANDLE;
+    for (int i = 0; i < ONE_SLAB / OffHeapNodeArena.MAX_NODE_SIZE; i++) {
+      last = arena.allocate(node);
+      assertThat(last).isNotEqualTo(OffHeapNodeArena.NO_HANDLE);
+    }
+
+    assertThat(arena.allocate(node)).isEqualTo(OffHeapNodeArena.NO_HANDLE);
+    assertThat(arena.allocate(Bytes.random(10))).isEqualTo(OffHeapNodeArena.NO_HANDLE);
+    assertThat(arena.reservedBytes()).isEqualTo(ONE_SLAB);
+
+    arena.free(last);
+    assertThat(arena.allocate(node)).isNotEqualTo(OffHeapNodeArena.NO_HANDLE);
+    assertThat(arena.reservedBytes()).isEqualTo(ONE_SLAB);
+  }
+}
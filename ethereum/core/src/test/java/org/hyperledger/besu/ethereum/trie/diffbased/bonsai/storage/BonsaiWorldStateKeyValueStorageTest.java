@@ -49,6 +49,7 @@ import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.TreeMap;
 
@@ -212,6 +213,31 @@ public class BonsaiWorldStateKeyValueStorageTest {
         .contains(bytes);
   }
 
+  @ParameterizedTest
+  @MethodSource("flatDbMode")
+  void applyAll_appliesBufferedStorageWritesInOrder(final FlatDbMode flatDbMode) {
+    setUp(flatDbMode);
+    final Hash accountHash = Address.fromHexString("0x1").addressHash();
+    final Bytes location = Bytes.fromHexString("0x01");
+    final Bytes first = Bytes.fromHexString("0x123456");
+    final Bytes second = Bytes.fromHexString("0x654321");
+
+    storage
+        .updater()
+        .applyAll(
+            List.of(
+                updater ->
+                    updater.putAccountStorageTrieNode(
+                        accountHash, location, Hash.hash(first), first),
+                updater ->
+                    updater.putAccountStorageTrieNode(
+                        accountHash, location, Hash.hash(second), second)))
+        .commit();
+
+    assertThat(storage.getAccountStorageTrieNode(accountHash, location, Hash.hash(second)))
+        .contains(second);
+  }
+
   @ParameterizedTest
   @MethodSource("flatDbMode")
   void getAccount_notLoadFromTrieWhenEmptyAndFlatDbFullMode(final FlatDbMode flatDbMode) {
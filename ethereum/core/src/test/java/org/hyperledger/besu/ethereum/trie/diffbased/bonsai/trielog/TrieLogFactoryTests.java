@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.trielog;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
+import org.hyperledger.besu.datatypes.AccountValue;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
@@ -23,12 +24,17 @@ import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
 import org.hyperledger.besu.ethereum.core.BlockchainSetupUtil;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogLayer;
 import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
 import org.hyperledger.besu.plugin.services.trielogs.TrieLogFactory;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.units.bigints.UInt256;
 import org.junit.jupiter.api.Test;
@@ -71,4 +77,69 @@ public class TrieLogFactoryTests {
     TrieLog layer = factory.deserialize(rlp);
     assertThat(layer).isEqualTo(trieLogFixture);
   }
+
+  @Test
+  public void testIndexedSerializeDeserializeAreEqual() {
+    TrieLogFactory factory = new TrieLogFactoryImpl(true);
+    byte[] indexed = factory.serialize(trieLogFixture);
+
+    TrieLog layer = factory.deserialize(indexed);
+    assertThat(layer).isInstanceOf(IndexedTrieLog.class);
+    assertThat(layer).isEqualTo(factory.deserialize(indexed.clone()));
+    assertThat(layer.hashCode()).isEqualTo(factory.deserialize(indexed.clone()).hashCode());
+    assertThat(((IndexedTrieLog) layer).toTrieLogLayer()).isEqualTo(trieLogFixture);
+  }
+
+  @Test
+  public void testIndexedTrieLogReadsSingleValues() {
+    TrieLogFactory factory = new TrieLogFactoryImpl(true);
+    TrieLog layer = factory.deserialize(factory.serialize(trieLogFixture));
+
+    assertThat(layer.getBlockHash()).isEqualTo(headerFixture.getBlockHash());
+    assertThat(layer.getPriorAccount(accountFixture)).isEqualTo(Optional.empty());
+    assertThat(layer.getAccount(accountFixture).map(AccountValue::getBalance))
+        .isEqualTo(Optional.of(Wei.fromEth(1)));
+    assertThat(layer.getCode(Address.ZERO))
+        .isEqualTo(Optional.of(Bytes.fromHexString("0xfeeddeadbeef")));
+    assertThat(layer.getPriorCode(Address.ZERO)).isEqualTo(Optional.empty());
+    assertThat(layer.getStorageByStorageSlotKey(Address.ZERO, new StorageSlotKey(UInt256.ZERO)))
+        .isEqualTo(Optional.of(UInt256.ONE));
+    assertThat(layer.getStorageByStorageSlotKey(Address.ZERO, new StorageSlotKey(UInt256.ONE)))
+        .isEqualTo(Optional.empty());
+    assertThat(layer.getStorageChanges(Address.ZERO).keySet())
+        .isEqualTo(Set.of(new StorageSlotKey(UInt256.ZERO)));
+    assertThat(layer.getAccount(Address.fromHexString("0xfeed"))).isEqualTo(Optional.empty());
+  }
+
+  @Test
+  public void testCompactedCodeDeletionSurvivesRoundTrip() {
+    final Bytes code = Bytes.fromHexString("0xfeeddeadbeef");
+    final TrieLogLayer older =
+        new TrieLogLayer()
+            .setBlockHash(Hash.hash(Bytes.of(1)))
+            .addCodeChange(accountFixture, null, code, Hash.hash(Bytes.of(1)));
+    final TrieLogLayer newer =
+        new TrieLogLayer()
+            .setBlockHash(Hash.hash(Bytes.of(2)))
+            .addCodeChange(accountFixture, code, null, Hash.hash(Bytes.of(2)));
+
+    final TrieLogLayer compacted = TrieLogLayer.compact(List.of(newer, older));
+    assertThat(compacted.getCodeChanges().get(accountFixture).isLastStepCleared()).isTrue();
+
+    final TrieLogFactory factory = new TrieLogFactoryImpl();
+    final TrieLog layer = factory.deserialize(factory.serialize(compacted));
+    assertThat(layer).isEqualTo(compacted);
+    assertThat(layer.getCodeChanges().get(accountFixture).isLastStepCleared()).isTrue();
+    assertThat(layer.getPriorCode(accountFixture)).isEqualTo(Optional.empty());
+    assertThat(layer.getCode(accountFixture)).isEqualTo(Optional.empty());
+  }
+
+  @Test
+  public void testRlpTrieLogIsStillReadable() {
+    final BytesValueRLPOutput rlpLog = new BytesValueRLPOutput();
+    TrieLogFactoryImpl.writeTo(trieLogFixture, rlpLog);
+
+    TrieLog layer = new TrieLogFactoryImpl().deserialize(rlpLog.encoded().toArrayUnsafe());
+    assertThat(layer).isEqualTo(trieLogFixture);
+  }
 }
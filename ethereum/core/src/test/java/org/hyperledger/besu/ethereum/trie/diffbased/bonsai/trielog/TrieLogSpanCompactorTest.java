@@ -0,0 +1,115 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.trielog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogSpanCompactor.COMPACTION_DELAY;
+import static org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogSpanCompactor.SPAN_SIZE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogAddedEvent;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogLayer;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogManager;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogSpanCompactor;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class TrieLogSpanCompactorTest {
+
+  private static final long SPAN_END = 2 * SPAN_SIZE - 1;
+  private static final Address ADDRESS = Address.fromHexString("0xdeadbeef");
+
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final TrieLogManager trieLogManager = mock(TrieLogManager.class);
+  private final BonsaiWorldStateKeyValueStorage worldState =
+      mock(BonsaiWorldStateKeyValueStorage.class);
+  private TrieLogSpanCompactor compactor;
+  private BlockHeader spanEnd;
+
+  @BeforeEach
+  public void setup() {
+    // each block of the span bumps the nonce of the same account
+    BlockHeader parent = new BlockHeaderTestFixture().number(SPAN_END - SPAN_SIZE).buildHeader();
+    when(blockchain.getBlockHeader(parent.getHash())).thenReturn(Optional.of(parent));
+    for (long number = SPAN_END - SPAN_SIZE + 1; number <= SPAN_END; number++) {
+      final BlockHeader header =
+          new BlockHeaderTestFixture().number(number).parentHash(parent.getHash()).buildHeader();
+      final TrieLogLayer trieLog = new TrieLogLayer();
+      trieLog.setBlockHash(header.getHash());
+      trieLog.addAccountChange(ADDRESS, account(number - 1), account(number));
+      when(blockchain.getBlockHeader(header.getHash())).thenReturn(Optional.of(header));
+      when(trieLogManager.getTrieLogLayer(header.getHash())).thenReturn(Optional.of(trieLog));
+      parent = header;
+    }
+    spanEnd = parent;
+    when(blockchain.getBlockHeader(SPAN_END)).thenReturn(Optional.of(spanEnd));
+    compactor =
+        new TrieLogSpanCompactor(trieLogManager, worldState, blockchain, Runnable::run, 4096);
+  }
+
+  private static StateTrieAccountValue account(final long nonce) {
+    return new StateTrieAccountValue(nonce, Wei.ZERO, Hash.EMPTY_TRIE_HASH, Hash.EMPTY);
+  }
+
+  @Test
+  public void compactsTheNetChangeOfTheSpan() {
+    assertThat(compactor.compactSpan(SPAN_END)).isTrue();
+
+    final ArgumentCaptor<TrieLog> span = ArgumentCaptor.forClass(TrieLog.class);
+    verify(trieLogManager).saveTrieLogSpan(span.capture());
+    final TrieLogLayer compacted = (TrieLogLayer) span.getValue();
+    assertThat(compacted.getBlockHash()).isEqualTo(spanEnd.getHash());
+    assertThat(compacted.getPriorAccount(ADDRESS)).contains(account(SPAN_END - SPAN_SIZE));
+    assertThat(compacted.getAccount(ADDRESS)).contains(account(SPAN_END));
+  }
+
+  @Test
+  public void skipsSpanWithMissingTrieLog() {
+    when(trieLogManager.getTrieLogLayer(spanEnd.getParentHash())).thenReturn(Optional.empty());
+
+    assertThat(compactor.compactSpan(SPAN_END)).isFalse();
+    verify(trieLogManager, never()).saveTrieLogSpan(any());
+  }
+
+  @Test
+  public void compactsOnceTheSpanIsDeepEnough() {
+    final TrieLogLayer head = new TrieLogLayer();
+    head.setBlockNumber(SPAN_END + COMPACTION_DELAY - 1);
+    compactor.onTrieLogAdded(new TrieLogAddedEvent(head));
+    verify(trieLogManager, never()).saveTrieLogSpan(any());
+
+    final TrieLogLayer deepEnoughHead = new TrieLogLayer();
+    deepEnoughHead.setBlockNumber(SPAN_END + COMPACTION_DELAY);
+    compactor.onTrieLogAdded(new TrieLogAddedEvent(deepEnoughHead));
+    verify(trieLogManager).saveTrieLogSpan(any());
+  }
+}
@@ -14,24 +14,37 @@
  */
 package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.ACCOUNT_STORAGE_STORAGE;
+import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.TRIE_BRANCH_STORAGE;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.DiffBasedValue;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+import org.hyperledger.besu.evm.account.MutableAccount;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -124,6 +137,64 @@ class BonsaiWorldStateTest {
     verify(bonsaiUpdater).putCode(Address.fromHexString("0x3").addressHash(), CODE_HASH, CODE);
   }
 
+  @Test
+  void parallelStorageUpdateMatchesSerialUpdate() {
+    final InMemoryKeyValueStorageProvider parallelProvider = new InMemoryKeyValueStorageProvider();
+    final InMemoryKeyValueStorageProvider serialProvider = new InMemoryKeyValueStorageProvider();
+    final BonsaiWorldState parallelState = createInMemoryWorldState(parallelProvider);
+    final BonsaiWorldState serialState = createInMemoryWorldState(serialProvider);
+    parallelState.setParallelStorageUpdateThreshold(1);
+    serialState.setParallelStorageUpdateThreshold(Integer.MAX_VALUE);
+
+    for (final BonsaiWorldState state : List.of(parallelState, serialState)) {
+      updateStorage(state, 1);
+      updateStorage(state, 2);
+    }
+
+    assertThat(parallelState.rootHash()).isEqualTo(serialState.rootHash());
+    assertThat(getSegmentContent(parallelProvider, ACCOUNT_STORAGE_STORAGE))
+        .isNotEmpty()
+        .isEqualTo(getSegmentContent(serialProvider, ACCOUNT_STORAGE_STORAGE));
+    assertThat(getSegmentContent(parallelProvider, TRIE_BRANCH_STORAGE))
+        .isEqualTo(getSegmentContent(serialProvider, TRIE_BRANCH_STORAGE));
+  }
+
+  private BonsaiWorldState createInMemoryWorldState(
+      final InMemoryKeyValueStorageProvider provider) {
+    return new BonsaiWorldState(
+        InMemoryKeyValueStorageProvider.createBonsaiInMemoryWorldStateArchive(blockchain),
+        new BonsaiWorldStateKeyValueStorage(
+            provider, new NoOpMetricsSystem(), DataStorageConfiguration.DEFAULT_BONSAI_CONFIG),
+        EvmConfiguration.DEFAULT);
+  }
+
+  private static void updateStorage(final BonsaiWorldState state, final int round) {
+    final WorldUpdater updater = state.updater();
+    for (int i = 1; i <= 64; i++) {
+      final Address address = Address.fromHexString(String.format("0x%040x", i));
+      final MutableAccount account =
+          round == 1 ? updater.createAccount(address, 0, Wei.ONE) : updater.getAccount(address);
+      for (int slot = 0; slot < 32; slot++) {
+        // after the first round, every third slot is cleared and the others are overwritten
+        final UInt256 value =
+            round > 1 && slot % 3 == 0
+                ? UInt256.ZERO
+                : UInt256.valueOf(round * 10_000L + i * 32L + slot);
+        account.setStorageValue(UInt256.valueOf(slot), value);
+      }
+    }
+    updater.commit();
+    state.persist(null);
+  }
+
+  private static Map<Bytes, Bytes> getSegmentContent(
+      final InMemoryKeyValueStorageProvider provider, final KeyValueSegmentIdentifier segment) {
+    final KeyValueStorage storage = provider.getStorageBySegmentIdentifier(segment);
+    return storage.getAllKeysThat(key -> true).stream()
+        .collect(
+            Collectors.toMap(Bytes::wrap, key -> Bytes.wrap(storage.get(key).orElseThrow())));
+  }
+
   private static Stream<Bytes> emptyAndNullBytes() {
     return Stream.of(Bytes.EMPTY, null);
   }
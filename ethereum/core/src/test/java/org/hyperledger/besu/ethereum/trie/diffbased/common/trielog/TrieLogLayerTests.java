@@ -21,6 +21,7 @@ import org.hyperledger.besu.datatypes.StorageSlotKey;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -131,4 +132,34 @@ public class TrieLogLayerTests {
     Assertions.assertThat(updatedStorageValue).isPresent();
     Assertions.assertThat(updatedStorageValue.get()).isEqualTo(newValue);
   }
+
+  @Test
+  public void testCompactKeepsOldestPriorAndNewestUpdated() {
+    Address address = Address.fromHexString("0xdeadbeef");
+    Address createdAddress = Address.fromHexString("0xcafe");
+    StorageSlotKey slot = new StorageSlotKey(UInt256.ONE);
+    StateTrieAccountValue first = new StateTrieAccountValue(0, Wei.ZERO, Hash.EMPTY, Hash.EMPTY);
+    StateTrieAccountValue second = new StateTrieAccountValue(1, Wei.ONE, Hash.EMPTY, Hash.EMPTY);
+    StateTrieAccountValue third = new StateTrieAccountValue(2, Wei.of(2), Hash.EMPTY, Hash.EMPTY);
+
+    // trieLogLayer is the older block, otherTrieLogLayer the newer one
+    trieLogLayer.addAccountChange(address, first, second);
+    trieLogLayer.addStorageChange(address, slot, UInt256.ZERO, UInt256.ONE);
+    otherTrieLogLayer.addAccountChange(address, second, third);
+    otherTrieLogLayer.addAccountChange(createdAddress, null, first);
+    otherTrieLogLayer.addStorageChange(address, slot, UInt256.ONE, UInt256.valueOf(2));
+
+    TrieLogLayer compacted = TrieLogLayer.compact(List.of(otherTrieLogLayer, trieLogLayer));
+
+    Assertions.assertThat(compacted.getPriorAccount(address)).contains(first);
+    Assertions.assertThat(compacted.getAccount(address)).contains(third);
+    Assertions.assertThat(compacted.getPriorAccount(createdAddress)).isEmpty();
+    Assertions.assertThat(compacted.getAccount(createdAddress)).contains(first);
+    Assertions.assertThat(compacted.getPriorStorageByStorageSlotKey(address, slot))
+        .contains(UInt256.ZERO);
+    Assertions.assertThat(compacted.getStorageByStorageSlotKey(address, slot))
+        .contains(UInt256.valueOf(2));
+    // the source layers are left untouched
+    Assertions.assertThat(otherTrieLogLayer.getPriorAccount(address)).contains(second);
+  }
 }
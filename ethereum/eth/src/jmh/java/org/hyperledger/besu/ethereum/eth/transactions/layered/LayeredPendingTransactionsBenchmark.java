@@ -0,0 +1,178 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.BLOCK_FULL;
+import static org.hyperledger.besu.plugin.data.TransactionSelectionResult.SELECTED;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.MiningParameters;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.eth.transactions.BlobCache;
+import org.hyperledger.besu.ethereum.eth.transactions.ImmutableTransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolReplacementHandler;
+import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the contention on {@link LayeredPendingTransactions} when incoming transactions, RPC
+ * lookups and block creation run at the same time, as on a busy sequencer.
+ *
+ * <p>The synthetic input is {@code senders * transactionsPerSender} signed transactions, 100k by
+ * default, that the adding threads go through once per iteration: with the default one second
+ * iterations the input lasts as long as the pool sustains at most 100k transactions per second, so
+ * compare the {@code addTransaction} score against that rate. The selecting thread builds blocks of
+ * {@code transactionsPerBlock} transactions, burning {@code evaluationTokens} of CPU for each one
+ * in place of executing it.
+ */
+@State(Scope.Group)
+@Fork(value = 1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LayeredPendingTransactionsBenchmark {
+
+  @Param({"1000"})
+  public int senders;
+
+  @Param({"100"})
+  public int transactionsPerSender;
+
+  @Param({"500"})
+  public int transactionsPerBlock;
+
+  @Param({"1000"})
+  public long evaluationTokens;
+
+  private Transaction[] transactions;
+  private LayeredPendingTransactions pendingTransactions;
+  private final AtomicInteger nextTransaction = new AtomicInteger();
+
+  @Setup(Level.Trial)
+  public void generateTransactions() {
+    transactions = new Transaction[senders * transactionsPerSender];
+    for (int sender = 0; sender < senders; sender++) {
+      final KeyPair keyPair = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+      final Wei maxPriorityFee = Wei.of(1 + sender % 100);
+      for (int nonce = 0; nonce < transactionsPerSender; nonce++) {
+        // interleave the senders, as gossip does
+        transactions[nonce * senders + sender] =
+            new TransactionTestFixture()
+                .type(TransactionType.EIP1559)
+                .nonce(nonce)
+                .maxPriorityFeePerGas(Optional.of(maxPriorityFee))
+                .maxFeePerGas(Optional.of(Wei.of(1000)))
+                .gasLimit(21_000)
+                .createTransaction(keyPair);
+      }
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void createPool() {
+    final TransactionPoolConfiguration poolConfig =
+        ImmutableTransactionPoolConfiguration.builder().build();
+    final TransactionPoolMetrics metrics = new TransactionPoolMetrics(new NoOpMetricsSystem());
+    final BlockHeader chainHead =
+        new BlockHeaderTestFixture().baseFeePerGas(Wei.of(7)).buildHeader();
+    final TransactionPoolReplacementHandler replacementHandler =
+        new TransactionPoolReplacementHandler(
+            poolConfig.getPriceBump(), poolConfig.getBlobPriceBump());
+    final BiFunction<PendingTransaction, PendingTransaction, Boolean> replacementTester =
+        (t1, t2) -> replacementHandler.shouldReplace(t1, t2, chainHead);
+
+    final SparseTransactions sparseTransactions =
+        new SparseTransactions(
+            poolConfig, new EndLayer(metrics), metrics, replacementTester, new BlobCache());
+    final ReadyTransactions readyTransactions =
+        new ReadyTransactions(
+            poolConfig, sparseTransactions, metrics, replacementTester, new BlobCache());
+    final BaseFeePrioritizedTransactions prioritizedTransactions =
+        new BaseFeePrioritizedTransactions(
+            poolConfig,
+            () -> chainHead,
+            readyTransactions,
+            metrics,
+            replacementTester,
+            FeeMarket.london(0L),
+            new BlobCache(),
+            MiningParameters.newDefault());
+    pendingTransactions = new LayeredPendingTransactions(poolConfig, prioritizedTransactions);
+    nextTransaction.set(0);
+  }
+
+  @Benchmark
+  @Group("gossipRpcAndBlockCreation")
+  @GroupThreads(4)
+  public TransactionAddedResult addTransaction() {
+    final int index = Math.floorMod(nextTransaction.getAndIncrement(), transactions.length);
+    return pendingTransactions.addTransaction(
+        new PendingTransaction.Remote(transactions[index]), Optional.empty());
+  }
+
+  @Benchmark
+  @Group("gossipRpcAndBlockCreation")
+  @GroupThreads(2)
+  public Optional<Transaction> getTransactionByHash() {
+    final int index = ThreadLocalRandom.current().nextInt(transactions.length);
+    return pendingTransactions.getTransactionByHash(transactions[index].getHash());
+  }
+
+  @Benchmark
+  @Group("gossipRpcAndBlockCreation")
+  @GroupThreads(1)
+  public int selectTransactions() {
+    final AtomicInteger selected = new AtomicInteger();
+    pendingTransactions.selectTransactions(
+        pendingTransaction -> {
+          Blackhole.consumeCPU(evaluationTokens);
+          return selected.incrementAndGet() < transactionsPerBlock ? SELECTED : BLOCK_FULL;
+        });
+    return selected.get();
+  }
+}
@@ -16,7 +16,6 @@ package org.hyperledger.besu.ethereum.eth.manager;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
-import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
@@ -157,18 +156,17 @@ class EthServer {
       if (blockNumber < BlockHeader.GENESIS_BLOCK_NUMBER) {
         break;
       }
-      final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(blockNumber);
-      if (maybeHeader.isEmpty()) {
+      // serve the stored encoding as is, there is no need to decode and encode the header again
+      final Optional<Bytes> maybeHeaderRlp = blockchain.getBlockHeaderRlp(blockNumber);
+      if (maybeHeaderRlp.isEmpty()) {
         break;
       }
-      final BytesValueRLPOutput headerRlp = new BytesValueRLPOutput();
-      maybeHeader.get().writeTo(headerRlp);
-      final int encodedSize = headerRlp.encodedSize();
-      if (responseSizeEstimate + encodedSize > maxMessageSize) {
+      final Bytes headerRlp = maybeHeaderRlp.get();
+      if (responseSizeEstimate + headerRlp.size() > maxMessageSize) {
         break;
       }
-      responseSizeEstimate += encodedSize;
-      rlp.writeRaw(headerRlp.encoded());
+      responseSizeEstimate += headerRlp.size();
+      rlp.writeRaw(headerRlp);
     }
     rlp.endList();
 
@@ -192,20 +190,18 @@ class EthServer {
         break;
       }
       count++;
-      final Optional<BlockBody> maybeBody = blockchain.getBlockBody(hash);
-      if (maybeBody.isEmpty()) {
+      // serve the stored encoding as is, there is no need to decode and encode the body again
+      final Optional<Bytes> maybeBodyRlp = blockchain.getBlockBodyRlp(hash);
+      if (maybeBodyRlp.isEmpty()) {
         continue;
       }
 
-      final BlockBody body = maybeBody.get();
-      final BytesValueRLPOutput bodyOutput = new BytesValueRLPOutput();
-      body.writeWrappedBodyTo(bodyOutput);
-      final int encodedSize = bodyOutput.encodedSize();
-      if (responseSizeEstimate + encodedSize > maxMessageSize) {
+      final Bytes bodyRlp = maybeBodyRlp.get();
+      if (responseSizeEstimate + bodyRlp.size() > maxMessageSize) {
         break;
       }
-      responseSizeEstimate += encodedSize;
-      rlp.writeRaw(bodyOutput.encoded());
+      responseSizeEstimate += bodyRlp.size();
+      rlp.writeRaw(bodyRlp);
     }
     rlp.endList();
     return BlockBodiesMessage.createUnsafe(rlp.encoded());
@@ -95,7 +95,7 @@ public class BufferedGetPooledTransactionsFromPeerFetcher {
                     .addArgument(peer::getLoggableId)
                     .log();
 
-                transactionPool.addRemoteTransactions(retrievedTransactions);
+                transactionPool.queueRemoteTransactions(retrievedTransactions);
               });
     }
   }
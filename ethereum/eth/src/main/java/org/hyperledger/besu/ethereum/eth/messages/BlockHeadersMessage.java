@@ -21,7 +21,7 @@ import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractMessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 
 import java.util.Arrays;
 import java.util.List;
@@ -47,13 +47,15 @@ public final class BlockHeadersMessage extends AbstractMessageData {
   }
 
   public static BlockHeadersMessage create(final Iterable<BlockHeader> headers) {
-    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
-    tmp.startList();
-    for (final BlockHeader header : headers) {
-      header.writeTo(tmp);
-    }
-    tmp.endList();
-    return new BlockHeadersMessage(tmp.encoded());
+    return new BlockHeadersMessage(
+        RLP.encodeDirectly(
+            out -> {
+              out.startList();
+              for (final BlockHeader header : headers) {
+                header.writeTo(out);
+              }
+              out.endList();
+            }));
   }
 
   /**
@@ -670,6 +670,7 @@ public class BlockPropagationManager implements UnverifiedForkchoiceListener {
     if (blockHeaderValidator.validateHeader(
         block.getHeader(), parent, protocolContext, validationMode)) {
       ethContext.getScheduler().scheduleSyncWorkerTask(() -> broadcastBlock(block, parent));
+      protocolContext.getWorldStateArchive().prefetch(parent, block);
       return runImportTask(block);
     } else {
       processingBlocksManager.registerBlockImportDone(block.getHash());
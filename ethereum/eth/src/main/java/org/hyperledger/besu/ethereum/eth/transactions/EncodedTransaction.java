@@ -0,0 +1,180 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionDecoder;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder;
+
+import java.lang.ref.WeakReference;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256s;
+
+/**
+ * A transaction kept as its pooled encoding, together with the values the pool needs to sort,
+ * replace and account for it, so that the full {@link Transaction} object graph does not need to
+ * be kept for every pending transaction.
+ *
+ * <p>The transaction is only decoded when it is requested, for example when it is evaluated for a
+ * block or returned over RPC, and the decoded instance is weakly cached, so that it is decoded once
+ * while someone is using it. The encoding is a plain array on the heap, so it is reclaimed with the
+ * pending transaction like any other object, even when it is still referenced after leaving the
+ * pool, e.g. by an in-flight block selection.
+ */
+final class EncodedTransaction {
+  // this object, the hash, the sender, the fee values, the weak reference and the array header
+  static final int SHALLOW_MEMORY_SIZE = 592;
+
+  private final TransactionType type;
+  private final Hash hash;
+  private final Address sender;
+  private final long nonce;
+  private final long gasLimit;
+  // the fee values are shared with the stored transaction, so reading them never allocates
+  private final Wei maxGasPrice;
+  private final Optional<Wei> gasPrice;
+  private final Optional<Wei> maxPriorityFeePerGas;
+  private final Optional<Wei> maxFeePerBlobGas;
+  private final EncodingContext encodingContext;
+  private final byte[] encoded;
+  private volatile WeakReference<Transaction> decoded;
+
+  private EncodedTransaction(
+      final Transaction transaction, final EncodingContext encodingContext, final byte[] encoded) {
+    this.type = transaction.getType();
+    this.hash = transaction.getHash();
+    this.sender = transaction.getSender();
+    this.nonce = transaction.getNonce();
+    this.gasLimit = transaction.getGasLimit();
+    this.maxGasPrice = transaction.getMaxGasPrice();
+    this.gasPrice = transaction.getGasPrice();
+    this.maxPriorityFeePerGas = transaction.getMaxPriorityFeePerGas();
+    this.maxFeePerBlobGas = transaction.getMaxFeePerBlobGas();
+    this.encodingContext = encodingContext;
+    this.encoded = encoded;
+    this.decoded = new WeakReference<>(transaction);
+  }
+
+  /**
+   * Encodes the transaction.
+   *
+   * @param transaction the transaction to store
+   * @return the stored transaction
+   */
+  static EncodedTransaction of(final Transaction transaction) {
+    // blob transactions are pooled with their blobs, unless they have already been dropped
+    final EncodingContext encodingContext =
+        transaction.getBlobsWithCommitments().isPresent()
+            ? EncodingContext.POOLED_TRANSACTION
+            : EncodingContext.BLOCK_BODY;
+    final Bytes encoded = TransactionEncoder.encodeOpaqueBytes(transaction, encodingContext);
+    return new EncodedTransaction(transaction, encodingContext, encoded.toArrayUnsafe());
+  }
+
+  /**
+   * Returns the transaction, decoding it if no decoded instance is currently in use.
+   *
+   * @return the transaction
+   */
+  Transaction getTransaction() {
+    Transaction transaction = decoded.get();
+    if (transaction == null) {
+      transaction = decode();
+      decoded = new WeakReference<>(transaction);
+    }
+    return transaction;
+  }
+
+  Transaction decode() {
+    // pass the sender along, to not recover it again from the signature
+    return Transaction.builder()
+        .copiedFrom(TransactionDecoder.decodeOpaqueBytes(Bytes.wrap(encoded), encodingContext))
+        .sender(sender)
+        .build();
+  }
+
+  TransactionType getType() {
+    return type;
+  }
+
+  Hash getHash() {
+    return hash;
+  }
+
+  Address getSender() {
+    return sender;
+  }
+
+  long getNonce() {
+    return nonce;
+  }
+
+  long getGasLimit() {
+    return gasLimit;
+  }
+
+  Optional<Wei> getGasPrice() {
+    return gasPrice;
+  }
+
+  Wei getMaxGasPrice() {
+    return maxGasPrice;
+  }
+
+  Optional<Wei> getMaxPriorityFeePerGas() {
+    return maxPriorityFeePerGas;
+  }
+
+  Optional<Wei> getMaxFeePerBlobGas() {
+    return maxFeePerBlobGas;
+  }
+
+  /**
+   * Same as {@link Transaction#getEffectivePriorityFeePerGas(Optional)}, computed from the stored
+   * fee values.
+   *
+   * @param maybeBaseFee base fee in case of EIP-1559 transaction
+   * @return priority fee per gas in wei
+   */
+  Wei getEffectivePriorityFeePerGas(final Optional<Wei> maybeBaseFee) {
+    if (maybeBaseFee.isEmpty()) {
+      return type.supports1559FeeMarket() ? Wei.ZERO : maxGasPrice;
+    }
+    final Wei baseFee = maybeBaseFee.get();
+    if (baseFee.greaterOrEqualThan(maxGasPrice)) {
+      return Wei.ZERO;
+    }
+    final Wei available = maxGasPrice.subtract(baseFee);
+    return type.supports1559FeeMarket()
+        ? UInt256s.min(maxPriorityFeePerGas.orElseThrow(), available)
+        : available;
+  }
+
+  /**
+   * Returns the size of the encoded transaction.
+   *
+   * @return the size in bytes
+   */
+  int getEncodedSize() {
+    return encoded.length;
+  }
+}
@@ -17,16 +17,22 @@ package org.hyperledger.besu.ethereum.eth.transactions;
 import org.hyperledger.besu.datatypes.AccessListEntry;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.Transaction;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Tracks the additional metadata associated with transactions to enable prioritization for mining
  * and deciding which transactions to drop when the transaction pool reaches its size limit.
+ *
+ * <p>The transaction can either be kept as is, or stored encoded, see {@link EncodedTransaction},
+ * in which case it is decoded only when {@link #getTransaction()} is called. The pool should then
+ * prefer the accessors of this class, that read the stored values, over those of the transaction.
  */
 public abstract class PendingTransaction
     implements org.hyperledger.besu.datatypes.PendingTransaction {
@@ -47,21 +53,36 @@ public abstract class PendingTransaction
   static final int BLOBS_WITH_COMMITMENTS_SIZE = 40;
   static final int PENDING_TRANSACTION_MEMORY_SIZE = 40;
   private static final AtomicLong TRANSACTIONS_ADDED = new AtomicLong();
+  // only one of the two is set, depending on whether the transaction is stored encoded
   private final Transaction transaction;
+  private final EncodedTransaction encodedTransaction;
   private final long addedAt;
   private final long sequence; // Allows prioritization based on order transactions are added
 
   private int memorySize = NOT_INITIALIZED;
 
   private PendingTransaction(
-      final Transaction transaction, final long addedAt, final long sequence) {
-    this.transaction = transaction;
+      final Transaction transaction,
+      final long addedAt,
+      final long sequence,
+      final boolean storeEncoded) {
+    this.transaction = storeEncoded ? null : transaction;
+    this.encodedTransaction = storeEncoded ? EncodedTransaction.of(transaction) : null;
     this.addedAt = addedAt;
     this.sequence = sequence;
   }
 
-  private PendingTransaction(final Transaction transaction, final long addedAt) {
-    this(transaction, addedAt, TRANSACTIONS_ADDED.getAndIncrement());
+  private PendingTransaction(
+      final Transaction transaction, final long addedAt, final boolean storeEncoded) {
+    this(transaction, addedAt, TRANSACTIONS_ADDED.getAndIncrement(), storeEncoded);
+  }
+
+  private PendingTransaction(final PendingTransaction toCopy) {
+    this.transaction = toCopy.transaction != null ? toCopy.transaction.detachedCopy() : null;
+    // the encoded transaction is immutable and already detached
+    this.encodedTransaction = toCopy.encodedTransaction;
+    this.addedAt = System.currentTimeMillis();
+    this.sequence = toCopy.sequence;
   }
 
   public static PendingTransaction newPendingTransaction(
@@ -74,25 +95,75 @@ public abstract class PendingTransaction
       final boolean isLocal,
       final boolean hasPriority,
       final long addedAt) {
+    return newPendingTransaction(transaction, isLocal, hasPriority, addedAt, false);
+  }
+
+  public static PendingTransaction newPendingTransaction(
+      final Transaction transaction,
+      final boolean isLocal,
+      final boolean hasPriority,
+      final long addedAt,
+      final boolean storeEncoded) {
     if (isLocal) {
       if (hasPriority) {
-        return new Local.Priority(transaction, addedAt);
+        return new Local.Priority(transaction, addedAt, storeEncoded);
       }
-      return new Local(transaction, addedAt);
+      return new Local(transaction, addedAt, storeEncoded);
     }
     if (hasPriority) {
-      return new Remote.Priority(transaction, addedAt);
+      return new Remote.Priority(transaction, addedAt, storeEncoded);
     }
-    return new Remote(transaction, addedAt);
+    return new Remote(transaction, addedAt, storeEncoded);
   }
 
   @Override
   public Transaction getTransaction() {
-    return transaction;
+    return transaction != null ? transaction : encodedTransaction.getTransaction();
+  }
+
+  public boolean isStoredEncoded() {
+    return encodedTransaction != null;
+  }
+
+  public TransactionType getType() {
+    return transaction != null ? transaction.getType() : encodedTransaction.getType();
   }
 
   public Wei getGasPrice() {
-    return transaction.getGasPrice().orElse(Wei.ZERO);
+    return (transaction != null ? transaction.getGasPrice() : encodedTransaction.getGasPrice())
+        .orElse(Wei.ZERO);
+  }
+
+  public Wei getMaxGasPrice() {
+    return transaction != null
+        ? transaction.getMaxGasPrice()
+        : encodedTransaction.getMaxGasPrice();
+  }
+
+  public Optional<Wei> getMaxPriorityFeePerGas() {
+    return transaction != null
+        ? transaction.getMaxPriorityFeePerGas()
+        : encodedTransaction.getMaxPriorityFeePerGas();
+  }
+
+  public Optional<Wei> getMaxFeePerBlobGas() {
+    return transaction != null
+        ? transaction.getMaxFeePerBlobGas()
+        : encodedTransaction.getMaxFeePerBlobGas();
+  }
+
+  public Wei getEffectivePriorityFeePerGas(final Optional<Wei> maybeBaseFee) {
+    return transaction != null
+        ? transaction.getEffectivePriorityFeePerGas(maybeBaseFee)
+        : encodedTransaction.getEffectivePriorityFeePerGas(maybeBaseFee);
+  }
+
+  public Wei getEffectiveGasPrice(final Optional<Wei> maybeBaseFee) {
+    return getEffectivePriorityFeePerGas(maybeBaseFee).addExact(maybeBaseFee.orElse(Wei.ZERO));
+  }
+
+  public long getGasLimit() {
+    return transaction != null ? transaction.getGasLimit() : encodedTransaction.getGasLimit();
   }
 
   public long getSequence() {
@@ -100,15 +171,15 @@ public abstract class PendingTransaction
   }
 
   public long getNonce() {
-    return transaction.getNonce();
+    return transaction != null ? transaction.getNonce() : encodedTransaction.getNonce();
   }
 
   public Address getSender() {
-    return transaction.getSender();
+    return transaction != null ? transaction.getSender() : encodedTransaction.getSender();
   }
 
   public Hash getHash() {
-    return transaction.getHash();
+    return transaction != null ? transaction.getHash() : encodedTransaction.getHash();
   }
 
   @Override
@@ -126,6 +197,11 @@ public abstract class PendingTransaction
   public abstract PendingTransaction detachedCopy();
 
   private int computeMemorySize() {
+    if (encodedTransaction != null) {
+      return EncodedTransaction.SHALLOW_MEMORY_SIZE
+          + encodedTransaction.getEncodedSize()
+          + PENDING_TRANSACTION_MEMORY_SIZE;
+    }
     return switch (transaction.getType()) {
           case FRONTIER -> computeFrontierMemorySize();
           case ACCESS_LIST -> computeAccessListMemorySize();
@@ -237,11 +313,11 @@ public abstract class PendingTransaction
   @Override
   public String toString() {
     return "Hash="
-        + transaction.getHash().toShortHexString()
+        + getHash().toShortHexString()
         + ", nonce="
-        + transaction.getNonce()
+        + getNonce()
         + ", sender="
-        + transaction.getSender().toShortHexString()
+        + getSender().toShortHexString()
         + ", addedAt="
         + addedAt
         + ", sequence="
@@ -263,14 +339,18 @@ public abstract class PendingTransaction
         + ", hasPriority="
         + hasPriority()
         + ", "
-        + transaction.toTraceLog()
+        + getTransaction().toTraceLog()
         + "}";
   }
 
   public static class Local extends PendingTransaction {
 
+    public Local(final Transaction transaction, final long addedAt, final boolean storeEncoded) {
+      super(transaction, addedAt, storeEncoded);
+    }
+
     public Local(final Transaction transaction, final long addedAt) {
-      super(transaction, addedAt);
+      this(transaction, addedAt, false);
     }
 
     public Local(final Transaction transaction) {
@@ -278,12 +358,16 @@ public abstract class PendingTransaction
     }
 
     private Local(final long sequence, final Transaction transaction) {
-      super(transaction, System.currentTimeMillis(), sequence);
+      super(transaction, System.currentTimeMillis(), sequence, false);
+    }
+
+    private Local(final PendingTransaction toCopy) {
+      super(toCopy);
     }
 
     @Override
     public PendingTransaction detachedCopy() {
-      return new Local(getSequence(), getTransaction().detachedCopy());
+      return new Local(this);
     }
 
     @Override
@@ -302,16 +386,25 @@ public abstract class PendingTransaction
       }
 
       public Priority(final Transaction transaction, final long addedAt) {
-        super(transaction, addedAt);
+        this(transaction, addedAt, false);
+      }
+
+      public Priority(
+          final Transaction transaction, final long addedAt, final boolean storeEncoded) {
+        super(transaction, addedAt, storeEncoded);
       }
 
       public Priority(final long sequence, final Transaction transaction) {
         super(sequence, transaction);
       }
 
+      private Priority(final PendingTransaction toCopy) {
+        super(toCopy);
+      }
+
       @Override
       public PendingTransaction detachedCopy() {
-        return new Priority(getSequence(), getTransaction().detachedCopy());
+        return new Priority(this);
       }
 
       @Override
@@ -323,8 +416,12 @@ public abstract class PendingTransaction
 
   public static class Remote extends PendingTransaction {
 
+    public Remote(final Transaction transaction, final long addedAt, final boolean storeEncoded) {
+      super(transaction, addedAt, storeEncoded);
+    }
+
     public Remote(final Transaction transaction, final long addedAt) {
-      super(transaction, addedAt);
+      this(transaction, addedAt, false);
     }
 
     public Remote(final Transaction transaction) {
@@ -332,12 +429,16 @@ public abstract class PendingTransaction
     }
 
     private Remote(final long sequence, final Transaction transaction) {
-      super(transaction, System.currentTimeMillis(), sequence);
+      super(transaction, System.currentTimeMillis(), sequence, false);
+    }
+
+    private Remote(final PendingTransaction toCopy) {
+      super(toCopy);
     }
 
     @Override
     public PendingTransaction detachedCopy() {
-      return new Remote(getSequence(), getTransaction().detachedCopy());
+      return new Remote(this);
     }
 
     @Override
@@ -356,16 +457,25 @@ public abstract class PendingTransaction
       }
 
       public Priority(final Transaction transaction, final long addedAt) {
-        super(transaction, addedAt);
+        this(transaction, addedAt, false);
+      }
+
+      public Priority(
+          final Transaction transaction, final long addedAt, final boolean storeEncoded) {
+        super(transaction, addedAt, storeEncoded);
       }
 
       public Priority(final long sequence, final Transaction transaction) {
         super(sequence, transaction);
       }
 
+      private Priority(final PendingTransaction toCopy) {
+        super(toCopy);
+      }
+
       @Override
       public PendingTransaction detachedCopy() {
-        return new Priority(getSequence(), getTransaction().detachedCopy());
+        return new Priority(this);
       }
 
       @Override
@@ -0,0 +1,183 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the transactions received from all the peers into batches, that are deduplicated and
+ * have their senders recovered in parallel, before being added to the pool. This way the pool only
+ * receives transactions with a valid signature, and does not recover senders while adding them.
+ *
+ * <p>Transactions received while a batch is being processed are queued and form the next batch, so
+ * batches grow with the load, without adding any latency when the load is low. The queue is
+ * bounded: when it is full, received transactions are dropped and counted, as the transaction
+ * worker executor did with the messages it could not queue.
+ */
+class RemoteTransactionsBatcher {
+  private static final Logger LOG = LoggerFactory.getLogger(RemoteTransactionsBatcher.class);
+  static final int MAX_BATCH_SIZE = 2048;
+  static final int MAX_QUEUED_TRANSACTIONS = 16 * MAX_BATCH_SIZE;
+  // below this size splitting the recovery across threads costs more than it saves
+  private static final int MIN_RECOVERY_CHUNK_SIZE = 64;
+
+  private final EthScheduler scheduler;
+  private final Predicate<Transaction> alreadyPresent;
+  private final Consumer<Collection<Transaction>> addTransactions;
+  private final TransactionPoolMetrics metrics;
+  private final int parallelism;
+  private final Queue<Transaction> queue = new LinkedBlockingQueue<>(MAX_QUEUED_TRANSACTIONS);
+  private final AtomicBoolean processing = new AtomicBoolean(false);
+
+  RemoteTransactionsBatcher(
+      final EthScheduler scheduler,
+      final Predicate<Transaction> alreadyPresent,
+      final Consumer<Collection<Transaction>> addTransactions,
+      final TransactionPoolMetrics metrics) {
+    this(
+        scheduler,
+        alreadyPresent,
+        addTransactions,
+        metrics,
+        Runtime.getRuntime().availableProcessors());
+  }
+
+  RemoteTransactionsBatcher(
+      final EthScheduler scheduler,
+      final Predicate<Transaction> alreadyPresent,
+      final Consumer<Collection<Transaction>> addTransactions,
+      final TransactionPoolMetrics metrics,
+      final int parallelism) {
+    this.scheduler = scheduler;
+    this.alreadyPresent = alreadyPresent;
+    this.addTransactions = addTransactions;
+    this.metrics = metrics;
+    this.parallelism = parallelism;
+  }
+
+  void add(final Collection<Transaction> transactions) {
+    int dropped = 0;
+    for (final Transaction transaction : transactions) {
+      if (!queue.offer(transaction)) {
+        dropped++;
+      }
+    }
+    if (dropped > 0) {
+      metrics.incrementDroppedRemoteTransactions(dropped);
+      LOG.atTrace()
+          .setMessage("Dropped {} received transactions since the queue is full")
+          .addArgument(dropped)
+          .log();
+    }
+    processIfIdle();
+  }
+
+  private void processIfIdle() {
+    if (!queue.isEmpty() && processing.compareAndSet(false, true)) {
+      try {
+        scheduler.scheduleTxWorkerTask(this::processBatches);
+      } catch (final RejectedExecutionException e) {
+        // the executor counts the rejection, the queued transactions are processed on the next add
+        processing.set(false);
+        LOG.atTrace()
+            .setMessage("Transaction worker rejected the processing of the queued transactions")
+            .log();
+      }
+    }
+  }
+
+  private void processBatches() {
+    try {
+      List<Transaction> batch;
+      while (!(batch = nextBatch()).isEmpty()) {
+        final List<Transaction> recovered = recoverSenders(batch);
+        LOG.atTrace()
+            .setMessage("Recovered senders of {} transactions of a batch of {}")
+            .addArgument(recovered::size)
+            .addArgument(batch::size)
+            .log();
+        if (!recovered.isEmpty()) {
+          addTransactions.accept(recovered);
+        }
+      }
+    } finally {
+      processing.set(false);
+    }
+    // transactions could have been queued after the last batch was taken
+    processIfIdle();
+  }
+
+  private List<Transaction> nextBatch() {
+    final Map<Hash, Transaction> batch = new LinkedHashMap<>();
+    Transaction transaction;
+    while (batch.size() < MAX_BATCH_SIZE && (transaction = queue.poll()) != null) {
+      // the same transaction is often received from many peers at the same time
+      if (!batch.containsKey(transaction.getHash()) && !alreadyPresent.test(transaction)) {
+        batch.put(transaction.getHash(), transaction);
+      }
+    }
+    return new ArrayList<>(batch.values());
+  }
+
+  private List<Transaction> recoverSenders(final List<Transaction> batch) {
+    final int chunkSize =
+        Math.max(MIN_RECOVERY_CHUNK_SIZE, Math.ceilDiv(batch.size(), parallelism));
+    final List<CompletableFuture<List<Transaction>>> otherChunks = new ArrayList<>();
+    for (int from = chunkSize; from < batch.size(); from += chunkSize) {
+      final List<Transaction> chunk = batch.subList(from, Math.min(from + chunkSize, batch.size()));
+      otherChunks.add(scheduler.scheduleComputationTask(() -> withRecoveredSender(chunk)));
+    }
+    // the first chunk is done by this thread, while waiting for the others
+    final List<Transaction> recovered =
+        withRecoveredSender(batch.subList(0, Math.min(chunkSize, batch.size())));
+    otherChunks.forEach(chunk -> recovered.addAll(chunk.join()));
+    return recovered;
+  }
+
+  private static List<Transaction> withRecoveredSender(final List<Transaction> transactions) {
+    final List<Transaction> recovered = new ArrayList<>(transactions.size());
+    for (final Transaction transaction : transactions) {
+      try {
+        transaction.getSender();
+        recovered.add(transaction);
+      } catch (final RuntimeException e) {
+        LOG.atTrace()
+            .setMessage("Discarding transaction {} since its sender cannot be recovered: {}")
+            .addArgument(transaction::getHash)
+            .addArgument(e::getMessage)
+            .log();
+      }
+    }
+    return recovered;
+  }
+}
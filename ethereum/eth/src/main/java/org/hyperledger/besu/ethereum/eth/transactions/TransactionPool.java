@@ -101,6 +101,8 @@ public class TransactionPool implements BlockAddedObserver {
       new PendingTransactionsListenersProxy();
   private volatile OptionalLong subscribeConnectId = OptionalLong.empty();
   private final SaveRestoreManager saveRestoreManager = new SaveRestoreManager();
+  private final Optional<TransactionPoolJournal> journal;
+  private final RemoteTransactionsBatcher remoteTransactionsBatcher;
   private final Set<Address> localSenders = ConcurrentHashMap.newKeySet();
   private final EthScheduler.OrderedProcessor<BlockAddedEvent> blockAddedEventOrderedProcessor;
 
@@ -119,6 +121,21 @@ public class TransactionPool implements BlockAddedObserver {
     this.transactionBroadcaster = transactionBroadcaster;
     this.metrics = metrics;
     this.configuration = configuration;
+    this.journal =
+        configuration.getUnstable().getEnableJournal()
+            ? Optional.of(
+                new TransactionPoolJournal(
+                    configuration
+                        .getSaveFile()
+                        .toPath()
+                        .resolveSibling(TransactionPoolJournal.JOURNAL_FILE_NAME)))
+            : Optional.empty();
+    this.remoteTransactionsBatcher =
+        new RemoteTransactionsBatcher(
+            ethContext.getScheduler(),
+            transaction -> pendingTransactions.containsTransaction(transaction),
+            this::addRemoteTransactions,
+            metrics);
     this.blockAddedEventOrderedProcessor =
         ethContext.getScheduler().createOrderedProcessor(this::processBlockAddedEvent);
     initLogForReplay();
@@ -178,6 +195,10 @@ public class TransactionPool implements BlockAddedObserver {
     return result;
   }
 
+  public void queueRemoteTransactions(final Collection<Transaction> transactions) {
+    remoteTransactionsBatcher.add(transactions);
+  }
+
   public Map<Hash, ValidationResult<TransactionInvalidReason>> addRemoteTransactions(
       final Collection<Transaction> transactions) {
     final long started = System.currentTimeMillis();
@@ -241,9 +262,15 @@ public class TransactionPool implements BlockAddedObserver {
     if (validationResult.result.isValid()) {
       final TransactionAddedResult status =
           pendingTransactions.addTransaction(
-              PendingTransaction.newPendingTransaction(transaction, isLocal, hasPriority),
+              PendingTransaction.newPendingTransaction(
+                  transaction,
+                  isLocal,
+                  hasPriority,
+                  System.currentTimeMillis(),
+                  configuration.getUnstable().getStorePendingTransactionsEncoded()),
               validationResult.maybeAccount);
       if (status.isSuccess()) {
+        journal.ifPresent(j -> j.added(transaction, isLocal));
         LOG.atTrace()
             .setMessage("Added {} transaction {}")
             .addArgument(() -> isLocal ? "local" : "remote")
@@ -617,11 +644,27 @@ public class TransactionPool implements BlockAddedObserver {
               t -> {
                 LOG.error("Error while restoring transaction pool from disk", t);
                 return null;
-              });
+              })
+          .thenCompose(unused -> restoreFromJournal());
     }
     return CompletableFuture.completedFuture(null);
   }
 
+  private CompletableFuture<Void> restoreFromJournal() {
+    return journal
+        .map(
+            j ->
+                j.replay(this::addTransaction)
+                    .thenCompose(
+                        unused -> j.start(() -> pendingTransactions.getPendingTransactions()))
+                    .exceptionally(
+                        t -> {
+                          LOG.error("Error while restoring transaction pool from journal", t);
+                          return null;
+                        }))
+        .orElseGet(() -> CompletableFuture.completedFuture(null));
+  }
+
   public CompletableFuture<Void> setDisabled() {
     if (isEnabled()) {
       isPoolEnabled.set(false);
@@ -629,13 +672,23 @@ public class TransactionPool implements BlockAddedObserver {
       pendingTransactionsListenersProxy.unsubscribe();
       final PendingTransactions pendingTransactionsToSave = pendingTransactions;
       pendingTransactions = new DisabledPendingTransactions();
+      final CompletableFuture<Void> journalStopped =
+          journal
+              .map(j -> j.stop(pendingTransactionsToSave.getPendingTransactions()))
+              .orElseGet(() -> CompletableFuture.completedFuture(null))
+              .exceptionally(
+                  t -> {
+                    LOG.error("Error while writing transaction pool journal", t);
+                    return null;
+                  });
       return saveRestoreManager
           .saveToDisk(pendingTransactionsToSave)
           .exceptionally(
               t -> {
                 LOG.error("Error while saving transaction pool to disk", t);
                 return null;
-              });
+              })
+          .thenCombine(journalStopped, (unused1, unused2) -> null);
     }
     return CompletableFuture.completedFuture(null);
   }
@@ -664,6 +717,7 @@ public class TransactionPool implements BlockAddedObserver {
     }
 
     private void onDropped(final Transaction transaction) {
+      journal.ifPresent(j -> j.dropped(transaction));
       onDroppedListeners.forEach(listener -> listener.onTransactionDropped(transaction));
     }
 
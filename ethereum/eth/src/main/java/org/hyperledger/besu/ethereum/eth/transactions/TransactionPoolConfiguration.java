@@ -40,6 +40,8 @@ public interface TransactionPoolConfiguration {
   interface Unstable {
     Duration ETH65_TRX_ANNOUNCED_BUFFERING_PERIOD = Duration.ofMillis(500);
     int DEFAULT_TX_MSG_KEEP_ALIVE = 60;
+    boolean DEFAULT_STORE_PENDING_TRANSACTIONS_ENCODED = false;
+    boolean DEFAULT_ENABLE_JOURNAL = false;
 
     TransactionPoolConfiguration.Unstable DEFAULT =
         ImmutableTransactionPoolConfiguration.Unstable.builder().build();
@@ -53,6 +55,16 @@ public interface TransactionPoolConfiguration {
     default int getTxMessageKeepAliveSeconds() {
       return DEFAULT_TX_MSG_KEEP_ALIVE;
     }
+
+    @Value.Default
+    default boolean getStorePendingTransactionsEncoded() {
+      return DEFAULT_STORE_PENDING_TRANSACTIONS_ENCODED;
+    }
+
+    @Value.Default
+    default boolean getEnableJournal() {
+      return DEFAULT_ENABLE_JOURNAL;
+    }
   }
 
   enum Implementation {
@@ -0,0 +1,357 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionDecoder;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder;
+import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
+import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append only journal of the transactions added to and dropped from the pool, so that its content
+ * survives a crash, and not only a clean shutdown like with the save file.
+ *
+ * <p>Records are written by a single background thread, that flushes and syncs the journal each
+ * time it has caught up with the queued records. Every record has a checksum, so a record torn by
+ * a crash is detected on replay, which stops there. Once the journal holds many more records than
+ * the pool has transactions, it is compacted by atomically replacing it with a pool snapshot.
+ *
+ * <p>On restart the journal is read sequentially, then the transactions still pending are decoded
+ * and their senders recovered in parallel, before adding them back to the pool in nonce order.
+ */
+class TransactionPoolJournal {
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionPoolJournal.class);
+  static final String JOURNAL_FILE_NAME = "txpool.journal";
+
+  private static final int ADDED_REMOTE = 1;
+  private static final int ADDED_LOCAL = 2;
+  private static final int DROPPED = 3;
+  // a pooled blob transaction with its blobs is below 1MiB, anything bigger is garbage
+  private static final int MAX_RECORD_SIZE = 1 << 24;
+  private static final long MIN_RECORDS_BEFORE_COMPACTION = 10_000L;
+
+  private final Path journalFile;
+  private final ThreadPoolExecutor writer;
+  private final AtomicBoolean recording = new AtomicBoolean(false);
+  private volatile Supplier<Collection<PendingTransaction>> poolContent;
+
+  // only accessed by the writer thread
+  private DataOutputStream out;
+  private FileChannel channel;
+  private long recordsSinceCompaction;
+  private long compactedRecords;
+
+  TransactionPoolJournal(final Path journalFile) {
+    this.journalFile = journalFile;
+    this.writer =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("TransactionPoolJournal")
+                .setDaemon(true)
+                .build());
+  }
+
+  /**
+   * Replays the journal, adding back to the pool the transactions that were pending when it was
+   * last written. Must be called before {@link #start(Supplier)}.
+   *
+   * @param addTransaction adds a restored transaction to the pool, given if it is local
+   * @return a future completed when all the restored transactions have been added
+   */
+  CompletableFuture<Void> replay(
+      final BiFunction<Transaction, Boolean, ValidationResult<TransactionInvalidReason>>
+          addTransaction) {
+    return CompletableFuture.runAsync(() -> executeReplay(addTransaction), writer);
+  }
+
+  /**
+   * Starts recording the pool additions and removals, after rewriting the journal with the current
+   * pool content.
+   *
+   * @param poolContent supplies the current pool content, used when compacting the journal
+   * @return a future completed when the journal has been rewritten
+   */
+  CompletableFuture<Void> start(final Supplier<Collection<PendingTransaction>> poolContent) {
+    this.poolContent = poolContent;
+    recording.set(true);
+    // records queued before this task are skipped, since the snapshot already includes them
+    return CompletableFuture.runAsync(() -> runIO(this::compact), writer);
+  }
+
+  /**
+   * Stops recording, writing the given pool content as the final journal content.
+   *
+   * @param finalContent the pool content at the time it is disabled
+   * @return a future completed when the journal has been written and closed
+   */
+  CompletableFuture<Void> stop(final Collection<PendingTransaction> finalContent) {
+    recording.set(false);
+    this.poolContent = () -> finalContent;
+    return CompletableFuture.runAsync(
+        () ->
+            runIO(
+                () -> {
+                  compact();
+                  closeOutput();
+                }),
+        writer);
+  }
+
+  void added(final Transaction transaction, final boolean isLocal) {
+    if (recording.get()) {
+      append(() -> writeAdded(transaction, isLocal));
+    }
+  }
+
+  void dropped(final Transaction transaction) {
+    if (recording.get()) {
+      append(() -> writeRecord(DROPPED, transaction.getHash()));
+    }
+  }
+
+  private void append(final JournalWrite journalWrite) {
+    writer.execute(
+        () -> {
+          if (out == null) {
+            return;
+          }
+          try {
+            journalWrite.run();
+            ++recordsSinceCompaction;
+            // batch the syncs, only doing it when there is nothing more to write
+            if (writer.getQueue().isEmpty()) {
+              sync();
+              if (recordsSinceCompaction
+                  > Math.max(MIN_RECORDS_BEFORE_COMPACTION, 2 * compactedRecords)) {
+                compact();
+              }
+            }
+          } catch (IOException e) {
+            LOG.error(
+                "Error writing the transaction pool journal {}, disabling it", journalFile, e);
+            recording.set(false);
+          }
+        });
+  }
+
+  private void writeAdded(final Transaction transaction, final boolean isLocal)
+      throws IOException {
+    if (transaction.getType().supportsBlob() && transaction.getBlobsWithCommitments().isEmpty()) {
+      // could not be validated again on replay
+      return;
+    }
+    writeRecord(
+        isLocal ? ADDED_LOCAL : ADDED_REMOTE,
+        Bytes.concatenate(
+            transaction.getHash(),
+            TransactionEncoder.encodeOpaqueBytes(
+                transaction, EncodingContext.POOLED_TRANSACTION)));
+  }
+
+  private void writeRecord(final int type, final Bytes payload) throws IOException {
+    final byte[] payloadBytes = payload.toArrayUnsafe();
+    out.writeByte(type);
+    out.writeInt(payloadBytes.length);
+    out.write(payloadBytes);
+    out.writeInt(checksum(type, payloadBytes));
+  }
+
+  private void sync() throws IOException {
+    out.flush();
+    channel.force(false);
+  }
+
+  private void compact() throws IOException {
+    closeOutput();
+    final Path compactedFile = journalFile.resolveSibling(journalFile.getFileName() + ".compact");
+    openOutput(compactedFile, false);
+    final Collection<PendingTransaction> content = poolContent.get();
+    for (final PendingTransaction pendingTransaction : content) {
+      writeAdded(
+          pendingTransaction.getTransaction(), pendingTransaction.isReceivedFromLocalSource());
+    }
+    sync();
+    closeOutput();
+    Files.move(
+        compactedFile,
+        journalFile,
+        StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    openOutput(journalFile, true);
+    compactedRecords = content.size();
+    recordsSinceCompaction = 0;
+    LOG.debug("Compacted transaction pool journal {} to {} records", journalFile, content.size());
+  }
+
+  private void openOutput(final Path file, final boolean append) throws IOException {
+    final FileOutputStream fileOutputStream = new FileOutputStream(file.toFile(), append);
+    channel = fileOutputStream.getChannel();
+    out = new DataOutputStream(new BufferedOutputStream(fileOutputStream));
+  }
+
+  private void closeOutput() throws IOException {
+    if (out != null) {
+      out.close();
+      out = null;
+      channel = null;
+    }
+  }
+
+  private void executeReplay(
+      final BiFunction<Transaction, Boolean, ValidationResult<TransactionInvalidReason>>
+          addTransaction) {
+    if (!Files.exists(journalFile)) {
+      return;
+    }
+    final Map<Hash, JournalEntry> entries = read();
+
+    // decoding and sender recovery are the expensive parts, so spread them across the cores
+    final List<RestoredTransaction> restored =
+        entries.values().parallelStream()
+            .map(this::decode)
+            .flatMap(Optional::stream)
+            .sorted(
+                Comparator.comparing((RestoredTransaction rt) -> rt.transaction().getSender())
+                    .thenComparingLong(rt -> rt.transaction().getNonce()))
+            .toList();
+
+    final long added =
+        restored.stream()
+            .filter(rt -> addTransaction.apply(rt.transaction(), rt.isLocal()).isValid())
+            .count();
+    LOG.info(
+        "Added {} transactions of {} restored from journal {}",
+        added,
+        entries.size(),
+        journalFile);
+  }
+
+  private Map<Hash, JournalEntry> read() {
+    final Map<Hash, JournalEntry> entries = new LinkedHashMap<>();
+    try (final DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(journalFile)))) {
+      int type;
+      while ((type = in.read()) != -1) {
+        final int length = in.readInt();
+        if (length < Bytes32.SIZE || length > MAX_RECORD_SIZE) {
+          throw new IOException("Invalid record length " + length);
+        }
+        final byte[] payload = new byte[length];
+        in.readFully(payload);
+        if (in.readInt() != checksum(type, payload)) {
+          throw new IOException("Invalid record checksum");
+        }
+        final Hash hash = Hash.wrap(Bytes32.wrap(payload, 0));
+        switch (type) {
+          case ADDED_REMOTE, ADDED_LOCAL ->
+              entries.put(
+                  hash,
+                  new JournalEntry(
+                      Bytes.wrap(payload, Bytes32.SIZE, length - Bytes32.SIZE),
+                      type == ADDED_LOCAL));
+          case DROPPED -> entries.remove(hash);
+          default -> throw new IOException("Invalid record type " + type);
+        }
+      }
+    } catch (EOFException e) {
+      LOG.warn("Transaction pool journal {} ends with a partial record, ignoring it", journalFile);
+    } catch (IOException e) {
+      LOG.warn(
+          "Error reading transaction pool journal {}, only restoring the records before the error",
+          journalFile,
+          e);
+    }
+    return entries;
+  }
+
+  private Optional<RestoredTransaction> decode(final JournalEntry entry) {
+    try {
+      final Transaction transaction =
+          TransactionDecoder.decodeOpaqueBytes(entry.encoded(), EncodingContext.POOLED_TRANSACTION);
+      // recover the sender now, while running in parallel
+      transaction.getSender();
+      return Optional.of(new RestoredTransaction(transaction, entry.isLocal()));
+    } catch (RuntimeException e) {
+      LOG.debug("Skipping invalid transaction from transaction pool journal", e);
+      return Optional.empty();
+    }
+  }
+
+  private static int checksum(final int type, final byte[] payload) {
+    final CRC32 crc = new CRC32();
+    crc.update(type);
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+
+  private void runIO(final JournalWrite journalWrite) {
+    try {
+      journalWrite.run();
+    } catch (IOException e) {
+      recording.set(false);
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface JournalWrite {
+    void run() throws IOException;
+  }
+
+  private record JournalEntry(Bytes encoded, boolean isLocal) {}
+
+  private record RestoredTransaction(Transaction transaction, boolean isLocal) {}
+}
@@ -38,6 +38,8 @@ public class TransactionPoolMetrics {
   public static final String REMOVED_COUNTER_NAME = "removed_total";
   public static final String REJECTED_COUNTER_NAME = "rejected_total";
   public static final String EXPIRED_MESSAGES_COUNTER_NAME = "messages_expired_total";
+  public static final String DROPPED_REMOTE_TRANSACTIONS_COUNTER_NAME =
+      "remote_transactions_dropped_total";
   private static final int SKIPPED_MESSAGES_LOGGING_THRESHOLD = 1000;
   private final MetricsSystem metricsSystem;
   private final LabelledMetric<Counter> addedCounter;
@@ -50,6 +52,7 @@ public class TransactionPoolMetrics {
   private final LabelledMetric<Counter> expiredMessagesCounter;
   private final Map<String, RunnableCounter> expiredMessagesRunnableCounters = new HashMap<>();
   private final LabelledMetric<Counter> alreadySeenTransactionsCounter;
+  private final Counter droppedRemoteTransactionsCounter;
   private final Map<String, ReplaceableDoubleSupplier> spaceUsedSuppliers = new HashMap<>();
   private final Map<String, ReplaceableDoubleSupplier> transactionCountSuppliers = new HashMap<>();
   private final Map<Pair<String, TransactionType>, ReplaceableDoubleSupplier>
@@ -130,6 +133,12 @@ public class TransactionPoolMetrics {
             "remote_transactions_already_seen_total",
             "Total number of received transactions already seen",
             "message");
+
+    droppedRemoteTransactionsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.TRANSACTION_POOL,
+            DROPPED_REMOTE_TRANSACTIONS_COUNTER_NAME,
+            "Total number of received transactions dropped because too many were waiting to be added");
   }
 
   public MetricsSystem getMetricsSystem() {
@@ -254,6 +263,10 @@ public class TransactionPoolMetrics {
     alreadySeenTransactionsCounter.labels(message).inc(count);
   }
 
+  public void incrementDroppedRemoteTransactions(final long count) {
+    droppedRemoteTransactionsCounter.inc(count);
+  }
+
   private String location(final boolean receivedFromLocalSource) {
     return receivedFromLocalSource ? "local" : "remote";
   }
@@ -27,6 +27,6 @@ public interface TransactionPoolReplacementRule {
       Optional<Wei> baseFee);
 
   default boolean isNotGasPriced(final PendingTransaction tInfo) {
-    return tInfo.getTransaction().getType().supports1559FeeMarket();
+    return tInfo.getType().supports1559FeeMarket();
   }
 }
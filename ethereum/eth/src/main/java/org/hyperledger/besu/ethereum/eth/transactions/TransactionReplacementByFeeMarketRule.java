@@ -15,18 +15,14 @@
 package org.hyperledger.besu.ethereum.eth.transactions;
 
 import org.hyperledger.besu.datatypes.Wei;
-import org.hyperledger.besu.ethereum.core.Transaction;
-import org.hyperledger.besu.ethereum.core.feemarket.TransactionPriceCalculator;
 import org.hyperledger.besu.util.number.Percentage;
 
 import java.util.Optional;
 
+import org.apache.tuweni.units.bigints.UInt256s;
+
 public class TransactionReplacementByFeeMarketRule implements TransactionPoolReplacementRule {
 
-  private static final TransactionPriceCalculator FRONTIER_CALCULATOR =
-      TransactionPriceCalculator.frontier();
-  private static final TransactionPriceCalculator EIP1559_CALCULATOR =
-      TransactionPriceCalculator.eip1559();
   private final Percentage priceBump;
   private final Percentage blobPriceBump;
 
@@ -58,13 +54,11 @@ public class TransactionReplacementByFeeMarketRule implements TransactionPoolRep
       return false;
     }
 
-    Wei newEffPrice = priceOf(newPendingTransaction.getTransaction(), maybeBaseFee);
-    Wei newEffPriority =
-        newPendingTransaction.getTransaction().getEffectivePriorityFeePerGas(maybeBaseFee);
+    Wei newEffPrice = priceOf(newPendingTransaction, maybeBaseFee);
+    Wei newEffPriority = newPendingTransaction.getEffectivePriorityFeePerGas(maybeBaseFee);
 
-    Wei curEffPrice = priceOf(existingPendingTransaction.getTransaction(), maybeBaseFee);
-    Wei curEffPriority =
-        existingPendingTransaction.getTransaction().getEffectivePriorityFeePerGas(maybeBaseFee);
+    Wei curEffPrice = priceOf(existingPendingTransaction, maybeBaseFee);
+    Wei curEffPriority = existingPendingTransaction.getEffectivePriorityFeePerGas(maybeBaseFee);
 
     if (isBumpedBy(curEffPrice, newEffPrice, priceBump)) {
       // if effective price is bumped by percent:
@@ -82,20 +76,18 @@ public class TransactionReplacementByFeeMarketRule implements TransactionPoolRep
       final PendingTransaction existingPendingTransaction,
       final PendingTransaction newPendingTransaction) {
 
-    final var existingType = existingPendingTransaction.getTransaction().getType();
-    final var newType = newPendingTransaction.getTransaction().getType();
+    final var existingType = existingPendingTransaction.getType();
+    final var newType = newPendingTransaction.getType();
 
     if (existingType.supportsBlob() || newType.supportsBlob()) {
       if (existingType.supportsBlob() && newType.supportsBlob()) {
         final Wei replacementThreshold =
             existingPendingTransaction
-                .getTransaction()
                 .getMaxFeePerBlobGas()
                 .orElseThrow()
                 .multiply(100 + blobPriceBump.getValue())
                 .divide(100);
         return newPendingTransaction
-                .getTransaction()
                 .getMaxFeePerBlobGas()
                 .orElseThrow()
                 .compareTo(replacementThreshold)
@@ -109,10 +101,15 @@ public class TransactionReplacementByFeeMarketRule implements TransactionPoolRep
     return true;
   }
 
-  private Wei priceOf(final Transaction transaction, final Optional<Wei> maybeBaseFee) {
-    final TransactionPriceCalculator transactionPriceCalculator =
-        transaction.getType().supports1559FeeMarket() ? EIP1559_CALCULATOR : FRONTIER_CALCULATOR;
-    return transactionPriceCalculator.price(transaction, maybeBaseFee);
+  // same as the frontier and EIP-1559 TransactionPriceCalculator, without decoding the transaction
+  private Wei priceOf(
+      final PendingTransaction pendingTransaction, final Optional<Wei> maybeBaseFee) {
+    if (!pendingTransaction.getType().supports1559FeeMarket()) {
+      return pendingTransaction.getGasPrice();
+    }
+    return UInt256s.min(
+        pendingTransaction.getMaxPriorityFeePerGas().orElseThrow().add(maybeBaseFee.orElseThrow()),
+        pendingTransaction.getMaxGasPrice());
   }
 
   private boolean isBumpedBy(final Wei val, final Wei bumpVal, final Percentage percent) {
@@ -84,7 +84,7 @@ class TransactionsMessageProcessor {
           .addArgument(() -> toHashList(freshTransactions))
           .log();
 
-      transactionPool.addRemoteTransactions(freshTransactions);
+      transactionPool.queueRemoteTransactions(freshTransactions);
 
     } catch (final RLPException ex) {
       if (peer != null) {
@@ -89,7 +89,7 @@ public abstract class AbstractPrioritizedTransactions extends AbstractSequential
 
   private boolean hasPriority(final PendingTransaction pendingTransaction) {
     // check if there is space for that tx type
-    final var txType = pendingTransaction.getTransaction().getType();
+    final var txType = pendingTransaction.getType();
     if (txCountByType[txType.ordinal()]
         >= poolConfig
             .getMaxPrioritizedTransactionsByType()
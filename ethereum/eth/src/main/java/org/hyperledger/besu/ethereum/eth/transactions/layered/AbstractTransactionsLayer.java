@@ -49,6 +49,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
@@ -73,7 +74,8 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
   protected final BiFunction<PendingTransaction, PendingTransaction, Boolean>
       transactionReplacementTester;
   protected final TransactionPoolMetrics metrics;
-  protected final Map<Hash, PendingTransaction> pendingTransactions = new HashMap<>();
+  // concurrent since it is read without holding the pool lock, see LayeredPendingTransactions
+  protected final Map<Hash, PendingTransaction> pendingTransactions = new ConcurrentHashMap<>();
   protected final Map<Address, NavigableMap<Long, PendingTransaction>> txsBySender =
       new HashMap<>();
   private final Subscribers<PendingTransactionAddedListener> onAddedListeners =
@@ -246,7 +248,7 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
       } else if (senderTxs.firstKey() == pendingTransaction.getNonce()) {
         // it is a cross layer replacement, namely added to a previous layer
         final PendingTransaction replacedTx = senderTxs.pollFirstEntry().getValue();
-        processRemove(senderTxs, replacedTx.getTransaction(), CROSS_LAYER_REPLACED);
+        processRemove(senderTxs, replacedTx, CROSS_LAYER_REPLACED);
 
         if (senderTxs.isEmpty()) {
           txsBySender.remove(sender);
@@ -270,11 +272,11 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
       long expectedNonce = nonce + 1;
       if (senderTxs.firstKey() == expectedNonce) {
         final var candidateTx = senderTxs.firstEntry().getValue();
-        final var txType = candidateTx.getTransaction().getType();
+        final var txType = candidateTx.getType();
 
         if (remainingPromotionsPerType[txType.ordinal()] > 0) {
           senderTxs.pollFirstEntry();
-          processRemove(senderTxs, candidateTx.getTransaction(), PROMOTED);
+          processRemove(senderTxs, candidateTx, PROMOTED);
           metrics.incrementRemoved(candidateTx, "promoted", name());
 
           if (senderTxs.isEmpty()) {
@@ -391,9 +393,9 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
 
   protected PendingTransaction processRemove(
       final NavigableMap<Long, PendingTransaction> senderTxs,
-      final Transaction transaction,
+      final PendingTransaction pendingTransaction,
       final RemovalReason removalReason) {
-    final PendingTransaction removedTx = pendingTransactions.remove(transaction.getHash());
+    final PendingTransaction removedTx = pendingTransactions.remove(pendingTransaction.getHash());
 
     if (removedTx != null) {
       decreaseCounters(removedTx);
@@ -475,10 +477,13 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
       while (itConfirmedTxs.hasNext()) {
         final var confirmedTx = itConfirmedTxs.next();
         itConfirmedTxs.remove();
-        if (confirmedTx.getTransaction().getBlobsWithCommitments().isPresent()) {
-          this.blobCache.cacheBlobs(confirmedTx.getTransaction());
+        if (confirmedTx.getType().supportsBlob()) {
+          final Transaction confirmedTransaction = confirmedTx.getTransaction();
+          if (confirmedTransaction.getBlobsWithCommitments().isPresent()) {
+            this.blobCache.cacheBlobs(confirmedTransaction);
+          }
         }
-        processRemove(senderTxs, confirmedTx.getTransaction(), CONFIRMED);
+        processRemove(senderTxs, confirmedTx, CONFIRMED);
 
         metrics.incrementRemoved(confirmedTx, "confirmed", name());
         LOG.atTrace()
@@ -510,12 +515,12 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
 
   protected void increaseCounters(final PendingTransaction pendingTransaction) {
     spaceUsed += pendingTransaction.memorySize();
-    ++txCountByType[pendingTransaction.getTransaction().getType().ordinal()];
+    ++txCountByType[pendingTransaction.getType().ordinal()];
   }
 
   protected void decreaseCounters(final PendingTransaction pendingTransaction) {
     spaceUsed -= pendingTransaction.memorySize();
-    --txCountByType[pendingTransaction.getTransaction().getType().ordinal()];
+    --txCountByType[pendingTransaction.getType().ordinal()];
   }
 
   protected abstract long cacheFreeSpace();
@@ -19,7 +19,6 @@ import static org.hyperledger.besu.ethereum.eth.transactions.layered.Transaction
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.MiningParameters;
-import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.eth.transactions.BlobCache;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
@@ -61,10 +60,8 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
     return Comparator.comparing(PendingTransaction::hasPriority)
         .thenComparing(
             (PendingTransaction pendingTransaction) ->
-                pendingTransaction.getTransaction().getEffectivePriorityFeePerGas(nextBlockBaseFee))
-        .thenComparing(
-            (PendingTransaction pendingTransaction) ->
-                pendingTransaction.getTransaction().getMaxGasPrice())
+                pendingTransaction.getEffectivePriorityFeePerGas(nextBlockBaseFee))
+        .thenComparing(PendingTransaction::getMaxGasPrice)
         .thenComparing(Comparator.comparing(PendingTransaction::getNonce).reversed())
         .thenComparing(PendingTransaction::getSequence)
         .compare(pt1, pt2);
@@ -152,7 +149,7 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
 
     // check if the tx is willing to pay at least the base fee
     if (nextBlockBaseFee
-        .map(pendingTransaction.getTransaction().getMaxGasPrice()::lessThan)
+        .map(pendingTransaction.getMaxGasPrice()::lessThan)
         .orElse(true)) {
       return false;
     }
@@ -161,7 +158,6 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
     if (!pendingTransaction.hasPriority()) {
       // check if effective gas price is higher than the min gas price
       if (pendingTransaction
-          .getTransaction()
           .getEffectiveGasPrice(nextBlockBaseFee)
           .lessThan(miningParameters.getMinTransactionGasPrice())) {
         return false;
@@ -170,7 +166,7 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
       // check if enough priority fee is paid
       if (!miningParameters.getMinPriorityFeePerGas().equals(Wei.ZERO)) {
         final Wei priorityFeePerGas =
-            pendingTransaction.getTransaction().getEffectivePriorityFeePerGas(nextBlockBaseFee);
+            pendingTransaction.getEffectivePriorityFeePerGas(nextBlockBaseFee);
         if (priorityFeePerGas.lessThan(miningParameters.getMinPriorityFeePerGas())) {
           return false;
         }
@@ -187,8 +183,8 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
       return "Basefee Prioritized: Empty";
     }
 
-    final Transaction highest = orderByFee.last().getTransaction();
-    final Transaction lowest = orderByFee.first().getTransaction();
+    final PendingTransaction highest = orderByFee.last();
+    final PendingTransaction lowest = orderByFee.first();
 
     return "Basefee Prioritized: "
         + "count: "
@@ -62,11 +62,7 @@ public class GasPricePrioritizedTransactions extends AbstractPrioritizedTransact
   @Override
   protected boolean promotionFilter(final PendingTransaction pendingTransaction) {
     return pendingTransaction.hasPriority()
-        || pendingTransaction
-            .getTransaction()
-            .getGasPrice()
-            .map(miningParameters.getMinTransactionGasPrice()::lessThan)
-            .orElse(false);
+        || miningParameters.getMinTransactionGasPrice().lessThan(pendingTransaction.getGasPrice());
   }
 
   @Override
@@ -83,8 +79,8 @@ public class GasPricePrioritizedTransactions extends AbstractPrioritizedTransact
         + " unique senders: "
         + txsBySender.size()
         + ", highest fee tx: "
-        + orderByFee.last().getTransaction().getGasPrice().get().toHumanReadableString()
+        + orderByFee.last().getGasPrice().toHumanReadableString()
         + ", lowest fee tx: "
-        + orderByFee.first().getTransaction().getGasPrice().get().toHumanReadableString();
+        + orderByFee.first().getGasPrice().toHumanReadableString();
   }
 }
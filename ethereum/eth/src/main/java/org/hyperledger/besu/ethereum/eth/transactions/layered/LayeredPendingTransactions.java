@@ -41,6 +41,7 @@ import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +58,17 @@ import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
+/**
+ * Pending transactions organized in layers, see {@link AbstractPrioritizedTransactions} for the
+ * first one.
+ *
+ * <p>Changes to the layers are serialized on this instance, but are short. Lookups by hash, counts
+ * and listings do not lock, they read the concurrent maps of the layers and are weakly consistent:
+ * a transaction that is moving from one layer to another at the same time could be missed. The
+ * selection of transactions for a block works on a snapshot of the prioritized layer, so it only
+ * holds the lock to take the snapshot and to remove the invalid transactions at the end, and
+ * incoming transactions do not wait for the block creation.
+ */
 public class LayeredPendingTransactions implements PendingTransactions {
   private static final Logger LOG = LoggerFactory.getLogger(LayeredPendingTransactions.class);
   private static final Logger LOG_FOR_REPLAY = LoggerFactory.getLogger("LOG_FOR_REPLAY");
@@ -229,7 +241,7 @@ public class LayeredPendingTransactions implements PendingTransactions {
         .addArgument(pendingTransaction.getSender())
         .addArgument(senderNonce)
         .addArgument(pendingTransaction.getNonce())
-        .addArgument(pendingTransaction.getTransaction().getType())
+        .addArgument(pendingTransaction::getType)
         .addArgument(pendingTransaction::getHash)
         .addArgument(
             () -> {
@@ -250,7 +262,7 @@ public class LayeredPendingTransactions implements PendingTransactions {
         .addArgument(pendingTransaction.getAddedAt())
         .addArgument(pendingTransaction.getSender())
         .addArgument(pendingTransaction.getNonce())
-        .addArgument(pendingTransaction.getTransaction().getType())
+        .addArgument(pendingTransaction::getType)
         .addArgument(pendingTransaction::getHash)
         .addArgument(
             () -> {
@@ -301,12 +313,12 @@ public class LayeredPendingTransactions implements PendingTransactions {
   public void evictOldTransactions() {}
 
   @Override
-  public synchronized List<Transaction> getLocalTransactions() {
+  public List<Transaction> getLocalTransactions() {
     return prioritizedTransactions.getAllLocal();
   }
 
   @Override
-  public synchronized List<Transaction> getPriorityTransactions() {
+  public List<Transaction> getPriorityTransactions() {
     return prioritizedTransactions.getAllPriority();
   }
 
@@ -318,20 +330,32 @@ public class LayeredPendingTransactions implements PendingTransactions {
   // block could end up with transactions of the new type.
   // This seems like it would be very rare but worth it to document that we don't handle that case
   // right now.
-  public synchronized void selectTransactions(
-      final PendingTransactions.TransactionSelector selector) {
+  public void selectTransactions(final PendingTransactions.TransactionSelector selector) {
     final List<PendingTransaction> invalidTransactions = new ArrayList<>();
     final Set<Hash> alreadyChecked = new HashSet<>();
     final Set<Address> skipSenders = new HashSet<>();
     final AtomicBoolean completed = new AtomicBoolean(false);
 
-    prioritizedTransactions.stream()
+    // the evaluation of the transactions is what takes time, so it runs on a snapshot and without
+    // holding the lock, transactions added in the meantime will be considered for the next block
+    final List<PendingTransaction> highPrioPendingTxs;
+    final Map<Address, List<PendingTransaction>> pendingTxsBySender = new HashMap<>();
+    synchronized (this) {
+      highPrioPendingTxs = prioritizedTransactions.stream().toList();
+      highPrioPendingTxs.forEach(
+          highPrioPendingTx ->
+              pendingTxsBySender.computeIfAbsent(
+                  highPrioPendingTx.getSender(),
+                  sender -> prioritizedTransactions.stream(sender).toList()));
+    }
+
+    highPrioPendingTxs.stream()
         .takeWhile(unused -> !completed.get())
         .filter(highPrioPendingTx -> !skipSenders.contains(highPrioPendingTx.getSender()))
-        .peek(this::logSenderTxs)
+        .peek(highPrioPendingTx -> logSenderTxs(highPrioPendingTx, pendingTxsBySender))
         .forEach(
             highPrioPendingTx ->
-                prioritizedTransactions.stream(highPrioPendingTx.getSender())
+                pendingTxsBySender.get(highPrioPendingTx.getSender()).stream()
                     .takeWhile(
                         candidatePendingTx ->
                             !skipSenders.contains(candidatePendingTx.getSender())
@@ -370,17 +394,26 @@ public class LayeredPendingTransactions implements PendingTransactions {
                           }
                         }));
 
-    invalidTransactions.forEach(
-        invalidTx -> prioritizedTransactions.remove(invalidTx, INVALIDATED));
+    if (!invalidTransactions.isEmpty()) {
+      synchronized (this) {
+        invalidTransactions.stream()
+            // skip the ones confirmed or replaced while the selection was running, since removal
+            // is done by sender and nonce
+            .filter(invalidTx -> prioritizedTransactions.contains(invalidTx.getTransaction()))
+            .forEach(invalidTx -> prioritizedTransactions.remove(invalidTx, INVALIDATED));
+      }
+    }
   }
 
-  private void logSenderTxs(final PendingTransaction highPrioPendingTx) {
+  private void logSenderTxs(
+      final PendingTransaction highPrioPendingTx,
+      final Map<Address, List<PendingTransaction>> pendingTxsBySender) {
     LOG.atTrace()
         .setMessage("highPrioPendingTx {}, senderTxs {}")
         .addArgument(highPrioPendingTx::toTraceLog)
         .addArgument(
             () ->
-                prioritizedTransactions.stream(highPrioPendingTx.getSender())
+                pendingTxsBySender.get(highPrioPendingTx.getSender()).stream()
                     .map(PendingTransaction::toTraceLog)
                     .collect(Collectors.joining(", ")))
         .log();
@@ -392,22 +425,22 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized int size() {
+  public int size() {
     return prioritizedTransactions.count();
   }
 
   @Override
-  public synchronized boolean containsTransaction(final Transaction transaction) {
+  public boolean containsTransaction(final Transaction transaction) {
     return prioritizedTransactions.contains(transaction);
   }
 
   @Override
-  public synchronized Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
+  public Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
     return prioritizedTransactions.getByHash(transactionHash);
   }
 
   @Override
-  public synchronized List<PendingTransaction> getPendingTransactions() {
+  public List<PendingTransaction> getPendingTransactions() {
     return prioritizedTransactions.getAll();
   }
 
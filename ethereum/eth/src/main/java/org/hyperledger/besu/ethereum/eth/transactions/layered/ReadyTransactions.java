@@ -18,7 +18,6 @@ import static org.hyperledger.besu.ethereum.eth.transactions.layered.Transaction
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
-import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.eth.transactions.BlobCache;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult;
@@ -44,7 +43,7 @@ public class ReadyTransactions extends AbstractSequentialTransactionsLayer {
   private final NavigableSet<PendingTransaction> orderByMaxFee =
       new TreeSet<>(
           Comparator.comparing(PendingTransaction::hasPriority)
-              .thenComparing((PendingTransaction pt) -> pt.getTransaction().getMaxGasPrice())
+              .thenComparing(PendingTransaction::getMaxGasPrice)
               .thenComparing(PendingTransaction::getSequence));
 
   public ReadyTransactions(
@@ -156,7 +155,7 @@ public class ReadyTransactions extends AbstractSequentialTransactionsLayer {
     for (final var senderFirstTx : orderByMaxFee.descendingSet()) {
       final var senderTxs = txsBySender.get(senderFirstTx.getSender());
       for (final var candidateTx : senderTxs.values()) {
-        final var txType = candidateTx.getTransaction().getType();
+        final var txType = candidateTx.getType();
         if (promotionFilter.test(candidateTx) && remainingPromotionsPerType[txType.ordinal()] > 0) {
           accumulatedSpace += candidateTx.memorySize();
           if (promotedTxs.size() < freeSlots && accumulatedSpace <= freeSpace) {
@@ -179,7 +178,7 @@ public class ReadyTransactions extends AbstractSequentialTransactionsLayer {
           final var sender = promotedTx.getSender();
           final var senderTxs = txsBySender.get(sender);
           senderTxs.remove(promotedTx.getNonce());
-          processRemove(senderTxs, promotedTx.getTransaction(), PROMOTED);
+          processRemove(senderTxs, promotedTx, PROMOTED);
           if (senderTxs.isEmpty()) {
             txsBySender.remove(sender);
           }
@@ -199,8 +198,8 @@ public class ReadyTransactions extends AbstractSequentialTransactionsLayer {
       return "Ready: Empty";
     }
 
-    final Transaction top = orderByMaxFee.last().getTransaction();
-    final Transaction last = orderByMaxFee.first().getTransaction();
+    final PendingTransaction top = orderByMaxFee.last();
+    final PendingTransaction last = orderByMaxFee.first();
 
     return "Ready: "
         + "count="
@@ -19,7 +19,6 @@ import static org.hyperledger.besu.ethereum.eth.transactions.layered.Transaction
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
-import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.eth.transactions.BlobCache;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult;
@@ -159,7 +158,7 @@ public class SparseTransactions extends AbstractTransactionsLayer {
       final var senderSeqTxs = getSequentialSubset(txsBySender.get(sender));
 
       for (final var candidateTx : senderSeqTxs.values()) {
-        final var txType = candidateTx.getTransaction().getType();
+        final var txType = candidateTx.getType();
         if (promotionFilter.test(candidateTx) && remainingPromotionsPerType[txType.ordinal()] > 0) {
           accumulatedSpace += candidateTx.memorySize();
           if (promotedTxs.size() < freeSlots && accumulatedSpace <= freeSpace) {
@@ -182,7 +181,7 @@ public class SparseTransactions extends AbstractTransactionsLayer {
           final var sender = promotedTx.getSender();
           final var senderTxs = txsBySender.get(sender);
           senderTxs.remove(promotedTx.getNonce());
-          processRemove(senderTxs, promotedTx.getTransaction(), PROMOTED);
+          processRemove(senderTxs, promotedTx, PROMOTED);
           if (senderTxs.isEmpty()) {
             txsBySender.remove(sender);
             orderByGap.get(0).remove(sender);
@@ -224,7 +223,7 @@ public class SparseTransactions extends AbstractTransactionsLayer {
     if (senderTxs != null && senderTxs.containsKey(invalidatedTx.getNonce())) {
       // gaps are allowed here then just remove
       senderTxs.remove(invalidatedTx.getNonce());
-      processRemove(senderTxs, invalidatedTx.getTransaction(), reason);
+      processRemove(senderTxs, invalidatedTx, reason);
       if (senderTxs.isEmpty()) {
         txsBySender.remove(invalidatedTx.getSender());
       }
@@ -374,8 +373,8 @@ public class SparseTransactions extends AbstractTransactionsLayer {
       return "Sparse: Empty";
     }
 
-    final Transaction newest = sparseEvictionOrder.last().getTransaction();
-    final Transaction oldest = sparseEvictionOrder.first().getTransaction();
+    final PendingTransaction newest = sparseEvictionOrder.last();
+    final PendingTransaction oldest = sparseEvictionOrder.first();
 
     return "Sparse: "
         + "count="
@@ -350,6 +350,10 @@ public class EthServerTest {
       when(blockchain.getBlockHeader(block.getHash())).thenReturn(Optional.of(block.getHeader()));
       when(blockchain.getBlockHeader(block.getHeader().getNumber()))
           .thenReturn(Optional.of(block.getHeader()));
+      when(blockchain.getBlockBodyRlp(block.getHash()))
+          .thenReturn(Optional.of(RLP.encode(block.getBody()::writeWrappedBodyTo)));
+      when(blockchain.getBlockHeaderRlp(block.getHeader().getNumber()))
+          .thenReturn(Optional.of(RLP.encode(block.getHeader()::writeTo)));
     }
 
     return blocks;
@@ -98,7 +98,7 @@ public class BufferedGetPooledTransactionsFromPeerFetcherTest {
     verify(ethScheduler).scheduleSyncWorkerTask(any(GetPooledTransactionsFromPeerTask.class));
     verifyNoMoreInteractions(ethScheduler);
 
-    verify(transactionPool, times(1)).addRemoteTransactions(taskResult);
+    verify(transactionPool, times(1)).queueRemoteTransactions(taskResult);
     assertThat(transactionTracker.hasSeenTransaction(hash)).isTrue();
   }
 
@@ -132,7 +132,7 @@ public class BufferedGetPooledTransactionsFromPeerFetcherTest {
     fetcher.requestTransactions();
 
     verifyNoInteractions(ethScheduler);
-    verify(transactionPool, never()).addRemoteTransactions(List.of(transaction));
+    verify(transactionPool, never()).queueRemoteTransactions(List.of(transaction));
     assertThat(
             metricsSystem.getCounterValue(
                 "remote_transactions_already_seen_total", "new_pooled_transaction_hashes"))
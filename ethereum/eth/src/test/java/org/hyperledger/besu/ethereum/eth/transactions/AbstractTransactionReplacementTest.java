@@ -14,9 +14,6 @@
  */
 package org.hyperledger.besu.ethereum.eth.transactions;
 
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
-
 import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.VersionedHash;
 import org.hyperledger.besu.datatypes.Wei;
@@ -27,21 +24,17 @@ import java.util.List;
 
 public class AbstractTransactionReplacementTest {
   protected static PendingTransaction frontierTx(final long price) {
-    final PendingTransaction pendingTransaction = mock(PendingTransaction.class);
     final Transaction transaction =
         Transaction.builder()
             .chainId(BigInteger.ZERO)
             .type(TransactionType.FRONTIER)
             .gasPrice(Wei.of(price))
             .build();
-    when(pendingTransaction.getTransaction()).thenReturn(transaction);
-    when(pendingTransaction.getGasPrice()).thenReturn(Wei.of(price));
-    return pendingTransaction;
+    return new PendingTransaction.Remote(transaction);
   }
 
   protected static PendingTransaction eip1559Tx(
       final long maxPriorityFeePerGas, final long maxFeePerGas) {
-    final PendingTransaction pendingTransaction = mock(PendingTransaction.class);
     final Transaction transaction =
         Transaction.builder()
             .chainId(BigInteger.ZERO)
@@ -49,13 +42,11 @@ public class AbstractTransactionReplacementTest {
             .maxPriorityFeePerGas(Wei.of(maxPriorityFeePerGas))
             .maxFeePerGas(Wei.of(maxFeePerGas))
             .build();
-    when(pendingTransaction.getTransaction()).thenReturn(transaction);
-    return pendingTransaction;
+    return new PendingTransaction.Remote(transaction);
   }
 
   protected static PendingTransaction blobTx(
       final long maxPriorityFeePerGas, final long maxFeePerGas, final long maxFeePerBlobGas) {
-    final PendingTransaction pendingTransaction = mock(PendingTransaction.class);
     final Transaction transaction =
         Transaction.builder()
             .chainId(BigInteger.ZERO)
@@ -65,7 +56,6 @@ public class AbstractTransactionReplacementTest {
             .maxFeePerBlobGas(Wei.of(maxFeePerBlobGas))
             .versionedHashes(List.of(VersionedHash.DEFAULT_VERSIONED_HASH))
             .build();
-    when(pendingTransaction.getTransaction()).thenReturn(transaction);
-    return pendingTransaction;
+    return new PendingTransaction.Remote(transaction);
   }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.transactions.layered.BaseTransactionPoolTest;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class EncodedTransactionTest extends BaseTransactionPoolTest {
+
+  @ParameterizedTest
+  @EnumSource(TransactionType.class)
+  public void storedValuesMatchTheTransaction(final TransactionType type) {
+    final Transaction transaction = createTransaction(type);
+    final PendingTransaction pendingTransaction =
+        PendingTransaction.newPendingTransaction(
+            transaction, false, false, System.currentTimeMillis(), true);
+
+    assertThat(pendingTransaction.isStoredEncoded()).isTrue();
+    assertThat(pendingTransaction.getType()).isEqualTo(transaction.getType());
+    assertThat(pendingTransaction.getHash()).isEqualTo(transaction.getHash());
+    assertThat(pendingTransaction.getSender()).isEqualTo(transaction.getSender());
+    assertThat(pendingTransaction.getNonce()).isEqualTo(transaction.getNonce());
+    assertThat(pendingTransaction.getGasLimit()).isEqualTo(transaction.getGasLimit());
+    assertThat(pendingTransaction.getGasPrice())
+        .isEqualTo(transaction.getGasPrice().orElse(Wei.ZERO));
+    assertThat(pendingTransaction.getMaxGasPrice()).isEqualTo(transaction.getMaxGasPrice());
+    assertThat(pendingTransaction.getMaxPriorityFeePerGas())
+        .isEqualTo(transaction.getMaxPriorityFeePerGas());
+    assertThat(pendingTransaction.getMaxFeePerBlobGas())
+        .isEqualTo(transaction.getMaxFeePerBlobGas());
+    for (final Optional<Wei> baseFee :
+        List.of(Optional.<Wei>empty(), Optional.of(Wei.of(1)), Optional.of(Wei.of(4000)))) {
+      assertThat(pendingTransaction.getEffectivePriorityFeePerGas(baseFee))
+          .isEqualTo(transaction.getEffectivePriorityFeePerGas(baseFee));
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(TransactionType.class)
+  public void decodedTransactionEqualsTheStoredOne(final TransactionType type) {
+    final Transaction transaction = createTransaction(type);
+
+    final Transaction decoded = EncodedTransaction.of(transaction).decode();
+
+    assertThat(decoded).isNotSameAs(transaction).isEqualTo(transaction);
+    assertThat(decoded.getType()).isEqualTo(transaction.getType());
+    assertThat(decoded.getHash()).isEqualTo(transaction.getHash());
+    assertThat(decoded.getSender()).isEqualTo(transaction.getSender());
+    assertThat(decoded.getSize()).isEqualTo(transaction.getSize());
+    assertThat(decoded.getBlobsWithCommitments())
+        .isEqualTo(transaction.getBlobsWithCommitments());
+  }
+
+  @Test
+  public void transactionInUseIsNotDecodedAgain() {
+    final Transaction transaction = createTransaction(TransactionType.EIP1559);
+
+    assertThat(EncodedTransaction.of(transaction).getTransaction()).isSameAs(transaction);
+  }
+
+  @Test
+  public void encodedTransactionTakesLessOfTheMemoryBudget() {
+    final Transaction transaction = createTransaction(TransactionType.EIP1559);
+
+    final PendingTransaction decoded =
+        PendingTransaction.newPendingTransaction(
+            transaction, false, false, System.currentTimeMillis(), false);
+    final PendingTransaction encoded =
+        PendingTransaction.newPendingTransaction(
+            transaction, false, false, System.currentTimeMillis(), true);
+
+    assertThat(decoded.isStoredEncoded()).isFalse();
+    assertThat(encoded.memorySize()).isLessThan(decoded.memorySize());
+  }
+
+  @Test
+  public void detachedCopySharesTheEncodedTransaction() {
+    final PendingTransaction pendingTransaction =
+        PendingTransaction.newPendingTransaction(
+            createTransaction(TransactionType.ACCESS_LIST),
+            true,
+            true,
+            System.currentTimeMillis(),
+            true);
+
+    final PendingTransaction copy = pendingTransaction.detachedCopy();
+
+    assertThat(copy).isInstanceOf(PendingTransaction.Local.Priority.class);
+    assertThat(copy.isStoredEncoded()).isTrue();
+    assertThat(copy.getSequence()).isEqualTo(pendingTransaction.getSequence());
+    assertThat(copy.getTransaction()).isSameAs(pendingTransaction.getTransaction());
+  }
+
+  private Transaction createTransaction(final TransactionType type) {
+    return createTransaction(
+        type, 3, Wei.of(5000), Wei.of(500), 10, type.supportsBlob() ? 1 : 0, KEYS1);
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.transactions.layered.BaseTransactionPoolTest;
+import org.hyperledger.besu.testutil.DeterministicEthScheduler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+public class RemoteTransactionsBatcherTest extends BaseTransactionPoolTest {
+
+  private final DeterministicEthScheduler scheduler = new DeterministicEthScheduler();
+  private final List<Collection<Transaction>> addedBatches = new ArrayList<>();
+  private final TransactionPoolMetrics metrics = new TransactionPoolMetrics(metricsSystem);
+
+  @Test
+  public void duplicateAndAlreadyPresentTransactionsAreSkipped() {
+    final RemoteTransactionsBatcher batcher =
+        new RemoteTransactionsBatcher(
+            scheduler, transaction2::equals, addedBatches::add, metrics, 1);
+    scheduler.disableAutoRun();
+
+    batcher.add(List.of(transaction0, transaction1));
+    batcher.add(List.of(transaction1, transaction2));
+    scheduler.runPendingFutures();
+
+    assertThat(addedBatches).containsExactly(List.of(transaction0, transaction1));
+  }
+
+  @Test
+  public void transactionsReceivedWhileProcessingFormTheNextBatch() {
+    final RemoteTransactionsBatcher[] batcher = new RemoteTransactionsBatcher[1];
+    batcher[0] =
+        new RemoteTransactionsBatcher(
+            scheduler,
+            transaction -> false,
+            transactions -> {
+              if (addedBatches.isEmpty()) {
+                batcher[0].add(List.of(transaction2));
+              }
+              addedBatches.add(transactions);
+            },
+            metrics,
+            1);
+
+    batcher[0].add(List.of(transaction0, transaction1));
+
+    assertThat(addedBatches)
+        .containsExactly(List.of(transaction0, transaction1), List.of(transaction2));
+  }
+
+  @Test
+  public void transactionsWithUnrecoverableSenderAreDiscarded() {
+    final Transaction invalidSignature = mock(Transaction.class);
+    when(invalidSignature.getHash()).thenReturn(Hash.ZERO);
+    when(invalidSignature.getSender())
+        .thenThrow(new IllegalStateException("Cannot recover public key from signature"));
+    final RemoteTransactionsBatcher batcher =
+        new RemoteTransactionsBatcher(
+            scheduler, transaction -> false, addedBatches::add, metrics, 1);
+
+    batcher.add(List.of(transaction0, invalidSignature, transaction1));
+
+    assertThat(addedBatches).containsExactly(List.of(transaction0, transaction1));
+  }
+
+  @Test
+  public void largeBatchIsRecoveredInChunksKeepingTheOrder() {
+    final List<Transaction> transactions =
+        IntStream.range(0, 300)
+            .mapToObj(
+                nonce -> createTransaction(TransactionType.EIP1559, nonce, Wei.of(5000L), 0, KEYS1))
+            .toList();
+    final RemoteTransactionsBatcher batcher =
+        new RemoteTransactionsBatcher(
+            scheduler, transaction -> false, addedBatches::add, metrics, 4);
+
+    batcher.add(transactions);
+
+    assertThat(addedBatches).containsExactly(transactions);
+  }
+
+  @Test
+  public void transactionsAboveTheQueueLimitAreDroppedAndCounted() {
+    final RemoteTransactionsBatcher batcher =
+        new RemoteTransactionsBatcher(
+            scheduler, transaction -> false, addedBatches::add, metrics, 1);
+    scheduler.disableAutoRun();
+
+    batcher.add(
+        Collections.nCopies(RemoteTransactionsBatcher.MAX_QUEUED_TRANSACTIONS + 2, transaction0));
+    scheduler.runPendingFutures();
+
+    assertThat(
+            metricsSystem.getCounterValue(
+                TransactionPoolMetrics.DROPPED_REMOTE_TRANSACTIONS_COUNTER_NAME))
+        .isEqualTo(2);
+    assertThat(addedBatches).containsExactly(List.of(transaction0));
+  }
+
+  @Test
+  public void rejectedProcessingIsScheduledAgainOnTheNextAdd() {
+    final EthScheduler rejectingScheduler = mock(EthScheduler.class);
+    doThrow(new RejectedExecutionException())
+        .doAnswer(
+            invocation -> {
+              invocation.<Runnable>getArgument(0).run();
+              return null;
+            })
+        .when(rejectingScheduler)
+        .scheduleTxWorkerTask(any());
+    final RemoteTransactionsBatcher batcher =
+        new RemoteTransactionsBatcher(
+            rejectingScheduler, transaction -> false, addedBatches::add, metrics, 1);
+
+    batcher.add(List.of(transaction0));
+    assertThat(addedBatches).isEmpty();
+
+    batcher.add(List.of(transaction1));
+    assertThat(addedBatches).containsExactly(List.of(transaction0, transaction1));
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.transactions.layered.BaseTransactionPoolTest;
+import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TransactionPoolJournalTest extends BaseTransactionPoolTest {
+
+  @TempDir private Path tempDir;
+
+  private Path journalFile() {
+    return tempDir.resolve(TransactionPoolJournal.JOURNAL_FILE_NAME);
+  }
+
+  private Map<Hash, Boolean> replay(final Path journalFile) throws Exception {
+    final Map<Hash, Boolean> restored = new LinkedHashMap<>();
+    new TransactionPoolJournal(journalFile)
+        .replay(
+            (transaction, isLocal) -> {
+              restored.put(transaction.getHash(), isLocal);
+              return ValidationResult.valid();
+            })
+        .get(10, TimeUnit.SECONDS);
+    return restored;
+  }
+
+  @Test
+  public void pendingTransactionsAreRestoredAfterACrash() throws Exception {
+    final Transaction blobTransaction = createEIP4844Transaction(1, KEYS2, 1, 1);
+    final TransactionPoolJournal journal = new TransactionPoolJournal(journalFile());
+    journal.start(List::of).get(10, TimeUnit.SECONDS);
+
+    journal.added(transaction0, false);
+    journal.added(transaction1, true);
+    journal.added(transaction2, false);
+    journal.added(blobTransaction, false);
+    journal.dropped(transaction1);
+
+    // the journal is never stopped, like when the node crashes
+    Awaitility.await()
+        .atMost(10, TimeUnit.SECONDS)
+        .untilAsserted(
+            () ->
+                assertThat(replay(journalFile()))
+                    .containsExactlyInAnyOrderEntriesOf(
+                        Map.of(
+                            transaction0.getHash(),
+                            false,
+                            transaction2.getHash(),
+                            false,
+                            blobTransaction.getHash(),
+                            false)));
+  }
+
+  @Test
+  public void restoredTransactionsAreAddedInNonceOrder() throws Exception {
+    final TransactionPoolJournal journal = new TransactionPoolJournal(journalFile());
+    journal
+        .stop(
+            List.of(
+                createLocalPendingTransaction(transaction2),
+                createRemotePendingTransaction(transaction0),
+                createLocalPendingTransaction(transaction1)))
+        .get(10, TimeUnit.SECONDS);
+
+    assertThat(replay(journalFile()))
+        .containsExactly(
+            Map.entry(transaction0.getHash(), false),
+            Map.entry(transaction1.getHash(), true),
+            Map.entry(transaction2.getHash(), true));
+  }
+
+  @Test
+  public void partialRecordAtTheEndIsIgnored() throws Exception {
+    final TransactionPoolJournal journal = new TransactionPoolJournal(journalFile());
+    journal
+        .stop(
+            List.of(
+                createRemotePendingTransaction(transaction0),
+                createRemotePendingTransaction(transaction1)))
+        .get(10, TimeUnit.SECONDS);
+
+    final byte[] content = Files.readAllBytes(journalFile());
+    Files.write(journalFile(), Arrays.copyOf(content, content.length - 3));
+
+    assertThat(replay(journalFile())).containsOnlyKeys(transaction0.getHash());
+  }
+
+  @Test
+  public void corruptedRecordStopsTheReplay() throws Exception {
+    final TransactionPoolJournal journal = new TransactionPoolJournal(journalFile());
+    journal
+        .stop(
+            List.of(
+                createRemotePendingTransaction(transaction0),
+                createRemotePendingTransaction(transaction1),
+                createRemotePendingTransaction(transaction2)))
+        .get(10, TimeUnit.SECONDS);
+
+    final byte[] content = Files.readAllBytes(journalFile());
+    // a record is its type, the payload length, the payload and its checksum
+    final int firstRecordSize = 1 + 4 + ByteBuffer.wrap(content, 1, 4).getInt() + 4;
+    // flip a byte in the payload of the second record
+    content[firstRecordSize + 5 + 10] ^= 0x01;
+    Files.write(journalFile(), content);
+
+    assertThat(replay(journalFile())).containsOnlyKeys(transaction0.getHash());
+  }
+
+  @Test
+  public void startRewritesTheJournalWithThePoolContent() throws Exception {
+    final TransactionPoolJournal journal = new TransactionPoolJournal(journalFile());
+    journal.stop(List.of(createRemotePendingTransaction(transaction0))).get(10, TimeUnit.SECONDS);
+
+    final TransactionPoolJournal restarted = new TransactionPoolJournal(journalFile());
+    restarted
+        .start(() -> List.of(createLocalPendingTransaction(transaction1)))
+        .get(10, TimeUnit.SECONDS);
+
+    assertThat(replay(journalFile())).containsOnlyKeys(transaction1.getHash());
+  }
+
+  @Test
+  public void missingJournalRestoresNothing() throws Exception {
+    assertThat(replay(journalFile())).isEmpty();
+  }
+
+  @Test
+  public void unreadableJournalRestoresNothing() throws Exception {
+    Files.write(journalFile(), new byte[] {0x7f, 0x00, 0x00, 0x00, 0x01});
+    assertThat(replay(journalFile())).isEmpty();
+  }
+}
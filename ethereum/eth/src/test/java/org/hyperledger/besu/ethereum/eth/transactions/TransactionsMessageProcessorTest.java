@@ -77,7 +77,8 @@ public class TransactionsMessageProcessorTest {
         TransactionsMessage.create(asList(transaction1, transaction2, transaction3)),
         now(),
         ofMinutes(1));
-    verify(transactionPool).addRemoteTransactions(asList(transaction1, transaction2, transaction3));
+    verify(transactionPool)
+        .queueRemoteTransactions(asList(transaction1, transaction2, transaction3));
   }
 
   @Test
@@ -47,6 +47,7 @@ import org.hyperledger.besu.ethereum.eth.transactions.ImmutableTransactionPoolCo
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactionAddedListener;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactionDroppedListener;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionAddedResult;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolReplacementHandler;
@@ -59,6 +60,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
@@ -412,6 +415,64 @@ public class LayeredPendingTransactionsTest extends BaseTransactionPoolTest {
     assertThat(parsedTransactions).containsExactly(transaction1b);
   }
 
+  @Test
+  public void transactionsCanBeAddedAndLookedUpWhileSelectionIsRunning() {
+    final Transaction transaction1 = createTransaction(0, KEYS1);
+    final Transaction transaction2 = createTransaction(0, KEYS2);
+    pendingTransactions.addTransaction(
+        createRemotePendingTransaction(transaction1), Optional.empty());
+
+    final List<Transaction> parsedTransactions = new ArrayList<>();
+    pendingTransactions.selectTransactions(
+        pendingTx -> {
+          parsedTransactions.add(pendingTx.getTransaction());
+          // would time out if the selection was holding the pool lock
+          final TransactionAddedResult addedResult =
+              CompletableFuture.supplyAsync(
+                      () ->
+                          pendingTransactions.addTransaction(
+                              createRemotePendingTransaction(transaction2), Optional.empty()))
+                  .orTimeout(10, TimeUnit.SECONDS)
+                  .join();
+          assertThat(addedResult).isEqualTo(ADDED);
+          assertThat(
+                  CompletableFuture.supplyAsync(
+                          () -> pendingTransactions.getTransactionByHash(transaction1.getHash()))
+                      .orTimeout(10, TimeUnit.SECONDS)
+                      .join())
+              .contains(transaction1);
+          return SELECTED;
+        });
+
+    // the selection works on the transactions pending when it started
+    assertThat(parsedTransactions).containsExactly(transaction1);
+    assertThat(pendingTransactions.getTransactionByHash(transaction2.getHash()))
+        .contains(transaction2);
+  }
+
+  @Test
+  public void invalidTransactionReplacedDuringSelectionIsNotRemoved() {
+    final Transaction transaction1 = createTransaction(0, KEYS1);
+    final Transaction transaction1b = createTransactionReplacement(transaction1, KEYS1);
+    pendingTransactions.addTransaction(
+        createRemotePendingTransaction(transaction1), Optional.empty());
+
+    pendingTransactions.selectTransactions(
+        pendingTx -> {
+          CompletableFuture.runAsync(
+                  () ->
+                      pendingTransactions.addTransaction(
+                          createRemotePendingTransaction(transaction1b), Optional.empty()))
+              .orTimeout(10, TimeUnit.SECONDS)
+              .join();
+          return TransactionSelectionResult.invalid(UPFRONT_COST_EXCEEDS_BALANCE.name());
+        });
+
+    assertThat(pendingTransactions.containsTransaction(transaction1)).isFalse();
+    assertThat(pendingTransactions.containsTransaction(transaction1b)).isTrue();
+    assertThat(pendingTransactions.size()).isEqualTo(1);
+  }
+
   @Test
   public void selectTransactionsFromSameSenderInNonceOrder() {
     final Transaction transaction0 = createTransaction(0, KEYS1);
@@ -415,6 +415,7 @@ public class EvmToolCommand implements Runnable {
         MessageFrame initialMessageFrame =
             MessageFrame.builder()
                 .type(MessageFrame.Type.MESSAGE_CALL)
+                .limbStack(evm.usesLimbStack())
                 .worldUpdater(updater.updater())
                 .initialGas(txGas)
                 .contract(Address.ZERO)
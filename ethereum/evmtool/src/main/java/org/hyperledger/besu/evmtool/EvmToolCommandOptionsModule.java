@@ -128,9 +128,20 @@ public class EvmToolCommandOptionsModule {
       EvmConfiguration.WorldUpdaterMode
           .STACKED; // Stacked Updater.  Years of battle tested correctness.
 
+  @CommandLine.Option(
+      names = {"--Xevm-operand-stack-mode"},
+      description = "How to store operand stack words while the interpreter runs",
+      fallbackValue = "BYTES",
+      defaultValue = "BYTES",
+      hidden = true,
+      arity = "1")
+  private EvmConfiguration.OperandStackMode operandStackMode =
+      EvmConfiguration.OperandStackMode.BYTES;
+
   @Provides
   @Singleton
   EvmConfiguration provideEvmConfiguration() {
-    return new EvmConfiguration(jumpDestCacheWeightKilobytes, worldstateUpdateMode);
+    return new EvmConfiguration(
+        jumpDestCacheWeightKilobytes, worldstateUpdateMode, operandStackMode);
   }
 }
@@ -167,7 +167,6 @@ public class Framer {
       }
       frameSize = processHeader(buf.readSlice(LENGTH_FULL_HEADER));
       headerProcessed = true;
-      buf.discardReadBytes();
     }
 
     final int size = frameSize + padding16(frameSize) + LENGTH_MAC;
@@ -175,8 +174,9 @@ public class Framer {
       return null;
     }
 
+    // Read bytes are left for the caller to reclaim, compacting here on every message would copy
+    // the remainder of a buffer holding several messages over and over.
     final MessageData msg = processFrame(buf.readSlice(size), frameSize);
-    buf.discardReadBytes();
     headerProcessed = false;
     return msg;
   }
@@ -281,17 +281,20 @@ public class Framer {
     final Bytes idbv = RLP.decodeOne(Bytes.of(frameData[0]));
     final int id = idbv.isZero() || idbv.size() == 0 ? 0 : idbv.get(0);
 
-    // Write message data to ByteBuf, decompressing as necessary
+    // Wrap the message data, decompressing straight out of the frame as necessary
+    final int messageLength = frameSize - LENGTH_MESSAGE_ID;
     final Bytes data;
     if (compressionEnabled) {
-      final byte[] compressedMessageData = Arrays.copyOfRange(frameData, 1, frameData.length - pad);
-      final int uncompressedLength = compressor.uncompressedLength(compressedMessageData);
+      final int uncompressedLength =
+          compressor.uncompressedLength(frameData, LENGTH_MESSAGE_ID, messageLength);
       if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
         throw error("Message size %s in excess of maximum length.", uncompressedLength);
       }
       Bytes _data;
       try {
-        final byte[] decompressedMessageData = compressor.decompress(compressedMessageData);
+        final byte[] decompressedMessageData = new byte[uncompressedLength];
+        compressor.decompress(
+            frameData, LENGTH_MESSAGE_ID, messageLength, decompressedMessageData, 0);
         _data = Bytes.wrap(decompressedMessageData);
         compressionSuccessful = true;
       } catch (final FramingException fe) {
@@ -302,15 +305,12 @@ public class Framer {
           // If failing on the first packet downgrade to uncompressed
           compressionEnabled = false;
           LOG.debug("Snappy decompression failed: downgrading to uncompressed");
-          final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-          _data = Bytes.wrap(frameData, 1, messageLength);
+          _data = Bytes.wrap(frameData, LENGTH_MESSAGE_ID, messageLength);
         }
       }
       data = _data;
     } else {
-      // Move data to a ByteBuf
-      final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-      data = Bytes.wrap(frameData, 1, messageLength);
+      data = Bytes.wrap(frameData, LENGTH_MESSAGE_ID, messageLength);
     }
 
     return new RawMessage(id, data);
@@ -334,13 +334,17 @@ public class Framer {
   public synchronized void frame(final MessageData message, final ByteBuf output) {
     Preconditions.checkArgument(
         message.getSize() < LENGTH_MAX_MESSAGE_FRAME, "Message size in excess of maximum length.");
-    // Compress message
     if (compressionEnabled) {
-      // Extract data from message
-      // Compress data
-      final byte[] compressed = compressor.compress(message.getData().toArrayUnsafe());
-      // Construct new, compressed message
-      frameMessage(new RawMessage(message.getCode(), Bytes.wrap(compressed)), output);
+      // Compress straight into the frame, after the message id. The frame is sized for the worst
+      // case and only its compressed length plus padding is encrypted and written out.
+      final byte[] uncompressed = message.getData().toArrayUnsafe();
+      final int maxFrameSize =
+          LENGTH_MESSAGE_ID + compressor.maxCompressedLength(uncompressed.length);
+      final byte[] f = new byte[maxFrameSize + padding16(maxFrameSize)];
+      final int frameSize =
+          LENGTH_MESSAGE_ID
+              + compressor.compress(uncompressed, 0, uncompressed.length, f, LENGTH_MESSAGE_ID);
+      writeFrame(message.getCode(), f, frameSize, output);
     } else {
       frameMessage(message, output);
     }
@@ -349,9 +353,25 @@ public class Framer {
   @VisibleForTesting
   void frameMessage(final MessageData message, final ByteBuf buf) {
     final int frameSize = message.getSize() + LENGTH_MESSAGE_ID;
+    final byte[] f = new byte[frameSize + padding16(frameSize)];
+    message.getData().copyTo(MutableBytes.wrap(f), LENGTH_MESSAGE_ID);
+    writeFrame(message.getCode(), f, frameSize, buf);
+  }
+
+  /**
+   * Encrypts and writes out a frame whose message data has already been placed in the frame array.
+   *
+   * @param code The message code.
+   * @param f The frame array, at least {@code frameSize} plus padding long, with the message data
+   *     starting after the id byte and zeroes after the data up to the padding boundary.
+   * @param frameSize The size of the frame, the id byte included.
+   * @param buf The {@link ByteBuf} to write framed data to.
+   */
+  private void writeFrame(final int code, final byte[] f, final int frameSize, final ByteBuf buf) {
     final int pad = padding16(frameSize);
+    final int length = frameSize + pad;
 
-    final byte id = (byte) message.getCode();
+    final byte id = (byte) code;
 
     // Generate the header data.
     final byte[] h = new byte[LENGTH_HEADER_DATA];
@@ -369,25 +389,20 @@ public class Framer {
     hMac = Arrays.copyOf(hMac, LENGTH_MAC);
     buf.writeBytes(h).writeBytes(hMac);
 
-    // Encrypt payload.
-    final MutableBytes f = MutableBytes.create(frameSize + pad);
-
+    // Encrypt payload, zero-padded to 16-byte boundary.
     final Bytes bv = id == 0 ? RLP.NULL : RLP.encodeOne(Bytes.of(id));
     assert bv.size() == 1;
-    f.set(0, bv.get(0));
-
-    // Zero-padded to 16-byte boundary.
-    message.getData().copyTo(f, 1);
-    encryptor.processBytes(f.toArrayUnsafe(), 0, f.size(), f.toArrayUnsafe(), 0);
+    f[0] = bv.get(0);
+    encryptor.processBytes(f, 0, length, f, 0);
 
     // Calculate the frame MAC.
     final byte[] fMacSeed =
-        Arrays.copyOf(secrets.updateEgress(f.toArrayUnsafe()).getEgressMac(), LENGTH_MAC);
+        Arrays.copyOf(secrets.updateEgress(f, 0, length).getEgressMac(), LENGTH_MAC);
     byte[] fMac = new byte[16];
     macEncryptor.processBlock(fMacSeed, 0, fMac, 0);
     fMac = Arrays.copyOf(secrets.updateEgress(xor(fMac, fMacSeed)).getEgressMac(), LENGTH_MAC);
 
-    buf.writeBytes(f.toArrayUnsafe()).writeBytes(fMac);
+    buf.writeBytes(f, 0, length).writeBytes(fMac);
   }
 
   private static int padding16(final int size) {
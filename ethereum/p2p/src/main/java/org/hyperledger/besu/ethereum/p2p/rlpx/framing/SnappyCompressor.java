@@ -45,12 +45,71 @@ public class SnappyCompressor {
     }
   }
 
+  /**
+   * Compresses a range of the input straight into the output, that must have room for at least
+   * {@link #maxCompressedLength(int)} bytes after the output offset.
+   *
+   * @param input the data to compress
+   * @param offset the offset of the data to compress in the input
+   * @param length the length of the data to compress
+   * @param output the array to write the compressed data to
+   * @param outputOffset the offset to write the compressed data at
+   * @return the length of the compressed data
+   */
+  public int compress(
+      final byte[] input,
+      final int offset,
+      final int length,
+      final byte[] output,
+      final int outputOffset) {
+    checkNotNull(input, "input data must not be null");
+    try {
+      return Snappy.compress(input, offset, length, output, outputOffset);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy compression failed", e);
+    }
+  }
+
+  /**
+   * Decompresses a range of the input straight into the output, that must have room for at least
+   * {@link #uncompressedLength(byte[], int, int)} bytes after the output offset.
+   *
+   * @param input the compressed data
+   * @param offset the offset of the compressed data in the input
+   * @param length the length of the compressed data
+   * @param output the array to write the decompressed data to
+   * @param outputOffset the offset to write the decompressed data at
+   * @return the length of the decompressed data
+   */
+  public int decompress(
+      final byte[] input,
+      final int offset,
+      final int length,
+      final byte[] output,
+      final int outputOffset) {
+    checkNotNull(input, "input data must not be null");
+    try {
+      return Snappy.uncompress(input, offset, length, output, outputOffset);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy decompression failed", e);
+    }
+  }
+
   public int uncompressedLength(final byte[] compressed) {
+    checkNotNull(compressed, "input data must not be null");
+    return uncompressedLength(compressed, 0, compressed.length);
+  }
+
+  public int uncompressedLength(final byte[] compressed, final int offset, final int length) {
     checkNotNull(compressed, "input data must not be null");
     try {
-      return Snappy.uncompressedLength(compressed);
+      return Snappy.uncompressedLength(compressed, offset, length);
     } catch (final IOException e) {
       throw new FramingException("Snappy uncompressedLength failed", e);
     }
   }
+
+  public int maxCompressedLength(final int uncompressedLength) {
+    return Snappy.maxCompressedLength(uncompressedLength);
+  }
 }
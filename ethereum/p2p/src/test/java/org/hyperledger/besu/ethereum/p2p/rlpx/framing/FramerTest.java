@@ -262,11 +262,15 @@ public class FramerTest {
     // Write a disconnect message with compression enabled.
     sendingFramer.enableCompression();
     final ByteBuf out = Unpooled.buffer();
-    sendingFramer.frame(DisconnectMessage.create(DisconnectReason.TIMEOUT), out);
+    final MessageData message = DisconnectMessage.create(DisconnectReason.TIMEOUT);
+    sendingFramer.frame(message, out);
 
     // Then read it with compression enabled.
     receivingFramer.enableCompression();
-    assertThat(receivingFramer.deframe(out)).isNotNull();
+    final MessageData received = receivingFramer.deframe(out);
+    assertThat(received.getCode()).isEqualTo(message.getCode());
+    assertThat(received.getData()).isEqualTo(message.getData());
+    assertThat(out.isReadable()).isFalse();
     assertThat(receivingFramer.isCompressionEnabled()).isTrue();
     assertThat(receivingFramer.isCompressionSuccessful()).isTrue();
   }
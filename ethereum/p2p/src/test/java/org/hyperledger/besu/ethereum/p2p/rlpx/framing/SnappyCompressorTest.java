@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
@@ -35,6 +36,25 @@ public class SnappyCompressorTest {
     assertThat(snappy.decompress(snappy.compress(data))).isEqualTo(data);
   }
 
+  @Test
+  public void roundTripWithinLargerArrays() {
+    final String text = "Uncompressed sample text for offset compression";
+    final byte[] data = text.repeat(4).getBytes(StandardCharsets.UTF_8);
+    final byte[] input = new byte[data.length + 3];
+    System.arraycopy(data, 0, input, 2, data.length);
+
+    final byte[] compressed = new byte[1 + snappy.maxCompressedLength(data.length)];
+    final int compressedLength = snappy.compress(input, 2, data.length, compressed, 1);
+    assertThat(Arrays.copyOfRange(compressed, 1, 1 + compressedLength))
+        .isEqualTo(snappy.compress(data));
+    assertThat(snappy.uncompressedLength(compressed, 1, compressedLength)).isEqualTo(data.length);
+
+    final byte[] output = new byte[data.length + 1];
+    assertThat(snappy.decompress(compressed, 1, compressedLength, output, 1))
+        .isEqualTo(data.length);
+    assertThat(Arrays.copyOfRange(output, 1, output.length)).isEqualTo(data);
+  }
+
   @Test
   public void roundTripEmptyByteArray() {
     final byte[] data = new byte[0];
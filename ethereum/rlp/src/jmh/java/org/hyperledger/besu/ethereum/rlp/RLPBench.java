@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.rlp;
 
 import org.hyperledger.besu.ethereum.rlp.util.RLPTestUtil;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -61,11 +62,14 @@ public class RLPBench {
 
   volatile Object toEncode;
   volatile Bytes toDecode;
+  // Reused across invocations, as a caller writing to a pooled or direct buffer would
+  ByteBuffer encodeBuffer;
 
   @Setup(Level.Trial)
   public void prepare() {
     toEncode = generate(depth, width, size);
     toDecode = RLPTestUtil.encode(toEncode);
+    encodeBuffer = ByteBuffer.allocateDirect(toDecode.size());
   }
 
   @Benchmark
@@ -73,6 +77,21 @@ public class RLPBench {
     return RLPTestUtil.encode(toEncode);
   }
 
+  @Benchmark
+  public Bytes getBenchmarkDirectEncoding() {
+    final Object value = toEncode;
+    return RLP.encodeDirectly(out -> RLPTestUtil.encode(value, out));
+  }
+
+  @Benchmark
+  public ByteBuffer getBenchmarkByteBufferEncoding() {
+    final Object value = toEncode;
+    final ByteBuffer buffer = encodeBuffer;
+    buffer.clear();
+    RLP.encodeTo(out -> RLPTestUtil.encode(value, out), buffer);
+    return buffer;
+  }
+
   @Benchmark
   public Object getBenchmarkDecoding() {
     return RLPTestUtil.decode(toDecode);
@@ -0,0 +1,77 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.nio.ByteBuffer;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * An {@link RLPOutput} that encodes straight into a {@link ByteBuffer}, without keeping anything
+ * written to it. This is the second pass of {@link RLP#encodeTo}: it needs the payload size of
+ * every list upfront, as computed by a {@link ListSizesRLPOutput} that had exactly the same data
+ * written to it.
+ */
+final class ByteBufferRLPOutput implements RLPOutput {
+
+  private final ByteBuffer buffer;
+  private final int[] payloadSizes;
+  private final int listsCount;
+
+  private int listIndex;
+  private int depth;
+
+  ByteBufferRLPOutput(final ByteBuffer buffer, final ListSizesRLPOutput sizes) {
+    this.buffer = buffer;
+    this.payloadSizes = sizes.payloadSizes();
+    this.listsCount = sizes.listsCount();
+  }
+
+  @Override
+  public void writeBytes(final Bytes v) {
+    RLPEncodingHelpers.writeElement(v, buffer);
+  }
+
+  @Override
+  public void writeRaw(final Bytes v) {
+    v.appendTo(buffer);
+  }
+
+  @Override
+  public void startList() {
+    checkState(++listIndex < listsCount, "More lists written than in the sizing pass");
+    RLPEncodingHelpers.writeListHeader(payloadSizes[listIndex], buffer);
+    ++depth;
+  }
+
+  @Override
+  public void endList() {
+    checkState(depth > 0, "LeaveList() called with no prior matching startList()");
+    --depth;
+  }
+
+  /**
+   * Checks that as many lists were written as in the sizing pass and that they are all closed.
+   *
+   * @throws IllegalStateException if the written lists do not match those of the sizing pass.
+   */
+  void checkComplete() {
+    checkState(
+        depth == 0 && listIndex == listsCount - 1,
+        "Written lists do not match those of the sizing pass");
+  }
+}
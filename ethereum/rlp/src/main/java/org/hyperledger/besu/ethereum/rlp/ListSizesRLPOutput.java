@@ -0,0 +1,115 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * An {@link RLPOutput} that writes nothing, it only computes the encoded size of what is written to
+ * it and the payload size of every list, in the order the lists are started. This is the first
+ * pass of {@link RLP#encodeTo}, the sizes it gathers let the second pass ({@link
+ * ByteBufferRLPOutput}) write every list header before the list content.
+ *
+ * <p>The sizes are computed the same way {@link AbstractRLPOutput} does, see that class for the
+ * details, but without keeping the written values around.
+ */
+final class ListSizesRLPOutput implements RLPOutput {
+
+  // First element is the total size of everything, following elements hold the size of the
+  // payload of the ith list started.
+  private int[] payloadSizes = new int[8];
+  private int listsCount = 1; // number of lists started + 1.
+
+  private int[] parentListStack = new int[4];
+  private int stackSize = 1;
+
+  private boolean hasValues;
+
+  private int currentList() {
+    return parentListStack[stackSize - 1];
+  }
+
+  private void checkNotTerminated() {
+    checkState(stackSize > 1 || !hasValues, "Terminated RLP output, cannot add more elements");
+  }
+
+  @Override
+  public void writeBytes(final Bytes v) {
+    checkNotTerminated();
+    hasValues = true;
+    payloadSizes[currentList()] += RLPEncodingHelpers.elementSize(v);
+  }
+
+  @Override
+  public void writeRaw(final Bytes v) {
+    checkNotTerminated();
+    hasValues = true;
+    payloadSizes[currentList()] += v.size();
+  }
+
+  @Override
+  public void startList() {
+    hasValues = true;
+    ++listsCount;
+    ++stackSize;
+
+    if (listsCount > payloadSizes.length) {
+      payloadSizes = Arrays.copyOf(payloadSizes, (payloadSizes.length * 3) / 2);
+    }
+    if (stackSize > parentListStack.length) {
+      parentListStack = Arrays.copyOf(parentListStack, (parentListStack.length * 3) / 2);
+    }
+
+    parentListStack[stackSize - 1] = listsCount - 1;
+  }
+
+  @Override
+  public void endList() {
+    checkState(stackSize > 1, "LeaveList() called with no prior matching startList()");
+
+    final int finishedListSize = RLPEncodingHelpers.listSize(payloadSizes[currentList()]);
+    --stackSize;
+    payloadSizes[currentList()] += finishedListSize;
+  }
+
+  /**
+   * Returns the size of the RLP encoding of everything written to this output.
+   *
+   * @return The size of the RLP-encoded data written to this output.
+   * @throws IllegalStateException if some opened list haven't been closed.
+   */
+  int encodedSize() {
+    checkState(stackSize == 1, "A list has been entered (startList()) but not left (endList())");
+    return payloadSizes[0];
+  }
+
+  /**
+   * Returns the payload sizes of the lists written to this output. The payload size of the ith
+   * list started is at index i, index 0 holding the total encoded size.
+   *
+   * @return The payload sizes, only the first {@link #listsCount()} entries being meaningful.
+   */
+  int[] payloadSizes() {
+    return payloadSizes;
+  }
+
+  int listsCount() {
+    return listsCount;
+  }
+}
@@ -16,6 +16,8 @@ package org.hyperledger.besu.ethereum.rlp;
 
 import static java.lang.String.format;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.function.Consumer;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -91,6 +93,81 @@ public abstract class RLP {
     return out.encoded();
   }
 
+  /**
+   * Computes the size of the RLP encoding of the data written by the provided writer, without
+   * encoding it.
+   *
+   * @param writer A method that given an {@link RLPOutput}, writes some data to it.
+   * @return The size of the RLP encoding of the data written by {@code writer}.
+   */
+  public static int encodedSize(final Consumer<RLPOutput> writer) {
+    final ListSizesRLPOutput sizes = new ListSizesRLPOutput();
+    writer.accept(sizes);
+    return sizes.encodedSize();
+  }
+
+  /**
+   * Encodes the data written by the provided writer straight into the provided buffer, starting at
+   * its current position and advancing it by the encoded size.
+   *
+   * <p>Unlike {@link #encode(Consumer)}, no intermediate object is kept per written value. Instead
+   * {@code writer} is called twice: once to compute the size of every list, then once to write the
+   * encoding. It must therefore write the exact same data on both calls, and should only be used
+   * when the written values are cheap to produce again, typically because they are already at
+   * hand. A Netty {@code ByteBuf} can be written to through {@code buf.nioBuffer(index, length)}
+   * once the size is known from {@link #encodedSize(Consumer)}.
+   *
+   * @param writer A method that given an {@link RLPOutput}, writes some data to it.
+   * @param dest The buffer to write the RLP encoding to.
+   * @throws BufferOverflowException if {@code dest} has not enough room left.
+   * @throws IllegalStateException if {@code writer} did not write the same data twice.
+   */
+  public static void encodeTo(final Consumer<RLPOutput> writer, final ByteBuffer dest) {
+    final ListSizesRLPOutput sizes = new ListSizesRLPOutput();
+    writer.accept(sizes);
+    final int size = sizes.encodedSize();
+    if (dest.remaining() < size) {
+      throw new BufferOverflowException();
+    }
+    encodeTo(writer, sizes, dest);
+  }
+
+  /**
+   * Encodes the data written by the provided writer into an array of the exact encoded size,
+   * without intermediate objects. See {@link #encodeTo(Consumer, ByteBuffer)} for the requirements
+   * on {@code writer}, that is called twice.
+   *
+   * @param writer A method that given an {@link RLPOutput}, writes some data to it.
+   * @return The RLP encoding of the data written by {@code writer}.
+   */
+  public static Bytes encodeDirectly(final Consumer<RLPOutput> writer) {
+    final ListSizesRLPOutput sizes = new ListSizesRLPOutput();
+    writer.accept(sizes);
+    final int size = sizes.encodedSize();
+    if (size == 0) {
+      return Bytes.EMPTY;
+    }
+
+    final byte[] encoded = new byte[size];
+    encodeTo(writer, sizes, ByteBuffer.wrap(encoded));
+    return Bytes.wrap(encoded);
+  }
+
+  private static void encodeTo(
+      final Consumer<RLPOutput> writer, final ListSizesRLPOutput sizes, final ByteBuffer dest) {
+    final int start = dest.position();
+    final ByteBufferRLPOutput out = new ByteBufferRLPOutput(dest, sizes);
+    writer.accept(out);
+    out.checkComplete();
+    final int written = dest.position() - start;
+    if (written != sizes.encodedSize()) {
+      throw new IllegalStateException(
+          format(
+              "Expected RLP encoding to be of size %s but was of size %s.",
+              sizes.encodedSize(), written));
+    }
+  }
+
   /**
    * Encodes a single binary value into RLP.
    *
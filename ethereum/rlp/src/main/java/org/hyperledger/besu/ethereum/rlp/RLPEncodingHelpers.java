@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.ethereum.rlp;
 
+import java.nio.ByteBuffer;
+
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.MutableBytes;
 
@@ -87,6 +89,46 @@ class RLPEncodingHelpers {
     return writeLongMetadata(0xf7, payloadSize, dest, destOffset);
   }
 
+  /**
+   * Writes the result of encoding the provided value at the current position of the provided
+   * buffer (which must have enough room left), advancing its position.
+   */
+  static void writeElement(final Bytes value, final ByteBuffer dest) {
+    final int size = value.size();
+    if (isSingleRLPByte(value)) {
+      dest.put(value.get(0));
+      return;
+    }
+
+    if (isShortElement(value)) {
+      dest.put((byte) (0x80 + size));
+    } else {
+      writeLongMetadata(0xb7, size, dest);
+    }
+    value.appendTo(dest);
+  }
+
+  /**
+   * Writes the encoded header of a list provided its encoded payload size at the current position
+   * of the provided buffer (which must have enough room left), advancing its position.
+   */
+  static void writeListHeader(final int payloadSize, final ByteBuffer dest) {
+    if (isShortList(payloadSize)) {
+      dest.put((byte) (0xc0 + payloadSize));
+      return;
+    }
+
+    writeLongMetadata(0xf7, payloadSize, dest);
+  }
+
+  private static void writeLongMetadata(final int baseCode, final int size, final ByteBuffer dest) {
+    final int sizeLength = sizeLength(size);
+    dest.put((byte) (baseCode + sizeLength));
+    for (int shift = (sizeLength - 1) * 8; shift >= 0; shift -= 8) {
+      dest.put((byte) (size >> shift));
+    }
+  }
+
   private static int writeLongMetadata(
       final int baseCode, final int size, final MutableBytes dest, final int destOffset) {
     final int sizeLength = sizeLength(size);
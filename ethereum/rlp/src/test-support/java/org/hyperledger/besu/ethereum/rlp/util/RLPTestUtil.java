@@ -72,7 +72,17 @@ public class RLPTestUtil {
     return out.encoded();
   }
 
-  private static void encode(final Object obj, final RLPOutput out) {
+  /**
+   * Recursively writes an object consisting of recursive lists of {@link Bytes} to the provided
+   * output, the same way {@link #encode(Object)} does.
+   *
+   * @param obj An object that must be either directly a {@link Bytes}, or a list whose elements are
+   *     either {@link Bytes}, or similarly composed sub-lists.
+   * @param out The output to write {@code obj} to.
+   * @throws IllegalArgumentException if {@code obj} is not a valid input (not entirely composed
+   *     from lists and {@link Bytes}).
+   */
+  public static void encode(final Object obj, final RLPOutput out) {
     if (obj instanceof Bytes) {
       out.writeBytes((Bytes) obj);
     } else if (obj instanceof List) {
@@ -19,7 +19,12 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 
 import org.hyperledger.besu.ethereum.rlp.util.RLPTestUtil;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
@@ -168,6 +173,82 @@ public class RLPTest {
         .hasMessageContaining("RLP item exceeds max supported size of 2147483647: 2147483648");
   }
 
+  @Test
+  public void encodeDirectly_fuzz() {
+    final Random random = new Random(1);
+    for (int i = 0; i < 1000; ++i) {
+      final Bytes expected = RLPTestUtil.randomRLPValue(random.nextInt()).encoded();
+      final Object value = RLPTestUtil.decode(expected);
+      assertThat(RLP.encodeDirectly(out -> RLPTestUtil.encode(value, out))).isEqualTo(expected);
+      assertThat(RLP.encodedSize(out -> RLPTestUtil.encode(value, out)))
+          .isEqualTo(expected.size());
+    }
+  }
+
+  @Test
+  public void encodeDirectly_longElementsAndLists() {
+    final Bytes longValue = Bytes.wrap(new byte[300]);
+    final Consumer<RLPOutput> writer =
+        out -> {
+          out.startList();
+          out.writeBytes(longValue);
+          out.writeRaw(RLP.NULL);
+          out.startList();
+          out.writeByte((byte) 1);
+          out.writeBytes(Bytes.of(0x80));
+          out.endList();
+          out.writeEmptyList();
+          out.endList();
+        };
+    assertThat(RLP.encodeDirectly(writer)).isEqualTo(RLP.encode(writer));
+    assertThat(RLP.encodeDirectly(out -> {})).isEqualTo(Bytes.EMPTY);
+  }
+
+  @Test
+  public void encodeTo_writesAtBufferPosition() {
+    final Consumer<RLPOutput> writer =
+        out -> out.writeList(List.of(h("0x01"), h("0x0203")), (v, o) -> o.writeBytes(v));
+    final Bytes expected = RLP.encode(writer);
+    final ByteBuffer buffer = ByteBuffer.allocate(expected.size() + 3);
+    buffer.position(2);
+    RLP.encodeTo(writer, buffer);
+
+    assertThat(buffer.position()).isEqualTo(2 + expected.size());
+    assertThat(Bytes.wrap(buffer.array(), 2, expected.size())).isEqualTo(expected);
+  }
+
+  @Test
+  public void encodeTo_notEnoughRoom() {
+    final Consumer<RLPOutput> writer = out -> out.writeBytes(h("0x0102"));
+    final ByteBuffer buffer = ByteBuffer.allocate(2);
+    assertThatThrownBy(() -> RLP.encodeTo(writer, buffer))
+        .isInstanceOf(BufferOverflowException.class);
+    assertThat(buffer.position()).isZero();
+  }
+
+  @Test
+  public void encodeDirectly_rejectsWriterNotWritingTheSameDataTwice() {
+    final AtomicInteger calls = new AtomicInteger();
+    assertThatThrownBy(
+            () ->
+                RLP.encodeDirectly(
+                    out -> {
+                      out.startList();
+                      if (calls.incrementAndGet() == 1) {
+                        out.startList();
+                        out.endList();
+                      }
+                      out.endList();
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void encodeDirectly_unterminatedList() {
+    assertThatThrownBy(() -> RLP.encodeDirectly(RLPOutput::startList))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
   private static Bytes h(final String hex) {
     return Bytes.fromHexString(hex);
   }
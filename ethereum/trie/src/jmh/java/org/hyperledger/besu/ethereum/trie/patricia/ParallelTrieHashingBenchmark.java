@@ -0,0 +1,69 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.patricia;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures the root hash computation of a trie with many dirty leaves, serial and parallel. */
+@State(Scope.Thread)
+public class ParallelTrieHashingBenchmark {
+
+  @Param({"10000", "100000", "1000000"})
+  public int dirtyLeaves;
+
+  @Param({"false", "true"})
+  public boolean parallel;
+
+  private Bytes32[] keys;
+  private StoredMerklePatriciaTrie<Bytes32, Bytes> trie;
+
+  @Setup(Level.Trial)
+  public void prepareKeys() {
+    final Random random = new Random(42);
+    keys = new Bytes32[dirtyLeaves];
+    for (int i = 0; i < dirtyLeaves; i++) {
+      keys[i] = Bytes32.random(random);
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void prepareTrie() {
+    trie =
+        new StoredMerklePatriciaTrie<>(
+            (location, hash) -> Optional.empty(), Function.identity(), Function.identity());
+    if (parallel) {
+      trie.withParallelHashing();
+    }
+    for (final Bytes32 key : keys) {
+      trie.put(key, key);
+    }
+  }
+
+  @Benchmark
+  public Bytes32 rootHash() {
+    return trie.getRootHash();
+  }
+}
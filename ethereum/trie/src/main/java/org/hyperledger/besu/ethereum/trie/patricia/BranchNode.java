@@ -16,7 +16,6 @@ package org.hyperledger.besu.ethereum.trie.patricia;
 
 import static org.hyperledger.besu.crypto.Hash.keccak256;
 
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.trie.LocationNodeVisitor;
 import org.hyperledger.besu.ethereum.trie.Node;
@@ -127,18 +126,26 @@ public class BranchNode<V> implements Node<V> {
         return encoded;
       }
     }
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    out.startList();
-    for (int i = 0; i < maxChild(); ++i) {
-      out.writeRaw(children.get(i).getEncodedBytesRef());
-    }
-    if (value.isPresent()) {
-      out.writeBytes(valueSerializer.apply(value.get()));
-    } else {
-      out.writeNull();
+    // Computed once as the encoder is called twice, to size the lists and then to write them
+    final Bytes[] childRefs = new Bytes[maxChild()];
+    for (int i = 0; i < childRefs.length; ++i) {
+      childRefs[i] = children.get(i).getEncodedBytesRef();
     }
-    out.endList();
-    final Bytes encoded = out.encoded();
+    final Bytes encodedValue = value.map(valueSerializer).orElse(null);
+    final Bytes encoded =
+        RLP.encodeDirectly(
+            out -> {
+              out.startList();
+              for (final Bytes childRef : childRefs) {
+                out.writeRaw(childRef);
+              }
+              if (encodedValue != null) {
+                out.writeBytes(encodedValue);
+              } else {
+                out.writeNull();
+              }
+              out.endList();
+            });
     encodedBytes = new WeakReference<>(encoded);
     return encoded;
   }
@@ -16,7 +16,6 @@ package org.hyperledger.besu.ethereum.trie.patricia;
 
 import static org.hyperledger.besu.crypto.Hash.keccak256;
 
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.LocationNodeVisitor;
@@ -114,12 +113,16 @@ public class LeafNode<V> implements Node<V> {
       }
     }
 
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    out.startList();
-    out.writeBytes(CompactEncoding.encode(path));
-    out.writeBytes(valueSerializer.apply(value));
-    out.endList();
-    final Bytes encoded = out.encoded();
+    final Bytes encodedPath = CompactEncoding.encode(path);
+    final Bytes encodedValue = valueSerializer.apply(value);
+    final Bytes encoded =
+        RLP.encodeDirectly(
+            out -> {
+              out.startList();
+              out.writeBytes(encodedPath);
+              out.writeBytes(encodedValue);
+              out.endList();
+            });
     encodedBytes = new WeakReference<>(encoded);
     return encoded;
   }
@@ -14,12 +14,19 @@
  */
 package org.hyperledger.besu.ethereum.trie.patricia;
 
+import org.hyperledger.besu.ethereum.trie.CommitVisitor;
 import org.hyperledger.besu.ethereum.trie.MerkleStorage;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
+import org.hyperledger.besu.ethereum.trie.Node;
 import org.hyperledger.besu.ethereum.trie.NodeLoader;
+import org.hyperledger.besu.ethereum.trie.NodeUpdater;
 import org.hyperledger.besu.ethereum.trie.PathNodeVisitor;
 import org.hyperledger.besu.ethereum.trie.StoredMerkleTrie;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -33,9 +40,18 @@ import org.apache.tuweni.bytes.Bytes32;
 public class StoredMerklePatriciaTrie<K extends Bytes, V> extends StoredMerkleTrie<K, V>
     implements MerkleTrie<K, V> {
 
+  /** Number of updates since the last hashing below which parallel hashing is not worth it. */
+  static final int PARALLEL_HASHING_THRESHOLD = 1_000;
+
+  /** Branch depth up to which dirty children are hashed in their own fork/join task. */
+  static final int MAX_FORK_DEPTH = 3;
+
   private final GetVisitor<V> getVisitor = new GetVisitor<>();
   private final RemoveVisitor<V> removeVisitor = new RemoveVisitor<>();
 
+  private boolean parallelHashing = false;
+  private int pendingUpdates = 0;
+
   public StoredMerklePatriciaTrie(
       final NodeLoader nodeLoader,
       final Function<V, Bytes> valueSerializer,
@@ -67,6 +83,67 @@ public class StoredMerklePatriciaTrie<K extends Bytes, V> extends StoredMerkleTr
     super(nodeFactory, rootHash);
   }
 
+  /**
+   * Hash the dirty subtrees of this trie on the common fork/join pool when computing the root hash
+   * or committing, once enough updates have been made since the trie was last hashed.
+   *
+   * @return this trie
+   */
+  public StoredMerklePatriciaTrie<K, V> withParallelHashing() {
+    this.parallelHashing = true;
+    return this;
+  }
+
+  @Override
+  public void put(final K key, final V value) {
+    super.put(key, value);
+    pendingUpdates++;
+  }
+
+  @Override
+  public void putPath(final K path, final V value) {
+    super.putPath(path, value);
+    pendingUpdates++;
+  }
+
+  @Override
+  public void put(final K key, final PathNodeVisitor<V> putVisitor) {
+    super.put(key, putVisitor);
+    pendingUpdates++;
+  }
+
+  @Override
+  public void remove(final K key) {
+    super.remove(key);
+    pendingUpdates++;
+  }
+
+  @Override
+  public void removePath(final K path, final PathNodeVisitor<V> removeVisitor) {
+    super.removePath(path, removeVisitor);
+    pendingUpdates++;
+  }
+
+  @Override
+  public void commit(final NodeUpdater nodeUpdater, final CommitVisitor<V> commitVisitor) {
+    maybeHashInParallel();
+    super.commit(nodeUpdater, commitVisitor);
+  }
+
+  @Override
+  public Bytes32 getRootHash() {
+    maybeHashInParallel();
+    return super.getRootHash();
+  }
+
+  private void maybeHashInParallel() {
+    if (parallelHashing && pendingUpdates >= PARALLEL_HASHING_THRESHOLD && root.isDirty()) {
+      ForkJoinPool.commonPool().invoke(new HashTask<>(root, 0));
+    }
+    // nodes memoize their hash, so everything hashed so far does not count anymore
+    pendingUpdates = 0;
+  }
+
   @Override
   public PathNodeVisitor<V> getGetVisitor() {
     return getVisitor;
@@ -81,4 +158,40 @@ public class StoredMerklePatriciaTrie<K extends Bytes, V> extends StoredMerkleTr
   public PathNodeVisitor<V> getPutVisitor(final V value) {
     return new PutVisitor<>(nodeFactory, value);
   }
+
+  /**
+   * Computes the hash of a dirty node after hashing its dirty children in parallel. Nodes memoize
+   * their encoding and hash, so once the task has completed the serial hashing and commit walk
+   * only has to encode the nodes above {@link #MAX_FORK_DEPTH}.
+   */
+  private static final class HashTask<V> extends RecursiveAction {
+
+    private final Node<V> node;
+    private final int depth;
+
+    private HashTask(final Node<V> node, final int depth) {
+      this.node = node;
+      this.depth = depth;
+    }
+
+    @Override
+    protected void compute() {
+      if (depth < MAX_FORK_DEPTH) {
+        final List<HashTask<V>> subtasks = new ArrayList<>();
+        if (node instanceof BranchNode<V> branchNode) {
+          for (final Node<V> child : branchNode.getChildren()) {
+            if (child.isDirty()) {
+              subtasks.add(new HashTask<>(child, depth + 1));
+            }
+          }
+        } else if (node instanceof ExtensionNode<V> extensionNode
+            && extensionNode.getChild().isDirty()) {
+          // an extension does not branch, so its child stays at the same depth
+          subtasks.add(new HashTask<>(extensionNode.getChild(), depth));
+        }
+        invokeAll(subtasks);
+      }
+      node.getHash();
+    }
+  }
 }
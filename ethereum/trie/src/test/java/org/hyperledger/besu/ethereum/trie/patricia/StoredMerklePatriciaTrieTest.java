@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.trie.patricia;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hyperledger.besu.crypto.Hash;
 import org.hyperledger.besu.ethereum.trie.KeyValueMerkleStorage;
 import org.hyperledger.besu.ethereum.trie.MerkleStorage;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
@@ -23,6 +24,8 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -123,4 +126,28 @@ public class StoredMerklePatriciaTrieTest extends AbstractMerklePatriciaTrieTest
     assertThat(trie.get(key2)).isEqualTo(Optional.of("value2"));
     assertThat(trie.get(key3)).isEqualTo(Optional.of("value3"));
   }
+
+  @Test
+  public void parallelHashingMatchesSerialHashing() {
+    final StoredMerklePatriciaTrie<Bytes32, String> serialTrie =
+        new StoredMerklePatriciaTrie<>(merkleStorage::get, valueSerializer, valueDeserializer);
+    final StoredMerklePatriciaTrie<Bytes32, String> parallelTrie =
+        new StoredMerklePatriciaTrie<Bytes32, String>(
+                merkleStorage::get, valueSerializer, valueDeserializer)
+            .withParallelHashing();
+    final int count = StoredMerklePatriciaTrie.PARALLEL_HASHING_THRESHOLD * 3;
+    for (int i = 0; i < count; i++) {
+      final Bytes32 key = Hash.keccak256(Bytes.ofUnsignedInt(i));
+      serialTrie.put(key, "value" + i);
+      parallelTrie.put(key, "value" + i);
+    }
+
+    assertThat(parallelTrie.getRootHash()).isEqualTo(serialTrie.getRootHash());
+
+    final Map<Bytes, Bytes> serialNodes = new HashMap<>();
+    final Map<Bytes, Bytes> parallelNodes = new HashMap<>();
+    serialTrie.commit((location, hash, value) -> serialNodes.put(location, value));
+    parallelTrie.commit((location, hash, value) -> parallelNodes.put(location, value));
+    assertThat(parallelNodes).isNotEmpty().isEqualTo(serialNodes);
+  }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.collections.undo;
+
+import java.util.Arrays;
+
+/**
+ * A set of fixed width tuples of longs that only grows, except for rolling back to a prior state.
+ *
+ * <p>To register a prior state you want to roll back to call `mark()`. Then use that value in a
+ * subsequent call to `undo(mark)`. Marks are shared with all other undoable collections.
+ *
+ * <p>Tuples are kept in one flat array in insertion order and found through an open addressing
+ * hash table with linear probing, so adding and looking up a tuple does not allocate once the
+ * arrays have grown large enough. Tuples are only removed by `undo`, always in the reverse order
+ * they were added. That lets a removed tuple's table slot simply be cleared, because every tuple
+ * whose probe sequence passes through that slot was added later and is already gone.
+ *
+ * <p>Subclasses write the tuple to add or look up into {@link #key} and then call {@link
+ * #addKey()} or {@link #containsKey()}.
+ */
+public abstract class UndoLongTupleSet implements Undoable {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  /** The tuple to add or look up, filled in by the subclass before each call. */
+  protected final long[] key;
+
+  private final int width;
+  private long[] tuples;
+  private long[] levels;
+  private int[] table;
+  private int size;
+
+  /**
+   * Instantiates a new tuple set.
+   *
+   * @param width the number of longs in each tuple
+   */
+  protected UndoLongTupleSet(final int width) {
+    this.width = width;
+    this.key = new long[width];
+    this.tuples = new long[INITIAL_CAPACITY * width];
+    this.levels = new long[INITIAL_CAPACITY];
+    this.table = new int[INITIAL_CAPACITY * 2];
+  }
+
+  /**
+   * Adds the tuple in {@link #key}.
+   *
+   * @return true if the tuple was added, false if it was already present
+   */
+  protected boolean addKey() {
+    final int slot = slotOf(key, 0);
+    if (table[slot] != 0) {
+      return false;
+    }
+    if (size == levels.length) {
+      tuples = Arrays.copyOf(tuples, tuples.length * 2);
+      levels = Arrays.copyOf(levels, levels.length * 2);
+    }
+    System.arraycopy(key, 0, tuples, size * width, width);
+    levels[size] = Undoable.incrementMarkStatic();
+    size++;
+    table[slot] = size;
+    if (size * 2 > table.length) {
+      rehash(table.length * 2);
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether the tuple in {@link #key} is present.
+   *
+   * @return true if the tuple is present
+   */
+  protected boolean containsKey() {
+    return table[slotOf(key, 0)] != 0;
+  }
+
+  /**
+   * Reads one element of a tuple. Tuples are numbered in insertion order, from zero to {@code
+   * size() - 1}.
+   *
+   * @param index the index of the tuple
+   * @param element the position of the element in the tuple
+   * @return the element
+   */
+  protected long element(final int index, final int element) {
+    return tuples[index * width + element];
+  }
+
+  /**
+   * The number of tuples in the set.
+   *
+   * @return the size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Whether the set is empty.
+   *
+   * @return true if there are no tuples in the set
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public void undo(final long mark) {
+    while (size > 0 && levels[size - 1] > mark) {
+      size--;
+      table[slotOf(tuples, size * width)] = 0;
+    }
+  }
+
+  @Override
+  public long lastUpdate() {
+    return size == 0 ? 0L : levels[size - 1];
+  }
+
+  // The slot holding the tuple, or the empty slot where it would be added
+  private int slotOf(final long[] values, final int offset) {
+    final int mask = table.length - 1;
+    int slot = hash(values, offset) & mask;
+    while (true) {
+      final int entry = table[slot];
+      if (entry == 0 || matches(entry - 1, values, offset)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  private boolean matches(final int index, final long[] values, final int offset) {
+    final int start = index * width;
+    for (int i = 0; i < width; i++) {
+      if (tuples[start + i] != values[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int hash(final long[] values, final int offset) {
+    long hash = 0;
+    for (int i = 0; i < width; i++) {
+      hash = (hash ^ values[offset + i]) * 0x9E3779B97F4A7C15L;
+      hash ^= hash >>> 29;
+    }
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+  private void rehash(final int capacity) {
+    table = new int[capacity];
+    // re-insert in insertion order, so undo can keep clearing slots in reverse order
+    for (int index = 0; index < size; index++) {
+      table[slotOf(tuples, index * width)] = index + 1;
+    }
+  }
+}
@@ -58,7 +58,12 @@ public class UndoSet<V> implements Set<V>, Undoable {
     return new UndoSet<>(delegate);
   }
 
-  UndoSet(final Set<V> delegate) {
+  /**
+   * Protected constructor for UndoSet
+   *
+   * @param delegate the set backing the undo set.
+   */
+  protected UndoSet(final Set<V> delegate) {
     this.delegate = delegate;
     undoLog = new ArrayList<>();
   }
@@ -19,13 +19,16 @@ import static org.hyperledger.besu.evm.operation.PushOperation.PUSH_BASE;
 import static org.hyperledger.besu.evm.operation.SwapOperation.SWAP_BASE;
 
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.code.BasicBlocks;
 import org.hyperledger.besu.evm.code.CodeFactory;
+import org.hyperledger.besu.evm.code.CodeV0;
 import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.frame.MessageFrame.State;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.evm.internal.CodeCache;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.LimbStack;
 import org.hyperledger.besu.evm.internal.OverflowException;
 import org.hyperledger.besu.evm.internal.UnderflowException;
 import org.hyperledger.besu.evm.operation.AddModOperation;
@@ -42,6 +45,7 @@ import org.hyperledger.besu.evm.operation.IsZeroOperation;
 import org.hyperledger.besu.evm.operation.JumpDestOperation;
 import org.hyperledger.besu.evm.operation.JumpOperation;
 import org.hyperledger.besu.evm.operation.JumpiOperation;
+import org.hyperledger.besu.evm.operation.LimbStackOperations;
 import org.hyperledger.besu.evm.operation.LtOperation;
 import org.hyperledger.besu.evm.operation.ModOperation;
 import org.hyperledger.besu.evm.operation.MulModOperation;
@@ -58,6 +62,7 @@ import org.hyperledger.besu.evm.operation.SDivOperation;
 import org.hyperledger.besu.evm.operation.SGtOperation;
 import org.hyperledger.besu.evm.operation.SLtOperation;
 import org.hyperledger.besu.evm.operation.SModOperation;
+import org.hyperledger.besu.evm.operation.ShlOperation;
 import org.hyperledger.besu.evm.operation.SignExtendOperation;
 import org.hyperledger.besu.evm.operation.StopOperation;
 import org.hyperledger.besu.evm.operation.SubOperation;
@@ -66,6 +71,7 @@ import org.hyperledger.besu.evm.operation.VirtualOperation;
 import org.hyperledger.besu.evm.operation.XorOperation;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 
+import java.util.Locale;
 import java.util.Optional;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -93,6 +99,11 @@ public class EVM {
 
   // Optimized operation flags
   private final boolean enableShanghai;
+  private final boolean enableLimbStack;
+  private final boolean enableShifts;
+
+  // Fixed gas costs of the operations run inside basic blocks, see BasicBlocks
+  private final long[] blockGasCosts;
 
   /**
    * Instantiates a new Evm.
@@ -111,10 +122,32 @@ public class EVM {
     this.gasCalculator = gasCalculator;
     this.endOfScriptStop = new VirtualOperation(new StopOperation(gasCalculator));
     this.evmConfiguration = evmConfiguration;
-    this.codeCache = new CodeCache(evmConfiguration);
+    this.codeCache =
+        CodeCache.forEvm(
+            evmConfiguration,
+            evmSpecVersion.name().toLowerCase(Locale.ROOT),
+            evmSpecVersion.getMaxEofVersion());
     this.evmSpecVersion = evmSpecVersion;
 
     enableShanghai = EvmSpecVersion.SHANGHAI.ordinal() <= evmSpecVersion.ordinal();
+    enableLimbStack =
+        evmConfiguration.operandStackMode() == EvmConfiguration.OperandStackMode.LONG_LIMBS;
+    enableShifts = operations.get(0x1b) instanceof ShlOperation;
+    blockGasCosts = blockGasCosts(operations.getOperations());
+  }
+
+  private long[] blockGasCosts(final Operation[] operationArray) {
+    final long[] gasCosts = new long[256];
+    for (int opcode = 0; opcode < gasCosts.length; opcode++) {
+      final boolean supported =
+          switch (opcode) {
+            case 0x1b, 0x1c, 0x1d -> enableShifts;
+            case 0x5f -> enableShanghai;
+            default -> operationArray[opcode] != null;
+          };
+      gasCosts[opcode] = supported ? LimbStackOperations.staticGasCost(opcode) : -1L;
+    }
+    return gasCosts;
   }
 
   /**
@@ -144,6 +177,15 @@ public class EVM {
     return evmConfiguration;
   }
 
+  /**
+   * Whether initial message frames run by this EVM should be built with a limb stack.
+   *
+   * @return true if the operand stack mode is {@code LONG_LIMBS}
+   */
+  public boolean usesLimbStack() {
+    return enableLimbStack;
+  }
+
   /**
    * Returns the configured EVM spec version for this EVM
    *
@@ -181,13 +223,31 @@ public class EVM {
   public void runToHalt(final MessageFrame frame, final OperationTracer tracing) {
     evmSpecVersion.maybeWarnVersion();
 
+    // with a limb stack the hot stack, arithmetic and bitwise operations work on the limbs
+    // directly instead of going through Bytes
+    final LimbStack limbs = enableLimbStack ? frame.getLimbStack() : null;
     var operationTracer = tracing == OperationTracer.NO_TRACING ? null : tracing;
     byte[] code = frame.getCode().getBytes().toArrayUnsafe();
     Operation[] operationArray = operations.getOperations();
+    // tracers expect to see every operation, so only run whole blocks when not tracing
+    final BasicBlocks blocks =
+        limbs != null && operationTracer == null && frame.getCode() instanceof CodeV0 codeV0
+            ? codeV0.getBasicBlocks(blockGasCosts, operationArray)
+            : null;
     while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
       Operation currentOperation;
       int opcode;
       int pc = frame.getPC();
+      if (blocks != null) {
+        final int block = blocks.blockAt(pc);
+        if (block >= 0
+            && frame.getRemainingGas() >= blocks.gasCost(block)
+            && blocks.fitsStack(block, limbs.size(), frame.getMaxStackSize())) {
+          frame.decrementRemainingGas(blocks.gasCost(block));
+          runBlock(frame, limbs, code, blocks, block);
+          continue;
+        }
+      }
       try {
         opcode = code[pc] & 0xff;
         currentOperation = operationArray[opcode];
@@ -205,36 +265,112 @@ public class EVM {
         result =
             switch (opcode) {
               case 0x00 -> StopOperation.staticOperation(frame);
-              case 0x01 -> AddOperation.staticOperation(frame);
-              case 0x02 -> MulOperation.staticOperation(frame);
-              case 0x03 -> SubOperation.staticOperation(frame);
-              case 0x04 -> DivOperation.staticOperation(frame);
+              case 0x01 ->
+                  limbs != null
+                      ? LimbStackOperations.add(limbs)
+                      : AddOperation.staticOperation(frame);
+              case 0x02 ->
+                  limbs != null
+                      ? LimbStackOperations.mul(limbs)
+                      : MulOperation.staticOperation(frame);
+              case 0x03 ->
+                  limbs != null
+                      ? LimbStackOperations.sub(limbs)
+                      : SubOperation.staticOperation(frame);
+              case 0x04 ->
+                  limbs != null
+                      ? LimbStackOperations.div(limbs)
+                      : DivOperation.staticOperation(frame);
               case 0x05 -> SDivOperation.staticOperation(frame);
-              case 0x06 -> ModOperation.staticOperation(frame);
+              case 0x06 ->
+                  limbs != null
+                      ? LimbStackOperations.mod(limbs)
+                      : ModOperation.staticOperation(frame);
               case 0x07 -> SModOperation.staticOperation(frame);
               case 0x08 -> AddModOperation.staticOperation(frame);
               case 0x09 -> MulModOperation.staticOperation(frame);
               case 0x0a -> ExpOperation.staticOperation(frame, gasCalculator);
-              case 0x0b -> SignExtendOperation.staticOperation(frame);
+              case 0x0b ->
+                  limbs != null
+                      ? LimbStackOperations.signExtend(limbs)
+                      : SignExtendOperation.staticOperation(frame);
               case 0x0c, 0x0d, 0x0e, 0x0f -> InvalidOperation.INVALID_RESULT;
-              case 0x10 -> LtOperation.staticOperation(frame);
-              case 0x11 -> GtOperation.staticOperation(frame);
-              case 0x12 -> SLtOperation.staticOperation(frame);
-              case 0x13 -> SGtOperation.staticOperation(frame);
-              case 0x15 -> IsZeroOperation.staticOperation(frame);
-              case 0x16 -> AndOperation.staticOperation(frame);
-              case 0x17 -> OrOperation.staticOperation(frame);
-              case 0x18 -> XorOperation.staticOperation(frame);
-              case 0x19 -> NotOperation.staticOperation(frame);
-              case 0x1a -> ByteOperation.staticOperation(frame);
-              case 0x50 -> PopOperation.staticOperation(frame);
-              case 0x56 -> JumpOperation.staticOperation(frame);
-              case 0x57 -> JumpiOperation.staticOperation(frame);
+              case 0x10 ->
+                  limbs != null
+                      ? LimbStackOperations.lt(limbs)
+                      : LtOperation.staticOperation(frame);
+              case 0x11 ->
+                  limbs != null
+                      ? LimbStackOperations.gt(limbs)
+                      : GtOperation.staticOperation(frame);
+              case 0x12 ->
+                  limbs != null
+                      ? LimbStackOperations.slt(limbs)
+                      : SLtOperation.staticOperation(frame);
+              case 0x13 ->
+                  limbs != null
+                      ? LimbStackOperations.sgt(limbs)
+                      : SGtOperation.staticOperation(frame);
+              case 0x14 ->
+                  limbs != null
+                      ? LimbStackOperations.eq(limbs)
+                      : currentOperation.execute(frame, this);
+              case 0x15 ->
+                  limbs != null
+                      ? LimbStackOperations.isZero(limbs)
+                      : IsZeroOperation.staticOperation(frame);
+              case 0x16 ->
+                  limbs != null
+                      ? LimbStackOperations.and(limbs)
+                      : AndOperation.staticOperation(frame);
+              case 0x17 ->
+                  limbs != null
+                      ? LimbStackOperations.or(limbs)
+                      : OrOperation.staticOperation(frame);
+              case 0x18 ->
+                  limbs != null
+                      ? LimbStackOperations.xor(limbs)
+                      : XorOperation.staticOperation(frame);
+              case 0x19 ->
+                  limbs != null
+                      ? LimbStackOperations.not(limbs)
+                      : NotOperation.staticOperation(frame);
+              case 0x1a ->
+                  limbs != null
+                      ? LimbStackOperations.byteOp(limbs)
+                      : ByteOperation.staticOperation(frame);
+              // before Constantinople the shift opcodes are invalid operations
+              case 0x1b ->
+                  limbs != null && enableShifts
+                      ? LimbStackOperations.shl(limbs)
+                      : currentOperation.execute(frame, this);
+              case 0x1c ->
+                  limbs != null && enableShifts
+                      ? LimbStackOperations.shr(limbs)
+                      : currentOperation.execute(frame, this);
+              case 0x1d ->
+                  limbs != null && enableShifts
+                      ? LimbStackOperations.sar(limbs)
+                      : currentOperation.execute(frame, this);
+              case 0x50 ->
+                  limbs != null
+                      ? LimbStackOperations.pop(limbs)
+                      : PopOperation.staticOperation(frame);
+              case 0x56 ->
+                  limbs != null
+                      ? LimbStackOperations.jump(frame, limbs)
+                      : JumpOperation.staticOperation(frame);
+              case 0x57 ->
+                  limbs != null
+                      ? LimbStackOperations.jumpi(frame, limbs)
+                      : JumpiOperation.staticOperation(frame);
               case 0x5b -> JumpDestOperation.JUMPDEST_SUCCESS;
               case 0x5f ->
-                  enableShanghai
-                      ? Push0Operation.staticOperation(frame)
-                      : InvalidOperation.INVALID_RESULT;
+                  !enableShanghai
+                      ? InvalidOperation.INVALID_RESULT
+                      : limbs != null
+                          ? LimbStackOperations.push0(limbs)
+                          : Push0Operation.staticOperation(frame);
               case 0x60, // PUSH1-32
                       0x61,
                       0x62,
@@ -267,7 +403,9 @@ public class EVM {
                       0x7d,
                       0x7e,
                       0x7f ->
-                  PushOperation.staticOperation(frame, code, pc, opcode - PUSH_BASE);
+                  limbs != null
+                      ? LimbStackOperations.push(frame, limbs, code, pc, opcode - PUSH_BASE)
+                      : PushOperation.staticOperation(frame, code, pc, opcode - PUSH_BASE);
               case 0x80, // DUP1-16
                       0x81,
                       0x82,
@@ -284,7 +422,9 @@ public class EVM {
                       0x8d,
                       0x8e,
                       0x8f ->
-                  DupOperation.staticOperation(frame, opcode - DupOperation.DUP_BASE);
+                  limbs != null
+                      ? LimbStackOperations.dup(limbs, opcode - DupOperation.DUP_BASE)
+                      : DupOperation.staticOperation(frame, opcode - DupOperation.DUP_BASE);
               case 0x90, // SWAP1-16
                       0x91,
                       0x92,
@@ -301,7 +441,9 @@ public class EVM {
                       0x9d,
                       0x9e,
                       0x9f ->
-                  SwapOperation.staticOperation(frame, opcode - SWAP_BASE);
+                  limbs != null
+                      ? LimbStackOperations.swap(limbs, opcode - SWAP_BASE)
+                      : SwapOperation.staticOperation(frame, opcode - SWAP_BASE);
               default -> { // unoptimized operations
                 frame.setCurrentOperation(currentOperation);
                 yield currentOperation.execute(frame, this);
@@ -332,6 +474,93 @@ public class EVM {
     }
   }
 
+  /**
+   * Runs one basic block on a limb stack. The caller has already charged the gas of the whole
+   * block and checked that the stack cannot underflow or overflow, so the only way the block can
+   * halt is a jump to an invalid destination.
+   *
+   * @param frame the frame
+   * @param stack the limb stack of the frame
+   * @param code the code
+   * @param blocks the basic blocks of the code
+   * @param block the index of the block to run
+   */
+  private static void runBlock(
+      final MessageFrame frame,
+      final LimbStack stack,
+      final byte[] code,
+      final BasicBlocks blocks,
+      final int block) {
+    final int[] kinds = blocks.kinds();
+    final int[] args = blocks.args();
+    final int end = blocks.end(block);
+    final int last = blocks.programEnd(block);
+    for (int i = blocks.programStart(block); i < last; i++) {
+      final int kind = kinds[i];
+      final int arg = args[i];
+      switch (kind) {
+        case 0x01 -> LimbStackOperations.add(stack);
+        case 0x02 -> LimbStackOperations.mul(stack);
+        case 0x03 -> LimbStackOperations.sub(stack);
+        case 0x04 -> LimbStackOperations.div(stack);
+        case 0x06 -> LimbStackOperations.mod(stack);
+        case 0x0b -> LimbStackOperations.signExtend(stack);
+        case 0x10 -> LimbStackOperations.lt(stack);
+        case 0x11 -> LimbStackOperations.gt(stack);
+        case 0x12 -> LimbStackOperations.slt(stack);
+        case 0x13 -> LimbStackOperations.sgt(stack);
+        case 0x14 -> LimbStackOperations.eq(stack);
+        case 0x15 -> LimbStackOperations.isZero(stack);
+        case 0x16 -> LimbStackOperations.and(stack);
+        case 0x17 -> LimbStackOperations.or(stack);
+        case 0x18 -> LimbStackOperations.xor(stack);
+        case 0x19 -> LimbStackOperations.not(stack);
+        case 0x1a -> LimbStackOperations.byteOp(stack);
+        case 0x1b -> LimbStackOperations.shl(stack);
+        case 0x1c -> LimbStackOperations.shr(stack);
+        case 0x1d -> LimbStackOperations.sar(stack);
+        case 0x50 -> LimbStackOperations.pop(stack);
+        case 0x56, 0x57 -> {
+          // a jump always ends its block
+          frame.setPC(end);
+          final OperationResult result =
+              kind == 0x56
+                  ? LimbStackOperations.jump(frame, stack)
+                  : LimbStackOperations.jumpi(frame, stack);
+          final ExceptionalHaltReason haltReason = result.getHaltReason();
+          if (haltReason != null) {
+            LOG.trace("MessageFrame evaluation halted because of {}", haltReason);
+            frame.setPC(arg);
+            frame.setExceptionalHaltReason(Optional.of(haltReason));
+            frame.setState(State.EXCEPTIONAL_HALT);
+          }
+          return;
+        }
+        case 0x5f -> LimbStackOperations.push0(stack);
+        case BasicBlocks.PUSH ->
+            LimbStackOperations.push(frame, stack, code, arg, (code[arg] & 0xff) - PUSH_BASE);
+        case BasicBlocks.PUSH_SMALL -> stack.push(0L, 0L, 0L, arg);
+        case BasicBlocks.DUP -> LimbStackOperations.dup(stack, arg);
+        case BasicBlocks.SWAP -> LimbStackOperations.swap(stack, arg);
+        case BasicBlocks.DUP_SWAP -> {
+          LimbStackOperations.dup(stack, arg >>> 8);
+          LimbStackOperations.swap(stack, arg & 0xff);
+        }
+        case BasicBlocks.PUSH_JUMP -> {
+          frame.setPC(arg);
+          return;
+        }
+        case BasicBlocks.PUSH_JUMPI -> {
+          frame.setPC(end);
+          LimbStackOperations.pushJumpi(frame, stack, arg);
+          return;
+        }
+        default -> throw new IllegalStateException("Unexpected instruction kind " + kind);
+      }
+    }
+    frame.setPC(end);
+  }
+
   /**
    * Get Operations (unsafe)
    *
@@ -353,6 +582,10 @@ public class EVM {
     Code result = codeCache.getIfPresent(codeHash);
     if (result == null) {
       result = getCodeUncached(codeBytes);
+      if (enableLimbStack && result instanceof CodeV0 codeV0) {
+        // analyze before caching, so the analysis is part of the weight of the entry
+        codeV0.getBasicBlocks(blockGasCosts, operations.getOperations());
+      }
       codeCache.put(codeHash, result);
     }
     return result;
@@ -0,0 +1,374 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import static org.hyperledger.besu.evm.operation.DupOperation.DUP_BASE;
+import static org.hyperledger.besu.evm.operation.PushOperation.PUSH_BASE;
+import static org.hyperledger.besu.evm.operation.PushOperation.PUSH_MAX;
+import static org.hyperledger.besu.evm.operation.SwapOperation.SWAP_BASE;
+
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.operation.JumpDestOperation;
+import org.hyperledger.besu.evm.operation.Operation;
+
+import java.util.Arrays;
+
+/**
+ * Basic block analysis of legacy bytecode.
+ *
+ * <p>A block here is a straight run of fixed cost operations: it starts at a JUMPDEST, at the
+ * start of the code, or after an operation with a dynamic cost, and it ends before the next
+ * JUMPDEST or dynamic cost operation, or right after a JUMP or JUMPI. For each block the analysis
+ * records the total gas, the stack height it needs on entry and how far it can grow the stack, so
+ * the interpreter can check gas and stack bounds once for the whole block instead of once per
+ * operation.
+ *
+ * <p>The operations of each block are pre-decoded into a small program of instruction kinds and
+ * arguments. A kind is either the opcode itself or one of the constants below, which stand for
+ * pre-decoded pushes, DUP and SWAP, and the fused {@code PUSH x; JUMP}, {@code PUSH x; JUMPI} and
+ * {@code DUP; SWAP} sequences. Blocks of a single operation are not recorded.
+ */
+public final class BasicBlocks {
+
+  /** PUSH1-32, the argument is the pc of the push. */
+  public static final int PUSH = 0x100;
+
+  /** PUSH1-3 with the immediate fully in the code, the argument is the pushed value. */
+  public static final int PUSH_SMALL = 0x101;
+
+  /** DUP1-16, the argument is the dup index. */
+  public static final int DUP = 0x102;
+
+  /** SWAP1-16, the argument is the swap index. */
+  public static final int SWAP = 0x103;
+
+  /** DUP followed by SWAP, the argument is the dup index in bits 8 and up and the swap index. */
+  public static final int DUP_SWAP = 0x104;
+
+  /** Small PUSH followed by JUMP to a valid destination, the argument is the destination. */
+  public static final int PUSH_JUMP = 0x105;
+
+  /** Small PUSH followed by JUMPI to a valid destination, the argument is the destination. */
+  public static final int PUSH_JUMPI = 0x106;
+
+  private static final int JUMP = 0x56;
+  private static final int JUMPI = 0x57;
+
+  private final long[] gasCosts;
+  private final int codeSize;
+  private final long[] blockStarts;
+  private final int[] starts;
+  private final int[] ends;
+  private final long[] blockGas;
+  private final int[] minHeights;
+  private final int[] maxGrowths;
+  private final int[] programOffsets;
+  private final int[] kinds;
+  private final int[] args;
+
+  private BasicBlocks(final Analyzer analyzer) {
+    final int blockCount = analyzer.blockCount;
+    final int instructionCount = analyzer.instructionCount;
+    this.gasCosts = analyzer.gasCosts;
+    this.codeSize = analyzer.code.length;
+    this.blockStarts = analyzer.blockStarts;
+    this.starts = Arrays.copyOf(analyzer.starts, blockCount);
+    this.ends = Arrays.copyOf(analyzer.ends, blockCount);
+    this.blockGas = Arrays.copyOf(analyzer.blockGas, blockCount);
+    this.minHeights = Arrays.copyOf(analyzer.minHeights, blockCount);
+    this.maxGrowths = Arrays.copyOf(analyzer.maxGrowths, blockCount);
+    this.programOffsets = Arrays.copyOf(analyzer.programOffsets, blockCount + 1);
+    this.kinds = Arrays.copyOf(analyzer.kinds, instructionCount);
+    this.args = Arrays.copyOf(analyzer.args, instructionCount);
+  }
+
+  /**
+   * Analyze legacy code.
+   *
+   * @param code the code
+   * @param gasCosts the fixed gas cost of every opcode the interpreter can run inside a block,
+   *     indexed by opcode, or -1 for every other opcode
+   * @param operations the operations of the EVM, used for their stack effects
+   * @return the basic blocks of the code
+   */
+  public static BasicBlocks analyze(
+      final Code code, final long[] gasCosts, final Operation[] operations) {
+    final Analyzer analyzer = new Analyzer(code, gasCosts, operations);
+    analyzer.run();
+    return new BasicBlocks(analyzer);
+  }
+
+  /**
+   * Whether this analysis was made with the given gas cost table. Code objects can be shared
+   * between EVMs of different forks, which do not all support the same operations.
+   *
+   * @param gasCosts the gas cost table
+   * @return true if this analysis can be used with the table
+   */
+  public boolean isAnalyzedWith(final long[] gasCosts) {
+    return this.gasCosts == gasCosts;
+  }
+
+  /**
+   * Find the block starting at the given pc.
+   *
+   * @param pc the pc
+   * @return the index of the block, or a negative number if no block starts at the pc
+   */
+  public int blockAt(final int pc) {
+    if (pc >= codeSize || (blockStarts[pc >>> 6] & (1L << (pc & 0x3F))) == 0L) {
+      return -1;
+    }
+    return Arrays.binarySearch(starts, pc);
+  }
+
+  /**
+   * The total gas of all operations in the block.
+   *
+   * @param block the block index
+   * @return the gas cost
+   */
+  public long gasCost(final int block) {
+    return blockGas[block];
+  }
+
+  /**
+   * Whether the block can run without a stack underflow or overflow.
+   *
+   * @param block the block index
+   * @param stackSize the stack size on entry
+   * @param maxStackSize the maximum stack size
+   * @return true if the stack stays within bounds for the whole block
+   */
+  public boolean fitsStack(final int block, final int stackSize, final int maxStackSize) {
+    return stackSize >= minHeights[block] && stackSize + maxGrowths[block] <= maxStackSize;
+  }
+
+  /**
+   * The pc following the last operation of the block, where execution continues unless the block
+   * ends with a jump that is taken.
+   *
+   * @param block the block index
+   * @return the pc after the block
+   */
+  public int end(final int block) {
+    return ends[block];
+  }
+
+  /**
+   * The index of the first instruction of the block.
+   *
+   * @param block the block index
+   * @return the program offset
+   */
+  public int programStart(final int block) {
+    return programOffsets[block];
+  }
+
+  /**
+   * The index after the last instruction of the block.
+   *
+   * @param block the block index
+   * @return the program offset
+   */
+  public int programEnd(final int block) {
+    return programOffsets[block + 1];
+  }
+
+  /**
+   * The instruction kinds of all blocks, see {@link #programStart(int)}.
+   *
+   * @return the instruction kinds
+   */
+  public int[] kinds() {
+    return kinds;
+  }
+
+  /**
+   * The instruction arguments of all blocks, see {@link #programStart(int)}.
+   *
+   * @return the instruction arguments
+   */
+  public int[] args() {
+    return args;
+  }
+
+  /**
+   * The number of blocks.
+   *
+   * @return the block count
+   */
+  public int getBlockCount() {
+    return starts.length;
+  }
+
+  /**
+   * An estimate of the memory used by the analysis, in bytes.
+   *
+   * @return the weight
+   */
+  public int getWeight() {
+    return blockStarts.length * 8 + starts.length * 32 + kinds.length * 8;
+  }
+
+  private static final class Analyzer {
+    private final Code codeObject;
+    private final byte[] code;
+    private final long[] gasCosts;
+    private final Operation[] operations;
+
+    private final long[] blockStarts;
+    // every recorded block has at least two operations, so there are at most half as many blocks
+    // as bytes of code
+    private final int[] starts;
+    private final int[] ends;
+    private final long[] blockGas;
+    private final int[] minHeights;
+    private final int[] maxGrowths;
+    private final int[] programOffsets;
+    private final int[] kinds;
+    private final int[] args;
+    private int blockCount;
+    private int instructionCount;
+
+    // the block being built, blockStart is -1 outside of a block
+    private int blockStart = -1;
+    private int operationCount;
+    private int height;
+    private int minHeight;
+    private int maxGrowth;
+    private long gas;
+
+    Analyzer(final Code codeObject, final long[] gasCosts, final Operation[] operations) {
+      this.codeObject = codeObject;
+      this.code = codeObject.getBytes().toArrayUnsafe();
+      this.gasCosts = gasCosts;
+      this.operations = operations;
+      final int size = code.length;
+      blockStarts = new long[(size >>> 6) + 1];
+      starts = new int[size / 2 + 1];
+      ends = new int[size / 2 + 1];
+      blockGas = new long[size / 2 + 1];
+      minHeights = new int[size / 2 + 1];
+      maxGrowths = new int[size / 2 + 1];
+      programOffsets = new int[size / 2 + 2];
+      kinds = new int[size];
+      args = new int[size];
+    }
+
+    void run() {
+      final int size = code.length;
+      int pc = 0;
+      while (pc < size) {
+        final int opcode = code[pc] & 0xff;
+        final int pushSize = opcode > PUSH_BASE && opcode <= PUSH_MAX ? opcode - PUSH_BASE : 0;
+        final int next = pc + 1 + pushSize;
+        if (gasCosts[opcode] < 0) {
+          endBlock(pc);
+          pc = next;
+          continue;
+        }
+        if (opcode == JumpDestOperation.OPCODE) {
+          endBlock(pc);
+        }
+        if (blockStart < 0) {
+          beginBlock(pc);
+        }
+        final int following = next < size ? code[next] & 0xff : -1;
+        account(opcode);
+        if (pushSize > 0 && pushSize <= 3 && next <= size) {
+          int value = 0;
+          for (int i = pc + 1; i < next; i++) {
+            value = (value << 8) | (code[i] & 0xff);
+          }
+          if ((following == JUMP || following == JUMPI)
+              && gasCosts[following] >= 0
+              && !codeObject.isJumpDestInvalid(value)) {
+            account(following);
+            add(following == JUMP ? PUSH_JUMP : PUSH_JUMPI, value);
+            endBlock(next + 1);
+            pc = next + 1;
+            continue;
+          }
+          add(PUSH_SMALL, value);
+        } else if (pushSize > 0) {
+          add(PUSH, pc);
+        } else if (opcode > DUP_BASE && opcode <= DUP_BASE + 16) {
+          if (following > SWAP_BASE && following <= SWAP_BASE + 16 && gasCosts[following] >= 0) {
+            account(following);
+            add(DUP_SWAP, (opcode - DUP_BASE) << 8 | (following - SWAP_BASE));
+            pc = next + 1;
+            continue;
+          }
+          add(DUP, opcode - DUP_BASE);
+        } else if (opcode > SWAP_BASE && opcode <= SWAP_BASE + 16) {
+          add(SWAP, opcode - SWAP_BASE);
+        } else if (opcode != JumpDestOperation.OPCODE) {
+          add(opcode, pc);
+          if (opcode == JUMP || opcode == JUMPI) {
+            endBlock(next);
+          }
+        }
+        pc = next;
+      }
+      endBlock(pc);
+    }
+
+    private void beginBlock(final int pc) {
+      blockStart = pc;
+      operationCount = 0;
+      height = 0;
+      minHeight = 0;
+      maxGrowth = 0;
+      gas = 0;
+    }
+
+    private void account(final int opcode) {
+      final Operation operation = operations[opcode];
+      height -= operation.getStackItemsConsumed();
+      minHeight = Math.max(minHeight, -height);
+      height += operation.getStackItemsProduced();
+      maxGrowth = Math.max(maxGrowth, height);
+      gas += gasCosts[opcode];
+      operationCount++;
+    }
+
+    private void add(final int kind, final int arg) {
+      kinds[instructionCount] = kind;
+      args[instructionCount] = arg;
+      instructionCount++;
+    }
+
+    private void endBlock(final int end) {
+      if (blockStart < 0) {
+        return;
+      }
+      if (operationCount < 2) {
+        // not worth a block, drop its instructions again
+        instructionCount = programOffsets[blockCount];
+      } else {
+        blockStarts[blockStart >>> 6] |= 1L << (blockStart & 0x3F);
+        starts[blockCount] = blockStart;
+        ends[blockCount] = end;
+        blockGas[blockCount] = gas;
+        minHeights[blockCount] = minHeight;
+        maxGrowths[blockCount] = maxGrowth;
+        blockCount++;
+        programOffsets[blockCount] = instructionCount;
+      }
+      blockStart = -1;
+    }
+  }
+}
@@ -17,6 +17,7 @@ package org.hyperledger.besu.evm.code;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.operation.JumpDestOperation;
+import org.hyperledger.besu.evm.operation.Operation;
 
 import java.util.function.Supplier;
 
@@ -39,6 +40,9 @@ public class CodeV0 implements Code {
   /** Used to cache valid jump destinations. */
   private long[] validJumpDestinations;
 
+  /** Used to cache the basic block analysis. */
+  private BasicBlocks basicBlocks;
+
   /** Code section info for the legacy code */
   private final CodeSection codeSectionZero;
 
@@ -113,6 +117,32 @@ public class CodeV0 implements Code {
     return (targetLong & targetBit) == 0L;
   }
 
+  /**
+   * Gets the basic block analysis of the code, analyzing it on first use.
+   *
+   * @param gasCosts the fixed gas cost table of the interpreter, see {@link BasicBlocks}
+   * @param operations the operations of the EVM
+   * @return the basic blocks
+   */
+  public BasicBlocks getBasicBlocks(final long[] gasCosts, final Operation[] operations) {
+    BasicBlocks blocks = basicBlocks;
+    if (blocks == null || !blocks.isAnalyzedWith(gasCosts)) {
+      blocks = BasicBlocks.analyze(this, gasCosts, operations);
+      basicBlocks = blocks;
+    }
+    return blocks;
+  }
+
+  /**
+   * Gets the estimated memory used by the basic block analysis, if the code has been analyzed.
+   *
+   * @return the weight in bytes, or zero
+   */
+  public int getBasicBlocksWeight() {
+    final BasicBlocks blocks = basicBlocks;
+    return blocks == null ? 0 : blocks.getWeight();
+  }
+
   @Override
   public boolean isValid() {
     return true;
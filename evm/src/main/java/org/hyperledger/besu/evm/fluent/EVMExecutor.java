@@ -664,6 +664,7 @@ public class EVMExecutor {
     final MessageFrame initialMessageFrame =
         MessageFrame.builder()
             .type(messageFrameType)
+            .limbStack(evm.usesLimbStack())
             .worldUpdater(worldUpdater.updater())
             .initialGas(gas)
             .contract(contract)
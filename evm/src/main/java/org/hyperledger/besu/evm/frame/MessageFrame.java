@@ -27,11 +27,13 @@ import org.hyperledger.besu.datatypes.VersionedHash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.code.CodeSection;
+import org.hyperledger.besu.evm.internal.LimbStack;
 import org.hyperledger.besu.evm.internal.MemoryEntry;
 import org.hyperledger.besu.evm.internal.OperandStack;
 import org.hyperledger.besu.evm.internal.ReturnStack;
 import org.hyperledger.besu.evm.internal.StorageEntry;
 import org.hyperledger.besu.evm.internal.UnderflowException;
+import org.hyperledger.besu.evm.internal.WordStack;
 import org.hyperledger.besu.evm.log.Log;
 import org.hyperledger.besu.evm.operation.Operation;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
@@ -213,7 +215,7 @@ public class MessageFrame {
   private int pc;
   private int section = 0;
   private final Memory memory = new Memory();
-  private final OperandStack stack;
+  private WordStack stack;
   private final Supplier<ReturnStack> returnStack;
   private Bytes output = Bytes.EMPTY;
   private Bytes returnData = Bytes.EMPTY;
@@ -271,13 +273,17 @@ public class MessageFrame {
       final Consumer<MessageFrame> completer,
       final Map<String, Object> contextVariables,
       final Optional<Bytes> revertReason,
-      final TxValues txValues) {
+      final TxValues txValues,
+      final boolean limbStack) {
 
     this.txValues = txValues;
     this.type = type;
     this.worldUpdater = worldUpdater;
     this.gasRemaining = initialGas;
-    this.stack = new OperandStack(txValues.maxStackSize());
+    this.stack =
+        limbStack
+            ? new LimbStack(txValues.maxStackSize())
+            : new OperandStack(txValues.maxStackSize());
     this.returnStack =
         Suppliers.memoize(
             () -> {
@@ -550,6 +556,16 @@ public class MessageFrame {
     return stack.size();
   }
 
+  /**
+   * Returns the {@link LimbStack} of this frame, which stores stack words as long limbs. Whether a
+   * frame uses one is decided when it is built; child frames inherit the choice of their parent.
+   *
+   * @return the limb stack of this frame, or null if the frame holds {@code Bytes} items
+   */
+  public LimbStack getLimbStack() {
+    return stack instanceof LimbStack limbStack ? limbStack : null;
+  }
+
   /**
    * Return the current return stack size.
    *
@@ -1315,6 +1331,15 @@ public class MessageFrame {
     return txValues.warmedUpStorage();
   }
 
+  /**
+   * Gets the warmed up storage slots of the transaction.
+   *
+   * @return the warmed up storage
+   */
+  public WarmedUpStorage getWarmedUpStorageSlots() {
+    return txValues.warmedUpStorageTuples();
+  }
+
   /**
    * Gets maybe updated memory.
    *
@@ -1396,6 +1421,7 @@ public class MessageFrame {
     private Code code;
     private BlockValues blockValues;
     private int maxStackSize = DEFAULT_MAX_STACK_SIZE;
+    private boolean limbStack = false;
     private boolean isStatic = false;
     private Consumer<MessageFrame> completer;
     private Address miningBeneficiary;
@@ -1595,6 +1621,18 @@ public class MessageFrame {
       return this;
     }
 
+    /**
+     * Sets whether the frame keeps its stack as long limbs. Ignored when a parent message frame is
+     * present, in which case the frame uses the same kind of stack as its parent.
+     *
+     * @param limbStack true to use a {@link LimbStack}
+     * @return the builder
+     */
+    public Builder limbStack(final boolean limbStack) {
+      this.limbStack = limbStack;
+      return this;
+    }
+
     /**
      * Sets Completer.
      *
@@ -1721,8 +1759,8 @@ public class MessageFrame {
             new TxValues(
                 blockHashLookup,
                 maxStackSize,
-                UndoSet.of(new BytesTrieSet<>(Address.SIZE)),
-                UndoTable.of(HashBasedTable.create()),
+                new WarmedUpAddresses(),
+                new WarmedUpStorage(),
                 originator,
                 gasPrice,
                 blobGasPrice,
@@ -1758,7 +1796,10 @@ public class MessageFrame {
               completer,
               contextVariables == null ? Map.of() : contextVariables,
               reason,
-              newTxValues);
+              newTxValues,
+              parentMessageFrame == null
+                  ? limbStack
+                  : parentMessageFrame.stack instanceof LimbStack);
       newTxValues.messageFrameStack().addFirst(messageFrame);
       messageFrame.warmUpAddress(sender);
       messageFrame.warmUpAddress(contract);
@@ -51,6 +51,33 @@ public record TxValues(
     UndoSet<Address> selfDestructs,
     UndoScalar<Long> gasRefunds) {
 
+  /**
+   * Gets the warmed up addresses as a {@link WarmedUpAddresses}, which is what message frames
+   * create.
+   *
+   * @return the warmed up addresses
+   * @throws IllegalStateException if the record was built with another kind of set
+   */
+  public WarmedUpAddresses warmedUpAddressTuples() {
+    if (warmedUpAddresses instanceof WarmedUpAddresses tuples) {
+      return tuples;
+    }
+    throw new IllegalStateException("Warmed up addresses are not a WarmedUpAddresses");
+  }
+
+  /**
+   * Gets the warmed up storage as a {@link WarmedUpStorage}, which is what message frames create.
+   *
+   * @return the warmed up storage slots
+   * @throws IllegalStateException if the record was built with another kind of table
+   */
+  public WarmedUpStorage warmedUpStorageTuples() {
+    if (warmedUpStorage instanceof WarmedUpStorage tuples) {
+      return tuples;
+    }
+    throw new IllegalStateException("Warmed up storage is not a WarmedUpStorage");
+  }
+
   /**
    * For all data stored in this record, undo the changes since the mark.
    *
@@ -0,0 +1,192 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.frame;
+
+import org.hyperledger.besu.collections.undo.UndoLongTupleSet;
+import org.hyperledger.besu.collections.undo.UndoSet;
+import org.hyperledger.besu.datatypes.Address;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import javax.annotation.Nonnull;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * The addresses warmed up in a transaction, as per EIP-2929. Each address is kept as three longs,
+ * so warming up or checking an address does not allocate.
+ *
+ * <p>Addresses are only removed by {@link #undo(long)}; the other removal methods of the set throw
+ * {@link UnsupportedOperationException}.
+ */
+public final class WarmedUpAddresses extends UndoSet<Address> {
+
+  /** The number of longs an address is stored in. */
+  static final int ADDRESS_LONGS = 3;
+
+  private final Tuples tuples;
+
+  /** Instantiates a new empty set of warmed up addresses. */
+  public WarmedUpAddresses() {
+    this(new Tuples());
+  }
+
+  private WarmedUpAddresses(final Tuples tuples) {
+    super(new View(tuples));
+    this.tuples = tuples;
+  }
+
+  /**
+   * Warms up an address.
+   *
+   * @param address the address
+   * @return true if the address was not warm before
+   */
+  @Override
+  public boolean add(final Address address) {
+    return tuples.add(address);
+  }
+
+  /**
+   * Checks whether an address is warm.
+   *
+   * @param address the address
+   * @return true if the address is warm
+   */
+  public boolean contains(final Address address) {
+    return tuples.contains(address);
+  }
+
+  @Override
+  public boolean contains(final Object key) {
+    return key instanceof Address address && tuples.contains(address);
+  }
+
+  @Override
+  public int size() {
+    return tuples.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return tuples.isEmpty();
+  }
+
+  @Override
+  public boolean remove(final Object key) {
+    throw new UnsupportedOperationException("Warmed up addresses are only removed by undo");
+  }
+
+  @Override
+  public boolean retainAll(@Nonnull final Collection<?> c) {
+    throw new UnsupportedOperationException("Warmed up addresses are only removed by undo");
+  }
+
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException("Warmed up addresses are only removed by undo");
+  }
+
+  @Override
+  public void undo(final long mark) {
+    tuples.undo(mark);
+  }
+
+  @Override
+  public long lastUpdate() {
+    return tuples.lastUpdate();
+  }
+
+  static void writeAddress(final long[] target, final int offset, final Address address) {
+    target[offset] = address.getLong(0);
+    target[offset + 1] = address.getLong(8);
+    target[offset + 2] = address.getInt(16) & 0xFFFFFFFFL;
+  }
+
+  static Address readAddress(final long l0, final long l1, final long l2) {
+    final byte[] bytes = new byte[Address.SIZE];
+    for (int i = 0; i < 8; i++) {
+      bytes[i] = (byte) (l0 >>> (56 - i * 8));
+      bytes[i + 8] = (byte) (l1 >>> (56 - i * 8));
+    }
+    for (int i = 0; i < 4; i++) {
+      bytes[i + 16] = (byte) (l2 >>> (24 - i * 8));
+    }
+    return Address.wrap(Bytes.wrap(bytes));
+  }
+
+  private static final class Tuples extends UndoLongTupleSet {
+
+    Tuples() {
+      super(ADDRESS_LONGS);
+    }
+
+    boolean add(final Address address) {
+      writeAddress(key, 0, address);
+      return addKey();
+    }
+
+    boolean contains(final Address address) {
+      writeAddress(key, 0, address);
+      return containsKey();
+    }
+
+    Address get(final int index) {
+      return readAddress(element(index, 0), element(index, 1), element(index, 2));
+    }
+  }
+
+  // Read only set over the tuples, backing the inherited iteration, array and equality methods
+  private static final class View extends AbstractSet<Address> {
+    private final Tuples tuples;
+
+    View(final Tuples tuples) {
+      this.tuples = tuples;
+    }
+
+    @Override
+    public boolean contains(final Object key) {
+      return key instanceof Address address && tuples.contains(address);
+    }
+
+    @Override
+    public int size() {
+      return tuples.size();
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<Address> iterator() {
+      return new Iterator<>() {
+        private int next = 0;
+
+        @Override
+        public boolean hasNext() {
+          return next < tuples.size();
+        }
+
+        @Override
+        public Address next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          return tuples.get(next++);
+        }
+      };
+    }
+  }
+}
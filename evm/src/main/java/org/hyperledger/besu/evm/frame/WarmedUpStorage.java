@@ -0,0 +1,258 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.frame;
+
+import static org.hyperledger.besu.evm.frame.WarmedUpAddresses.ADDRESS_LONGS;
+
+import org.hyperledger.besu.collections.undo.UndoLongTupleSet;
+import org.hyperledger.besu.collections.undo.UndoTable;
+import org.hyperledger.besu.datatypes.Address;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import javax.annotation.CheckForNull;
+
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Table;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * The storage slots warmed up in a transaction, as per EIP-2929. Each (address, slot) pair is kept
+ * as seven longs, so warming up or checking a slot does not allocate.
+ *
+ * <p>As a table, every warm slot maps to {@link Boolean#TRUE}. Slots are only removed by {@link
+ * #undo(long)}; the other removal methods throw {@link UnsupportedOperationException}. The row,
+ * column, cell and value views are read only snapshots built on each call, meant for tracing.
+ */
+public final class WarmedUpStorage extends UndoTable<Address, Bytes32, Boolean> {
+
+  private static final int SLOT_LONGS = 4;
+
+  private final Tuples tuples = new Tuples();
+
+  /** Instantiates a new empty set of warmed up storage slots. */
+  public WarmedUpStorage() {
+    super(ImmutableTable.of());
+  }
+
+  /**
+   * Warms up a storage slot.
+   *
+   * @param address the address whose storage is being warmed up
+   * @param slot the slot
+   * @return true if the slot was not warm before
+   */
+  public boolean add(final Address address, final Bytes32 slot) {
+    return tuples.add(address, slot);
+  }
+
+  /**
+   * Checks whether a storage slot is warm.
+   *
+   * @param address the address owning the storage
+   * @param slot the slot
+   * @return true if the slot is warm
+   */
+  public boolean contains(final Address address, final Bytes32 slot) {
+    return tuples.contains(address, slot);
+  }
+
+  /**
+   * Calls the action for every warm slot, in the order they were warmed up. This creates new
+   * address and slot objects, so it is meant for tracing rather than execution.
+   *
+   * @param action the action
+   */
+  public void forEach(final BiConsumer<Address, Bytes32> action) {
+    for (int i = 0; i < tuples.size(); i++) {
+      action.accept(tuples.address(i), tuples.slot(i));
+    }
+  }
+
+  @Override
+  public boolean contains(final Object rowKey, final Object columnKey) {
+    return rowKey instanceof Address address
+        && columnKey instanceof Bytes32 slot
+        && tuples.contains(address, slot);
+  }
+
+  @Override
+  @CheckForNull
+  public Boolean get(final Object rowKey, final Object columnKey) {
+    return contains(rowKey, columnKey) ? Boolean.TRUE : null;
+  }
+
+  @Override
+  @CanIgnoreReturnValue
+  @CheckForNull
+  public Boolean put(final Address rowKey, final Bytes32 columnKey, final Boolean value) {
+    if (!Boolean.TRUE.equals(value)) {
+      throw new IllegalArgumentException("Warmed up storage slots can only map to true");
+    }
+    return tuples.add(rowKey, columnKey) ? null : Boolean.TRUE;
+  }
+
+  @Override
+  public void putAll(final Table<? extends Address, ? extends Bytes32, ? extends Boolean> table) {
+    table.cellSet().forEach(cell -> put(cell.getRowKey(), cell.getColumnKey(), cell.getValue()));
+  }
+
+  @Override
+  @CanIgnoreReturnValue
+  @CheckForNull
+  public Boolean remove(final Object rowKey, final Object columnKey) {
+    throw new UnsupportedOperationException("Warmed up storage slots are only removed by undo");
+  }
+
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException("Warmed up storage slots are only removed by undo");
+  }
+
+  @Override
+  public int size() {
+    return tuples.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return tuples.isEmpty();
+  }
+
+  @Override
+  public boolean containsRow(final Object rowKey) {
+    return snapshot().containsRow(rowKey);
+  }
+
+  @Override
+  public boolean containsColumn(final Object columnKey) {
+    return snapshot().containsColumn(columnKey);
+  }
+
+  @Override
+  public boolean containsValue(final Object value) {
+    return Boolean.TRUE.equals(value) && !tuples.isEmpty();
+  }
+
+  @Override
+  public Map<Bytes32, Boolean> row(final Address rowKey) {
+    return snapshot().row(rowKey);
+  }
+
+  @Override
+  public Map<Address, Boolean> column(final Bytes32 columnKey) {
+    return snapshot().column(columnKey);
+  }
+
+  @Override
+  public Set<Cell<Address, Bytes32, Boolean>> cellSet() {
+    return snapshot().cellSet();
+  }
+
+  @Override
+  public Set<Address> rowKeySet() {
+    return snapshot().rowKeySet();
+  }
+
+  @Override
+  public Set<Bytes32> columnKeySet() {
+    return snapshot().columnKeySet();
+  }
+
+  @Override
+  public Collection<Boolean> values() {
+    return snapshot().values();
+  }
+
+  @Override
+  public Map<Address, Map<Bytes32, Boolean>> rowMap() {
+    return snapshot().rowMap();
+  }
+
+  @Override
+  public Map<Bytes32, Map<Address, Boolean>> columnMap() {
+    return snapshot().columnMap();
+  }
+
+  @Override
+  public void undo(final long mark) {
+    tuples.undo(mark);
+  }
+
+  @Override
+  public long lastUpdate() {
+    return tuples.lastUpdate();
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    return o instanceof UndoTable && snapshot().equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    return snapshot().hashCode() ^ 0xde1e647e;
+  }
+
+  private ImmutableTable<Address, Bytes32, Boolean> snapshot() {
+    final ImmutableTable.Builder<Address, Bytes32, Boolean> builder = ImmutableTable.builder();
+    forEach((address, slot) -> builder.put(address, slot, Boolean.TRUE));
+    return builder.build();
+  }
+
+  private static final class Tuples extends UndoLongTupleSet {
+
+    Tuples() {
+      super(ADDRESS_LONGS + SLOT_LONGS);
+    }
+
+    boolean add(final Address address, final Bytes32 slot) {
+      writeKey(address, slot);
+      return addKey();
+    }
+
+    boolean contains(final Address address, final Bytes32 slot) {
+      writeKey(address, slot);
+      return containsKey();
+    }
+
+    Address address(final int index) {
+      return WarmedUpAddresses.readAddress(
+          element(index, 0), element(index, 1), element(index, 2));
+    }
+
+    Bytes32 slot(final int index) {
+      final byte[] slot = new byte[Bytes32.SIZE];
+      for (int limb = 0; limb < SLOT_LONGS; limb++) {
+        final long value = element(index, ADDRESS_LONGS + limb);
+        for (int j = 0; j < 8; j++) {
+          slot[limb * 8 + j] = (byte) (value >>> (56 - j * 8));
+        }
+      }
+      return Bytes32.wrap(slot);
+    }
+
+    private void writeKey(final Address address, final Bytes32 slot) {
+      WarmedUpAddresses.writeAddress(key, 0, address);
+      key[ADDRESS_LONGS] = slot.getLong(0);
+      key[ADDRESS_LONGS + 1] = slot.getLong(8);
+      key[ADDRESS_LONGS + 2] = slot.getLong(16);
+      key[ADDRESS_LONGS + 3] = slot.getLong(24);
+    }
+  }
+}
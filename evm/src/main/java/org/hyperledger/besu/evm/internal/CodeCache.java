@@ -14,17 +14,48 @@
  */
 package org.hyperledger.besu.evm.internal;
 
+import static java.util.concurrent.TimeUnit.MINUTES;
+
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /** The Code cache. */
 public class CodeCache {
+  private static final Logger LOG = LoggerFactory.getLogger(CodeCache.class);
+
+  /** The most entries kept in a code cache file, hottest first. */
+  static final int MAX_STORED_ENTRIES = 4096;
+
+  private static final long STORE_INTERVAL_MINUTES = 10;
+
+  private static final ScheduledExecutorService STORE_EXECUTOR =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "EvmCodeCacheWriter");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  // one cache per file, so each file has a single writer
+  private static final Map<Path, CodeCache> PERSISTED_CACHES = new ConcurrentHashMap<>();
 
   private final Cache<Hash, Code> cache;
   private final long weightLimit;
+  private final CodeCacheStore store;
+  private final AtomicBoolean modified = new AtomicBoolean();
 
   /**
    * Instantiates a new Code cache.
@@ -32,13 +63,89 @@ public class CodeCache {
    * @param config the config
    */
   public CodeCache(final EvmConfiguration config) {
-    this(config.getJumpDestCacheWeightBytes());
+    this(config.getJumpDestCacheWeightBytes(), null);
+  }
+
+  /**
+   * Gets a code cache that is persisted to the code cache directory of the config, if there is one,
+   * or a new in memory cache otherwise. A persisted cache starts with the entries stored by an
+   * earlier run, and its hottest entries are written back in the background and on shutdown.
+   *
+   * <p>Persisted caches are shared: every EVM asking for the same file gets the same cache, so
+   * there is only ever one writer per file.
+   *
+   * @param config the config
+   * @param name the name of the file in the code cache directory, unique per EVM version
+   * @param maxEofVersion the max EOF version of the EVM, used to recreate stored code
+   * @return the code cache
+   */
+  public static CodeCache forEvm(
+      final EvmConfiguration config, final String name, final int maxEofVersion) {
+    return config
+        .codeCacheDirectory()
+        .map(directory -> directory.resolve("code-cache-" + name + ".bin").toAbsolutePath())
+        .map(
+            file ->
+                PERSISTED_CACHES.computeIfAbsent(
+                    file.normalize(),
+                    f ->
+                        persisted(
+                            config.getJumpDestCacheWeightBytes(),
+                            new CodeCacheStore(f, maxEofVersion))))
+        .orElseGet(() -> new CodeCache(config));
   }
 
-  private CodeCache(final long maxWeightBytes) {
+  private static CodeCache persisted(final long maxWeightBytes, final CodeCacheStore store) {
+    final CodeCache codeCache = new CodeCache(maxWeightBytes, store);
+    STORE_EXECUTOR.scheduleWithFixedDelay(
+        codeCache::storeIfModified, STORE_INTERVAL_MINUTES, STORE_INTERVAL_MINUTES, MINUTES);
+    Runtime.getRuntime()
+        .addShutdownHook(new Thread(codeCache::storeIfModified, "EvmCodeCacheWriter-shutdown"));
+    return codeCache;
+  }
+
+  /**
+   * Instantiates a new Code cache, filled with the entries of the store if there is one. The
+   * caller is responsible for writing the entries back.
+   *
+   * @param maxWeightBytes the max weight of the cache
+   * @param store the store, or null
+   */
+  CodeCache(final long maxWeightBytes, final CodeCacheStore store) {
     this.weightLimit = maxWeightBytes;
     this.cache =
         Caffeine.newBuilder().maximumWeight(maxWeightBytes).weigher(new CodeScale()).build();
+    this.store = store;
+    if (store != null) {
+      final Map<Hash, Code> stored = store.load();
+      cache.putAll(stored);
+      LOG.debug("Loaded {} entries from code cache file {}", stored.size(), store.getFile());
+    }
+  }
+
+  /**
+   * Write the hottest entries to the code cache file, if any entry was added since the last
+   * write.
+   */
+  void storeIfModified() {
+    if (store == null || !modified.getAndSet(false)) {
+      return;
+    }
+    try {
+      store.write(hottest(MAX_STORED_ENTRIES));
+    } catch (final IOException | RuntimeException e) {
+      LOG.warn("Unable to write code cache file {}", store.getFile(), e);
+    }
+  }
+
+  /**
+   * Gets the most used entries, as judged by the eviction policy of the cache.
+   *
+   * @param limit the maximum number of entries
+   * @return the hottest entries, hottest first
+   */
+  Map<Hash, Code> hottest(final int limit) {
+    return cache.policy().eviction().map(eviction -> eviction.hottest(limit)).orElseGet(Map::of);
   }
 
   /**
@@ -73,6 +180,9 @@ public class CodeCache {
    */
   public void put(final Hash key, final Code value) {
     cache.put(key, value);
+    if (store != null) {
+      modified.set(true);
+    }
   }
 
   /**
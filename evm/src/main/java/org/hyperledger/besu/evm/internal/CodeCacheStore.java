@@ -0,0 +1,185 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A file holding analyzed code, so that a restarted node can fill its {@link CodeCache} without
+ * analyzing its hottest contracts again.
+ *
+ * <p>Each entry holds the code hash and the code itself. Nothing learned about the code is stored:
+ * the file is not trusted, so on load every entry is checked against its hash and the code is
+ * analyzed and validated again exactly as code read from the world state would be. The file is
+ * always rewritten as a whole, to a temporary file that is then moved over the old one, so a crash
+ * while writing leaves the previous snapshot in place. A CRC32 over the content guards against
+ * partial or damaged files, which are ignored.
+ */
+class CodeCacheStore {
+  private static final Logger LOG = LoggerFactory.getLogger(CodeCacheStore.class);
+
+  private static final int MAGIC = 0x45564d43; // "EVMC"
+  private static final int FORMAT_VERSION = 2;
+
+  private final Path file;
+  private final int maxEofVersion;
+
+  /**
+   * Instantiates a new Code cache store.
+   *
+   * @param file the file the entries are stored in
+   * @param maxEofVersion the max EOF version used to recreate the stored code
+   */
+  CodeCacheStore(final Path file, final int maxEofVersion) {
+    this.file = file;
+    this.maxEofVersion = maxEofVersion;
+  }
+
+  /**
+   * Gets the file the entries are stored in.
+   *
+   * @return the file
+   */
+  Path getFile() {
+    return file;
+  }
+
+  /**
+   * Read all entries from the file. A missing, truncated or damaged file gives no entries, and
+   * entries whose code does not match their hash are skipped.
+   *
+   * @return the entries, in the order they were written
+   */
+  Map<Hash, Code> load() {
+    if (!Files.isRegularFile(file)) {
+      return Map.of();
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final long size = channel.size();
+      if (size < 16 || size > Integer.MAX_VALUE) {
+        LOG.warn("Ignoring code cache file {} with unexpected size {}", file, size);
+        return Map.of();
+      }
+      final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      final CRC32 crc = new CRC32();
+      crc.update(buffer.slice(0, (int) size - 4));
+      if ((int) crc.getValue() != buffer.getInt((int) size - 4)) {
+        LOG.warn("Ignoring code cache file {} with a bad checksum", file);
+        return Map.of();
+      }
+      if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+        LOG.warn("Ignoring code cache file {} with an unknown format", file);
+        return Map.of();
+      }
+      final int count = buffer.getInt();
+      final Map<Hash, Code> entries = new LinkedHashMap<>();
+      int mismatched = 0;
+      for (int i = 0; i < count; i++) {
+        final Hash hash = Hash.wrap(Bytes32.wrap(readBytes(buffer, Bytes32.SIZE)));
+        final Bytes bytes = Bytes.wrap(readBytes(buffer, buffer.getInt()));
+        if (!Hash.hash(bytes).equals(hash)) {
+          mismatched++;
+          continue;
+        }
+        entries.put(hash, CodeFactory.createCode(bytes, maxEofVersion, false));
+      }
+      if (mismatched > 0) {
+        LOG.warn(
+            "Skipped {} entries not matching their hash in code cache file {}", mismatched, file);
+      }
+      return entries;
+    } catch (final IOException | BufferUnderflowException | IllegalArgumentException e) {
+      LOG.warn("Unable to read code cache file {}", file, e);
+      return Map.of();
+    }
+  }
+
+  /**
+   * Replace the content of the file with the given entries.
+   *
+   * @param entries the entries to store
+   * @throws IOException if the file cannot be written
+   */
+  void write(final Map<Hash, Code> entries) throws IOException {
+    final ByteArrayOutputStream content = new ByteArrayOutputStream();
+    final DataOutputStream out = new DataOutputStream(content);
+    out.writeInt(MAGIC);
+    out.writeInt(FORMAT_VERSION);
+    final int countPosition = out.size();
+    out.writeInt(0);
+    int count = 0;
+    for (final Map.Entry<Hash, Code> entry : entries.entrySet()) {
+      out.write(entry.getKey().toArrayUnsafe());
+      final byte[] bytes = entry.getValue().getBytes().toArrayUnsafe();
+      out.writeInt(bytes.length);
+      out.write(bytes);
+      count++;
+    }
+    out.flush();
+
+    final byte[] data = content.toByteArray();
+    ByteBuffer.wrap(data).putInt(countPosition, count);
+    final CRC32 crc = new CRC32();
+    crc.update(data);
+
+    final Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    // a unique temporary file, so that concurrent writers never write to the same file
+    final Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+        channel.write(ByteBuffer.wrap(data));
+        channel.write(ByteBuffer.allocate(4).putInt(0, (int) crc.getValue()));
+        channel.force(true);
+      }
+      Files.move(
+          tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  private static byte[] readBytes(final ByteBuffer buffer, final int length) {
+    if (length < 0) {
+      throw new IllegalArgumentException("Negative length " + length);
+    }
+    final byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return bytes;
+  }
+}
@@ -16,12 +16,14 @@ package org.hyperledger.besu.evm.internal;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeV0;
 
 import com.github.benmanes.caffeine.cache.Weigher;
 
 class CodeScale implements Weigher<Hash, Code> {
   @Override
   public int weigh(final Hash key, final Code code) {
-    return ((code.getSize() * 9 + 7) / 8) + key.size();
+    final int basicBlocksWeight = code instanceof CodeV0 codeV0 ? codeV0.getBasicBlocksWeight() : 0;
+    return ((code.getSize() * 9 + 7) / 8) + basicBlocksWeight + key.size();
   }
 }
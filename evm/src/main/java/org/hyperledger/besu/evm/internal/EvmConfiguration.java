@@ -14,8 +14,15 @@
  */
 package org.hyperledger.besu.evm.internal;
 
+import java.nio.file.Path;
+import java.util.Optional;
+
 /** The Evm configuration. */
-public record EvmConfiguration(long jumpDestCacheWeightKB, WorldUpdaterMode worldUpdaterMode) {
+public record EvmConfiguration(
+    long jumpDestCacheWeightKB,
+    WorldUpdaterMode worldUpdaterMode,
+    OperandStackMode operandStackMode,
+    Optional<Path> codeCacheDirectory) {
 
   /** How should the world state update be handled within transactions? */
   public enum WorldUpdaterMode {
@@ -27,9 +34,42 @@ public record EvmConfiguration(long jumpDestCacheWeightKB, WorldUpdaterMode worl
     JOURNALED
   }
 
+  /** How should operand stack words be stored while the interpreter runs? */
+  public enum OperandStackMode {
+    /** Each stack word is an immutable {@code Bytes} object. */
+    BYTES,
+    /** Stack words are stored as four {@code long} limbs in a flat primitive array. */
+    LONG_LIMBS
+  }
+
   /** The constant DEFAULT. */
   public static final EvmConfiguration DEFAULT =
-      new EvmConfiguration(32_000L, WorldUpdaterMode.STACKED);
+      new EvmConfiguration(32_000L, WorldUpdaterMode.STACKED, OperandStackMode.BYTES);
+
+  /**
+   * Instantiates a new Evm configuration without a persistent code cache.
+   *
+   * @param jumpDestCacheWeightKB the jump dest cache weight in kilobytes
+   * @param worldUpdaterMode the world updater mode
+   * @param operandStackMode the operand stack mode
+   */
+  public EvmConfiguration(
+      final long jumpDestCacheWeightKB,
+      final WorldUpdaterMode worldUpdaterMode,
+      final OperandStackMode operandStackMode) {
+    this(jumpDestCacheWeightKB, worldUpdaterMode, operandStackMode, Optional.empty());
+  }
+
+  /**
+   * Instantiates a new Evm configuration using the default {@code Bytes} operand stack.
+   *
+   * @param jumpDestCacheWeightKB the jump dest cache weight in kilobytes
+   * @param worldUpdaterMode the world updater mode
+   */
+  public EvmConfiguration(
+      final long jumpDestCacheWeightKB, final WorldUpdaterMode worldUpdaterMode) {
+    this(jumpDestCacheWeightKB, worldUpdaterMode, OperandStackMode.BYTES);
+  }
 
   /**
    * Gets jump dest cache weight bytes.
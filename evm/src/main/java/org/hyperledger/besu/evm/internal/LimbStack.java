@@ -0,0 +1,290 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * An operand stack for the Ethereum Virtual machine (EVM) that stores each 256-bit word as four
+ * {@code long} limbs in a single flat array, rather than as one {@code Bytes} object per word.
+ *
+ * <p>Word {@code i} (counted from the bottom of the stack) occupies {@code limbs[4 * i]} through
+ * {@code limbs[4 * i + 3]}, most significant limb first, so the limb order matches the big-endian
+ * byte order of the word. Operations that know about this layout can work on the array directly
+ * through {@link #limbs()}; everything else keeps using the {@code Bytes} based {@link WordStack}
+ * API, which converts at the boundary.
+ *
+ * <p>Like {@link FlexStack} the backing array grows 32 words at a time, up to maxSize.
+ */
+public class LimbStack implements WordStack {
+
+  /** The number of limbs in one stack word. */
+  public static final int WORD_LIMBS = 4;
+
+  private static final int INCREMENT = 32 * WORD_LIMBS;
+
+  private long[] limbs;
+
+  private final int maxSize;
+
+  private int top;
+
+  /**
+   * Instantiates a new Limb stack.
+   *
+   * @param maxSize the max size
+   */
+  public LimbStack(final int maxSize) {
+    checkArgument(maxSize > 0, "max size must be positive");
+    this.limbs = new long[Math.min(INCREMENT, maxSize * WORD_LIMBS)];
+    this.maxSize = maxSize;
+    this.top = -1;
+  }
+
+  /**
+   * The backing limb array. The array may be replaced when the stack grows, so callers must fetch
+   * it again after calling {@link #grow()}.
+   *
+   * @return the limb array
+   */
+  public long[] limbs() {
+    return limbs;
+  }
+
+  /**
+   * Verifies that at least {@code items} words are on the stack and returns the offset of the top
+   * word in the limb array.
+   *
+   * @param items the number of words the caller is about to read
+   * @return the offset of the most significant limb of the top word
+   * @throws UnderflowException if there are fewer than {@code items} words on the stack
+   */
+  public int require(final int items) {
+    if (top + 1 < items) {
+      throw new UnderflowException();
+    }
+    return top * WORD_LIMBS;
+  }
+
+  /**
+   * Removes the given number of words from the top of the stack without reading them. Callers must
+   * have checked the stack height with {@link #require(int)} first.
+   *
+   * @param items the number of words to drop
+   */
+  public void drop(final int items) {
+    top -= items;
+  }
+
+  /**
+   * Adds a new word on top of the stack without initializing it.
+   *
+   * @return the offset of the most significant limb of the new top word
+   * @throws OverflowException if the stack is full
+   */
+  public int grow() {
+    final int nextTop = top + 1;
+    if (nextTop >= maxSize) {
+      throw new OverflowException();
+    }
+    final int offset = nextTop * WORD_LIMBS;
+    if (offset >= limbs.length) {
+      limbs = Arrays.copyOf(limbs, Math.min(limbs.length + INCREMENT, maxSize * WORD_LIMBS));
+    }
+    top = nextTop;
+    return offset;
+  }
+
+  /**
+   * Push a word given as four limbs, most significant first.
+   *
+   * @param l0 the most significant limb
+   * @param l1 the second limb
+   * @param l2 the third limb
+   * @param l3 the least significant limb
+   */
+  public void push(final long l0, final long l1, final long l2, final long l3) {
+    final int offset = grow();
+    limbs[offset] = l0;
+    limbs[offset + 1] = l1;
+    limbs[offset + 2] = l2;
+    limbs[offset + 3] = l3;
+  }
+
+  /**
+   * Reads the word at the given limb offset as {@code Bytes}.
+   *
+   * @param offset the offset of the most significant limb
+   * @return the word as 32 bytes
+   */
+  public Bytes toBytes(final int offset) {
+    final byte[] result = new byte[32];
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      final long limb = limbs[offset + i];
+      final int base = i * 8;
+      for (int j = 0; j < 8; j++) {
+        result[base + j] = (byte) (limb >>> (56 - j * 8));
+      }
+    }
+    return Bytes32.wrap(result);
+  }
+
+  private void fromBytes(final int offset, final Bytes value) {
+    final int size = value.size();
+    if (size == 32) {
+      limbs[offset] = value.getLong(0);
+      limbs[offset + 1] = value.getLong(8);
+      limbs[offset + 2] = value.getLong(16);
+      limbs[offset + 3] = value.getLong(24);
+      return;
+    }
+    limbs[offset] = 0;
+    limbs[offset + 1] = 0;
+    limbs[offset + 2] = 0;
+    limbs[offset + 3] = 0;
+    // right align the value, keeping only the low 32 bytes as UInt256 would
+    final int shift = size - 32;
+    for (int i = Math.max(0, shift); i < size; i++) {
+      final int pos = i - shift;
+      limbs[offset + (pos >>> 3)] |= (value.get(i) & 0xFFL) << ((7 - (pos & 7)) << 3);
+    }
+  }
+
+  @Override
+  public Bytes get(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+
+    return toBytes((top - offset) * WORD_LIMBS);
+  }
+
+  @Override
+  public Bytes pop() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+
+    return toBytes(top-- * WORD_LIMBS);
+  }
+
+  @Override
+  public Bytes peek() {
+    if (top < 0) {
+      return null;
+    } else {
+      return toBytes(top * WORD_LIMBS);
+    }
+  }
+
+  @Override
+  public void bulkPop(final int items) {
+    checkArgument(items > 0, "number of items to pop must be greater than 0");
+    if (items > size()) {
+      throw new UnderflowException();
+    }
+
+    top -= items;
+  }
+
+  @Override
+  public void preserveTop(final int cutPoint, final int itemsToKeep) {
+    checkArgument(cutPoint >= 0, "cutPoint must be positive");
+    checkArgument(itemsToKeep >= 0, "itemsToKeep must be positive");
+    if (itemsToKeep == 0) {
+      if (cutPoint < size()) {
+        bulkPop(top - cutPoint);
+      }
+    } else {
+      int targetSize = cutPoint + itemsToKeep;
+      int currentSize = size();
+      if (targetSize > currentSize) {
+        throw new UnderflowException();
+      } else if (targetSize < currentSize) {
+        System.arraycopy(
+            limbs,
+            (currentSize - itemsToKeep) * WORD_LIMBS,
+            limbs,
+            cutPoint * WORD_LIMBS,
+            itemsToKeep * WORD_LIMBS);
+        top = targetSize - 1;
+      }
+    }
+  }
+
+  @Override
+  public void push(final Bytes operand) {
+    fromBytes(grow(), operand);
+  }
+
+  @Override
+  public void set(final int offset, final Bytes operand) {
+    if (offset < 0) {
+      throw new UnderflowException();
+    } else if (offset > top) {
+      throw new OverflowException();
+    }
+
+    fromBytes((top - offset) * WORD_LIMBS, operand);
+  }
+
+  @Override
+  public int size() {
+    return top + 1;
+  }
+
+  @Override
+  public boolean isFull() {
+    return top + 1 >= maxSize;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return top < 0;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i <= top; ++i) {
+      builder.append(String.format("%n0x%04X ", i)).append(toBytes(i * WORD_LIMBS));
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public int hashCode() {
+    int result = 1;
+    for (int i = 0; i < (top + 1) * WORD_LIMBS; i++) {
+      result = 31 * result + Long.hashCode(limbs[i]);
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof LimbStack that)) {
+      return false;
+    }
+    return this.top == that.top
+        && Arrays.equals(
+            this.limbs, 0, (top + 1) * WORD_LIMBS, that.limbs, 0, (top + 1) * WORD_LIMBS);
+  }
+}
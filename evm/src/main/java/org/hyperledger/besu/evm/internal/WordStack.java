@@ -0,0 +1,99 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * The operand stack of a message frame, holding 256-bit words. Implemented by {@link
+ * OperandStack}, which keeps one {@code Bytes} object per word, and by {@link LimbStack}, which
+ * keeps the words as long limbs.
+ */
+public interface WordStack {
+
+  /**
+   * Get operand.
+   *
+   * @param offset the offset from the top of the stack
+   * @return the operand
+   */
+  Bytes get(int offset);
+
+  /**
+   * Pop operand.
+   *
+   * @return the operand
+   */
+  Bytes pop();
+
+  /**
+   * Peek at the top of the stack.
+   *
+   * @return the top operand, or null if the stack is empty
+   */
+  Bytes peek();
+
+  /**
+   * Pops the given number of items off the stack.
+   *
+   * @param items the number of items to pop
+   */
+  void bulkPop(int items);
+
+  /**
+   * Trims the "middle" section of items out of the stack. Items below the cutpoint remains, and of
+   * the items above only the itemsToKeep items remain. All items in the middle are removed.
+   *
+   * @param cutPoint Point at which to start removing items
+   * @param itemsToKeep Number of items on top to place at the cutPoint
+   */
+  void preserveTop(int cutPoint, int itemsToKeep);
+
+  /**
+   * Push operand.
+   *
+   * @param operand the operand
+   */
+  void push(Bytes operand);
+
+  /**
+   * Set operand.
+   *
+   * @param offset the offset from the top of the stack
+   * @param operand the operand
+   */
+  void set(int offset, Bytes operand);
+
+  /**
+   * Size of the stack.
+   *
+   * @return the number of items on the stack
+   */
+  int size();
+
+  /**
+   * Is the stack full.
+   *
+   * @return true if no more items can be pushed
+   */
+  boolean isFull();
+
+  /**
+   * Is the stack empty.
+   *
+   * @return true if there are no items on the stack
+   */
+  boolean isEmpty();
+}
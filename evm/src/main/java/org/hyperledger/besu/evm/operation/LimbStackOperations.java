@@ -0,0 +1,763 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.operation;
+
+import static org.hyperledger.besu.evm.internal.LimbStack.WORD_LIMBS;
+
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.LimbStack;
+import org.hyperledger.besu.evm.operation.Operation.OperationResult;
+
+import java.math.BigInteger;
+
+/**
+ * Static versions of the arithmetic, comparison, bitwise and stack manipulation operations that
+ * work directly on the limbs of a {@link LimbStack}, without materializing a {@code Bytes} object
+ * per word.
+ *
+ * <p>Each method has the same stack semantics, gas cost and failure behaviour as the {@code
+ * staticOperation} of the matching operation class. Words are laid out as described in {@link
+ * LimbStack}: four limbs per word, most significant limb first.
+ */
+public final class LimbStackOperations {
+
+  private LimbStackOperations() {}
+
+  /**
+   * Returns the gas charged when the operation for the given opcode succeeds, for the opcodes
+   * implemented in this class plus JUMPDEST. Every one of them has a fixed cost, which lets the
+   * interpreter charge a whole basic block of them at once.
+   *
+   * @param opcode the opcode
+   * @return the fixed gas cost, or -1 if the opcode is not implemented here
+   */
+  public static long staticGasCost(final int opcode) {
+    final OperationResult result;
+    if (opcode >= PushOperation.PUSH_BASE + 1 && opcode <= PushOperation.PUSH_MAX) {
+      result = PushOperation.pushSuccess;
+    } else if (opcode >= DupOperation.DUP_BASE + 1 && opcode <= DupOperation.DUP_BASE + 16) {
+      result = DupOperation.dupSuccess;
+    } else if (opcode >= SwapOperation.SWAP_BASE + 1 && opcode <= SwapOperation.SWAP_BASE + 16) {
+      result = SwapOperation.swapSuccess;
+    } else {
+      result =
+          switch (opcode) {
+            case 0x01 -> AddOperation.addSuccess;
+            case 0x02 -> MulOperation.mulSuccess;
+            case 0x03 -> SubOperation.subSuccess;
+            case 0x04 -> DivOperation.divSuccess;
+            case 0x06 -> ModOperation.modSuccess;
+            case 0x0b -> SignExtendOperation.signExtendSuccess;
+            case 0x10 -> LtOperation.ltSuccess;
+            case 0x11 -> GtOperation.gtSuccess;
+            case 0x12 -> SLtOperation.sltSuccess;
+            case 0x13 -> SGtOperation.sgtSuccess;
+            case 0x14 -> EqOperation.eqSuccess;
+            case 0x15 -> IsZeroOperation.isZeroSuccess;
+            case 0x16 -> AndOperation.andSuccess;
+            case 0x17 -> OrOperation.orSuccess;
+            case 0x18 -> XorOperation.xorSuccess;
+            case 0x19 -> NotOperation.notSuccess;
+            case 0x1a -> ByteOperation.byteSuccess;
+            case 0x1b -> ShlOperation.shlSuccess;
+            case 0x1c -> ShrOperation.shrSuccess;
+            case 0x1d -> SarOperation.sarSuccess;
+            case 0x50 -> PopOperation.popSuccess;
+            case 0x56 -> JumpOperation.jumpResponse;
+            case 0x57 -> JumpiOperation.jumpiResponse;
+            case 0x5b -> JumpDestOperation.JUMPDEST_SUCCESS;
+            case 0x5f -> Push0Operation.push0Success;
+            default -> null;
+          };
+    }
+    return result == null ? -1L : result.getGasCost();
+  }
+
+  /**
+   * Performs the ADD operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult add(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    long carry = 0;
+    for (int i = WORD_LIMBS - 1; i >= 0; i--) {
+      final long x = s[a + i];
+      final long y = s[b + i];
+      final long sum = x + y + carry;
+      carry = ((x & y) | ((x | y) & ~sum)) >>> 63;
+      s[b + i] = sum;
+    }
+    stack.drop(1);
+    return AddOperation.addSuccess;
+  }
+
+  /**
+   * Performs the SUB operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult sub(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    long borrow = 0;
+    for (int i = WORD_LIMBS - 1; i >= 0; i--) {
+      final long x = s[a + i];
+      final long y = s[b + i];
+      final long diff = x - y - borrow;
+      borrow = ((~x & y) | (~(x ^ y) & diff)) >>> 63;
+      s[b + i] = diff;
+    }
+    stack.drop(1);
+    return SubOperation.subSuccess;
+  }
+
+  /**
+   * Performs the MUL operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult mul(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    // x0 and y0 are the least significant limbs
+    final long x0 = s[a + 3];
+    final long x1 = s[a + 2];
+    final long x2 = s[a + 1];
+    final long x3 = s[a];
+    final long y0 = s[b + 3];
+    final long y1 = s[b + 2];
+    final long y2 = s[b + 1];
+    final long y3 = s[b];
+
+    // Schoolbook multiplication truncated to 256 bits. Every partial sum below fits in 128 bits,
+    // so adding the carries to the high half of a product can never overflow.
+    long lo = x0 * y0;
+    long carry = unsignedMultiplyHigh(x0, y0);
+    final long r0 = lo;
+
+    lo = x0 * y1;
+    long r1 = lo + carry;
+    carry = unsignedMultiplyHigh(x0, y1) + carryOf(r1, lo);
+
+    lo = x0 * y2;
+    long r2 = lo + carry;
+    carry = unsignedMultiplyHigh(x0, y2) + carryOf(r2, lo);
+
+    long r3 = x0 * y3 + carry;
+
+    lo = x1 * y0;
+    long sum = r1 + lo;
+    carry = unsignedMultiplyHigh(x1, y0) + carryOf(sum, r1);
+    r1 = sum;
+
+    lo = x1 * y1;
+    sum = r2 + lo;
+    long c = carryOf(sum, r2);
+    final long sumWithCarry = sum + carry;
+    c += carryOf(sumWithCarry, sum);
+    carry = unsignedMultiplyHigh(x1, y1) + c;
+    r2 = sumWithCarry;
+
+    r3 += x1 * y2 + carry;
+
+    lo = x2 * y0;
+    sum = r2 + lo;
+    carry = unsignedMultiplyHigh(x2, y0) + carryOf(sum, r2);
+    r2 = sum;
+
+    r3 += x2 * y1 + carry;
+    r3 += x3 * y0;
+
+    s[b] = r3;
+    s[b + 1] = r2;
+    s[b + 2] = r1;
+    s[b + 3] = r0;
+    stack.drop(1);
+    return MulOperation.mulSuccess;
+  }
+
+  /**
+   * Performs the DIV operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult div(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    if (isZero(s, b)) {
+      // division by zero is zero, which is what is already in the slot.
+    } else if (fitsInLong(s, a) && fitsInLong(s, b)) {
+      s[b + 3] = Long.divideUnsigned(s[a + 3], s[b + 3]);
+    } else {
+      fromBigInteger(s, b, toBigInteger(s, a).divide(toBigInteger(s, b)));
+    }
+    stack.drop(1);
+    return DivOperation.divSuccess;
+  }
+
+  /**
+   * Performs the MOD operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult mod(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    if (isZero(s, b)) {
+      // modulo zero is zero, which is what is already in the slot.
+    } else if (fitsInLong(s, a) && fitsInLong(s, b)) {
+      s[b + 3] = Long.remainderUnsigned(s[a + 3], s[b + 3]);
+    } else {
+      fromBigInteger(s, b, toBigInteger(s, a).mod(toBigInteger(s, b)));
+    }
+    stack.drop(1);
+    return ModOperation.modSuccess;
+  }
+
+  /**
+   * Performs the SIGNEXTEND operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult signExtend(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    final long byteIndex = s[a + 3];
+    // Any value >= 31 leaves the value unchanged.
+    if (fitsInLong(s, a) && byteIndex >= 0 && byteIndex < 31) {
+      final int bit = (int) byteIndex * 8 + 7;
+      final int limb = b + WORD_LIMBS - 1 - (bit >>> 6);
+      final int bitInLimb = bit & 63;
+      final long mask = bitInLimb == 63 ? -1L : (1L << (bitInLimb + 1)) - 1;
+      final boolean negative = ((s[limb] >>> bitInLimb) & 1L) != 0;
+      s[limb] = negative ? s[limb] | ~mask : s[limb] & mask;
+      final long fill = negative ? -1L : 0L;
+      for (int i = b; i < limb; i++) {
+        s[i] = fill;
+      }
+    }
+    stack.drop(1);
+    return SignExtendOperation.signExtendSuccess;
+  }
+
+  /**
+   * Performs the LT operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult lt(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    setBoolean(s, b, compareUnsigned(s, a, b) < 0);
+    stack.drop(1);
+    return LtOperation.ltSuccess;
+  }
+
+  /**
+   * Performs the GT operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult gt(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    setBoolean(s, b, compareUnsigned(s, a, b) > 0);
+    stack.drop(1);
+    return GtOperation.gtSuccess;
+  }
+
+  /**
+   * Performs the SLT operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult slt(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    setBoolean(s, b, compareSigned(s, a, b) < 0);
+    stack.drop(1);
+    return SLtOperation.sltSuccess;
+  }
+
+  /**
+   * Performs the SGT operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult sgt(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    setBoolean(s, b, compareSigned(s, a, b) > 0);
+    stack.drop(1);
+    return SGtOperation.sgtSuccess;
+  }
+
+  /**
+   * Performs the EQ operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult eq(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    setBoolean(s, b, compareUnsigned(s, a, b) == 0);
+    stack.drop(1);
+    return EqOperation.eqSuccess;
+  }
+
+  /**
+   * Performs the ISZERO operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult isZero(final LimbStack stack) {
+    final int a = stack.require(1);
+    final long[] s = stack.limbs();
+    setBoolean(s, a, isZero(s, a));
+    return IsZeroOperation.isZeroSuccess;
+  }
+
+  /**
+   * Performs the AND operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult and(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      s[b + i] &= s[a + i];
+    }
+    stack.drop(1);
+    return AndOperation.andSuccess;
+  }
+
+  /**
+   * Performs the OR operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult or(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      s[b + i] |= s[a + i];
+    }
+    stack.drop(1);
+    return OrOperation.orSuccess;
+  }
+
+  /**
+   * Performs the XOR operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult xor(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      s[b + i] ^= s[a + i];
+    }
+    stack.drop(1);
+    return XorOperation.xorSuccess;
+  }
+
+  /**
+   * Performs the NOT operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult not(final LimbStack stack) {
+    final int a = stack.require(1);
+    final long[] s = stack.limbs();
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      s[a + i] = ~s[a + i];
+    }
+    return NotOperation.notSuccess;
+  }
+
+  /**
+   * Performs the BYTE operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult byteOp(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    final long index = s[a + 3];
+    long result = 0;
+    if (fitsInLong(s, a) && index >= 0 && index < 32) {
+      final int i = (int) index;
+      result = (s[b + (i >>> 3)] >>> ((7 - (i & 7)) << 3)) & 0xFFL;
+    }
+    s[b] = 0;
+    s[b + 1] = 0;
+    s[b + 2] = 0;
+    s[b + 3] = result;
+    stack.drop(1);
+    return ByteOperation.byteSuccess;
+  }
+
+  /**
+   * Performs the SHL operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult shl(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    final long shift = s[a + 3];
+    if (!fitsInLong(s, a) || shift < 0 || shift >= 256) {
+      fill(s, b, 0L);
+    } else {
+      final int limbShift = (int) shift >>> 6;
+      final int bitShift = (int) shift & 63;
+      // each result limb only reads limbs at or after its own index, so ascend in place
+      for (int i = 0; i < WORD_LIMBS; i++) {
+        final int src = i + limbShift;
+        final long hi = src < WORD_LIMBS ? s[b + src] : 0L;
+        if (bitShift == 0) {
+          s[b + i] = hi;
+        } else {
+          final long lo = src + 1 < WORD_LIMBS ? s[b + src + 1] : 0L;
+          s[b + i] = (hi << bitShift) | (lo >>> (64 - bitShift));
+        }
+      }
+    }
+    stack.drop(1);
+    return ShlOperation.shlSuccess;
+  }
+
+  /**
+   * Performs the SHR operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult shr(final LimbStack stack) {
+    final int a = stack.require(2);
+    shiftRight(stack.limbs(), a, a - WORD_LIMBS, 0L);
+    stack.drop(1);
+    return ShrOperation.shrSuccess;
+  }
+
+  /**
+   * Performs the SAR operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult sar(final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    shiftRight(s, a, b, s[b] < 0 ? -1L : 0L);
+    stack.drop(1);
+    return SarOperation.sarSuccess;
+  }
+
+  /**
+   * Performs the POP operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult pop(final LimbStack stack) {
+    stack.require(1);
+    stack.drop(1);
+    return PopOperation.popSuccess;
+  }
+
+  /**
+   * Performs the JUMP operation.
+   *
+   * @param frame the frame
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult jump(final MessageFrame frame, final LimbStack stack) {
+    final int a = stack.require(1);
+    final long[] s = stack.limbs();
+    final long dest = s[a + 3];
+    final boolean inRange = fitsInLong(s, a) && dest >= 0 && dest <= Integer.MAX_VALUE;
+    stack.drop(1);
+    if (!inRange || frame.getCode().isJumpDestInvalid((int) dest)) {
+      return JumpOperation.invalidJumpResponse;
+    }
+    frame.setPC((int) dest);
+    return JumpOperation.jumpResponse;
+  }
+
+  /**
+   * Performs the JUMPI operation.
+   *
+   * @param frame the frame
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult jumpi(final MessageFrame frame, final LimbStack stack) {
+    final int a = stack.require(2);
+    final int b = a - WORD_LIMBS;
+    final long[] s = stack.limbs();
+    final long dest = s[a + 3];
+    final boolean inRange = fitsInLong(s, a) && dest >= 0 && dest <= Integer.MAX_VALUE;
+    final boolean condition = !isZero(s, b);
+    stack.drop(2);
+    // If condition is zero (false), no jump is will be performed. Therefore, skip the test.
+    if (!condition) {
+      return JumpiOperation.nojumpResponse;
+    }
+    if (!inRange || frame.getCode().isJumpDestInvalid((int) dest)) {
+      return JumpiOperation.invalidJumpResponse;
+    }
+    frame.setPC((int) dest);
+    return JumpiOperation.jumpiResponse;
+  }
+
+  /**
+   * Performs a PUSH immediately followed by a JUMPI, with a destination that was already checked
+   * to be valid. Only the condition is read from the stack.
+   *
+   * @param frame the frame
+   * @param stack the stack
+   * @param dest the valid jump destination
+   */
+  public static void pushJumpi(final MessageFrame frame, final LimbStack stack, final int dest) {
+    final int a = stack.require(1);
+    final boolean condition = !isZero(stack.limbs(), a);
+    stack.drop(1);
+    if (condition) {
+      frame.setPC(dest);
+    }
+  }
+
+  /**
+   * Performs the PUSH0 operation.
+   *
+   * @param stack the stack
+   * @return the operation result
+   */
+  public static OperationResult push0(final LimbStack stack) {
+    stack.push(0L, 0L, 0L, 0L);
+    return Push0Operation.push0Success;
+  }
+
+  /**
+   * Performs the PUSH1-32 operations.
+   *
+   * @param frame the frame
+   * @param stack the stack
+   * @param code the code
+   * @param pc the pc
+   * @param pushSize the push size
+   * @return the operation result
+   */
+  public static OperationResult push(
+      final MessageFrame frame,
+      final LimbStack stack,
+      final byte[] code,
+      final int pc,
+      final int pushSize) {
+    final int offset = stack.grow();
+    final long[] s = stack.limbs();
+    final int copyStart = pc + 1;
+    // like PushOperation, a push truncated by the end of the code uses only the available bytes
+    final int copyLength = Math.max(0, Math.min(pushSize, code.length - copyStart));
+    if (copyLength <= 8) {
+      long value = 0;
+      for (int i = 0; i < copyLength; i++) {
+        value = (value << 8) | (code[copyStart + i] & 0xFFL);
+      }
+      s[offset] = 0;
+      s[offset + 1] = 0;
+      s[offset + 2] = 0;
+      s[offset + 3] = value;
+    } else {
+      fill(s, offset, 0L);
+      final int shift = 32 - copyLength;
+      for (int i = 0; i < copyLength; i++) {
+        final int pos = shift + i;
+        s[offset + (pos >>> 3)] |= (code[copyStart + i] & 0xFFL) << ((7 - (pos & 7)) << 3);
+      }
+    }
+    frame.setPC(pc + pushSize);
+    return PushOperation.pushSuccess;
+  }
+
+  /**
+   * Performs the DUP1-16 operations.
+   *
+   * @param stack the stack
+   * @param index the index
+   * @return the operation result
+   */
+  public static OperationResult dup(final LimbStack stack, final int index) {
+    final int src = stack.require(index) - (index - 1) * WORD_LIMBS;
+    final int dst = stack.grow();
+    final long[] s = stack.limbs();
+    s[dst] = s[src];
+    s[dst + 1] = s[src + 1];
+    s[dst + 2] = s[src + 2];
+    s[dst + 3] = s[src + 3];
+    return DupOperation.dupSuccess;
+  }
+
+  /**
+   * Performs the SWAP1-16 operations.
+   *
+   * @param stack the stack
+   * @param index the index
+   * @return the operation result
+   */
+  public static OperationResult swap(final LimbStack stack, final int index) {
+    final int top = stack.require(index + 1);
+    final int other = top - index * WORD_LIMBS;
+    final long[] s = stack.limbs();
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      final long tmp = s[top + i];
+      s[top + i] = s[other + i];
+      s[other + i] = tmp;
+    }
+    return SwapOperation.swapSuccess;
+  }
+
+  private static void shiftRight(final long[] s, final int a, final int b, final long fill) {
+    final long shift = s[a + 3];
+    if (!fitsInLong(s, a) || shift < 0 || shift >= 256) {
+      fill(s, b, fill);
+      return;
+    }
+    final int limbShift = (int) shift >>> 6;
+    final int bitShift = (int) shift & 63;
+    // each result limb only reads limbs at or before its own index, so descend in place
+    for (int i = WORD_LIMBS - 1; i >= 0; i--) {
+      final int src = i - limbShift;
+      final long lo = src >= 0 ? s[b + src] : fill;
+      if (bitShift == 0) {
+        s[b + i] = lo;
+      } else {
+        final long hi = src - 1 >= 0 ? s[b + src - 1] : fill;
+        s[b + i] = (lo >>> bitShift) | (hi << (64 - bitShift));
+      }
+    }
+  }
+
+  private static long unsignedMultiplyHigh(final long x, final long y) {
+    return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+  }
+
+  private static long carryOf(final long sum, final long addend) {
+    return Long.compareUnsigned(sum, addend) < 0 ? 1L : 0L;
+  }
+
+  private static boolean isZero(final long[] s, final int offset) {
+    return (s[offset] | s[offset + 1] | s[offset + 2] | s[offset + 3]) == 0;
+  }
+
+  private static boolean fitsInLong(final long[] s, final int offset) {
+    return (s[offset] | s[offset + 1] | s[offset + 2]) == 0;
+  }
+
+  private static void fill(final long[] s, final int offset, final long value) {
+    s[offset] = value;
+    s[offset + 1] = value;
+    s[offset + 2] = value;
+    s[offset + 3] = value;
+  }
+
+  private static void setBoolean(final long[] s, final int offset, final boolean value) {
+    s[offset] = 0;
+    s[offset + 1] = 0;
+    s[offset + 2] = 0;
+    s[offset + 3] = value ? 1L : 0L;
+  }
+
+  private static int compareUnsigned(final long[] s, final int a, final int b) {
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      final int c = Long.compareUnsigned(s[a + i], s[b + i]);
+      if (c != 0) {
+        return c;
+      }
+    }
+    return 0;
+  }
+
+  private static int compareSigned(final long[] s, final int a, final int b) {
+    final int c = Long.compare(s[a], s[b]);
+    if (c != 0) {
+      return c;
+    }
+    for (int i = 1; i < WORD_LIMBS; i++) {
+      final int u = Long.compareUnsigned(s[a + i], s[b + i]);
+      if (u != 0) {
+        return u;
+      }
+    }
+    return 0;
+  }
+
+  private static BigInteger toBigInteger(final long[] s, final int offset) {
+    final byte[] bytes = new byte[32];
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      final long limb = s[offset + i];
+      for (int j = 0; j < 8; j++) {
+        bytes[i * 8 + j] = (byte) (limb >>> (56 - j * 8));
+      }
+    }
+    return new BigInteger(1, bytes);
+  }
+
+  private static void fromBigInteger(final long[] s, final int offset, final BigInteger value) {
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      s[offset + WORD_LIMBS - 1 - i] = value.shiftRight(64 * i).longValue();
+    }
+  }
+}
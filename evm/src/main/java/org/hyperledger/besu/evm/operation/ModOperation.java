@@ -27,7 +27,8 @@ import org.apache.tuweni.bytes.Bytes32;
 /** The Mod operation. */
 public class ModOperation extends AbstractFixedCostOperation {
 
-  private static final OperationResult modSuccess = new OperationResult(5, null);
+  /** The Mod operation success result. */
+  static final OperationResult modSuccess = new OperationResult(5, null);
 
   /**
    * Instantiates a new Mod operation.
@@ -25,7 +25,8 @@ import org.apache.tuweni.bytes.MutableBytes32;
 /** The Sign extend operation. */
 public class SignExtendOperation extends AbstractFixedCostOperation {
 
-  private static final OperationResult signExtendSuccess = new OperationResult(5, null);
+  /** The Sign Extend operation success result. */
+  static final OperationResult signExtendSuccess = new OperationResult(5, null);
 
   /**
    * Instantiates a new Sign extend operation.
@@ -251,4 +251,13 @@ public abstract class AbstractMessageProcessor {
   public Code getCodeFromEVMUncached(final Bytes codeBytes) {
     return evm.getCodeUncached(codeBytes);
   }
+
+  /**
+   * Whether initial message frames for this processor should be built with a limb stack.
+   *
+   * @return true if the EVM keeps its stack as long limbs
+   */
+  public boolean usesLimbStack() {
+    return evm.usesLimbStack();
+  }
 }
@@ -17,23 +17,25 @@ package org.hyperledger.besu.evm.tracing;
 import org.hyperledger.besu.datatypes.AccessListEntry;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.frame.WarmedUpStorage;
 import org.hyperledger.besu.evm.operation.Operation.OperationResult;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
-import com.google.common.collect.Table;
 import org.apache.tuweni.bytes.Bytes32;
 
 /** The Access List Operation Tracer. */
 public class AccessListOperationTracer extends EstimateGasOperationTracer {
 
-  private Table<Address, Bytes32, Boolean> warmedUpStorage;
+  private WarmedUpStorage warmedUpStorage;
 
   @Override
   public void tracePostExecution(final MessageFrame frame, final OperationResult operationResult) {
     super.tracePostExecution(frame, operationResult);
-    warmedUpStorage = frame.getWarmedUpStorage();
+    warmedUpStorage = frame.getWarmedUpStorageSlots();
   }
 
   /**
@@ -44,11 +46,12 @@ public class AccessListOperationTracer extends EstimateGasOperationTracer {
   public List<AccessListEntry> getAccessList() {
     final List<AccessListEntry> list = new ArrayList<>();
     if (warmedUpStorage != null && !warmedUpStorage.isEmpty()) {
-      warmedUpStorage
-          .rowMap()
-          .forEach(
-              (address, storageKeys) ->
-                  list.add(new AccessListEntry(address, new ArrayList<>(storageKeys.keySet()))));
+      final Map<Address, List<Bytes32>> storageKeysByAddress = new LinkedHashMap<>();
+      warmedUpStorage.forEach(
+          (address, slot) ->
+              storageKeysByAddress.computeIfAbsent(address, a -> new ArrayList<>()).add(slot));
+      storageKeysByAddress.forEach(
+          (address, storageKeys) -> list.add(new AccessListEntry(address, storageKeys)));
     }
     return list;
   }
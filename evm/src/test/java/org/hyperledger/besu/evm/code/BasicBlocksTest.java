@@ -0,0 +1,131 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.code;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.OperandStackMode;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.WorldUpdaterMode;
+import org.hyperledger.besu.evm.operation.LimbStackOperations;
+import org.hyperledger.besu.evm.testutils.TestCodeExecutor;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class BasicBlocksTest {
+
+  private static final EVM BYTES_EVM =
+      MainnetEVMs.cancun(
+          new EvmConfiguration(32_000L, WorldUpdaterMode.STACKED, OperandStackMode.BYTES));
+  private static final EVM LIMBS_EVM =
+      MainnetEVMs.cancun(
+          new EvmConfiguration(32_000L, WorldUpdaterMode.STACKED, OperandStackMode.LONG_LIMBS));
+
+  private static BasicBlocks analyze(final String hex) {
+    final long[] gasCosts = new long[256];
+    Arrays.setAll(gasCosts, LimbStackOperations::staticGasCost);
+    return BasicBlocks.analyze(
+        new CodeV0(Bytes.fromHexString(hex)), gasCosts, LIMBS_EVM.getOperationsUnsafe());
+  }
+
+  @Test
+  void splitsBlocksAndFusesInstructions() {
+    final BasicBlocks blocks =
+        analyze(
+            // PUSH1 1, PUSH1 2, ADD, SLOAD
+            "0x600160020154"
+                // JUMPDEST, DUP1, SWAP2, PUSH1 6, JUMPI, STOP
+                + "5b809160065700");
+
+    assertThat(blocks.getBlockCount()).isEqualTo(2);
+    assertThat(blocks.blockAt(0)).isZero();
+    assertThat(blocks.blockAt(6)).isEqualTo(1);
+    assertThat(blocks.blockAt(2)).isNegative();
+    assertThat(blocks.blockAt(5)).isNegative();
+    assertThat(blocks.blockAt(12)).isNegative();
+    assertThat(blocks.blockAt(100)).isNegative();
+
+    assertThat(blocks.gasCost(0)).isEqualTo(9);
+    assertThat(blocks.end(0)).isEqualTo(5);
+    assertThat(program(blocks, 0, blocks.kinds()))
+        .containsExactly(BasicBlocks.PUSH_SMALL, BasicBlocks.PUSH_SMALL, 0x01);
+    assertThat(program(blocks, 0, blocks.args())).containsExactly(1, 2, 4);
+    assertThat(blocks.fitsStack(0, 0, 2)).isTrue();
+    assertThat(blocks.fitsStack(0, 1, 2)).isFalse();
+
+    assertThat(blocks.gasCost(1)).isEqualTo(20);
+    assertThat(blocks.end(1)).isEqualTo(12);
+    assertThat(program(blocks, 1, blocks.kinds()))
+        .containsExactly(BasicBlocks.DUP_SWAP, BasicBlocks.PUSH_JUMPI);
+    assertThat(program(blocks, 1, blocks.args())).containsExactly(1 << 8 | 2, 6);
+    assertThat(blocks.fitsStack(1, 1, 1024)).isFalse();
+    assertThat(blocks.fitsStack(1, 2, 1024)).isTrue();
+    assertThat(blocks.fitsStack(1, 1023, 1024)).isFalse();
+  }
+
+  @Test
+  void doesNotFuseJumpToInvalidDestination() {
+    // PUSH1 1, PUSH1 3, JUMP
+    final BasicBlocks blocks = analyze("0x6001600356");
+    assertThat(blocks.getBlockCount()).isEqualTo(1);
+    assertThat(program(blocks, 0, blocks.kinds()))
+        .containsExactly(BasicBlocks.PUSH_SMALL, BasicBlocks.PUSH_SMALL, 0x56);
+  }
+
+  @Test
+  void skipsSingleOperationBlocks() {
+    // PUSH1 0, SLOAD, POP, CALLER, JUMPDEST, STOP
+    final BasicBlocks blocks = analyze("0x60005450335b00");
+    assertThat(blocks.getBlockCount()).isZero();
+    assertThat(blocks.kinds()).isEmpty();
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    // loop with a fused DUP SWAP and PUSH JUMPI
+    "0x600a5b809050600190038060025760005260206000f3, 1000000",
+    // out of gas in the middle of a block
+    "0x6001600201600360040101, 12",
+    // jump to an invalid destination at the end of a block
+    "0x60016002600456, 100",
+    // stack underflow on block entry
+    "0x5b0101, 100",
+    // truncated push at the end of the code
+    "0x60016002017f0102, 100"
+  })
+  void sameResultAsPerOperationExecution(final String code, final long gas) {
+    final MessageFrame expected =
+        new TestCodeExecutor(BYTES_EVM).executeCode(code, gas, account -> {});
+    final MessageFrame actual =
+        new TestCodeExecutor(LIMBS_EVM).executeCode(code, gas, account -> {});
+
+    assertThat(actual.getState()).isEqualTo(expected.getState());
+    assertThat(actual.getExceptionalHaltReason()).isEqualTo(expected.getExceptionalHaltReason());
+    assertThat(actual.getOutputData()).isEqualTo(expected.getOutputData());
+    assertThat(actual.getRemainingGas()).isEqualTo(expected.getRemainingGas());
+  }
+
+  private static int[] program(final BasicBlocks blocks, final int block, final int[] values) {
+    return Arrays.copyOfRange(values, blocks.programStart(block), blocks.programEnd(block));
+  }
+}
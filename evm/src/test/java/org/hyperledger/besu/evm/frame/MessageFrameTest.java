@@ -23,6 +23,7 @@ import org.hyperledger.besu.evm.code.CodeV0;
 import org.hyperledger.besu.evm.toy.ToyBlockValues;
 import org.hyperledger.besu.evm.toy.ToyWorld;
 
+import com.google.common.collect.Table;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
@@ -88,4 +89,33 @@ class MessageFrameTest {
     assertThat(messageFrame.shadowReadMemory(32, Bytes32.SIZE)).isEqualTo(WORD2);
     assertThat(messageFrame.memoryWordSize()).isEqualTo(initialActiveWords);
   }
+
+  @Test
+  void limbStackIsChosenWhenTheFrameIsBuilt() {
+    assertThat(messageFrameBuilder.build().getLimbStack()).isNull();
+
+    final MessageFrame parent = messageFrameBuilder.limbStack(true).build();
+    assertThat(parent.getLimbStack()).isNotNull();
+
+    final MessageFrame child =
+        messageFrameBuilder.parentMessageFrame(parent).limbStack(false).build();
+    assertThat(child.getLimbStack()).isNotNull();
+  }
+
+  @Test
+  void warmedUpStorageTableIsBackedByTheWarmSlots() {
+    final MessageFrame messageFrame = messageFrameBuilder.build();
+    messageFrame.warmUpStorage(Address.ZERO, WORD1);
+
+    final Table<Address, Bytes32, Boolean> table = messageFrame.getWarmedUpStorage();
+    assertThat(table).isSameAs(messageFrame.getWarmedUpStorageSlots());
+    assertThat(table.cellSet()).hasSize(1);
+    assertThat(table.get(Address.ZERO, WORD1)).isTrue();
+    assertThat(table.get(Address.ZERO, WORD2)).isNull();
+
+    table.put(Address.ZERO, WORD2, Boolean.TRUE);
+    assertThat(messageFrame.isStorageWarm(Address.ZERO, WORD2)).isTrue();
+    assertThat(messageFrame.warmUpStorage(Address.ZERO, WORD2)).isTrue();
+    assertThat(messageFrame.getWarmedUpStorageSlots().size()).isEqualTo(2);
+  }
 }
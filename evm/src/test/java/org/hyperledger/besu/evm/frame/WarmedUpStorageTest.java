@@ -0,0 +1,155 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.frame;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.collections.undo.Undoable;
+import org.hyperledger.besu.datatypes.Address;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+
+class WarmedUpStorageTest {
+
+  private static final Address ADDRESS_1 =
+      Address.fromHexString("0x0102030405060708090a0b0c0d0e0f1011121314");
+  private static final Address ADDRESS_2 = Address.fromHexString("0xff");
+
+  @Test
+  void addressesAddAndUndo() {
+    final WarmedUpAddresses addresses = new WarmedUpAddresses();
+    assertThat(addresses.isEmpty()).isTrue();
+    assertThat(addresses.lastUpdate()).isZero();
+
+    assertThat(addresses.add(ADDRESS_1)).isTrue();
+    assertThat(addresses.add(ADDRESS_1)).isFalse();
+    final long mark = addresses.mark();
+    assertThat(addresses.add(ADDRESS_2)).isTrue();
+    assertThat(addresses.contains(ADDRESS_2)).isTrue();
+    assertThat(addresses.size()).isEqualTo(2);
+
+    addresses.undo(mark);
+    assertThat(addresses.contains(ADDRESS_1)).isTrue();
+    assertThat(addresses.contains(ADDRESS_2)).isFalse();
+    assertThat(addresses.size()).isEqualTo(1);
+    assertThat(addresses.lastUpdate()).isLessThanOrEqualTo(mark);
+
+    // a key can be added again after it was undone
+    assertThat(addresses.add(ADDRESS_2)).isTrue();
+  }
+
+  @Test
+  void storageAddAndUndo() {
+    final WarmedUpStorage storage = new WarmedUpStorage();
+    assertThat(storage.add(ADDRESS_1, Bytes32.ZERO)).isTrue();
+    assertThat(storage.add(ADDRESS_1, UInt256.ZERO)).isFalse();
+    assertThat(storage.contains(ADDRESS_2, Bytes32.ZERO)).isFalse();
+
+    final long mark = Undoable.incrementMarkStatic();
+    assertThat(storage.add(ADDRESS_2, UInt256.ONE)).isTrue();
+    assertThat(storage.add(ADDRESS_1, UInt256.ONE)).isTrue();
+    assertThat(storage.size()).isEqualTo(3);
+
+    storage.undo(mark);
+    assertThat(storage.size()).isEqualTo(1);
+    assertThat(storage.contains(ADDRESS_1, Bytes32.ZERO)).isTrue();
+    assertThat(storage.contains(ADDRESS_2, UInt256.ONE)).isFalse();
+    assertThat(storage.contains(ADDRESS_1, UInt256.ONE)).isFalse();
+  }
+
+  @Test
+  void forEachReturnsSlotsInInsertionOrder() {
+    final WarmedUpStorage storage = new WarmedUpStorage();
+    final Bytes32 slot = Bytes32.fromHexString("0x" + "a5".repeat(32));
+    storage.add(ADDRESS_2, slot);
+    storage.add(ADDRESS_1, Bytes32.ZERO);
+    storage.add(ADDRESS_2, UInt256.ONE);
+
+    final List<Map.Entry<Address, Bytes32>> entries = new ArrayList<>();
+    storage.forEach((address, key) -> entries.add(Map.entry(address, key)));
+    assertThat(entries)
+        .containsExactly(
+            Map.entry(ADDRESS_2, slot),
+            Map.entry(ADDRESS_1, Bytes32.ZERO),
+            Map.entry(ADDRESS_2, Bytes32.fromHexString("0x01")));
+  }
+
+  @Test
+  void growsAndUndoesInNestedSteps() {
+    final WarmedUpStorage storage = new WarmedUpStorage();
+    final Random random = new Random(42);
+    final List<UInt256> slots = new ArrayList<>();
+    for (int i = 0; i < 3000; i++) {
+      slots.add(UInt256.valueOf(random.nextInt(1000)));
+    }
+
+    final List<Long> marks = new ArrayList<>();
+    final List<Integer> sizes = new ArrayList<>();
+    final Set<UInt256> expected = new HashSet<>();
+    for (int i = 0; i < slots.size(); i++) {
+      if (i % 500 == 0) {
+        marks.add(storage.mark());
+        sizes.add(storage.size());
+      }
+      assertThat(storage.add(ADDRESS_1, slots.get(i))).isEqualTo(expected.add(slots.get(i)));
+    }
+    assertThat(storage.size()).isEqualTo(expected.size());
+
+    for (int step = marks.size() - 1; step >= 0; step--) {
+      storage.undo(marks.get(step));
+      assertThat(storage.size()).isEqualTo(sizes.get(step));
+    }
+    assertThat(storage.isEmpty()).isTrue();
+    for (final UInt256 slot : slots) {
+      assertThat(storage.contains(ADDRESS_1, slot)).isFalse();
+    }
+  }
+
+  @Test
+  void collectionViewsMatchTheWarmEntries() {
+    final WarmedUpAddresses addresses = new WarmedUpAddresses();
+    addresses.add(ADDRESS_2);
+    addresses.add(ADDRESS_1);
+    assertThat(addresses).containsExactly(ADDRESS_2, ADDRESS_1);
+    assertThat(addresses.contains((Object) ADDRESS_1)).isTrue();
+    assertThat(addresses.contains((Object) Bytes32.ZERO)).isFalse();
+    assertThatThrownBy(() -> addresses.remove(ADDRESS_1))
+        .isInstanceOf(UnsupportedOperationException.class);
+
+    final WarmedUpStorage storage = new WarmedUpStorage();
+    assertThat(storage.put(ADDRESS_1, Bytes32.ZERO, Boolean.TRUE)).isNull();
+    assertThat(storage.put(ADDRESS_1, Bytes32.ZERO, Boolean.TRUE)).isTrue();
+    storage.add(ADDRESS_2, UInt256.ONE);
+    assertThat(storage.get(ADDRESS_1, Bytes32.ZERO)).isTrue();
+    assertThat(storage.get(ADDRESS_2, Bytes32.ZERO)).isNull();
+    assertThat(storage.row(ADDRESS_1)).containsOnlyKeys(Bytes32.ZERO);
+    assertThat(storage.rowKeySet()).containsExactly(ADDRESS_1, ADDRESS_2);
+    assertThat(storage.cellSet()).hasSize(2);
+    assertThatThrownBy(() -> storage.put(ADDRESS_2, Bytes32.ZERO, Boolean.FALSE))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> storage.remove(ADDRESS_1, Bytes32.ZERO))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+}
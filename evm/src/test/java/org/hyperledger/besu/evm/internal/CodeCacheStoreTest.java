@@ -0,0 +1,151 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeFactory;
+import org.hyperledger.besu.evm.code.CodeInvalid;
+import org.hyperledger.besu.evm.code.CodeV0;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.OperandStackMode;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.WorldUpdaterMode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CodeCacheStoreTest {
+
+  private static final Bytes LEGACY =
+      Bytes.fromHexString("0x6001600201" + "5b".repeat(70) + "60205600");
+  private static final Bytes EOF =
+      Bytes.fromHexString(
+          "0xEF000101000C020003000b000200080300000000000002020100020100000260016002e30001e30002e401e460005360106000f3");
+  private static final Bytes INVALID_EOF = Bytes.fromHexString("0xEF000100");
+
+  @TempDir Path tempDir;
+
+  private static Map<Hash, Code> entries() {
+    final Map<Hash, Code> entries = new LinkedHashMap<>();
+    for (final Bytes bytes : new Bytes[] {LEGACY, EOF, INVALID_EOF}) {
+      entries.put(Hash.hash(bytes), CodeFactory.createCode(bytes, 1, false));
+    }
+    return entries;
+  }
+
+  @Test
+  void roundTrip() throws IOException {
+    final Map<Hash, Code> entries = entries();
+    assertThat(entries.get(Hash.hash(EOF)).isValid()).isTrue();
+    final CodeCacheStore store = new CodeCacheStore(tempDir.resolve("cache.bin"), 1);
+    store.write(entries);
+
+    final Map<Hash, Code> loaded = store.load();
+    assertThat(loaded.keySet()).containsExactlyElementsOf(entries.keySet());
+
+    final CodeV0 legacy = (CodeV0) loaded.get(Hash.hash(LEGACY));
+    assertThat(legacy.getBytes()).isEqualTo(LEGACY);
+    assertThat(legacy.isJumpDestInvalid(5)).isFalse();
+    assertThat(legacy.isJumpDestInvalid(1)).isTrue();
+
+    final Code eof = loaded.get(Hash.hash(EOF));
+    assertThat(eof.isValid()).isTrue();
+    assertThat(eof.getEofVersion()).isEqualTo(1);
+    assertThat(eof.getCodeSectionCount()).isEqualTo(3);
+
+    final Code invalid = loaded.get(Hash.hash(INVALID_EOF));
+    assertThat(invalid).isInstanceOf(CodeInvalid.class);
+    assertThat(((CodeInvalid) invalid).getInvalidReason())
+        .isEqualTo(((CodeInvalid) entries.get(Hash.hash(INVALID_EOF))).getInvalidReason());
+  }
+
+  @Test
+  void entriesNotMatchingTheirHashAreSkipped() throws IOException {
+    final Map<Hash, Code> entries = new LinkedHashMap<>();
+    entries.put(Hash.hash(LEGACY), CodeFactory.createCode(EOF, 1, false));
+    entries.put(Hash.hash(EOF), CodeFactory.createCode(EOF, 1, false));
+    final CodeCacheStore store = new CodeCacheStore(tempDir.resolve("cache.bin"), 1);
+    store.write(entries);
+
+    assertThat(store.load()).containsOnlyKeys(Hash.hash(EOF));
+  }
+
+  @Test
+  void storedCodeIsAnalyzedAgain() throws IOException {
+    final Path file = tempDir.resolve("cache.bin");
+    final Map<Hash, Code> entries = new LinkedHashMap<>();
+    entries.put(Hash.hash(EOF), CodeFactory.createCode(EOF, 1, false));
+    new CodeCacheStore(file, 1).write(entries);
+
+    // the stored EOF validation is not trusted, an EVM without EOF sees legacy code
+    final Code loaded = new CodeCacheStore(file, 0).load().get(Hash.hash(EOF));
+    assertThat(loaded).isInstanceOf(CodeV0.class);
+    assertThat(loaded.getEofVersion()).isZero();
+  }
+
+  @Test
+  void missingFileLoadsNothing() {
+    assertThat(new CodeCacheStore(tempDir.resolve("absent.bin"), 1).load()).isEmpty();
+  }
+
+  @Test
+  void damagedFileLoadsNothing() throws IOException {
+    final Path file = tempDir.resolve("cache.bin");
+    final CodeCacheStore store = new CodeCacheStore(file, 1);
+    store.write(entries());
+
+    final byte[] content = Files.readAllBytes(file);
+    content[content.length / 2] ^= 0x01;
+    Files.write(file, content);
+    assertThat(store.load()).isEmpty();
+
+    Files.write(file, new byte[] {1, 2, 3});
+    assertThat(store.load()).isEmpty();
+  }
+
+  @Test
+  void codeCacheWarmStartsFromStoredEntries() {
+    final Path file = tempDir.resolve("code-cache-test.bin");
+    final CodeCache cache = new CodeCache(32_000L, new CodeCacheStore(file, 1));
+    entries().forEach(cache::put);
+    cache.storeIfModified();
+    assertThat(file).exists();
+    assertThat(tempDir).isDirectoryNotContaining("glob:**.tmp");
+
+    final CodeCache restarted = new CodeCache(32_000L, new CodeCacheStore(file, 1));
+    assertThat(restarted.size()).isEqualTo(3);
+    assertThat(restarted.getIfPresent(Hash.hash(LEGACY)).getBytes()).isEqualTo(LEGACY);
+  }
+
+  @Test
+  void evmsOfTheSameVersionShareOnePersistedCache() {
+    final EvmConfiguration config =
+        new EvmConfiguration(
+            32_000L, WorldUpdaterMode.STACKED, OperandStackMode.BYTES, Optional.of(tempDir));
+    final CodeCache cache = CodeCache.forEvm(config, "shared", 1);
+    assertThat(CodeCache.forEvm(config, "shared", 1)).isSameAs(cache);
+    assertThat(CodeCache.forEvm(config, "other", 1)).isNotSameAs(cache);
+    assertThat(CodeCache.forEvm(EvmConfiguration.DEFAULT, "shared", 1)).isNotSameAs(cache);
+  }
+}
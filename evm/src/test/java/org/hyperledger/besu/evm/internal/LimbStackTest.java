@@ -0,0 +1,142 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LimbStackTest {
+
+  @Test
+  void construction() {
+    final LimbStack stack = new LimbStack(1);
+    assertThat(stack.size()).isZero();
+    assertThat(stack.isEmpty()).isTrue();
+  }
+
+  @Test
+  void construction_NegativeMaximumSize() {
+    assertThatThrownBy(() -> new LimbStack(-1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void push_StackOverflow() {
+    final LimbStack stack = new LimbStack(1);
+    stack.push(UInt256.fromHexString("0x01"));
+    final UInt256 operand = UInt256.fromHexString("0x02");
+    assertThatThrownBy(() -> stack.push(operand)).isInstanceOf(OverflowException.class);
+  }
+
+  @Test
+  void pop_StackUnderflow() {
+    final LimbStack stack = new LimbStack(1);
+    assertThatThrownBy(stack::pop).isInstanceOf(UnderflowException.class);
+  }
+
+  @Test
+  void pushPop() {
+    final LimbStack stack = new LimbStack(1);
+    stack.push(UInt256.fromHexString("0x01"));
+    assertThat(stack.size()).isEqualTo(1);
+    assertThat(stack.pop()).isEqualTo(Bytes32.fromHexString("0x01"));
+  }
+
+  @Test
+  void bytesRoundTrip() {
+    final LimbStack stack = new LimbStack(4);
+    final Bytes32 full =
+        Bytes32.fromHexString("0x0102030405060708090a0b0c0d0e0f101112131415161718191a1b1c1d1e1f20");
+    stack.push(full);
+    stack.push(Bytes.fromHexString("0xabcdef"));
+    stack.push(Bytes.EMPTY);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.ZERO);
+    assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0xabcdef"));
+    assertThat(stack.get(2)).isEqualTo(full);
+
+    final long[] limbs = stack.limbs();
+    assertThat(limbs[0]).isEqualTo(0x0102030405060708L);
+    assertThat(limbs[3]).isEqualTo(0x191a1b1c1d1e1f20L);
+    assertThat(limbs[7]).isEqualTo(0xabcdefL);
+  }
+
+  @Test
+  void set() {
+    final LimbStack stack = new LimbStack(3);
+    stack.push(UInt256.fromHexString("0x01"));
+    stack.push(UInt256.fromHexString("0x02"));
+    stack.push(UInt256.fromHexString("0x03"));
+    stack.set(2, UInt256.fromHexString("0x04"));
+    assertThat(stack.size()).isEqualTo(3);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x03"));
+    assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x02"));
+    assertThat(stack.get(2)).isEqualTo(Bytes32.fromHexString("0x04"));
+    final Bytes32 operand = Bytes32.fromHexString("0x01");
+    assertThatThrownBy(() -> stack.set(3, operand)).isInstanceOf(OverflowException.class);
+  }
+
+  @Test
+  void preserveTop() {
+    final LimbStack stack = new LimbStack(8);
+    for (int i = 1; i <= 8; i++) {
+      stack.push(UInt256.valueOf(i));
+    }
+    stack.preserveTop(6, 1);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x08"));
+    assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x06"));
+    assertThat(stack.size()).isEqualTo(7);
+    stack.preserveTop(1, 3);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x08"));
+    assertThat(stack.get(1)).isEqualTo(Bytes32.fromHexString("0x06"));
+    assertThat(stack.get(2)).isEqualTo(Bytes32.fromHexString("0x05"));
+    assertThat(stack.get(3)).isEqualTo(Bytes32.fromHexString("0x01"));
+    assertThat(stack.size()).isEqualTo(4);
+    assertThatThrownBy(() -> stack.preserveTop(4, 2)).isInstanceOf(UnderflowException.class);
+  }
+
+  @Test
+  void matchesOperandStack() {
+    final OperandStack expected = new OperandStack(64);
+    final LimbStack actual = new LimbStack(64);
+    for (int i = 0; i < 40; i++) {
+      final UInt256 value = UInt256.valueOf(i).shiftLeft(i * 6);
+      expected.push(value);
+      actual.push(value);
+    }
+    expected.bulkPop(3);
+    actual.bulkPop(3);
+    assertThat(actual.size()).isEqualTo(expected.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertThat(actual.get(i)).isEqualTo(Bytes32.leftPad(expected.get(i)));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {5, 31, 32, 33, 1023, 1024, 1025})
+  void largeOverflows(final int n) {
+    final LimbStack stack = new LimbStack(n);
+    for (int i = 0; i < n; i++) {
+      stack.push(UInt256.ONE);
+    }
+    assertThatThrownBy(() -> stack.push(UInt256.ONE)).isInstanceOf(OverflowException.class);
+    assertThat(stack.peek()).isEqualTo(Bytes32.leftPad(UInt256.ONE));
+  }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.operations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.OperandStackMode;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.WorldUpdaterMode;
+import org.hyperledger.besu.evm.internal.LimbStack;
+import org.hyperledger.besu.evm.internal.OverflowException;
+import org.hyperledger.besu.evm.internal.UnderflowException;
+import org.hyperledger.besu.evm.operation.LimbStackOperations;
+import org.hyperledger.besu.evm.testutils.TestCodeExecutor;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+
+class LimbStackOperationsTest {
+
+  private static final BigInteger TWO_256 = BigInteger.ONE.shiftLeft(256);
+  private static final BigInteger MAX = TWO_256.subtract(BigInteger.ONE);
+
+  private static final List<BigInteger> VALUES = values();
+
+  private static List<BigInteger> values() {
+    final List<BigInteger> values = new ArrayList<>();
+    for (final long small : new long[] {0, 1, 2, 3, 7, 8, 31, 32, 63, 64, 65, 255, 256, 1000}) {
+      values.add(BigInteger.valueOf(small));
+    }
+    values.add(BigInteger.ONE.shiftLeft(63));
+    values.add(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE));
+    values.add(BigInteger.ONE.shiftLeft(64));
+    values.add(BigInteger.ONE.shiftLeft(128).add(BigInteger.TWO));
+    values.add(BigInteger.ONE.shiftLeft(255));
+    values.add(MAX);
+    values.add(MAX.subtract(BigInteger.ONE));
+    final Random random = new Random(0x1234);
+    for (int i = 0; i < 40; i++) {
+      values.add(new BigInteger(random.nextInt(256) + 1, random));
+    }
+    return values;
+  }
+
+  private static BigInteger signed(final BigInteger value) {
+    return value.testBit(255) ? value.subtract(TWO_256) : value;
+  }
+
+  private static BigInteger bool(final boolean value) {
+    return value ? BigInteger.ONE : BigInteger.ZERO;
+  }
+
+  private static BigInteger word(final BigInteger value) {
+    return value.mod(TWO_256);
+  }
+
+  private static BigInteger pop(final LimbStack stack) {
+    return new BigInteger(1, stack.pop().toArrayUnsafe());
+  }
+
+  private static void checkBinary(
+      final Function<LimbStack, ?> operation, final BinaryOperator<BigInteger> expected) {
+    for (final BigInteger a : VALUES) {
+      for (final BigInteger b : VALUES) {
+        final LimbStack stack = new LimbStack(4);
+        stack.push(UInt256.valueOf(b));
+        stack.push(UInt256.valueOf(a));
+        operation.apply(stack);
+        assertThat(stack.size()).isEqualTo(1);
+        assertThat(pop(stack)).as("a=%s b=%s", a, b).isEqualTo(expected.apply(a, b));
+      }
+    }
+  }
+
+  private static void checkUnary(
+      final Function<LimbStack, ?> operation, final Function<BigInteger, BigInteger> expected) {
+    for (final BigInteger a : VALUES) {
+      final LimbStack stack = new LimbStack(4);
+      stack.push(UInt256.valueOf(a));
+      operation.apply(stack);
+      assertThat(stack.size()).isEqualTo(1);
+      assertThat(pop(stack)).as("a=%s", a).isEqualTo(expected.apply(a));
+    }
+  }
+
+  @Test
+  void arithmetic() {
+    checkBinary(LimbStackOperations::add, (a, b) -> word(a.add(b)));
+    checkBinary(LimbStackOperations::sub, (a, b) -> word(a.subtract(b)));
+    checkBinary(LimbStackOperations::mul, (a, b) -> word(a.multiply(b)));
+    checkBinary(
+        LimbStackOperations::div, (a, b) -> b.signum() == 0 ? BigInteger.ZERO : a.divide(b));
+    checkBinary(LimbStackOperations::mod, (a, b) -> b.signum() == 0 ? BigInteger.ZERO : a.mod(b));
+  }
+
+  @Test
+  void signExtend() {
+    checkBinary(
+        LimbStackOperations::signExtend,
+        (a, b) -> {
+          if (a.compareTo(BigInteger.valueOf(31)) >= 0) {
+            return b;
+          }
+          final int bits = a.intValue() * 8 + 8;
+          final BigInteger low = b.mod(BigInteger.ONE.shiftLeft(bits));
+          return low.testBit(bits - 1) ? word(low.subtract(BigInteger.ONE.shiftLeft(bits))) : low;
+        });
+  }
+
+  @Test
+  void comparison() {
+    checkBinary(LimbStackOperations::lt, (a, b) -> bool(a.compareTo(b) < 0));
+    checkBinary(LimbStackOperations::gt, (a, b) -> bool(a.compareTo(b) > 0));
+    checkBinary(LimbStackOperations::slt, (a, b) -> bool(signed(a).compareTo(signed(b)) < 0));
+    checkBinary(LimbStackOperations::sgt, (a, b) -> bool(signed(a).compareTo(signed(b)) > 0));
+    checkBinary(LimbStackOperations::eq, (a, b) -> bool(a.equals(b)));
+    checkUnary(LimbStackOperations::isZero, a -> bool(a.signum() == 0));
+  }
+
+  @Test
+  void bitwise() {
+    checkBinary(LimbStackOperations::and, BigInteger::and);
+    checkBinary(LimbStackOperations::or, BigInteger::or);
+    checkBinary(LimbStackOperations::xor, BigInteger::xor);
+    checkUnary(LimbStackOperations::not, a -> MAX.xor(a));
+    checkBinary(
+        LimbStackOperations::byteOp,
+        (a, b) ->
+            a.compareTo(BigInteger.valueOf(32)) >= 0
+                ? BigInteger.ZERO
+                : b.shiftRight(8 * (31 - a.intValue())).and(BigInteger.valueOf(0xFF)));
+  }
+
+  @Test
+  void shifts() {
+    final BigInteger limit = BigInteger.valueOf(256);
+    checkBinary(
+        LimbStackOperations::shl,
+        (a, b) -> a.compareTo(limit) >= 0 ? BigInteger.ZERO : word(b.shiftLeft(a.intValue())));
+    checkBinary(
+        LimbStackOperations::shr,
+        (a, b) -> a.compareTo(limit) >= 0 ? BigInteger.ZERO : b.shiftRight(a.intValue()));
+    checkBinary(
+        LimbStackOperations::sar,
+        (a, b) ->
+            word(
+                a.compareTo(limit) >= 0
+                    ? signed(b).shiftRight(256)
+                    : signed(b).shiftRight(a.intValue())));
+  }
+
+  @Test
+  void pushDupSwap() {
+    final MessageFrame frame = mock(MessageFrame.class);
+    final LimbStack stack = new LimbStack(8);
+    final byte[] code = Bytes.fromHexString("0x6001610203").toArrayUnsafe();
+    LimbStackOperations.push(frame, stack, code, 0, 1);
+    verify(frame).setPC(1);
+    LimbStackOperations.push(frame, stack, code, 2, 2);
+    // a push at the very end of the code has no bytes left and pushes zero
+    LimbStackOperations.push(frame, stack, code, 4, 3);
+    LimbStackOperations.push0(stack);
+    assertThat(stack.size()).isEqualTo(4);
+    assertThat(stack.get(1)).isEqualTo(Bytes32.ZERO);
+    assertThat(stack.get(2)).isEqualTo(Bytes32.fromHexString("0x0203"));
+    assertThat(stack.get(3)).isEqualTo(Bytes32.fromHexString("0x01"));
+
+    LimbStackOperations.dup(stack, 4);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x01"));
+    LimbStackOperations.swap(stack, 3);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x0203"));
+    assertThat(stack.get(3)).isEqualTo(Bytes32.fromHexString("0x01"));
+    LimbStackOperations.pop(stack);
+    assertThat(stack.size()).isEqualTo(4);
+
+    final byte[] push32 =
+        Bytes.concatenate(Bytes.of(0x7f), Bytes32.fromHexString("0x" + "ab".repeat(32)))
+            .toArrayUnsafe();
+    LimbStackOperations.push(frame, stack, push32, 0, 32);
+    assertThat(stack.get(0)).isEqualTo(Bytes32.fromHexString("0x" + "ab".repeat(32)));
+  }
+
+  @Test
+  void stackLimits() {
+    final LimbStack stack = new LimbStack(2);
+    assertThatThrownBy(() -> LimbStackOperations.add(stack))
+        .isInstanceOf(UnderflowException.class);
+    LimbStackOperations.push0(stack);
+    assertThatThrownBy(() -> LimbStackOperations.swap(stack, 1))
+        .isInstanceOf(UnderflowException.class);
+    LimbStackOperations.dup(stack, 1);
+    assertThatThrownBy(() -> LimbStackOperations.dup(stack, 1))
+        .isInstanceOf(OverflowException.class);
+  }
+
+  @Test
+  void sameResultAsBytesStack() {
+    final String code =
+        // counter = 10; do { counter = counter - 1 } while (counter != 0)
+        "0x600a5b6001900380600257"
+            // MUL two large words, SHL by 5, SUB 3, SAR by 1, BYTE 31, ADD, NOT, DIV by 7
+            + "7f"
+            + "f".repeat(64)
+            + "7f"
+            + "0123456789abcdef".repeat(4)
+            + "02"
+            + "6005"
+            + "1b"
+            + "6003"
+            + "90"
+            + "03"
+            + "6001"
+            + "1d"
+            + "80"
+            + "601f"
+            + "1a"
+            + "01"
+            + "19"
+            + "6007"
+            + "90"
+            + "04"
+            // MSTORE at 0 and RETURN 32 bytes
+            + "600052"
+            + "60206000f3";
+    final EVM bytesEvm =
+        MainnetEVMs.cancun(
+            new EvmConfiguration(32_000L, WorldUpdaterMode.STACKED, OperandStackMode.BYTES));
+    final EVM limbsEvm =
+        MainnetEVMs.cancun(
+            new EvmConfiguration(32_000L, WorldUpdaterMode.STACKED, OperandStackMode.LONG_LIMBS));
+
+    final MessageFrame expected =
+        new TestCodeExecutor(bytesEvm).executeCode(code, 1_000_000L, account -> {});
+    final MessageFrame actual =
+        new TestCodeExecutor(limbsEvm).executeCode(code, 1_000_000L, account -> {});
+
+    assertThat(actual.getState()).isEqualTo(MessageFrame.State.COMPLETED_SUCCESS);
+    assertThat(actual.getState()).isEqualTo(expected.getState());
+    assertThat(actual.getOutputData()).isEqualTo(expected.getOutputData());
+    assertThat(actual.getRemainingGas()).isEqualTo(expected.getRemainingGas());
+  }
+}
@@ -71,6 +71,7 @@ public class TestCodeExecutor {
             .value(Wei.ZERO)
             .code(code)
             .blockValues(blockValues)
+            .limbStack(evm.usesLimbStack())
             .build();
 
     final Deque<MessageFrame> messageFrameStack = initialFrame.getMessageFrameStack();
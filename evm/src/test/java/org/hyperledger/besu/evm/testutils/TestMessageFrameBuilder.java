@@ -56,6 +56,7 @@ public class TestMessageFrameBuilder {
   private final List<Bytes> stackItems = new ArrayList<>();
   private Optional<Function<Long, Hash>> blockHashLookup = Optional.empty();
   private Bytes memory = Bytes.EMPTY;
+  private boolean limbStack = false;
 
   public TestMessageFrameBuilder worldUpdater(final WorldUpdater worldUpdater) {
     this.worldUpdater = Optional.of(worldUpdater);
@@ -142,6 +143,11 @@ public class TestMessageFrameBuilder {
     return this;
   }
 
+  public TestMessageFrameBuilder limbStack(final boolean limbStack) {
+    this.limbStack = limbStack;
+    return this;
+  }
+
   public MessageFrame build() {
     final MessageFrame frame =
         MessageFrame.builder()
@@ -163,6 +169,7 @@ public class TestMessageFrameBuilder {
             .miningBeneficiary(Address.ZERO)
             .blockHashLookup(blockHashLookup.orElse(number -> Hash.hash(Words.longBytes(number))))
             .maxStackSize(maxStackSize)
+            .limbStack(limbStack)
             .build();
     frame.setPC(pc);
     frame.setSection(section);
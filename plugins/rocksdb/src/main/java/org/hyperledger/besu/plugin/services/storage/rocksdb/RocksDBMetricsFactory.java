@@ -19,10 +19,14 @@ import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
 import org.hyperledger.besu.metrics.rocksdb.RocksDBStats;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledGauge;
 import org.hyperledger.besu.plugin.services.metrics.MetricCategory;
 import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
 
+import java.util.Map;
+
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.Statistics;
@@ -138,6 +142,25 @@ public class RocksDBMetricsFactory {
           }
         });
 
+    createBlockCacheGauge(
+        metricsSystem,
+        db,
+        "rocks_db_block_cache_capacity_bytes",
+        "Capacity of the RocksDB block cache shared by all column families in bytes",
+        "rocksdb.block-cache-capacity");
+    createBlockCacheGauge(
+        metricsSystem,
+        db,
+        "rocks_db_block_cache_usage_bytes",
+        "Memory used by entries of the RocksDB block cache in bytes",
+        "rocksdb.block-cache-usage");
+    createBlockCacheGauge(
+        metricsSystem,
+        db,
+        "rocks_db_block_cache_pinned_usage_bytes",
+        "Memory used by pinned entries of the RocksDB block cache in bytes",
+        "rocksdb.block-cache-pinned-usage");
+
     final Counter rollbackCount =
         metricsSystem
             .createLabelledCounter(
@@ -150,4 +173,83 @@ public class RocksDBMetricsFactory {
     return new RocksDBMetrics(
         readLatency, removeLatency, writeLatency, commitLatency, rollbackCount);
   }
+
+  /**
+   * Register the metrics of each column family, so the memory and disk used by every segment can
+   * be told apart. Block cache hits and misses are only counted per database by RocksDB, and are
+   * exported with the other statistics.
+   *
+   * @param metricsSystem the metrics system
+   * @param rocksDbConfiguration the rocks db configuration
+   * @param db the db
+   * @param segments the column handles by segment
+   */
+  public void registerSegmentMetrics(
+      final MetricsSystem metricsSystem,
+      final RocksDBConfiguration rocksDbConfiguration,
+      final RocksDB db,
+      final Map<SegmentIdentifier, RocksDbSegmentIdentifier> segments) {
+    final LabelledGauge liveDataSize =
+        metricsSystem.createLabelledGauge(
+            rocksDbMetricCategory,
+            "segment_live_data_size_bytes",
+            "Estimated size of the live data of a RocksDB column family in bytes",
+            "database",
+            "segment");
+    final LabelledGauge memtablesSize =
+        metricsSystem.createLabelledGauge(
+            rocksDbMetricCategory,
+            "segment_memtables_size_bytes",
+            "Memory used by the memtables of a RocksDB column family in bytes",
+            "database",
+            "segment");
+    final LabelledGauge tableReadersMemory =
+        metricsSystem.createLabelledGauge(
+            rocksDbMetricCategory,
+            "segment_table_readers_memory_bytes",
+            "Estimated memory used outside the block cache by the table readers of a RocksDB column family in bytes",
+            "database",
+            "segment");
+
+    segments.forEach(
+        (segment, handle) -> {
+          final String[] labels = {rocksDbConfiguration.getLabel(), segment.getName()};
+          liveDataSize.labels(
+              () -> getSegmentProperty(db, handle, "rocksdb.estimate-live-data-size"), labels);
+          memtablesSize.labels(
+              () -> getSegmentProperty(db, handle, "rocksdb.cur-size-all-mem-tables"), labels);
+          tableReadersMemory.labels(
+              () -> getSegmentProperty(db, handle, "rocksdb.estimate-table-readers-mem"), labels);
+        });
+  }
+
+  private void createBlockCacheGauge(
+      final MetricsSystem metricsSystem,
+      final RocksDB db,
+      final String name,
+      final String help,
+      final String property) {
+    metricsSystem.createLongGauge(
+        rocksDbMetricCategory,
+        name,
+        help,
+        () -> {
+          try {
+            return db.getLongProperty(property);
+          } catch (final RocksDBException e) {
+            LOG.debug("Failed to get RocksDB metric", e);
+            return 0L;
+          }
+        });
+  }
+
+  private static double getSegmentProperty(
+      final RocksDB db, final RocksDbSegmentIdentifier segment, final String property) {
+    try {
+      return db.getLongProperty(segment.get(), property);
+    } catch (final RocksDBException e) {
+      LOG.debug("Failed to get RocksDB metric", e);
+      return 0L;
+    }
+  }
 }
@@ -32,6 +32,9 @@ public class RocksDBCLIOptions {
   /** The constant DEFAULT_IS_HIGH_SPEC. */
   public static final boolean DEFAULT_IS_HIGH_SPEC = false;
 
+  /** The constant DEFAULT_IS_HYPER_CLOCK_CACHE_ENABLED. */
+  public static final boolean DEFAULT_IS_HYPER_CLOCK_CACHE_ENABLED = false;
+
   /** The constant MAX_OPEN_FILES_FLAG. */
   public static final String MAX_OPEN_FILES_FLAG = "--Xplugin-rocksdb-max-open-files";
 
@@ -45,6 +48,10 @@ public class RocksDBCLIOptions {
   /** The constant IS_HIGH_SPEC. */
   public static final String IS_HIGH_SPEC = "--Xplugin-rocksdb-high-spec-enabled";
 
+  /** The constant IS_HYPER_CLOCK_CACHE_ENABLED. */
+  public static final String IS_HYPER_CLOCK_CACHE_ENABLED =
+      "--Xplugin-rocksdb-hyper-clock-cache-enabled";
+
   /** The Max open files. */
   @CommandLine.Option(
       names = {MAX_OPEN_FILES_FLAG},
@@ -60,7 +67,8 @@ public class RocksDBCLIOptions {
       hidden = true,
       defaultValue = "134217728",
       paramLabel = "<LONG>",
-      description = "Cache capacity of RocksDB (default: ${DEFAULT-VALUE})")
+      description =
+          "Capacity of the block cache shared by all RocksDB column families (default: ${DEFAULT-VALUE})")
   long cacheCapacity;
 
   /** The Background thread count. */
@@ -81,6 +89,15 @@ public class RocksDBCLIOptions {
           "Use this flag to boost Besu performance if you have a 16 GiB RAM hardware or more (default: ${DEFAULT-VALUE})")
   boolean isHighSpec;
 
+  /** Use a hyper clock cache as block cache. */
+  @CommandLine.Option(
+      names = {IS_HYPER_CLOCK_CACHE_ENABLED},
+      hidden = true,
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Use a lock free hyper clock cache instead of an LRU cache as RocksDB block cache (default: ${DEFAULT-VALUE})")
+  boolean isHyperClockCacheEnabled;
+
   private RocksDBCLIOptions() {}
 
   /**
@@ -104,6 +121,7 @@ public class RocksDBCLIOptions {
     options.cacheCapacity = config.getCacheCapacity();
     options.backgroundThreadCount = config.getBackgroundThreadCount();
     options.isHighSpec = config.isHighSpec();
+    options.isHyperClockCacheEnabled = config.isHyperClockCacheEnabled();
     return options;
   }
 
@@ -114,7 +132,7 @@ public class RocksDBCLIOptions {
    */
   public RocksDBFactoryConfiguration toDomainObject() {
     return new RocksDBFactoryConfiguration(
-        maxOpenFiles, backgroundThreadCount, cacheCapacity, isHighSpec);
+        maxOpenFiles, backgroundThreadCount, cacheCapacity, isHighSpec, isHyperClockCacheEnabled);
   }
 
   /**
@@ -133,6 +151,7 @@ public class RocksDBCLIOptions {
         .add("cacheCapacity", cacheCapacity)
         .add("backgroundThreadCount", backgroundThreadCount)
         .add("isHighSpec", isHighSpec)
+        .add("isHyperClockCacheEnabled", isHyperClockCacheEnabled)
         .toString();
   }
 }
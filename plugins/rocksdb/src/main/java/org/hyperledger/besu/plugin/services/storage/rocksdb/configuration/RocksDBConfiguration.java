@@ -25,6 +25,7 @@ public class RocksDBConfiguration {
   private final int backgroundThreadCount;
   private final long cacheCapacity;
   private final boolean isHighSpec;
+  private final boolean isHyperClockCacheEnabled;
 
   /**
    * Instantiates a new RocksDb configuration.
@@ -35,6 +36,7 @@ public class RocksDBConfiguration {
    * @param cacheCapacity the cache capacity
    * @param label the label
    * @param isHighSpec the is high spec
+   * @param isHyperClockCacheEnabled use a hyper clock cache instead of an LRU block cache
    */
   public RocksDBConfiguration(
       final Path databaseDir,
@@ -42,13 +44,15 @@ public class RocksDBConfiguration {
       final int backgroundThreadCount,
       final long cacheCapacity,
       final String label,
-      final boolean isHighSpec) {
+      final boolean isHighSpec,
+      final boolean isHyperClockCacheEnabled) {
     this.backgroundThreadCount = backgroundThreadCount;
     this.databaseDir = databaseDir;
     this.maxOpenFiles = maxOpenFiles;
     this.cacheCapacity = cacheCapacity;
     this.label = label;
     this.isHighSpec = isHighSpec;
+    this.isHyperClockCacheEnabled = isHyperClockCacheEnabled;
   }
 
   /**
@@ -104,4 +108,13 @@ public class RocksDBConfiguration {
   public boolean isHighSpec() {
     return isHighSpec;
   }
+
+  /**
+   * Is hyper clock cache enabled.
+   *
+   * @return the boolean
+   */
+  public boolean isHyperClockCacheEnabled() {
+    return isHyperClockCacheEnabled;
+  }
 }
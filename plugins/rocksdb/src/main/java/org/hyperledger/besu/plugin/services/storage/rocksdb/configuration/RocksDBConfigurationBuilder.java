@@ -17,6 +17,7 @@ package org.hyperledger.besu.plugin.services.storage.rocksdb.configuration;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_BACKGROUND_THREAD_COUNT;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_CACHE_CAPACITY;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_IS_HIGH_SPEC;
+import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_IS_HYPER_CLOCK_CACHE_ENABLED;
 import static org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBCLIOptions.DEFAULT_MAX_OPEN_FILES;
 
 import java.nio.file.Path;
@@ -30,6 +31,7 @@ public class RocksDBConfigurationBuilder {
   private long cacheCapacity = DEFAULT_CACHE_CAPACITY;
   private int backgroundThreadCount = DEFAULT_BACKGROUND_THREAD_COUNT;
   private boolean isHighSpec = DEFAULT_IS_HIGH_SPEC;
+  private boolean isHyperClockCacheEnabled = DEFAULT_IS_HYPER_CLOCK_CACHE_ENABLED;
 
   /**
    * Database dir.
@@ -97,6 +99,18 @@ public class RocksDBConfigurationBuilder {
     return this;
   }
 
+  /**
+   * Is hyper clock cache enabled.
+   *
+   * @param isHyperClockCacheEnabled use a hyper clock cache instead of an LRU block cache
+   * @return the rocks db configuration builder
+   */
+  public RocksDBConfigurationBuilder isHyperClockCacheEnabled(
+      final boolean isHyperClockCacheEnabled) {
+    this.isHyperClockCacheEnabled = isHyperClockCacheEnabled;
+    return this;
+  }
+
   /**
    * From.
    *
@@ -108,7 +122,8 @@ public class RocksDBConfigurationBuilder {
         .backgroundThreadCount(configuration.getBackgroundThreadCount())
         .cacheCapacity(configuration.getCacheCapacity())
         .maxOpenFiles(configuration.getMaxOpenFiles())
-        .isHighSpec(configuration.isHighSpec());
+        .isHighSpec(configuration.isHighSpec())
+        .isHyperClockCacheEnabled(configuration.isHyperClockCacheEnabled());
   }
 
   /**
@@ -118,6 +133,12 @@ public class RocksDBConfigurationBuilder {
    */
   public RocksDBConfiguration build() {
     return new RocksDBConfiguration(
-        databaseDir, maxOpenFiles, backgroundThreadCount, cacheCapacity, label, isHighSpec);
+        databaseDir,
+        maxOpenFiles,
+        backgroundThreadCount,
+        cacheCapacity,
+        label,
+        isHighSpec,
+        isHyperClockCacheEnabled);
   }
 }
@@ -21,6 +21,7 @@ public class RocksDBFactoryConfiguration {
   private final int backgroundThreadCount;
   private final long cacheCapacity;
   private final boolean isHighSpec;
+  private final boolean isHyperClockCacheEnabled;
 
   /**
    * Instantiates a new RocksDb factory configuration.
@@ -35,10 +36,34 @@ public class RocksDBFactoryConfiguration {
       final int backgroundThreadCount,
       final long cacheCapacity,
       final boolean isHighSpec) {
+    this(
+        maxOpenFiles,
+        backgroundThreadCount,
+        cacheCapacity,
+        isHighSpec,
+        RocksDBCLIOptions.DEFAULT_IS_HYPER_CLOCK_CACHE_ENABLED);
+  }
+
+  /**
+   * Instantiates a new RocksDb factory configuration.
+   *
+   * @param maxOpenFiles the max open files
+   * @param backgroundThreadCount the background thread count
+   * @param cacheCapacity the cache capacity
+   * @param isHighSpec the is high spec
+   * @param isHyperClockCacheEnabled use a hyper clock cache instead of an LRU block cache
+   */
+  public RocksDBFactoryConfiguration(
+      final int maxOpenFiles,
+      final int backgroundThreadCount,
+      final long cacheCapacity,
+      final boolean isHighSpec,
+      final boolean isHyperClockCacheEnabled) {
     this.backgroundThreadCount = backgroundThreadCount;
     this.maxOpenFiles = maxOpenFiles;
     this.cacheCapacity = cacheCapacity;
     this.isHighSpec = isHighSpec;
+    this.isHyperClockCacheEnabled = isHyperClockCacheEnabled;
   }
 
   /**
@@ -76,4 +101,13 @@ public class RocksDBFactoryConfiguration {
   public boolean isHighSpec() {
     return isHighSpec;
   }
+
+  /**
+   * Is hyper clock cache enabled.
+   *
+   * @return the boolean
+   */
+  public boolean isHyperClockCacheEnabled() {
+    return isHyperClockCacheEnabled;
+  }
 }
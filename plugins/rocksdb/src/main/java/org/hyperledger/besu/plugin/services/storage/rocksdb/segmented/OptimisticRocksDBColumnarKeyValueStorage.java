@@ -59,8 +59,8 @@ public class OptimisticRocksDBColumnarKeyValueStorage extends RocksDBColumnarKey
       db =
           OptimisticTransactionDB.open(
               options, configuration.getDatabaseDir().toString(), columnDescriptors, columnHandles);
-      initMetrics();
       initColumnHandles();
+      initMetrics();
 
     } catch (final RocksDBException e) {
       throw parseRocksDBException(e, segments, ignorableSegments);
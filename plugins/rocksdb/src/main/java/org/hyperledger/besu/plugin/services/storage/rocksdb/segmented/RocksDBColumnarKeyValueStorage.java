@@ -31,6 +31,7 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksD
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -47,12 +48,14 @@ import org.apache.tuweni.bytes.Bytes;
 import org.rocksdb.AbstractRocksIterator;
 import org.rocksdb.BlockBasedTableConfig;
 import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.CompressionType;
 import org.rocksdb.DBOptions;
 import org.rocksdb.Env;
+import org.rocksdb.HyperClockCache;
 import org.rocksdb.LRUCache;
 import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
@@ -73,9 +76,12 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
   private static final int ROCKSDB_FORMAT_VERSION = 5;
   private static final long ROCKSDB_BLOCK_SIZE = 32768;
 
-  /** RocksDb blockcache size when using the high spec option */
+  /** RocksDb blockcache size added for each hot segment when using the high spec option */
   protected static final long ROCKSDB_BLOCKCACHE_SIZE_HIGH_SPEC = 1_073_741_824L;
 
+  /** Share of the LRU block cache reserved for the index and filter blocks of hot segments */
+  private static final double ROCKSDB_BLOCKCACHE_HIGH_PRIORITY_POOL_RATIO = 0.2;
+
   /** RocksDb memtable size when using the high spec option */
   protected static final long ROCKSDB_MEMTABLE_SIZE_HIGH_SPEC = 536_870_912L;
 
@@ -114,6 +120,9 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
   /** RocksDb statistics */
   protected final Statistics stats = new Statistics();
 
+  /** Block cache shared by all the column families */
+  protected Cache blockCache;
+
   /** RocksDB metrics */
   protected RocksDBMetrics metrics;
 
@@ -162,9 +171,10 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
                   existingColumnFamilies.stream()
                       .noneMatch(existed -> Arrays.equals(existed, ignorableSegment.getId())))
           .forEach(trimmedSegments::remove);
+      blockCache = createBlockCache(configuration, trimmedSegments);
       columnDescriptors =
           trimmedSegments.stream()
-              .map(segment -> createColumnDescriptor(segment, configuration))
+              .map(this::createColumnDescriptor)
               .collect(Collectors.toList());
 
       setGlobalOptions(configuration, stats);
@@ -181,13 +191,11 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
    * options to apply to the corresponding Column Family
    *
    * @param segment the segment identifier
-   * @param configuration RocksDB configuration
    * @return a column family descriptor
    */
-  private ColumnFamilyDescriptor createColumnDescriptor(
-      final SegmentIdentifier segment, final RocksDBConfiguration configuration) {
+  private ColumnFamilyDescriptor createColumnDescriptor(final SegmentIdentifier segment) {
 
-    BlockBasedTableConfig basedTableConfig = createBlockBasedTableConfig(segment, configuration);
+    BlockBasedTableConfig basedTableConfig = createBlockBasedTableConfig(segment);
 
     final var options =
         new ColumnFamilyOptions()
@@ -206,27 +214,61 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
     return new ColumnFamilyDescriptor(segment.getId(), options);
   }
 
+  /***
+   * Create the block cache shared by all the column families, so the memory used for data, index
+   * and filter blocks stays within a single budget. With the high spec option the budget grows by
+   * a fixed amount for each hot segment.
+   *
+   * @param config RocksDB configuration
+   * @param segments The segments that will be opened
+   * @return the shared block cache
+   */
+  private static Cache createBlockCache(
+      final RocksDBConfiguration config, final List<SegmentIdentifier> segments) {
+    long capacity = config.getCacheCapacity();
+    if (config.isHighSpec()) {
+      capacity +=
+          segments.stream().filter(RocksDBColumnarKeyValueStorage::isHotSegment).count()
+              * ROCKSDB_BLOCKCACHE_SIZE_HIGH_SPEC;
+    }
+    if (config.isHyperClockCacheEnabled()) {
+      return new HyperClockCache(capacity, ROCKSDB_BLOCK_SIZE, -1, false);
+    }
+    return new LRUCache(capacity, -1, false, ROCKSDB_BLOCKCACHE_HIGH_PRIORITY_POOL_RATIO);
+  }
+
+  /**
+   * Hot segments hold the world state, which is read on every block, as opposed to the chain data
+   * and trie logs that are mostly appended and read back rarely.
+   *
+   * @param segment the segment identifier
+   * @return true if the index and filter blocks of the segment should stay pinned in the cache
+   */
+  private static boolean isHotSegment(final SegmentIdentifier segment) {
+    return segment.isEligibleToHighSpecFlag() && !segment.containsStaticData();
+  }
+
   /***
    * Create a Block Base Table configuration for each segment, depending on the configuration in place
    * and the segment itself
    *
    * @param segment The segment related to the column family
-   * @param config RocksDB configuration
    * @return Block Base Table configuration
    */
-  private BlockBasedTableConfig createBlockBasedTableConfig(
-      final SegmentIdentifier segment, final RocksDBConfiguration config) {
-    final LRUCache cache =
-        new LRUCache(
-            config.isHighSpec() && segment.isEligibleToHighSpecFlag()
-                ? ROCKSDB_BLOCKCACHE_SIZE_HIGH_SPEC
-                : config.getCacheCapacity());
+  private BlockBasedTableConfig createBlockBasedTableConfig(final SegmentIdentifier segment) {
+    // only hot segments charge their index and filter blocks to the shared cache, with high
+    // priority and with the top level and L0 ones pinned; the other segments keep them in the
+    // table readers, as before
+    final boolean hot = isHotSegment(segment);
     return new BlockBasedTableConfig()
         .setFormatVersion(ROCKSDB_FORMAT_VERSION)
-        .setBlockCache(cache)
+        .setBlockCache(blockCache)
         .setFilterPolicy(new BloomFilter(10, false))
         .setPartitionFilters(true)
-        .setCacheIndexAndFilterBlocks(false)
+        .setCacheIndexAndFilterBlocks(hot)
+        .setCacheIndexAndFilterBlocksWithHighPriority(hot)
+        .setPinTopLevelIndexAndFilter(hot)
+        .setPinL0FilterAndIndexBlocksInCache(hot)
         .setBlockSize(ROCKSDB_BLOCK_SIZE);
   }
 
@@ -297,6 +339,8 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
 
   void initMetrics() {
     metrics = rocksDBMetricsFactory.create(metricsSystem, configuration, getDB(), stats);
+    rocksDBMetricsFactory.registerSegmentMetrics(
+        metricsSystem, configuration, getDB(), columnHandlesBySegmentIdentifier);
   }
 
   void initColumnHandles() throws RocksDBException {
@@ -353,6 +397,25 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final SegmentIdentifier segment, final List<byte[]> keys)
+      throws StorageException {
+    throwIfClosed();
+    if (keys.isEmpty()) {
+      return List.of();
+    }
+
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      final List<ColumnFamilyHandle> columnHandles =
+          Collections.nCopies(keys.size(), safeColumnHandle(segment));
+      return getDB().multiGetAsList(readOptions, columnHandles, keys).stream()
+          .map(Optional::ofNullable)
+          .toList();
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   @Override
   public Optional<NearestKeyValue> getNearestTo(
       final SegmentIdentifier segmentIdentifier, final Bytes key) throws StorageException {
@@ -447,6 +510,7 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
           .map(RocksDbSegmentIdentifier::get)
           .forEach(ColumnFamilyHandle::close);
       getDB().close();
+      blockCache.close();
     }
   }
 
@@ -21,6 +21,8 @@ import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTran
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetrics;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbIterator;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
@@ -106,6 +108,31 @@ public class RocksDBSnapshotTransaction
     }
   }
 
+  /**
+   * Get data against several keys of the same segment with a single batched read.
+   *
+   * @param segmentId the segment id
+   * @param keys the keys
+   * @return the optional data of each key, in the same order as the keys
+   */
+  public List<Optional<byte[]>> multiGet(
+      final SegmentIdentifier segmentId, final List<byte[]> keys) {
+    throwIfClosed();
+    if (keys.isEmpty()) {
+      return List.of();
+    }
+
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      final List<ColumnFamilyHandle> columnHandles =
+          Collections.nCopies(keys.size(), columnFamilyMapper.apply(segmentId));
+      return snapTx.multiGetAsList(readOptions, columnHandles, keys).stream()
+          .map(Optional::ofNullable)
+          .toList();
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   @Override
   public void put(final SegmentIdentifier segmentId, final byte[] key, final byte[] value) {
     throwIfClosed();
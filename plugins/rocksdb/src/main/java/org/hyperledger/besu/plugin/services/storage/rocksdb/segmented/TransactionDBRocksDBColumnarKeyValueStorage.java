@@ -62,8 +62,8 @@ public class TransactionDBRocksDBColumnarKeyValueStorage extends RocksDBColumnar
               configuration.getDatabaseDir().toString(),
               columnDescriptors,
               columnHandles);
-      initMetrics();
       initColumnHandles();
+      initMetrics();
 
     } catch (final RocksDBException e) {
       throw parseRocksDBException(e, segments, ignorableSegments);
@@ -25,12 +25,16 @@ import static org.mockito.Mockito.when;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledGauge;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfigurationBuilder;
 
 import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
 import java.util.function.LongSupplier;
 
 import org.junit.jupiter.api.Test;
@@ -39,6 +43,7 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.Statistics;
 
@@ -51,6 +56,9 @@ public class RocksDBMetricsTest {
   @Mock private OperationTimer operationTimerMock;
   @Mock private OptimisticTransactionDB db;
   @Mock private Statistics stats;
+  @Mock private LabelledGauge labelledGaugeMock;
+  @Mock private SegmentIdentifier segment;
+  @Mock private ColumnFamilyHandle columnFamilyHandle;
 
   @TempDir public Path folder;
 
@@ -95,18 +103,26 @@ public class RocksDBMetricsTest {
             "Latency for write to RocksDB.",
             "Latency for commits to RocksDB.");
 
-    verify(metricsSystemMock, times(2))
+    verify(metricsSystemMock, times(5))
         .createLongGauge(
             eq(BesuMetricCategory.KVSTORE_ROCKSDB),
             longGaugesMetricsNameArgs.capture(),
             longGaugesHelpArgs.capture(),
             any(LongSupplier.class));
     assertThat(longGaugesMetricsNameArgs.getAllValues())
-        .containsExactly("rocks_db_table_readers_memory_bytes", "rocks_db_files_size_bytes");
+        .containsExactly(
+            "rocks_db_table_readers_memory_bytes",
+            "rocks_db_files_size_bytes",
+            "rocks_db_block_cache_capacity_bytes",
+            "rocks_db_block_cache_usage_bytes",
+            "rocks_db_block_cache_pinned_usage_bytes");
     assertThat(longGaugesHelpArgs.getAllValues())
         .containsExactly(
             "Estimated memory used for RocksDB index and filter blocks in bytes",
-            "Estimated database size in bytes");
+            "Estimated database size in bytes",
+            "Capacity of the RocksDB block cache shared by all column families in bytes",
+            "Memory used by entries of the RocksDB block cache in bytes",
+            "Memory used by pinned entries of the RocksDB block cache in bytes");
 
     verify(metricsSystemMock)
         .createLabelledCounter(
@@ -119,6 +135,42 @@ public class RocksDBMetricsTest {
         .isEqualTo("Number of RocksDB transactions rolled back.");
   }
 
+  @Test
+  public void registerSegmentMetricsMustLabelEachSegment() throws Exception {
+    when(metricsSystemMock.createLabelledGauge(
+            eq(BesuMetricCategory.KVSTORE_ROCKSDB), anyString(), anyString(), any(String[].class)))
+        .thenReturn(labelledGaugeMock);
+    when(segment.getName()).thenReturn("TRIE_BRANCH_STORAGE");
+    when(db.getLongProperty(columnFamilyHandle, "rocksdb.estimate-live-data-size"))
+        .thenReturn(42L);
+    final ArgumentCaptor<String> labelledGaugesMetricsNameArgs =
+        ArgumentCaptor.forClass(String.class);
+    final ArgumentCaptor<DoubleSupplier> valueSupplierArgs =
+        ArgumentCaptor.forClass(DoubleSupplier.class);
+
+    RocksDBMetricsFactory.PUBLIC_ROCKS_DB_METRICS.registerSegmentMetrics(
+        metricsSystemMock,
+        config(),
+        db,
+        Map.of(segment, new RocksDbSegmentIdentifier(db, columnFamilyHandle)));
+
+    verify(metricsSystemMock, times(3))
+        .createLabelledGauge(
+            eq(BesuMetricCategory.KVSTORE_ROCKSDB),
+            labelledGaugesMetricsNameArgs.capture(),
+            anyString(),
+            eq("database"),
+            eq("segment"));
+    assertThat(labelledGaugesMetricsNameArgs.getAllValues())
+        .containsExactly(
+            "segment_live_data_size_bytes",
+            "segment_memtables_size_bytes",
+            "segment_table_readers_memory_bytes");
+    verify(labelledGaugeMock, times(3))
+        .labels(valueSupplierArgs.capture(), eq("blockchain"), eq("TRIE_BRANCH_STORAGE"));
+    assertThat(valueSupplierArgs.getAllValues().get(0).getAsDouble()).isEqualTo(42.0);
+  }
+
   private RocksDBConfiguration config() throws Exception {
     return new RocksDBConfigurationBuilder().databaseDir(folder).build();
   }
@@ -24,8 +24,10 @@ import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
 import org.hyperledger.besu.plugin.services.storage.SnappedKeyValueStorage;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Optional;
@@ -100,6 +102,40 @@ public class LayeredKeyValueStorage extends SegmentedInMemoryKeyValueStorage
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(
+      final SegmentIdentifier segmentId, final List<byte[]> keys) throws StorageException {
+    throwIfClosed();
+
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      final NavigableMap<Bytes, Optional<byte[]>> segment =
+          hashValueStore.computeIfAbsent(segmentId, __ -> newSegmentMap());
+      final List<Optional<byte[]>> values = new ArrayList<>(keys.size());
+      final List<Integer> missingIndexes = new ArrayList<>();
+      final List<byte[]> missingKeys = new ArrayList<>();
+      for (final byte[] key : keys) {
+        final Optional<byte[]> foundKey = segment.get(Bytes.wrap(key));
+        if (foundKey == null) {
+          missingIndexes.add(values.size());
+          missingKeys.add(key);
+        }
+        values.add(foundKey);
+      }
+      // fetch everything this layer does not know about from the parent in one batch
+      if (!missingKeys.isEmpty()) {
+        final List<Optional<byte[]>> parentValues = parent.multiGet(segmentId, missingKeys);
+        for (int i = 0; i < missingIndexes.size(); i++) {
+          values.set(missingIndexes.get(i), parentValues.get(i));
+        }
+      }
+      return values;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public Optional<NearestKeyValue> getNearestTo(
       final SegmentIdentifier segmentIdentifier, final Bytes key) throws StorageException {
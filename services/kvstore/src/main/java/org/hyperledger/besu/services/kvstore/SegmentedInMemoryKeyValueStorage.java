@@ -142,6 +142,22 @@ public class SegmentedInMemoryKeyValueStorage
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(
+      final SegmentIdentifier segmentIdentifier, final List<byte[]> keys) throws StorageException {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      final NavigableMap<Bytes, Optional<byte[]>> segment =
+          hashValueStore.computeIfAbsent(segmentIdentifier, s -> newSegmentMap());
+      return keys.stream()
+          .map(key -> segment.getOrDefault(Bytes.wrap(key), Optional.empty()))
+          .toList();
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public Optional<NearestKeyValue> getNearestTo(
       final SegmentIdentifier segmentIdentifier, final Bytes key) throws StorageException {
@@ -21,6 +21,8 @@ import org.hyperledger.besu.kvstore.AbstractKeyValueStorageTest;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.stream.IntStream;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -78,4 +80,26 @@ public abstract class AbstractSegmentedKeyValueStorageTest extends AbstractKeyVa
       assertThat(val6).isNotPresent();
     }
   }
+
+  @Test
+  public void assertSegmentedMultiGet() throws Exception {
+    try (final var store = this.createSegmentedStore()) {
+      final SegmentedKeyValueStorageTransaction tx = store.startTransaction();
+      tx.put(SEGMENT_IDENTIFIER, bytesFromHexString("0001"), bytesFromHexString("0FF1"));
+      tx.put(SEGMENT_IDENTIFIER, bytesFromHexString("0002"), bytesFromHexString("0FF2"));
+      tx.commit();
+
+      final List<Optional<byte[]>> values =
+          store.multiGet(
+              SEGMENT_IDENTIFIER,
+              List.of(
+                  bytesFromHexString("0002"),
+                  bytesFromHexString("0003"),
+                  bytesFromHexString("0001")));
+      assertThat(values).hasSize(3);
+      assertThat(values.get(0)).contains(bytesFromHexString("0FF2"));
+      assertThat(values.get(1)).isEmpty();
+      assertThat(values.get(2)).contains(bytesFromHexString("0FF1"));
+    }
+  }
 }
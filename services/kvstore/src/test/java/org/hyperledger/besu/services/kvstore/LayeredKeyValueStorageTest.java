@@ -14,10 +14,17 @@
  */
 package org.hyperledger.besu.services.kvstore;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage.SEGMENT_IDENTIFIER;
 
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
 
 public class LayeredKeyValueStorageTest extends AbstractSegmentedKeyValueStorageTest {
   @Override
@@ -29,4 +36,35 @@ public class LayeredKeyValueStorageTest extends AbstractSegmentedKeyValueStorage
   public SegmentedKeyValueStorage createSegmentedStore() {
     return new LayeredKeyValueStorage(new SegmentedInMemoryKeyValueStorage());
   }
+
+  @Test
+  public void multiGetMergesLayerAndParent() throws Exception {
+    final SegmentedInMemoryKeyValueStorage parent = new SegmentedInMemoryKeyValueStorage();
+    final SegmentedKeyValueStorageTransaction parentTx = parent.startTransaction();
+    parentTx.put(SEGMENT_IDENTIFIER, bytesFromHexString("0001"), bytesFromHexString("0FF1"));
+    parentTx.put(SEGMENT_IDENTIFIER, bytesFromHexString("0002"), bytesFromHexString("0FF2"));
+    parentTx.put(SEGMENT_IDENTIFIER, bytesFromHexString("0003"), bytesFromHexString("0FF3"));
+    parentTx.commit();
+
+    try (final var layered = new LayeredKeyValueStorage(parent)) {
+      final SegmentedKeyValueStorageTransaction tx = layered.startTransaction();
+      tx.put(SEGMENT_IDENTIFIER, bytesFromHexString("0002"), bytesFromHexString("0AA2"));
+      tx.remove(SEGMENT_IDENTIFIER, bytesFromHexString("0003"));
+      tx.commit();
+
+      final List<Optional<byte[]>> values =
+          layered.multiGet(
+              SEGMENT_IDENTIFIER,
+              List.of(
+                  bytesFromHexString("0001"),
+                  bytesFromHexString("0002"),
+                  bytesFromHexString("0003"),
+                  bytesFromHexString("0004")));
+      assertThat(values).hasSize(4);
+      assertThat(values.get(0)).contains(bytesFromHexString("0FF1"));
+      assertThat(values.get(1)).contains(bytesFromHexString("0AA2"));
+      assertThat(values.get(2)).isEmpty();
+      assertThat(values.get(3)).isEmpty();
+    }
+  }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static org.hyperledger.besu.metrics.noop.NoOpMetricsSystem.NO_OP_LABELLED_2_COUNTER;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Pushes items through a pipeline shaped like the full sync import pipeline: a source, a single
+ * threaded stage, batching, a flat map back to single items, a parallel stage and a completer.
+ * The work done per item is deliberately tiny so the cost of moving items between stages
+ * dominates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PipelineBenchmark {
+
+  private static final int ITEMS = 100_000;
+
+  @Param({"10", "200"})
+  public int bufferSize;
+
+  @Param({"2", "4"})
+  public int parallelThreads;
+
+  private ExecutorService executorService;
+
+  @Setup
+  public void setUp() {
+    executorService = Executors.newCachedThreadPool();
+  }
+
+  @TearDown
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ITEMS)
+  public long fullSyncShapedPipeline() {
+    final LongAdder completed = new LongAdder();
+    final Pipeline<Long> pipeline =
+        PipelineBuilder.createPipelineFrom(
+                "source",
+                LongStream.range(0, ITEMS).iterator(),
+                bufferSize,
+                NO_OP_LABELLED_2_COUNTER,
+                false,
+                "benchmark")
+            .thenProcess("increment", value -> value + 1)
+            .inBatches(20)
+            .thenFlatMap("unbatch", List::stream, bufferSize)
+            .thenProcessInParallel("mix", value -> (value * 31) ^ (value >>> 7), parallelThreads)
+            .andFinishWith("complete", value -> completed.increment());
+    pipeline.start(executorService).join();
+    return completed.sum();
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue safe for any number of producers and consumers, used as the buffer of
+ * a {@link Pipe}. It never blocks, waiting for items or for room is left to the pipe.
+ *
+ * <p>This is the array based queue described by Dmitry Vyukov: every slot carries a sequence
+ * number telling whether it is ready to be written for a given position, or ready to be read.
+ * Producers and consumers claim a position with a single CAS on the tail or head counter, then
+ * publish the slot by advancing its sequence. The array is sized to the next power of two above
+ * the capacity, which is enforced separately so the pipe keeps its exact bound.
+ *
+ * @param <T> the type of item held in the buffer.
+ */
+final class BoundedRingBuffer<T> {
+  private final int capacity;
+  private final int mask;
+  private final AtomicReferenceArray<T> items;
+  private final AtomicLongArray sequences;
+  private final AtomicLong head = new AtomicLong();
+  private final AtomicLong tail = new AtomicLong();
+
+  BoundedRingBuffer(final int capacity) {
+    checkArgument(capacity > 0, "Capacity must be greater than 0");
+    checkArgument(capacity <= 1 << 30, "Capacity must be at most 2^30");
+    this.capacity = capacity;
+    final int length = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.mask = length - 1;
+    this.items = new AtomicReferenceArray<>(length);
+    this.sequences = new AtomicLongArray(length);
+    for (int i = 0; i < length; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  /**
+   * Adds an item if the buffer is not full.
+   *
+   * @param item the item to add, must not be null.
+   * @return true if the item was added, false if the buffer is full.
+   */
+  boolean offer(final T item) {
+    long position = tail.get();
+    while (true) {
+      final int index = (int) (position & mask);
+      final long difference = sequences.get(index) - position;
+      if (difference == 0) {
+        // A stale head only makes the buffer look fuller than it is, never emptier
+        if (position - head.get() >= capacity) {
+          return false;
+        }
+        if (tail.compareAndSet(position, position + 1)) {
+          items.set(index, item);
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Removes the oldest item, if there is one.
+   *
+   * @return the removed item or null if the buffer is empty.
+   */
+  T poll() {
+    long position = head.get();
+    while (true) {
+      final int index = (int) (position & mask);
+      final long difference = sequences.get(index) - (position + 1);
+      if (difference == 0) {
+        if (head.compareAndSet(position, position + 1)) {
+          final T item = items.getAndSet(index, null);
+          sequences.set(index, position + mask + 1);
+          return item;
+        }
+        position = head.get();
+      } else if (difference < 0) {
+        return null;
+      } else {
+        position = head.get();
+      }
+    }
+  }
+
+  /**
+   * Returns whether the oldest item is available to be removed. An item being added concurrently
+   * is only seen once it is fully published.
+   *
+   * @return true if no item can currently be removed.
+   */
+  boolean isEmpty() {
+    final long position = head.get();
+    return sequences.get((int) (position & mask)) != position + 1;
+  }
+
+  /**
+   * Returns the number of items in the buffer, including items being added or removed
+   * concurrently.
+   *
+   * @return the number of items in the buffer.
+   */
+  int size() {
+    while (true) {
+      final long currentHead = head.get();
+      final long currentTail = tail.get();
+      if (head.get() == currentHead) {
+        return (int) Math.max(0, Math.min(capacity, currentTail - currentHead));
+      }
+    }
+  }
+
+  int capacity() {
+    return capacity;
+  }
+}
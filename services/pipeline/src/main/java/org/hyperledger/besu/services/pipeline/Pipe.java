@@ -17,10 +17,12 @@ package org.hyperledger.besu.services.pipeline;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 
 import java.util.Collection;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +32,11 @@ import org.slf4j.LoggerFactory;
  * added ability to signal when no further input is available because the pipe has been closed or
  * the pipeline aborted.
  *
+ * <p>Items are held in a lock-free {@link BoundedRingBuffer}. A stage waiting for an item, or for
+ * room to add one, first spins briefly, as the other side is usually about to make progress in a
+ * busy pipeline, then parks until it is woken up by the other side, or by the pipe being closed or
+ * aborted.
+ *
  * <p>In most cases a Pipe is used through one of two narrower interfaces it supports {@link
  * ReadPipe}* and {@link WritePipe}. These are designed to expose only the operations relevant to
  * objects either reading from or publishing to the pipe respectively.
@@ -38,7 +45,14 @@ import org.slf4j.LoggerFactory;
  */
 public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
   private static final Logger LOG = LoggerFactory.getLogger(Pipe.class);
-  private final BlockingQueue<T> queue;
+  private static final int SPINS = 128;
+  private static final int YIELDS = 16;
+  // Waiters are woken up when they can proceed, this only bounds the wait if a wake up is missed
+  private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final BoundedRingBuffer<T> queue;
+  private final Queue<Thread> waitingReaders = new ConcurrentLinkedQueue<>();
+  private final Queue<Thread> waitingWriters = new ConcurrentLinkedQueue<>();
   private final Counter inputCounter;
   private final Counter outputCounter;
   private final Counter abortedItemCounter;
@@ -58,7 +72,7 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
       final Counter inputCounter,
       final Counter outputCounter,
       final Counter abortedItemCounter) {
-    queue = new ArrayBlockingQueue<>(capacity);
+    queue = new BoundedRingBuffer<>(capacity);
     this.inputCounter = inputCounter;
     this.outputCounter = outputCounter;
     this.abortedItemCounter = abortedItemCounter;
@@ -76,12 +90,14 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
 
   @Override
   public boolean hasRemainingCapacity() {
-    return queue.remainingCapacity() > 0 && isOpen();
+    return queue.size() < queue.capacity() && isOpen();
   }
 
   @Override
   public void close() {
     closed.set(true);
+    wakeUp(waitingReaders);
+    wakeUp(waitingWriters);
   }
 
   @Override
@@ -89,6 +105,8 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
     if (aborted.compareAndSet(false, true)) {
       abortedItemCounter.inc(queue.size());
     }
+    wakeUp(waitingReaders);
+    wakeUp(waitingWriters);
   }
 
   @Override
@@ -101,16 +119,19 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
 
   @Override
   public T get() {
-    try {
-      while (hasMore()) {
-        final T value = queue.poll(1, TimeUnit.SECONDS);
-        if (value != null) {
-          outputCounter.inc();
-          return value;
-        }
+    int idleRounds = 0;
+    while (hasMore()) {
+      final T value = queue.poll();
+      if (value != null) {
+        outputCounter.inc();
+        wakeUp(waitingWriters);
+        return value;
+      }
+      if (Thread.interrupted()) {
+        LOG.trace("Interrupted while waiting for next item");
+        return null;
       }
-    } catch (final InterruptedException e) {
-      LOG.trace("Interrupted while waiting for next item", e);
+      idleRounds = idle(idleRounds, waitingReaders, () -> !queue.isEmpty() || !isOpen());
     }
     return null;
   }
@@ -120,28 +141,92 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
     final T item = queue.poll();
     if (item != null) {
       outputCounter.inc();
+      wakeUp(waitingWriters);
     }
     return item;
   }
 
   @Override
   public int drainTo(final Collection<T> output, final int maxElements) {
-    final int count = queue.drainTo(output, maxElements);
-    outputCounter.inc(count);
+    int count = 0;
+    T item;
+    while (count < maxElements && (item = queue.poll()) != null) {
+      output.add(item);
+      count++;
+    }
+    if (count > 0) {
+      outputCounter.inc(count);
+      wakeUp(waitingWriters);
+    }
     return count;
   }
 
   @Override
   public void put(final T value) {
+    if (offer(value)) {
+      inputCounter.inc();
+    }
+  }
+
+  @Override
+  public void putAll(final Collection<T> values) {
+    long count = 0;
+    for (final T value : values) {
+      if (!offer(value)) {
+        break;
+      }
+      count++;
+    }
+    if (count > 0) {
+      inputCounter.inc(count);
+    }
+  }
+
+  private boolean offer(final T value) {
+    int idleRounds = 0;
     while (isOpen()) {
+      if (queue.offer(value)) {
+        wakeUp(waitingReaders);
+        return true;
+      }
+      if (Thread.interrupted()) {
+        LOG.trace("Interrupted while waiting to add to output");
+      }
+      idleRounds =
+          idle(idleRounds, waitingWriters, () -> queue.size() < queue.capacity() || !isOpen());
+    }
+    return false;
+  }
+
+  /**
+   * Waits a little, spinning first and then parking until woken up. The thread registers as a
+   * waiter before checking the condition one last time, so a wake up sent by the other side once
+   * the condition holds cannot be missed.
+   */
+  private static int idle(
+      final int idleRounds, final Queue<Thread> waiters, final BooleanSupplier canProceed) {
+    if (idleRounds < SPINS) {
+      Thread.onSpinWait();
+    } else if (idleRounds < SPINS + YIELDS) {
+      Thread.yield();
+    } else {
+      final Thread currentThread = Thread.currentThread();
+      waiters.add(currentThread);
       try {
-        if (queue.offer(value, 1, TimeUnit.SECONDS)) {
-          inputCounter.inc();
-          return;
+        if (!canProceed.getAsBoolean()) {
+          LockSupport.parkNanos(waiters, MAX_PARK_NANOS);
         }
-      } catch (final InterruptedException e) {
-        LOG.trace("Interrupted while waiting to add to output", e);
+      } finally {
+        waiters.remove(currentThread);
       }
+      return idleRounds;
+    }
+    return idleRounds + 1;
+  }
+
+  private static void wakeUp(final Queue<Thread> waiters) {
+    if (!waiters.isEmpty()) {
+      waiters.forEach(LockSupport::unpark);
     }
   }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class BoundedRingBufferTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 5, 8, 1000})
+  public void shouldHoldExactlyCapacityItems(final int capacity) {
+    final BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(capacity);
+    for (int i = 0; i < capacity; i++) {
+      assertThat(buffer.offer(i)).isTrue();
+    }
+    assertThat(buffer.offer(capacity)).isFalse();
+    assertThat(buffer.size()).isEqualTo(capacity);
+
+    assertThat(buffer.poll()).isEqualTo(0);
+    assertThat(buffer.offer(capacity)).isTrue();
+    assertThat(buffer.offer(capacity + 1)).isFalse();
+  }
+
+  @Test
+  public void shouldKeepOrderWhenWrappingAround() {
+    final BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(3);
+    int next = 0;
+    for (int round = 0; round < 10; round++) {
+      assertThat(buffer.offer(round * 2)).isTrue();
+      assertThat(buffer.offer(round * 2 + 1)).isTrue();
+      assertThat(buffer.poll()).isEqualTo(next++);
+      assertThat(buffer.poll()).isEqualTo(next++);
+    }
+    assertThat(buffer.isEmpty()).isTrue();
+    assertThat(buffer.poll()).isNull();
+    assertThat(buffer.size()).isZero();
+  }
+
+  @Test
+  public void shouldRejectInvalidCapacity() {
+    assertThatThrownBy(() -> new BoundedRingBuffer<>(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -15,6 +15,9 @@
 package org.hyperledger.besu.services.pipeline;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.waitAtMost;
+import static org.hyperledger.besu.metrics.noop.NoOpMetricsSystem.NO_OP_COUNTER;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -23,6 +26,13 @@ import org.hyperledger.besu.plugin.services.metrics.Counter;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
 
@@ -132,6 +142,98 @@ public class PipeTest {
     verify(abortedItemCounter).inc(2);
   }
 
+  @Test
+  public void shouldIncrementInputCounterOnceForItemsAddedTogether() {
+    pipe.putAll(List.of("a", "b", "c"));
+    verify(inputCounter).inc(3);
+
+    final List<String> output = new ArrayList<>();
+    pipe.drainTo(output, 5);
+    assertThat(output).containsExactly("a", "b", "c");
+    verify(outputCounter).inc(3);
+  }
+
+  @Test
+  public void shouldWakeUpBlockedWriterWhenItemRemoved() {
+    pipe.putAll(List.of("a", "b", "c", "d", "e"));
+    assertThat(pipe.hasRemainingCapacity()).isFalse();
+
+    final CompletableFuture<Void> put = CompletableFuture.runAsync(() -> pipe.put("f"));
+    assertThatThrownBy(() -> put.get(50, TimeUnit.MILLISECONDS))
+        .isInstanceOf(TimeoutException.class);
+
+    assertThat(pipe.poll()).isEqualTo("a");
+    waitAtMost(5, TimeUnit.SECONDS).until(put::isDone);
+    final List<String> output = new ArrayList<>();
+    pipe.drainTo(output, 5);
+    assertThat(output).containsExactly("b", "c", "d", "e", "f");
+  }
+
+  @Test
+  public void shouldWakeUpBlockedReaderWhenClosed() {
+    final CompletableFuture<String> get = CompletableFuture.supplyAsync(pipe::get);
+    assertThatThrownBy(() -> get.get(50, TimeUnit.MILLISECONDS))
+        .isInstanceOf(TimeoutException.class);
+
+    pipe.close();
+    waitAtMost(5, TimeUnit.SECONDS).until(get::isDone);
+    assertThat(get.join()).isNull();
+  }
+
+  @Test
+  public void shouldTransferEveryItemOnceBetweenConcurrentWritersAndReaders() throws Exception {
+    final int writers = 4;
+    final int readers = 4;
+    final int itemsPerWriter = 20_000;
+    final Pipe<Integer> sharedPipe =
+        new Pipe<>(16, NO_OP_COUNTER, NO_OP_COUNTER, NO_OP_COUNTER);
+    final ExecutorService executor = Executors.newFixedThreadPool(writers + readers);
+    try {
+      final List<Future<List<Integer>>> received = new ArrayList<>();
+      for (int i = 0; i < readers; i++) {
+        received.add(
+            executor.submit(
+                () -> {
+                  final List<Integer> items = new ArrayList<>();
+                  Integer item;
+                  while ((item = sharedPipe.get()) != null) {
+                    items.add(item);
+                  }
+                  return items;
+                }));
+      }
+      final List<Future<?>> written = new ArrayList<>();
+      for (int i = 0; i < writers; i++) {
+        final int first = i * itemsPerWriter;
+        written.add(
+            executor.submit(
+                () -> {
+                  for (int item = first; item < first + itemsPerWriter; item++) {
+                    sharedPipe.put(item);
+                  }
+                }));
+      }
+      for (final Future<?> future : written) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+      sharedPipe.close();
+
+      final List<Integer> all = new ArrayList<>();
+      for (final Future<List<Integer>> future : received) {
+        final List<Integer> items = future.get(30, TimeUnit.SECONDS);
+        // Items from a single writer are read in the order they were written
+        assertThat(items.stream().filter(item -> item < itemsPerWriter)).isSorted();
+        all.addAll(items);
+      }
+      assertThat(all)
+          .hasSize(writers * itemsPerWriter)
+          .containsExactlyInAnyOrderElementsOf(
+              IntStream.range(0, writers * itemsPerWriter).boxed().toList());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void shouldReturnNullFromGetImmediatelyIfThreadIsInterrupted() {
     Thread.currentThread().interrupt();